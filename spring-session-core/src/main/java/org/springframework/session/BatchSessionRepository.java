@@ -0,0 +1,52 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Extends a basic {@link SessionRepository} to allow finding and deleting multiple
+ * sessions at once, using as few round trips to the underlying data store as possible.
+ * This is useful for administrative operations, such as invalidating all sessions of a
+ * principal.
+ *
+ * @param <S> the type of Session being managed by this {@link BatchSessionRepository}
+ * @since 2.3.0
+ * @see FindByIndexNameSessionRepository
+ */
+public interface BatchSessionRepository<S extends Session> extends SessionRepository<S> {
+
+	/**
+	 * Find a {@link Map} of the session id to the {@link Session} of all sessions with
+	 * the given ids. Ids of sessions that are not found or are expired are not contained
+	 * in the result.
+	 * @param ids the {@link Session#getId()} of the sessions to lookup
+	 * @return a {@code Map} (never {@code null}) of the session id to the {@code Session}
+	 * of all sessions that were found. If no sessions are found, an empty {@code Map} is
+	 * returned.
+	 */
+	Map<String, S> findAllById(Collection<String> ids);
+
+	/**
+	 * Deletes the sessions with the given ids. Ids of sessions that are not found are
+	 * ignored.
+	 * @param ids the {@link Session#getId()} of the sessions to delete
+	 */
+	void deleteAllById(Collection<String> ids);
+
+}
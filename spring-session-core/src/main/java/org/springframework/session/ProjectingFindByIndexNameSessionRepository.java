@@ -0,0 +1,95 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Extends a {@link FindByIndexNameSessionRepository} to allow finding only the ids or
+ * the metadata of the sessions with the specified index name and index value, rather
+ * than the sessions themselves. This allows implementations to avoid transferring and
+ * deserializing all session attributes, for example when listing the sessions of a
+ * principal.
+ *
+ * @param <S> the type of Session being managed by this
+ * {@link ProjectingFindByIndexNameSessionRepository}
+ * @since 2.3.0
+ */
+public interface ProjectingFindByIndexNameSessionRepository<S extends Session>
+		extends FindByIndexNameSessionRepository<S> {
+
+	/**
+	 * Find the ids of all sessions that contain the specified index name and index value.
+	 * @param indexName the name of the index (i.e.
+	 * {@link FindByIndexNameSessionRepository#PRINCIPAL_NAME_INDEX_NAME})
+	 * @param indexValue the value of the index to search for.
+	 * @return a {@code Set} (never {@code null}) of the ids of all sessions that contain
+	 * the specified index name and index value. If no results are found, an empty
+	 * {@code Set} is returned.
+	 */
+	Set<String> findIdsByIndexNameAndIndexValue(String indexName, String indexValue);
+
+	/**
+	 * Find a {@link Map} of the session id to the metadata of all sessions that contain
+	 * the specified index name and index value. The metadata is a {@link MapSession}
+	 * that holds the id, creation time, last accessed time and max inactive interval of
+	 * the session, as well as those of the given attributes that are set. Changes to it
+	 * are not saved.
+	 * @param indexName the name of the index (i.e.
+	 * {@link FindByIndexNameSessionRepository#PRINCIPAL_NAME_INDEX_NAME})
+	 * @param indexValue the value of the index to search for.
+	 * @param attributeNames the names of the attributes to include
+	 * @return a {@code Map} (never {@code null}) of the session id to the metadata of all
+	 * sessions that contain the specified index name and index value. If no results are
+	 * found, an empty {@code Map} is returned.
+	 */
+	Map<String, MapSession> findMetadataByIndexNameAndIndexValue(String indexName, String indexValue,
+			Collection<String> attributeNames);
+
+	/**
+	 * Find the ids of all sessions that contain the index with the name
+	 * {@link FindByIndexNameSessionRepository#PRINCIPAL_NAME_INDEX_NAME} and the
+	 * specified principal name.
+	 * @param principalName the principal name
+	 * @return a {@code Set} (never {@code null}) of the ids of all sessions that contain
+	 * the specified principal name. If no results are found, an empty {@code Set} is
+	 * returned.
+	 */
+	default Set<String> findIdsByPrincipalName(String principalName) {
+		return findIdsByIndexNameAndIndexValue(PRINCIPAL_NAME_INDEX_NAME, principalName);
+	}
+
+	/**
+	 * Find a {@link Map} of the session id to the metadata of all sessions that contain
+	 * the index with the name
+	 * {@link FindByIndexNameSessionRepository#PRINCIPAL_NAME_INDEX_NAME} and the
+	 * specified principal name.
+	 * @param principalName the principal name
+	 * @param attributeNames the names of the attributes to include
+	 * @return a {@code Map} (never {@code null}) of the session id to the metadata of all
+	 * sessions that contain the specified principal name. If no results are found, an
+	 * empty {@code Map} is returned.
+	 * @see #findMetadataByIndexNameAndIndexValue(String, String, Collection)
+	 */
+	default Map<String, MapSession> findMetadataByPrincipalName(String principalName,
+			Collection<String> attributeNames) {
+		return findMetadataByIndexNameAndIndexValue(PRINCIPAL_NAME_INDEX_NAME, principalName, attributeNames);
+	}
+
+}
@@ -16,6 +16,8 @@
 
 package org.springframework.session;
 
+import java.time.Instant;
+
 /**
  * A repository interface for managing {@link Session} instances.
  *
@@ -68,4 +70,31 @@ public interface SessionRepository<S extends Session> {
 	 */
 	void deleteById(String id);
 
+	/**
+	 * Updates the {@link Session#getLastAccessedTime()} of the {@link Session} with the
+	 * given {@link Session#getId()}, extending its lifetime, or does nothing if the
+	 * {@link Session} is not found or is expired.
+	 *
+	 * <p>
+	 * The default implementation looks up the {@link Session} using
+	 * {@link #findById(String)} and saves it with the updated last accessed time.
+	 * Implementations are encouraged to provide a cheaper operation that does not load
+	 * the session attributes.
+	 * </p>
+	 * @param id the {@link org.springframework.session.Session#getId()} to touch
+	 * @param lastAccessedTime the last accessed time to set
+	 * @return {@code true} if the {@link Session} was updated, {@code false} if it was
+	 * not found or is expired
+	 * @since 2.3.0
+	 */
+	default boolean touch(String id, Instant lastAccessedTime) {
+		S session = findById(id);
+		if (session == null) {
+			return false;
+		}
+		session.setLastAccessedTime(lastAccessedTime);
+		save(session);
+		return true;
+	}
+
 }
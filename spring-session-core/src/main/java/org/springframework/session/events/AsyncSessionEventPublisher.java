@@ -0,0 +1,354 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.events;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.util.Assert;
+
+/**
+ * An {@link ApplicationEventPublisher} that decouples the publication of session events
+ * from their delivery. Events are buffered in bounded queues and delivered to the
+ * delegate {@link ApplicationEventPublisher} in batches using the provided
+ * {@link Executor}, so that slow listeners do not hold up the thread on which the
+ * session repository receives notifications from the data store.
+ *
+ * <p>
+ * Events are distributed over a configurable number of lanes based on their session id.
+ * Each lane is drained by at most one task at a time, so events related to the same
+ * session are delivered in the order they were published. Events that are not an
+ * {@link AbstractSessionEvent} all use the same lane.
+ * </p>
+ *
+ * <p>
+ * The publisher can be used with any session repository that accepts an
+ * {@link ApplicationEventPublisher}, for example using a
+ * {@link org.springframework.session.config.SessionRepositoryCustomizer}:
+ * </p>
+ *
+ * <pre class="code">
+ * &#064;Bean
+ * public SessionRepositoryCustomizer&lt;RedisIndexedSessionRepository&gt; asyncEvents(
+ *         ApplicationEventPublisher applicationEventPublisher) {
+ *     return (sessionRepository) -&gt; sessionRepository.setApplicationEventPublisher(
+ *             new AsyncSessionEventPublisher(applicationEventPublisher, Executors.newFixedThreadPool(2)));
+ * }
+ * </pre>
+ *
+ * @since 2.3.0
+ */
+public class AsyncSessionEventPublisher implements ApplicationEventPublisher {
+
+	/**
+	 * The default capacity of the event buffer.
+	 */
+	public static final int DEFAULT_CAPACITY = 8192;
+
+	/**
+	 * The default maximum number of events delivered by a single task.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 256;
+
+	private static final Log logger = LogFactory.getLog(AsyncSessionEventPublisher.class);
+
+	private final ApplicationEventPublisher delegate;
+
+	private final Executor executor;
+
+	private final Lane[] lanes;
+
+	private final int batchSize;
+
+	private OverflowPolicy overflowPolicy = OverflowPolicy.CALLER_RUNS;
+
+	private final LongAdder publishedCount = new LongAdder();
+
+	private final LongAdder deliveredCount = new LongAdder();
+
+	private final LongAdder droppedCount = new LongAdder();
+
+	private final AtomicLong lastLagNanos = new AtomicLong();
+
+	private final AtomicLong maxLagNanos = new AtomicLong();
+
+	/**
+	 * Create a new instance using a single lane, the {@link #DEFAULT_CAPACITY} and the
+	 * {@link #DEFAULT_BATCH_SIZE}.
+	 * @param delegate the publisher to deliver events to
+	 * @param executor the executor used to deliver events
+	 */
+	public AsyncSessionEventPublisher(ApplicationEventPublisher delegate, Executor executor) {
+		this(delegate, executor, 1, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Create a new instance.
+	 * @param delegate the publisher to deliver events to
+	 * @param executor the executor used to deliver events
+	 * @param lanes the number of lanes that can be delivered concurrently
+	 * @param capacity the total number of events that can be buffered
+	 * @param batchSize the maximum number of events delivered by a single task
+	 */
+	public AsyncSessionEventPublisher(ApplicationEventPublisher delegate, Executor executor, int lanes, int capacity,
+			int batchSize) {
+		Assert.notNull(delegate, "delegate must not be null");
+		Assert.notNull(executor, "executor must not be null");
+		Assert.isTrue(lanes > 0, "lanes must be positive");
+		Assert.isTrue(capacity >= lanes, "capacity must not be less than lanes");
+		Assert.isTrue(batchSize > 0, "batchSize must be positive");
+		this.delegate = delegate;
+		this.executor = executor;
+		this.batchSize = batchSize;
+		this.lanes = new Lane[lanes];
+		for (int i = 0; i < lanes; i++) {
+			this.lanes[i] = new Lane(capacity / lanes);
+		}
+	}
+
+	/**
+	 * Set the policy applied when an event is published while the buffer of its lane is
+	 * full. The default is {@link OverflowPolicy#CALLER_RUNS}.
+	 * @param overflowPolicy the overflow policy
+	 */
+	public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+		Assert.notNull(overflowPolicy, "overflowPolicy must not be null");
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	@Override
+	public void publishEvent(Object event) {
+		Assert.notNull(event, "event must not be null");
+		this.publishedCount.increment();
+		Lane lane = getLane(event);
+		PendingEvent pendingEvent = new PendingEvent(event);
+		if (!lane.queue.offer(pendingEvent) && !handleOverflow(lane, pendingEvent)) {
+			return;
+		}
+		lane.schedule();
+	}
+
+	private boolean handleOverflow(Lane lane, PendingEvent pendingEvent) {
+		switch (this.overflowPolicy) {
+		case DROP_NEWEST:
+			drop(pendingEvent);
+			return false;
+		case DROP_OLDEST:
+			while (!lane.queue.offer(pendingEvent)) {
+				PendingEvent oldest = lane.queue.poll();
+				if (oldest != null) {
+					drop(oldest);
+				}
+			}
+			return true;
+		case BLOCK:
+			try {
+				lane.queue.put(pendingEvent);
+				return true;
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				drop(pendingEvent);
+				return false;
+			}
+		default:
+			deliver(pendingEvent);
+			return false;
+		}
+	}
+
+	private void drop(PendingEvent pendingEvent) {
+		this.droppedCount.increment();
+		if (logger.isDebugEnabled()) {
+			logger.debug("Session event buffer is full, dropping " + pendingEvent.event);
+		}
+	}
+
+	private void deliver(PendingEvent pendingEvent) {
+		long lag = System.nanoTime() - pendingEvent.publishedAt;
+		this.lastLagNanos.set(lag);
+		this.maxLagNanos.accumulateAndGet(lag, Math::max);
+		try {
+			this.delegate.publishEvent(pendingEvent.event);
+		}
+		catch (RuntimeException ex) {
+			logger.warn("Failed to deliver session event " + pendingEvent.event, ex);
+		}
+		finally {
+			this.deliveredCount.increment();
+		}
+	}
+
+	private Lane getLane(Object event) {
+		if (this.lanes.length == 1 || !(event instanceof AbstractSessionEvent)) {
+			return this.lanes[0];
+		}
+		int hash = ((AbstractSessionEvent) event).getSessionId().hashCode();
+		return this.lanes[(hash & Integer.MAX_VALUE) % this.lanes.length];
+	}
+
+	/**
+	 * Returns the number of published events.
+	 * @return the number of published events
+	 */
+	public long getPublishedCount() {
+		return this.publishedCount.sum();
+	}
+
+	/**
+	 * Returns the number of events delivered to the delegate publisher.
+	 * @return the number of delivered events
+	 */
+	public long getDeliveredCount() {
+		return this.deliveredCount.sum();
+	}
+
+	/**
+	 * Returns the number of events dropped due to the overflow policy.
+	 * @return the number of dropped events
+	 */
+	public long getDroppedCount() {
+		return this.droppedCount.sum();
+	}
+
+	/**
+	 * Returns the number of events waiting to be delivered.
+	 * @return the number of pending events
+	 */
+	public int getPendingCount() {
+		int pending = 0;
+		for (Lane lane : this.lanes) {
+			pending += lane.queue.size();
+		}
+		return pending;
+	}
+
+	/**
+	 * Returns the time between the publication and the delivery of the most recently
+	 * delivered event.
+	 * @param unit the time unit of the result
+	 * @return the lag of the last delivered event
+	 */
+	public long getLastLag(TimeUnit unit) {
+		return unit.convert(this.lastLagNanos.get(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Returns the maximum time between the publication and the delivery of an event.
+	 * @param unit the time unit of the result
+	 * @return the maximum lag
+	 */
+	public long getMaxLag(TimeUnit unit) {
+		return unit.convert(this.maxLagNanos.get(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * The policy applied when an event is published while the buffer is full.
+	 */
+	public enum OverflowPolicy {
+
+		/**
+		 * Deliver the event on the publishing thread. Events related to the same
+		 * session may then be delivered out of order.
+		 */
+		CALLER_RUNS,
+
+		/**
+		 * Drop the published event.
+		 */
+		DROP_NEWEST,
+
+		/**
+		 * Drop the oldest buffered event to make room for the published event.
+		 */
+		DROP_OLDEST,
+
+		/**
+		 * Block the publishing thread until there is room in the buffer.
+		 */
+		BLOCK
+
+	}
+
+	private static final class PendingEvent {
+
+		private final Object event;
+
+		private final long publishedAt = System.nanoTime();
+
+		private PendingEvent(Object event) {
+			this.event = event;
+		}
+
+	}
+
+	private final class Lane {
+
+		private final BlockingQueue<PendingEvent> queue;
+
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		private Lane(int capacity) {
+			this.queue = new ArrayBlockingQueue<>(capacity);
+		}
+
+		private void schedule() {
+			if (!this.scheduled.compareAndSet(false, true)) {
+				return;
+			}
+			try {
+				AsyncSessionEventPublisher.this.executor.execute(this::drain);
+			}
+			catch (RejectedExecutionException ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Executor rejected the task, delivering session events synchronously");
+				}
+				drain();
+			}
+		}
+
+		private void drain() {
+			try {
+				PendingEvent pendingEvent;
+				int delivered = 0;
+				while (delivered < AsyncSessionEventPublisher.this.batchSize
+						&& (pendingEvent = this.queue.poll()) != null) {
+					deliver(pendingEvent);
+					delivered++;
+				}
+			}
+			finally {
+				this.scheduled.set(false);
+			}
+			if (!this.queue.isEmpty()) {
+				schedule();
+			}
+		}
+
+	}
+
+}
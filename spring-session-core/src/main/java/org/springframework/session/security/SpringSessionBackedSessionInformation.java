@@ -47,7 +47,19 @@ class SpringSessionBackedSessionInformation<S extends Session> extends SessionIn
 	private final SessionRepository<S> sessionRepository;
 
 	SpringSessionBackedSessionInformation(S session, SessionRepository<S> sessionRepository) {
-		super(resolvePrincipal(session), session.getId(), Date.from(session.getLastAccessedTime()));
+		this(session, resolvePrincipal(session), sessionRepository);
+	}
+
+	/**
+	 * Create a new instance from the given session, of which only the id, the last
+	 * accessed time and the {@link #EXPIRED_ATTR} attribute are used.
+	 * @param session the session or its metadata
+	 * @param principalName the principal's name
+	 * @param sessionRepository the session repository
+	 */
+	SpringSessionBackedSessionInformation(Session session, String principalName,
+			SessionRepository<S> sessionRepository) {
+		super(principalName, session.getId(), Date.from(session.getLastAccessedTime()));
 		this.sessionRepository = sessionRepository;
 		Boolean expired = session.getAttribute(EXPIRED_ATTR);
 		if (Boolean.TRUE.equals(expired)) {
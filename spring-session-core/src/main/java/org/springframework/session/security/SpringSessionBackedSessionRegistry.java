@@ -18,12 +18,15 @@ package org.springframework.session.security;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.session.SessionInformation;
 import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.MapSession;
+import org.springframework.session.ProjectingFindByIndexNameSessionRepository;
 import org.springframework.session.Session;
 import org.springframework.util.Assert;
 
@@ -37,6 +40,10 @@ import org.springframework.util.Assert;
  * look up the user's sessions.
  * <p>
  * Does not support {@link #getAllPrincipals()}, since that information is not available.
+ * <p>
+ * If the session repository is a {@link ProjectingFindByIndexNameSessionRepository},
+ * {@link #getAllSessions(Object, boolean)} only loads the metadata of the sessions and
+ * the attribute marking them as expired, rather than the sessions themselves.
  *
  * @param <S> the {@link Session} type.
  * @author Joris Kuipers
@@ -45,6 +52,9 @@ import org.springframework.util.Assert;
  */
 public class SpringSessionBackedSessionRegistry<S extends Session> implements SessionRegistry {
 
+	private static final Collection<String> METADATA_ATTRIBUTE_NAMES = Collections
+			.singleton(SpringSessionBackedSessionInformation.EXPIRED_ATTR);
+
 	private final FindByIndexNameSessionRepository<S> sessionRepository;
 
 	public SpringSessionBackedSessionRegistry(FindByIndexNameSessionRepository<S> sessionRepository) {
@@ -61,6 +71,9 @@ public class SpringSessionBackedSessionRegistry<S extends Session> implements Se
 
 	@Override
 	public List<SessionInformation> getAllSessions(Object principal, boolean includeExpiredSessions) {
+		if (this.sessionRepository instanceof ProjectingFindByIndexNameSessionRepository) {
+			return getAllSessionsFromMetadata(name(principal), includeExpiredSessions);
+		}
 		Collection<S> sessions = this.sessionRepository.findByPrincipalName(name(principal)).values();
 		List<SessionInformation> infos = new ArrayList<>();
 		for (S session : sessions) {
@@ -72,6 +85,19 @@ public class SpringSessionBackedSessionRegistry<S extends Session> implements Se
 		return infos;
 	}
 
+	private List<SessionInformation> getAllSessionsFromMetadata(String principalName, boolean includeExpiredSessions) {
+		Collection<MapSession> sessions = ((ProjectingFindByIndexNameSessionRepository<S>) this.sessionRepository)
+				.findMetadataByPrincipalName(principalName, METADATA_ATTRIBUTE_NAMES).values();
+		List<SessionInformation> infos = new ArrayList<>();
+		for (MapSession session : sessions) {
+			if (includeExpiredSessions
+					|| !Boolean.TRUE.equals(session.getAttribute(SpringSessionBackedSessionInformation.EXPIRED_ATTR))) {
+				infos.add(new SpringSessionBackedSessionInformation<>(session, principalName, this.sessionRepository));
+			}
+		}
+		return infos;
+	}
+
 	@Override
 	public SessionInformation getSessionInformation(String sessionId) {
 		S session = this.sessionRepository.findById(sessionId);
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.web.http;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.Assert;
+import org.springframework.util.PathMatcher;
+
+/**
+ * Factory methods for request matchers that can be used with
+ * {@link SessionRepositoryFilter#setBypassRequestMatcher(Predicate)}. Matchers can be
+ * combined using {@link Predicate#or(Predicate)} and {@link Predicate#and(Predicate)}.
+ * For example:
+ *
+ * <pre class="code">
+ * sessionRepositoryFilter.setBypassRequestMatcher(SessionBypassRequestMatchers
+ *         .pathPatterns("/static/**", "/actuator/health").or(SessionBypassRequestMatchers.methods("OPTIONS")));
+ * </pre>
+ *
+ * @since 2.3.0
+ */
+public final class SessionBypassRequestMatchers {
+
+	private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+	private SessionBypassRequestMatchers() {
+	}
+
+	/**
+	 * Create a matcher that matches requests whose path within the application matches
+	 * any of the given Ant-style patterns.
+	 * @param patterns the path patterns
+	 * @return the request matcher
+	 */
+	public static Predicate<HttpServletRequest> pathPatterns(String... patterns) {
+		Assert.notEmpty(patterns, "patterns cannot be empty");
+		List<String> patternList = Arrays.asList(patterns);
+		return (request) -> {
+			String path = getPathWithinApplication(request);
+			return patternList.stream().anyMatch((pattern) -> PATH_MATCHER.match(pattern, path));
+		};
+	}
+
+	/**
+	 * Create a matcher that matches requests using any of the given HTTP methods.
+	 * @param methods the HTTP methods
+	 * @return the request matcher
+	 */
+	public static Predicate<HttpServletRequest> methods(String... methods) {
+		Assert.notEmpty(methods, "methods cannot be empty");
+		List<String> methodList = Arrays.asList(methods);
+		return (request) -> methodList.stream().anyMatch((method) -> method.equalsIgnoreCase(request.getMethod()));
+	}
+
+	/**
+	 * Create a matcher that matches requests whose content type matches any of the given
+	 * content types. Parameters of the request content type are ignored and a content
+	 * type with a wildcard subtype, such as {@code image/*}, matches all subtypes.
+	 * @param contentTypes the content types
+	 * @return the request matcher
+	 */
+	public static Predicate<HttpServletRequest> contentTypes(String... contentTypes) {
+		Assert.notEmpty(contentTypes, "contentTypes cannot be empty");
+		List<String> contentTypeList = Arrays.stream(contentTypes).map((type) -> type.toLowerCase(Locale.ROOT))
+				.collect(Collectors.toList());
+		return (request) -> {
+			String requestContentType = request.getContentType();
+			if (requestContentType == null) {
+				return false;
+			}
+			int parametersIndex = requestContentType.indexOf(';');
+			String mimeType = ((parametersIndex != -1) ? requestContentType.substring(0, parametersIndex)
+					: requestContentType).trim().toLowerCase(Locale.ROOT);
+			return contentTypeList.stream().anyMatch((contentType) -> contentTypeMatches(contentType, mimeType));
+		};
+	}
+
+	private static boolean contentTypeMatches(String contentType, String mimeType) {
+		if (contentType.endsWith("/*")) {
+			return mimeType.startsWith(contentType.substring(0, contentType.length() - 1));
+		}
+		return contentType.equals(mimeType);
+	}
+
+	private static String getPathWithinApplication(HttpServletRequest request) {
+		String requestUri = request.getRequestURI();
+		String contextPath = request.getContextPath();
+		if (contextPath != null && !contextPath.isEmpty() && requestUri.startsWith(contextPath)) {
+			return requestUri.substring(contextPath.length());
+		}
+		return requestUri;
+	}
+
+}
@@ -19,6 +19,14 @@ package org.springframework.session.web.http;
 import java.io.IOException;
 import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
 
 import javax.servlet.FilterChain;
 import javax.servlet.RequestDispatcher;
@@ -65,6 +73,13 @@ import org.springframework.session.SessionRepository;
  * </ul>
  *
  * <p>
+ * Requests that never need a session, such as requests for static resources, can be
+ * excluded from session handling altogether using
+ * {@link #setBypassRequestMatcher(Predicate)}. See {@link SessionBypassRequestMatchers}
+ * for commonly used matchers.
+ * </p>
+ *
+ * <p>
  * The SessionRepositoryFilter must be placed before any Filter that access the
  * HttpSession or that might commit the response to ensure the session is overridden and
  * persisted properly.
@@ -100,10 +115,31 @@ public class SessionRepositoryFilter<S extends Session> extends OncePerRequestFi
 	 */
 	public static final int DEFAULT_ORDER = Integer.MIN_VALUE + 50;
 
+	/**
+	 * The default maximum number of pending asynchronous session saves.
+	 */
+	public static final int DEFAULT_MAX_PENDING_SAVES = 1000;
+
+	private final Log logger = LogFactory.getLog(getClass());
+
 	private final SessionRepository<S> sessionRepository;
 
 	private HttpSessionIdResolver httpSessionIdResolver = new CookieHttpSessionIdResolver();
 
+	private Predicate<HttpServletRequest> bypassRequestMatcher = (request) -> false;
+
+	private final LongAdder bypassedRequestCount = new LongAdder();
+
+	private final LongAdder resolvedRequestCount = new LongAdder();
+
+	private Executor saveExecutor;
+
+	private int maxPendingSaves = DEFAULT_MAX_PENDING_SAVES;
+
+	private final AtomicInteger pendingSaveCount = new AtomicInteger();
+
+	private final ConcurrentMap<String, CompletableFuture<Void>> pendingSaves = new ConcurrentHashMap<>();
+
 	/**
 	 * Creates a new instance.
 	 * @param sessionRepository the <code>SessionRepository</code> to use. Cannot be null.
@@ -128,9 +164,83 @@ public class SessionRepositoryFilter<S extends Session> extends OncePerRequestFi
 		this.httpSessionIdResolver = httpSessionIdResolver;
 	}
 
+	/**
+	 * Sets the matcher used to identify requests that bypass session handling entirely.
+	 * Matching requests are passed down the filter chain as is, so the
+	 * {@link HttpSession} of such requests is not backed by the session repository. By
+	 * default no requests are bypassed.
+	 * @param bypassRequestMatcher the matcher to use. Cannot be null.
+	 * @since 2.3.0
+	 * @see SessionBypassRequestMatchers
+	 */
+	public void setBypassRequestMatcher(Predicate<HttpServletRequest> bypassRequestMatcher) {
+		if (bypassRequestMatcher == null) {
+			throw new IllegalArgumentException("bypassRequestMatcher cannot be null");
+		}
+		this.bypassRequestMatcher = bypassRequestMatcher;
+	}
+
+	/**
+	 * Sets the {@link Executor} used to save sessions asynchronously. If set, sessions
+	 * whose id did not change during the request, and therefore do not require the
+	 * session id to be written to the response, are saved using the executor instead of
+	 * on the request thread. Saves of the same session are applied in order and requests
+	 * that resolve a session with a pending save wait for it to complete before looking
+	 * the session up. If the number of pending saves reaches the configured maximum, or
+	 * the executor rejects a save, the session is saved synchronously. Sessions saved
+	 * because the response is committed before the request completes are always saved
+	 * synchronously, as the request may still change them. By default, no executor is
+	 * set and sessions are always saved synchronously.
+	 * @param saveExecutor the executor to use, or {@code null} to save sessions
+	 * synchronously
+	 * @since 2.3.0
+	 * @see #setMaxPendingSaves(int)
+	 */
+	public void setSaveExecutor(Executor saveExecutor) {
+		this.saveExecutor = saveExecutor;
+	}
+
+	/**
+	 * Sets the maximum number of pending asynchronous session saves. The default is
+	 * {@link #DEFAULT_MAX_PENDING_SAVES}.
+	 * @param maxPendingSaves the maximum number of pending saves. Must be positive.
+	 * @since 2.3.0
+	 */
+	public void setMaxPendingSaves(int maxPendingSaves) {
+		if (maxPendingSaves <= 0) {
+			throw new IllegalArgumentException("maxPendingSaves must be positive");
+		}
+		this.maxPendingSaves = maxPendingSaves;
+	}
+
+	/**
+	 * Returns the number of requests that bypassed session handling.
+	 * @return the number of bypassed requests
+	 * @since 2.3.0
+	 */
+	public long getBypassedRequestCount() {
+		return this.bypassedRequestCount.sum();
+	}
+
+	/**
+	 * Returns the number of requests that looked up the requested session in the session
+	 * repository.
+	 * @return the number of requests that resolved the requested session
+	 * @since 2.3.0
+	 */
+	public long getResolvedRequestCount() {
+		return this.resolvedRequestCount.sum();
+	}
+
 	@Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
 			throws ServletException, IOException {
+		if (this.bypassRequestMatcher.test(request)) {
+			this.bypassedRequestCount.increment();
+			filterChain.doFilter(request, response);
+			return;
+		}
+
 		request.setAttribute(SESSION_REPOSITORY_ATTR, this.sessionRepository);
 
 		SessionRepositoryRequestWrapper wrappedRequest = new SessionRepositoryRequestWrapper(request, response);
@@ -141,7 +251,57 @@ public class SessionRepositoryFilter<S extends Session> extends OncePerRequestFi
 			filterChain.doFilter(wrappedRequest, wrappedResponse);
 		}
 		finally {
-			wrappedRequest.commitSession();
+			wrappedRequest.commitSession(true);
+		}
+	}
+
+	private void saveSession(S session, boolean async) {
+		String sessionId = session.getId();
+		Executor executor = this.saveExecutor;
+		if (async && executor != null) {
+			if (this.pendingSaveCount.incrementAndGet() <= this.maxPendingSaves) {
+				Runnable task = () -> {
+					try {
+						this.sessionRepository.save(session);
+					}
+					catch (RuntimeException ex) {
+						this.logger.warn("Failed to save session with id " + sessionId, ex);
+					}
+					finally {
+						this.pendingSaveCount.decrementAndGet();
+					}
+				};
+				Executor callerRunsExecutor = (command) -> {
+					try {
+						executor.execute(command);
+					}
+					catch (RejectedExecutionException ex) {
+						command.run();
+					}
+				};
+				// The save is only chained inside compute and started once the map is no
+				// longer locked, as a rejected save runs on the calling thread
+				CompletableFuture<Void> start = new CompletableFuture<>();
+				CompletableFuture<Void> pendingSave = this.pendingSaves.compute(sessionId,
+						(key, previous) -> ((previous != null) ? CompletableFuture.allOf(previous, start) : start)
+								.thenRunAsync(task, callerRunsExecutor));
+				pendingSave.whenComplete((result, ex) -> this.pendingSaves.remove(sessionId, pendingSave));
+				start.complete(null);
+				return;
+			}
+			this.pendingSaveCount.decrementAndGet();
+			if (this.logger.isDebugEnabled()) {
+				this.logger.debug("Maximum number of pending saves reached, saving session synchronously");
+			}
+		}
+		awaitPendingSave(sessionId);
+		this.sessionRepository.save(session);
+	}
+
+	private void awaitPendingSave(String sessionId) {
+		CompletableFuture<Void> pendingSave = this.pendingSaves.get(sessionId);
+		if (pendingSave != null) {
+			pendingSave.join();
 		}
 	}
 
@@ -176,7 +336,7 @@ public class SessionRepositoryFilter<S extends Session> extends OncePerRequestFi
 
 		@Override
 		protected void onResponseCommitted() {
-			this.request.commitSession();
+			this.request.commitSession(false);
 		}
 
 	}
@@ -197,6 +357,10 @@ public class SessionRepositoryFilter<S extends Session> extends OncePerRequestFi
 
 		private boolean requestedSessionCached;
 
+		private boolean requestedSessionResolved;
+
+		private List<String> requestedSessionIds;
+
 		private String requestedSessionId;
 
 		private Boolean requestedSessionIdValid;
@@ -210,9 +374,12 @@ public class SessionRepositoryFilter<S extends Session> extends OncePerRequestFi
 
 		/**
 		 * Uses the {@link HttpSessionIdResolver} to write the session id to the response
-		 * and persist the Session.
+		 * and persist the Session. Only the commit at the end of the request may save the
+		 * session asynchronously, since the request may still change the session after
+		 * its response has been committed.
+		 * @param allowAsync whether the session may be saved asynchronously
 		 */
-		private void commitSession() {
+		private void commitSession(boolean allowAsync) {
 			HttpSessionWrapper wrappedSession = getCurrentSession();
 			if (wrappedSession == null) {
 				if (isInvalidateClientSession()) {
@@ -222,9 +389,10 @@ public class SessionRepositoryFilter<S extends Session> extends OncePerRequestFi
 			else {
 				S session = wrappedSession.getSession();
 				clearRequestedSessionCache();
-				SessionRepositoryFilter.this.sessionRepository.save(session);
 				String sessionId = session.getId();
-				if (!isRequestedSessionIdValid() || !sessionId.equals(getRequestedSessionId())) {
+				boolean sessionIdChanged = !isRequestedSessionIdValid() || !sessionId.equals(getRequestedSessionId());
+				SessionRepositoryFilter.this.saveSession(session, allowAsync && !sessionIdChanged);
+				if (sessionIdChanged) {
 					SessionRepositoryFilter.this.httpSessionIdResolver.setSessionId(this, this.response, sessionId);
 				}
 			}
@@ -257,6 +425,13 @@ public class SessionRepositoryFilter<S extends Session> extends OncePerRequestFi
 			return getCurrentSession().getSession().changeSessionId();
 		}
 
+		/**
+		 * Unlike the other methods of this request, this method has to look up the
+		 * requested session in the {@link SessionRepository} to tell whether it exists,
+		 * unless the requested session has already been resolved during this request, for
+		 * example by {@link #getSession(boolean)}.
+		 * @return whether the requested session id is valid
+		 */
 		@Override
 		public boolean isRequestedSessionIdValid() {
 			if (this.requestedSessionIdValid == null) {
@@ -305,6 +480,7 @@ public class SessionRepositoryFilter<S extends Session> extends OncePerRequestFi
 							"No session found by id: Caching result for getSession(false) for this HttpServletRequest.");
 				}
 				setAttribute(INVALID_SESSION_ID_ATTR, "true");
+				this.requestedSessionIdValid = false;
 			}
 			if (!create) {
 				return null;
@@ -330,7 +506,14 @@ public class SessionRepositoryFilter<S extends Session> extends OncePerRequestFi
 		@Override
 		public String getRequestedSessionId() {
 			if (this.requestedSessionId == null) {
-				getRequestedSession();
+				List<String> sessionIds = getRequestedSessionIds();
+				if (sessionIds.size() == 1) {
+					// no need to consult the session repository if there's no choice
+					this.requestedSessionId = sessionIds.get(0);
+				}
+				else {
+					getRequestedSession();
+				}
 			}
 			return this.requestedSessionId;
 		}
@@ -343,11 +526,16 @@ public class SessionRepositoryFilter<S extends Session> extends OncePerRequestFi
 
 		private S getRequestedSession() {
 			if (!this.requestedSessionCached) {
-				List<String> sessionIds = SessionRepositoryFilter.this.httpSessionIdResolver.resolveSessionIds(this);
+				List<String> sessionIds = getRequestedSessionIds();
+				if (!sessionIds.isEmpty() && !this.requestedSessionResolved) {
+					this.requestedSessionResolved = true;
+					SessionRepositoryFilter.this.resolvedRequestCount.increment();
+				}
 				for (String sessionId : sessionIds) {
 					if (this.requestedSessionId == null) {
 						this.requestedSessionId = sessionId;
 					}
+					SessionRepositoryFilter.this.awaitPendingSave(sessionId);
 					S session = SessionRepositoryFilter.this.sessionRepository.findById(sessionId);
 					if (session != null) {
 						this.requestedSession = session;
@@ -360,6 +548,13 @@ public class SessionRepositoryFilter<S extends Session> extends OncePerRequestFi
 			return this.requestedSession;
 		}
 
+		private List<String> getRequestedSessionIds() {
+			if (this.requestedSessionIds == null) {
+				this.requestedSessionIds = SessionRepositoryFilter.this.httpSessionIdResolver.resolveSessionIds(this);
+			}
+			return this.requestedSessionIds;
+		}
+
 		private void clearRequestedSessionCache() {
 			this.requestedSessionCached = false;
 			this.requestedSession = null;
@@ -384,6 +579,7 @@ public class SessionRepositoryFilter<S extends Session> extends OncePerRequestFi
 				SessionRepositoryRequestWrapper.this.requestedSessionInvalidated = true;
 				setCurrentSession(null);
 				clearRequestedSessionCache();
+				SessionRepositoryFilter.this.awaitPendingSave(getId());
 				SessionRepositoryFilter.this.sessionRepository.deleteById(getId());
 			}
 
@@ -409,7 +605,7 @@ public class SessionRepositoryFilter<S extends Session> extends OncePerRequestFi
 
 			@Override
 			public void include(ServletRequest request, ServletResponse response) throws ServletException, IOException {
-				SessionRepositoryRequestWrapper.this.commitSession();
+				SessionRepositoryRequestWrapper.this.commitSession(false);
 				this.delegate.include(request, response);
 			}
 
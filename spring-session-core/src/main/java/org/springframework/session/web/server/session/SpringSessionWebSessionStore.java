@@ -55,6 +55,10 @@ public class SpringSessionWebSessionStore<S extends Session> implements WebSessi
 
 	private Clock clock = Clock.system(ZoneOffset.UTC);
 
+	private boolean deferLastAccessTimeUpdate;
+
+	private Duration lastAccessTimeUpdateInterval = Duration.ZERO;
+
 	public SpringSessionWebSessionStore(ReactiveSessionRepository<S> reactiveSessionRepository) {
 		Assert.notNull(reactiveSessionRepository, "reactiveSessionRepository cannot be null");
 		this.sessions = reactiveSessionRepository;
@@ -76,6 +80,47 @@ public class SpringSessionWebSessionStore<S extends Session> implements WebSessi
 		this.clock = clock;
 	}
 
+	/**
+	 * Configure whether the last access time of a retrieved session should only be
+	 * updated once the {@link WebSession} is actually used, i.e. its attributes are
+	 * accessed or its id or maximum idle time are changed. Requests that retrieve the
+	 * session without using it then leave the session untouched and do not cause it to
+	 * be saved.
+	 * <p>
+	 * By default this is {@code false} and the last access time is updated as soon as
+	 * the session is retrieved.
+	 * @param deferLastAccessTimeUpdate whether to defer the last access time update
+	 * @since 2.3.0
+	 */
+	public void setDeferLastAccessTimeUpdate(boolean deferLastAccessTimeUpdate) {
+		this.deferLastAccessTimeUpdate = deferLastAccessTimeUpdate;
+	}
+
+	/**
+	 * Configure the minimum interval between two updates of the last access time of a
+	 * retrieved session. If the stored last access time is more recent than the interval,
+	 * it is left as is and, provided nothing else changed, the session is not saved at
+	 * the end of the request.
+	 * <p>
+	 * The interval should be considerably smaller than the maximum inactive interval of
+	 * the sessions, as it delays their expiration by up to the configured value. Note
+	 * that changes made to mutable attribute values without setting the attribute again
+	 * are not detected, so this option is not suited for use with
+	 * {@link org.springframework.session.SaveMode#ON_GET_ATTRIBUTE} or
+	 * {@link org.springframework.session.SaveMode#ALWAYS}.
+	 * <p>
+	 * By default this is {@link Duration#ZERO} and the last access time is updated on
+	 * every request.
+	 * @param lastAccessTimeUpdateInterval the minimum interval between last access time
+	 * updates
+	 * @since 2.3.0
+	 */
+	public void setLastAccessTimeUpdateInterval(Duration lastAccessTimeUpdateInterval) {
+		Assert.notNull(lastAccessTimeUpdateInterval, "lastAccessTimeUpdateInterval cannot be null");
+		Assert.isTrue(!lastAccessTimeUpdateInterval.isNegative(), "lastAccessTimeUpdateInterval cannot be negative");
+		this.lastAccessTimeUpdateInterval = lastAccessTimeUpdateInterval;
+	}
+
 	@Override
 	public Mono<WebSession> createWebSession() {
 		return this.sessions.createSession().map(this::createSession);
@@ -85,14 +130,13 @@ public class SpringSessionWebSessionStore<S extends Session> implements WebSessi
 	public Mono<WebSession> updateLastAccessTime(WebSession session) {
 		@SuppressWarnings("unchecked")
 		SpringSessionWebSession springSessionWebSession = (SpringSessionWebSession) session;
-		springSessionWebSession.session.setLastAccessedTime(this.clock.instant());
+		springSessionWebSession.updateLastAccessTime(true);
 		return Mono.just(session);
 	}
 
 	@Override
 	public Mono<WebSession> retrieveSession(String sessionId) {
-		return this.sessions.findById(sessionId)
-				.doOnNext((session) -> session.setLastAccessedTime(this.clock.instant())).map(this::existingSession);
+		return this.sessions.findById(sessionId).map(this::existingSession);
 	}
 
 	@Override
@@ -101,11 +145,17 @@ public class SpringSessionWebSessionStore<S extends Session> implements WebSessi
 	}
 
 	private SpringSessionWebSession createSession(S session) {
-		return new SpringSessionWebSession(session, State.NEW);
+		SpringSessionWebSession webSession = new SpringSessionWebSession(session, State.NEW);
+		webSession.changed = true;
+		return webSession;
 	}
 
 	private SpringSessionWebSession existingSession(S session) {
-		return new SpringSessionWebSession(session, State.STARTED);
+		SpringSessionWebSession webSession = new SpringSessionWebSession(session, State.STARTED);
+		if (!this.deferLastAccessTimeUpdate) {
+			webSession.updateLastAccessTime(false);
+		}
+		return webSession;
 	}
 
 	/**
@@ -119,13 +169,49 @@ public class SpringSessionWebSessionStore<S extends Session> implements WebSessi
 
 		private AtomicReference<State> state = new AtomicReference<>();
 
+		private volatile boolean lastAccessTimeUpdated;
+
+		private volatile boolean changed;
+
 		SpringSessionWebSession(S session, State state) {
 			Assert.notNull(session, "session cannot be null");
 			this.session = session;
-			this.attributes = new SpringSessionMap(session);
+			this.attributes = new SpringSessionMap(session, () -> updateLastAccessTime(false), this::markChanged);
 			this.state.set(state);
 		}
 
+		/**
+		 * Update the last access time of the underlying session, at most once per
+		 * request and subject to the configured update interval unless forced.
+		 * @param force whether to update the last access time regardless of the
+		 * configured interval
+		 */
+		void updateLastAccessTime(boolean force) {
+			if (this.lastAccessTimeUpdated && !force) {
+				return;
+			}
+			this.lastAccessTimeUpdated = true;
+			Instant now = SpringSessionWebSessionStore.this.clock.instant();
+			if (force || isLastAccessTimeUpdateRequired(now)) {
+				this.session.setLastAccessedTime(now);
+				this.changed = true;
+			}
+		}
+
+		private boolean isLastAccessTimeUpdateRequired(Instant now) {
+			Duration interval = SpringSessionWebSessionStore.this.lastAccessTimeUpdateInterval;
+			if (interval.isZero()) {
+				return true;
+			}
+			Instant lastAccessedTime = this.session.getLastAccessedTime();
+			return lastAccessedTime == null || !now.isBefore(lastAccessedTime.plus(interval));
+		}
+
+		private void markChanged() {
+			updateLastAccessTime(false);
+			this.changed = true;
+		}
+
 		@Override
 		public String getId() {
 			return this.session.getId();
@@ -134,6 +220,7 @@ public class SpringSessionWebSessionStore<S extends Session> implements WebSessi
 		@Override
 		public Mono<Void> changeSessionId() {
 			return Mono.defer(() -> {
+				markChanged();
 				this.session.changeSessionId();
 				return save();
 			});
@@ -152,7 +239,8 @@ public class SpringSessionWebSessionStore<S extends Session> implements WebSessi
 		@Override
 		public boolean isStarted() {
 			State value = this.state.get();
-			return (State.STARTED.equals(value) || (State.NEW.equals(value) && !getAttributes().isEmpty()));
+			return (State.STARTED.equals(value)
+					|| (State.NEW.equals(value) && !this.session.getAttributeNames().isEmpty()));
 		}
 
 		@Override
@@ -163,6 +251,9 @@ public class SpringSessionWebSessionStore<S extends Session> implements WebSessi
 
 		@Override
 		public Mono<Void> save() {
+			if (!this.changed) {
+				return Mono.empty();
+			}
 			return SpringSessionWebSessionStore.this.sessions.save(this.session);
 		}
 
@@ -195,6 +286,7 @@ public class SpringSessionWebSessionStore<S extends Session> implements WebSessi
 
 		@Override
 		public void setMaxIdleTime(Duration maxIdleTime) {
+			markChanged();
 			this.session.setMaxInactiveInterval(maxIdleTime);
 		}
 
@@ -210,29 +302,39 @@ public class SpringSessionWebSessionStore<S extends Session> implements WebSessi
 
 		private final Session session;
 
+		private final Runnable accessCallback;
+
+		private final Runnable changeCallback;
+
 		private final Collection<Object> values = new SessionValues();
 
-		SpringSessionMap(Session session) {
+		SpringSessionMap(Session session, Runnable accessCallback, Runnable changeCallback) {
 			this.session = session;
+			this.accessCallback = accessCallback;
+			this.changeCallback = changeCallback;
 		}
 
 		@Override
 		public int size() {
+			this.accessCallback.run();
 			return this.session.getAttributeNames().size();
 		}
 
 		@Override
 		public boolean isEmpty() {
+			this.accessCallback.run();
 			return this.session.getAttributeNames().isEmpty();
 		}
 
 		@Override
 		public boolean containsKey(Object key) {
+			this.accessCallback.run();
 			return key instanceof String && this.session.getAttributeNames().contains(key);
 		}
 
 		@Override
 		public boolean containsValue(Object value) {
+			this.accessCallback.run();
 			return this.session.getAttributeNames().stream()
 					.anyMatch((attrName) -> this.session.getAttribute(attrName) != null);
 		}
@@ -240,6 +342,7 @@ public class SpringSessionWebSessionStore<S extends Session> implements WebSessi
 		@Override
 		@Nullable
 		public Object get(Object key) {
+			this.accessCallback.run();
 			if (key instanceof String) {
 				return this.session.getAttribute((String) key);
 			}
@@ -248,6 +351,7 @@ public class SpringSessionWebSessionStore<S extends Session> implements WebSessi
 
 		@Override
 		public Object put(String key, Object value) {
+			this.changeCallback.run();
 			Object original = this.session.getAttribute(key);
 			this.session.setAttribute(key, value);
 			return original;
@@ -257,6 +361,7 @@ public class SpringSessionWebSessionStore<S extends Session> implements WebSessi
 		@Nullable
 		public Object remove(Object key) {
 			if (key instanceof String) {
+				this.changeCallback.run();
 				String attrName = (String) key;
 				Object original = this.session.getAttribute(attrName);
 				this.session.removeAttribute(attrName);
@@ -281,6 +386,7 @@ public class SpringSessionWebSessionStore<S extends Session> implements WebSessi
 
 		@Override
 		public Set<String> keySet() {
+			this.accessCallback.run();
 			return this.session.getAttributeNames();
 		}
 
@@ -291,7 +397,8 @@ public class SpringSessionWebSessionStore<S extends Session> implements WebSessi
 
 		@Override
 		public Set<Entry<String, Object>> entrySet() {
-			Set<String> attrNames = keySet();
+			this.accessCallback.run();
+			Set<String> attrNames = this.session.getAttributeNames();
 			Set<Entry<String, Object>> entries = new HashSet<>(attrNames.size());
 			for (String attrName : attrNames) {
 				Object value = this.session.getAttribute(attrName);
@@ -19,7 +19,12 @@ package org.springframework.session.web.socket.handler;
 import java.io.IOException;
 import java.security.Principal;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -30,6 +35,7 @@ import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.session.events.SessionDestroyedEvent;
 import org.springframework.session.web.socket.events.SessionConnectEvent;
 import org.springframework.session.web.socket.server.SessionRepositoryMessageInterceptor;
+import org.springframework.util.Assert;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
@@ -41,6 +47,13 @@ import org.springframework.web.socket.messaging.SessionDisconnectEvent;
  * {@link WebSocketSession} is closed.
  * </p>
  *
+ * <p>
+ * By default, the {@link WebSocketSession}s are closed on the thread publishing the
+ * {@link SessionDestroyedEvent}. When many HTTP sessions expire at once, this can hold up
+ * the delivery of other events, in which case a close executor can be configured using
+ * {@link #setCloseExecutor(Executor)}.
+ * </p>
+ *
  * @author Rob Winch
  * @author Mark Anderson
  * @since 1.0
@@ -52,8 +65,92 @@ public final class WebSocketRegistryListener implements ApplicationListener<Appl
 	static final CloseStatus SESSION_EXPIRED_STATUS = new CloseStatus(CloseStatus.POLICY_VIOLATION.getCode(),
 			"This connection was established under an authenticated HTTP Session that has expired");
 
+	/**
+	 * The default maximum number of {@link WebSocketSession}s closed by a single close
+	 * task.
+	 */
+	public static final int DEFAULT_CLOSE_BATCH_SIZE = 100;
+
 	private final ConcurrentHashMap<String, Map<String, WebSocketSession>> httpSessionIdToWsSessions = new ConcurrentHashMap<>();
 
+	private final Queue<WebSocketSession> pendingCloses = new ConcurrentLinkedQueue<>();
+
+	private final AtomicBoolean closeScheduled = new AtomicBoolean();
+
+	private Executor closeExecutor;
+
+	private int closeBatchSize = DEFAULT_CLOSE_BATCH_SIZE;
+
+	private boolean registerAnonymousSessions;
+
+	/**
+	 * Sets the {@link Executor} used to close the {@link WebSocketSession}s associated
+	 * with destroyed HTTP sessions. The sessions to close are queued and closed in
+	 * batches of at most {@link #setCloseBatchSize(int) closeBatchSize} per task, so a
+	 * single thread of a bounded executor is enough to handle mass expiration. If the
+	 * executor rejects a task, the sessions are closed on the calling thread. By default,
+	 * no executor is set and the sessions are closed on the thread publishing the
+	 * {@link SessionDestroyedEvent}.
+	 * @param closeExecutor the executor to use, or {@code null} to close sessions
+	 * synchronously
+	 * @since 2.3.0
+	 */
+	public void setCloseExecutor(Executor closeExecutor) {
+		this.closeExecutor = closeExecutor;
+	}
+
+	/**
+	 * Sets the maximum number of {@link WebSocketSession}s closed by a single task
+	 * submitted to the close executor. The default is {@link #DEFAULT_CLOSE_BATCH_SIZE}.
+	 * @param closeBatchSize the maximum number of sessions closed per task. Must be
+	 * positive.
+	 * @since 2.3.0
+	 */
+	public void setCloseBatchSize(int closeBatchSize) {
+		Assert.isTrue(closeBatchSize > 0, "closeBatchSize must be positive");
+		this.closeBatchSize = closeBatchSize;
+	}
+
+	/**
+	 * Sets whether {@link WebSocketSession}s without a {@link Principal} should be
+	 * tracked and closed when their HTTP session is destroyed. The default is
+	 * {@code false}, which only tracks authenticated connections.
+	 * @param registerAnonymousSessions whether to track sessions without a principal
+	 * @since 2.3.0
+	 */
+	public void setRegisterAnonymousSessions(boolean registerAnonymousSessions) {
+		this.registerAnonymousSessions = registerAnonymousSessions;
+	}
+
+	/**
+	 * Returns the number of HTTP sessions with at least one tracked
+	 * {@link WebSocketSession}.
+	 * @return the number of HTTP sessions
+	 * @since 2.3.0
+	 */
+	public long getHttpSessionCount() {
+		return this.httpSessionIdToWsSessions.mappingCount();
+	}
+
+	/**
+	 * Returns the number of tracked {@link WebSocketSession}s.
+	 * @return the number of WebSocket sessions
+	 * @since 2.3.0
+	 */
+	public long getWebSocketSessionCount() {
+		return this.httpSessionIdToWsSessions.values().stream().mapToLong(Map::size).sum();
+	}
+
+	/**
+	 * Returns the number of {@link WebSocketSession}s waiting to be closed by the close
+	 * executor.
+	 * @return the number of pending closes
+	 * @since 2.3.0
+	 */
+	public int getPendingCloseCount() {
+		return this.pendingCloses.size();
+	}
+
 	@Override
 	public void onApplicationEvent(ApplicationEvent event) {
 		if (event instanceof SessionDestroyedEvent) {
@@ -76,11 +173,14 @@ public final class WebSocketRegistryListener implements ApplicationListener<Appl
 
 	private void afterConnectionEstablished(WebSocketSession wsSession) {
 		Principal principal = wsSession.getPrincipal();
-		if (principal == null) {
+		if (principal == null && !this.registerAnonymousSessions) {
 			return;
 		}
 
 		String httpSessionId = getHttpSessionId(wsSession);
+		if (httpSessionId == null) {
+			return;
+		}
 		registerWsSession(httpSessionId, wsSession);
 	}
 
@@ -94,30 +194,28 @@ public final class WebSocketRegistryListener implements ApplicationListener<Appl
 			return;
 		}
 
-		Map<String, WebSocketSession> sessions = this.httpSessionIdToWsSessions.get(httpSessionId);
-		if (sessions != null) {
+		this.httpSessionIdToWsSessions.computeIfPresent(httpSessionId, (key, sessions) -> {
 			boolean result = sessions.remove(wsSessionId) != null;
 			if (logger.isDebugEnabled()) {
 				logger.debug("Removal of " + wsSessionId + " was " + result);
 			}
 			if (sessions.isEmpty()) {
-				this.httpSessionIdToWsSessions.remove(httpSessionId);
 				if (logger.isDebugEnabled()) {
 					logger.debug("Removed the corresponding HTTP Session for " + wsSessionId
 							+ " since it contained no WebSocket mappings");
 				}
+				return null;
 			}
-		}
+			return sessions;
+		});
 	}
 
 	private void registerWsSession(String httpSessionId, WebSocketSession wsSession) {
-		Map<String, WebSocketSession> sessions = this.httpSessionIdToWsSessions.get(httpSessionId);
-		if (sessions == null) {
-			sessions = new ConcurrentHashMap<>();
-			this.httpSessionIdToWsSessions.putIfAbsent(httpSessionId, sessions);
-			sessions = this.httpSessionIdToWsSessions.get(httpSessionId);
-		}
-		sessions.put(wsSession.getId(), wsSession);
+		this.httpSessionIdToWsSessions.compute(httpSessionId, (key, sessions) -> {
+			Map<String, WebSocketSession> result = (sessions != null) ? sessions : new ConcurrentHashMap<>();
+			result.put(wsSession.getId(), wsSession);
+			return result;
+		});
 	}
 
 	private void closeWsSessions(String httpSessionId) {
@@ -128,15 +226,53 @@ public final class WebSocketRegistryListener implements ApplicationListener<Appl
 		if (logger.isDebugEnabled()) {
 			logger.debug("Closing WebSocket connections associated to expired HTTP Session " + httpSessionId);
 		}
-		for (WebSocketSession toClose : sessionsToClose.values()) {
-			try {
-				toClose.close(SESSION_EXPIRED_STATUS);
+		if (this.closeExecutor == null) {
+			sessionsToClose.values().forEach(WebSocketRegistryListener::closeWsSession);
+			return;
+		}
+		this.pendingCloses.addAll(sessionsToClose.values());
+		scheduleClose();
+	}
+
+	private void scheduleClose() {
+		if (!this.closeScheduled.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			this.closeExecutor.execute(() -> closePendingWsSessions(this.closeBatchSize));
+		}
+		catch (RejectedExecutionException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Close executor rejected the task, closing WebSocket connections synchronously");
 			}
-			catch (IOException ex) {
-				logger.debug("Failed to close WebSocketSession (this is nothing to worry about but for debugging only)",
-						ex);
+			closePendingWsSessions(Integer.MAX_VALUE);
+		}
+	}
+
+	private void closePendingWsSessions(int maxSessions) {
+		try {
+			WebSocketSession toClose;
+			int closed = 0;
+			while (closed < maxSessions && (toClose = this.pendingCloses.poll()) != null) {
+				closeWsSession(toClose);
+				closed++;
 			}
 		}
+		finally {
+			this.closeScheduled.set(false);
+		}
+		if (!this.pendingCloses.isEmpty()) {
+			scheduleClose();
+		}
+	}
+
+	private static void closeWsSession(WebSocketSession toClose) {
+		try {
+			toClose.close(SESSION_EXPIRED_STATUS);
+		}
+		catch (IOException ex) {
+			logger.debug("Failed to close WebSocketSession (this is nothing to worry about but for debugging only)", ex);
+		}
 	}
 
 }
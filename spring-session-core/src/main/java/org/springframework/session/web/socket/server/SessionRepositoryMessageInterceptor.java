@@ -16,10 +16,14 @@
 
 package org.springframework.session.web.socket.server;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.EnumSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.servlet.http.HttpSession;
 
@@ -70,6 +74,14 @@ public final class SessionRepositoryMessageInterceptor<S extends Session>
 
 	private Set<SimpMessageType> matchingMessageTypes;
 
+	private Duration lastAccessUpdateInterval = Duration.ZERO;
+
+	private final ConcurrentMap<String, Instant> lastAccessUpdates = new ConcurrentHashMap<>();
+
+	private final LongAdder matchedMessageCount = new LongAdder();
+
+	private final LongAdder sessionUpdateCount = new LongAdder();
+
 	/**
 	 * Creates a new instance.
 	 * @param sessionRepository the {@link SessionRepository} to use. Cannot be null.
@@ -101,28 +113,102 @@ public final class SessionRepositoryMessageInterceptor<S extends Session>
 		this.matchingMessageTypes = matchingMessageTypes;
 	}
 
+	/**
+	 * Sets the minimum interval between two updates of the last accessed time of a
+	 * {@link Session}. Messages received within the interval after the last update are
+	 * recorded but do not cause the {@link Session} to be looked up and saved, which
+	 * reduces the load on the {@link SessionRepository} for chatty clients. The interval
+	 * should be considerably smaller than the maximum inactive interval of the sessions,
+	 * as the last accessed time can lag behind the actual activity by up to the
+	 * configured value.
+	 * <p>
+	 * The interval is tracked per {@link Session} rather than per WebSocket connection, so
+	 * all connections established from the same HTTP session share a single update
+	 * schedule. The tracking state is discarded on {@link SimpMessageType#DISCONNECT} of
+	 * any of these connections and when the {@link Session} is no longer found.
+	 * <p>
+	 * The default is {@link Duration#ZERO}, which updates the {@link Session} for every
+	 * matching {@link Message}.
+	 * @param lastAccessUpdateInterval the minimum interval between last accessed time
+	 * updates
+	 * @since 2.3.0
+	 */
+	public void setLastAccessUpdateInterval(Duration lastAccessUpdateInterval) {
+		Assert.notNull(lastAccessUpdateInterval, "lastAccessUpdateInterval cannot be null");
+		Assert.isTrue(!lastAccessUpdateInterval.isNegative(), "lastAccessUpdateInterval cannot be negative");
+		this.lastAccessUpdateInterval = lastAccessUpdateInterval;
+	}
+
+	/**
+	 * Returns the number of intercepted {@link Message}'s that matched the configured
+	 * {@link SimpMessageType}'s and carried a {@link Session} id.
+	 * @return the number of matched messages
+	 * @since 2.3.0
+	 */
+	public long getMatchedMessageCount() {
+		return this.matchedMessageCount.sum();
+	}
+
+	/**
+	 * Returns the number of {@link Session}'s whose last accessed time was updated in the
+	 * {@link SessionRepository}. Updates of sessions that were not found or are expired
+	 * are not counted.
+	 * @return the number of session updates
+	 * @since 2.3.0
+	 */
+	public long getSessionUpdateCount() {
+		return this.sessionUpdateCount.sum();
+	}
+
 	@Override
 	public Message<?> preSend(Message<?> message, MessageChannel channel) {
 		if (message == null) {
 			return message;
 		}
 		SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+		if (SimpMessageType.DISCONNECT.equals(messageType) && !this.lastAccessUpdates.isEmpty()) {
+			String sessionId = getSessionId(message);
+			if (sessionId != null) {
+				this.lastAccessUpdates.remove(sessionId);
+			}
+		}
 		if (!this.matchingMessageTypes.contains(messageType)) {
 			return message;
 		}
-		Map<String, Object> sessionHeaders = SimpMessageHeaderAccessor.getSessionAttributes(message.getHeaders());
-		String sessionId = (sessionHeaders != null) ? (String) sessionHeaders.get(SPRING_SESSION_ID_ATTR_NAME) : null;
+		String sessionId = getSessionId(message);
 		if (sessionId != null) {
-			S session = this.sessionRepository.findById(sessionId);
-			if (session != null) {
+			this.matchedMessageCount.increment();
+			Instant now = Instant.now();
+			if (isLastAccessUpdateRequired(sessionId, now)) {
 				// update the last accessed time
-				session.setLastAccessedTime(Instant.now());
-				this.sessionRepository.save(session);
+				if (this.sessionRepository.touch(sessionId, now)) {
+					this.sessionUpdateCount.increment();
+				}
+				else {
+					this.lastAccessUpdates.remove(sessionId);
+				}
 			}
 		}
 		return message;
 	}
 
+	private boolean isLastAccessUpdateRequired(String sessionId, Instant now) {
+		if (this.lastAccessUpdateInterval.isZero()) {
+			return true;
+		}
+		Instant lastAccessUpdate = this.lastAccessUpdates.get(sessionId);
+		if (lastAccessUpdate != null && now.isBefore(lastAccessUpdate.plus(this.lastAccessUpdateInterval))) {
+			return false;
+		}
+		this.lastAccessUpdates.put(sessionId, now);
+		return true;
+	}
+
+	private static String getSessionId(Message<?> message) {
+		Map<String, Object> sessionHeaders = SimpMessageHeaderAccessor.getSessionAttributes(message.getHeaders());
+		return (sessionHeaders != null) ? getSessionId(sessionHeaders) : null;
+	}
+
 	@Override
 	public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response, WebSocketHandler wsHandler,
 			Map<String, Object> attributes) {
@@ -96,6 +96,24 @@ class MapSessionRepositoryTests {
 		assertThat(this.repository.findById(createSession.getId())).isNotNull();
 	}
 
+	@Test
+	void touchUpdatesLastAccessedTime() {
+		MapSession session = this.repository.createSession();
+		this.repository.save(session);
+		Instant lastAccessedTime = session.getLastAccessedTime().plusSeconds(10);
+
+		assertThat(this.repository.touch(session.getId(), lastAccessedTime)).isTrue();
+
+		assertThat(this.repository.findById(session.getId()).getLastAccessedTime()).isEqualTo(lastAccessedTime);
+	}
+
+	@Test
+	void touchWhenNotFoundThenDoesNothing() {
+		assertThat(this.repository.touch("missing", Instant.now())).isFalse();
+
+		assertThat(this.repository.findById("missing")).isNull();
+	}
+
 	@Test // gh-1120
 	void getAttributeNamesAndRemove() {
 		MapSession session = this.repository.createSession();
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.session.MapSession;
+import org.springframework.session.events.AsyncSessionEventPublisher.OverflowPolicy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link AsyncSessionEventPublisher}.
+ */
+class AsyncSessionEventPublisherTests {
+
+	private final List<Object> delivered = new ArrayList<>();
+
+	private final ApplicationEventPublisher delegate = this.delivered::add;
+
+	private final List<Runnable> tasks = new ArrayList<>();
+
+	private AsyncSessionEventPublisher publisher;
+
+	@BeforeEach
+	void setUp() {
+		this.publisher = new AsyncSessionEventPublisher(this.delegate, this.tasks::add, 1, 2, 10);
+	}
+
+	@Test
+	void constructorNullDelegate() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> new AsyncSessionEventPublisher(null, this.tasks::add))
+				.withMessage("delegate must not be null");
+	}
+
+	@Test
+	void constructorNullExecutor() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new AsyncSessionEventPublisher(this.delegate, null))
+				.withMessage("executor must not be null");
+	}
+
+	@Test
+	void publishEventDeliversAsynchronouslyInOrder() {
+		MapSession session = new MapSession();
+		SessionCreatedEvent created = new SessionCreatedEvent(this, session);
+		SessionDeletedEvent deleted = new SessionDeletedEvent(this, session);
+
+		this.publisher.publishEvent(created);
+		this.publisher.publishEvent(deleted);
+
+		assertThat(this.delivered).isEmpty();
+		assertThat(this.tasks).hasSize(1);
+		assertThat(this.publisher.getPendingCount()).isEqualTo(2);
+		this.tasks.get(0).run();
+		assertThat(this.delivered).containsExactly(created, deleted);
+		assertThat(this.publisher.getPublishedCount()).isEqualTo(2);
+		assertThat(this.publisher.getDeliveredCount()).isEqualTo(2);
+		assertThat(this.publisher.getPendingCount()).isEqualTo(0);
+	}
+
+	@Test
+	void publishEventDeliversInBatches() {
+		this.publisher = new AsyncSessionEventPublisher(this.delegate, this.tasks::add, 1, 2, 1);
+
+		this.publisher.publishEvent("a");
+		this.publisher.publishEvent("b");
+		this.tasks.get(0).run();
+
+		assertThat(this.delivered).containsExactly("a");
+		assertThat(this.tasks).hasSize(2);
+		this.tasks.get(1).run();
+		assertThat(this.delivered).containsExactly("a", "b");
+	}
+
+	@Test
+	void publishEventOverflowCallerRuns() {
+		this.publisher.publishEvent("a");
+		this.publisher.publishEvent("b");
+		this.publisher.publishEvent("c");
+
+		assertThat(this.delivered).containsExactly("c");
+		assertThat(this.publisher.getDroppedCount()).isEqualTo(0);
+	}
+
+	@Test
+	void publishEventOverflowDropNewest() {
+		this.publisher.setOverflowPolicy(OverflowPolicy.DROP_NEWEST);
+
+		this.publisher.publishEvent("a");
+		this.publisher.publishEvent("b");
+		this.publisher.publishEvent("c");
+		this.tasks.get(0).run();
+
+		assertThat(this.delivered).containsExactly("a", "b");
+		assertThat(this.publisher.getDroppedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void publishEventOverflowDropOldest() {
+		this.publisher.setOverflowPolicy(OverflowPolicy.DROP_OLDEST);
+
+		this.publisher.publishEvent("a");
+		this.publisher.publishEvent("b");
+		this.publisher.publishEvent("c");
+		this.tasks.get(0).run();
+
+		assertThat(this.delivered).containsExactly("b", "c");
+		assertThat(this.publisher.getDroppedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void publishEventExecutorRejectedDeliversSynchronously() {
+		this.publisher = new AsyncSessionEventPublisher(this.delegate, (command) -> {
+			throw new RejectedExecutionException();
+		});
+
+		this.publisher.publishEvent("a");
+
+		assertThat(this.delivered).containsExactly("a");
+	}
+
+	@Test
+	void publishEventSameSessionUsesSameLane() {
+		this.publisher = new AsyncSessionEventPublisher(this.delegate, this.tasks::add, 4, 16, 10);
+		MapSession session = new MapSession();
+
+		this.publisher.publishEvent(new SessionCreatedEvent(this, session));
+		this.publisher.publishEvent(new SessionExpiredEvent(this, session));
+
+		assertThat(this.tasks).hasSize(1);
+	}
+
+	@Test
+	void publishEventDelegateFailureContinuesDelivery() {
+		this.publisher = new AsyncSessionEventPublisher((event) -> {
+			if ("a".equals(event)) {
+				throw new IllegalStateException("test");
+			}
+			this.delivered.add(event);
+		}, this.tasks::add);
+
+		this.publisher.publishEvent("a");
+		this.publisher.publishEvent("b");
+		this.tasks.get(0).run();
+
+		assertThat(this.delivered).containsExactly("b");
+		assertThat(this.publisher.getDeliveredCount()).isEqualTo(2);
+	}
+
+	@Test
+	void setOverflowPolicyNull() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.publisher.setOverflowPolicy(null))
+				.withMessage("overflowPolicy must not be null");
+	}
+
+}
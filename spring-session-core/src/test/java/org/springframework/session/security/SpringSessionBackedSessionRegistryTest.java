@@ -38,10 +38,12 @@ import org.springframework.security.core.session.SessionInformation;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.session.FindByIndexNameSessionRepository;
 import org.springframework.session.MapSession;
+import org.springframework.session.ProjectingFindByIndexNameSessionRepository;
 import org.springframework.session.Session;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
 import static org.mockito.BDDMockito.verify;
 import static org.mockito.BDDMockito.when;
 
@@ -137,6 +139,34 @@ class SpringSessionBackedSessionRegistryTest {
 		assertThat(nonExpiredSessionInfos).extracting("sessionId").containsExactly(SESSION_ID2);
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	void getAllSessionsFromMetadata() {
+		ProjectingFindByIndexNameSessionRepository<Session> sessionRepository = mock(
+				ProjectingFindByIndexNameSessionRepository.class);
+		MapSession metadata1 = new MapSession(SESSION_ID);
+		metadata1.setLastAccessedTime(NOW);
+		metadata1.setAttribute(SpringSessionBackedSessionInformation.EXPIRED_ATTR, Boolean.TRUE);
+		MapSession metadata2 = new MapSession(SESSION_ID2);
+		metadata2.setLastAccessedTime(NOW);
+		Map<String, MapSession> sessions = new LinkedHashMap<>();
+		sessions.put(metadata1.getId(), metadata1);
+		sessions.put(metadata2.getId(), metadata2);
+		when(sessionRepository.findMetadataByPrincipalName(USER_NAME,
+				Collections.singleton(SpringSessionBackedSessionInformation.EXPIRED_ATTR))).thenReturn(sessions);
+		SpringSessionBackedSessionRegistry<Session> sessionRegistry = new SpringSessionBackedSessionRegistry<>(
+				sessionRepository);
+
+		List<SessionInformation> allSessionInfos = sessionRegistry.getAllSessions(PRINCIPAL, true);
+		List<SessionInformation> nonExpiredSessionInfos = sessionRegistry.getAllSessions(PRINCIPAL, false);
+
+		assertThat(allSessionInfos).extracting("sessionId").containsExactly(SESSION_ID, SESSION_ID2);
+		assertThat(allSessionInfos).extracting("principal").containsOnly(USER_NAME);
+		assertThat(allSessionInfos.get(0).isExpired()).isTrue();
+		assertThat(nonExpiredSessionInfos).extracting("sessionId").containsExactly(SESSION_ID2);
+		verify(sessionRepository, never()).findByPrincipalName(USER_NAME);
+	}
+
 	@Test
 	void expireNow() {
 		Session session = createSession(SESSION_ID, USER_NAME, NOW);
@@ -23,12 +23,15 @@ import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletContext;
@@ -1313,14 +1316,280 @@ class SessionRepositoryFilterTests {
 			}
 		});
 
-		// 3 invocations expected: initial resolution, after invalidation, after commit
-		verify(sessionRepository, times(3)).findById(eq(session.getId()));
+		// 2 invocations expected: initial resolution, after invalidation
+		verify(sessionRepository, times(2)).findById(eq(session.getId()));
 		verify(sessionRepository).deleteById(eq(session.getId()));
 		verify(sessionRepository).createSession();
 		verify(sessionRepository).save(any());
 		verifyZeroInteractions(sessionRepository);
 	}
 
+	@Test
+	void doFilterInvalidRequestedSessionIdRetrievalIsCached() throws Exception {
+		SessionRepository<MapSession> sessionRepository = spy(this.sessionRepository);
+		setSessionCookie("invalid");
+
+		this.filter = new SessionRepositoryFilter<>(sessionRepository);
+
+		doFilter(new DoInFilter() {
+			@Override
+			public void doFilter(HttpServletRequest wrappedRequest, HttpServletResponse wrappedResponse) {
+				wrappedRequest.getSession();
+			}
+		});
+
+		verify(sessionRepository).findById(eq("invalid"));
+		verify(sessionRepository).createSession();
+		verify(sessionRepository).save(any());
+		verifyZeroInteractions(sessionRepository);
+	}
+
+	@Test
+	void doFilterGetRequestedSessionIdNoSessionRepositoryInteractions() throws Exception {
+		MapSession session = this.sessionRepository.createSession();
+		this.sessionRepository.save(session);
+		SessionRepository<MapSession> sessionRepository = spy(this.sessionRepository);
+		setSessionCookie(session.getId());
+
+		this.filter = new SessionRepositoryFilter<>(sessionRepository);
+
+		doFilter(new DoInFilter() {
+			@Override
+			public void doFilter(HttpServletRequest wrappedRequest, HttpServletResponse wrappedResponse) {
+				assertThat(wrappedRequest.getRequestedSessionId()).isEqualTo(session.getId());
+			}
+		});
+
+		verifyZeroInteractions(sessionRepository);
+		assertThat(this.filter.getResolvedRequestCount()).isEqualTo(0);
+	}
+
+	@Test
+	void doFilterResolvedRequestCount() throws Exception {
+		MapSession session = this.sessionRepository.createSession();
+		this.sessionRepository.save(session);
+		setSessionCookie(session.getId());
+
+		doFilter(new DoInFilter() {
+			@Override
+			public void doFilter(HttpServletRequest wrappedRequest, HttpServletResponse wrappedResponse) {
+				wrappedRequest.isRequestedSessionIdValid();
+				wrappedRequest.getSession(false);
+			}
+		});
+
+		assertThat(this.filter.getResolvedRequestCount()).isEqualTo(1);
+		assertThat(this.filter.getBypassedRequestCount()).isEqualTo(0);
+	}
+
+	@Test
+	void doFilterBypassRequestMatcher() throws Exception {
+		MapSession session = this.sessionRepository.createSession();
+		this.sessionRepository.save(session);
+		SessionRepository<MapSession> sessionRepository = spy(this.sessionRepository);
+		setSessionCookie(session.getId());
+		this.request.setRequestURI("/static/app.js");
+
+		this.filter = new SessionRepositoryFilter<>(sessionRepository);
+		this.filter.setBypassRequestMatcher(SessionBypassRequestMatchers.pathPatterns("/static/**"));
+
+		doFilter(new DoInFilter() {
+			@Override
+			public void doFilter(HttpServletRequest wrappedRequest, HttpServletResponse wrappedResponse) {
+				assertThat(wrappedRequest).isSameAs(SessionRepositoryFilterTests.this.request);
+				assertThat(wrappedRequest.getAttribute(SessionRepositoryFilter.SESSION_REPOSITORY_ATTR)).isNull();
+			}
+		});
+
+		verifyZeroInteractions(sessionRepository);
+		assertThat(this.filter.getBypassedRequestCount()).isEqualTo(1);
+		assertThat(this.filter.getResolvedRequestCount()).isEqualTo(0);
+	}
+
+	@Test
+	void doFilterBypassRequestMatcherNotMatching() throws Exception {
+		this.request.setRequestURI("/app");
+		Predicate<HttpServletRequest> staticResources = SessionBypassRequestMatchers.pathPatterns("/static/**");
+		this.filter.setBypassRequestMatcher(staticResources.or(SessionBypassRequestMatchers.methods("OPTIONS")));
+
+		doFilter(new DoInFilter() {
+			@Override
+			public void doFilter(HttpServletRequest wrappedRequest, HttpServletResponse wrappedResponse) {
+				wrappedRequest.getSession();
+			}
+		});
+
+		assertNewSession();
+		assertThat(this.filter.getBypassedRequestCount()).isEqualTo(0);
+	}
+
+	@Test
+	void setBypassRequestMatcherNull() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.filter.setBypassRequestMatcher(null))
+				.withMessage("bypassRequestMatcher cannot be null");
+	}
+
+	@Test
+	void doFilterSaveExecutorSavesExistingSessionAsynchronously() throws Exception {
+		MapSession session = this.sessionRepository.createSession();
+		this.sessionRepository.save(session);
+		SessionRepository<MapSession> sessionRepository = spy(this.sessionRepository);
+		setSessionCookie(session.getId());
+		List<Runnable> tasks = new ArrayList<>();
+
+		this.filter = new SessionRepositoryFilter<>(sessionRepository);
+		this.filter.setSaveExecutor(tasks::add);
+
+		doFilter(new DoInFilter() {
+			@Override
+			public void doFilter(HttpServletRequest wrappedRequest, HttpServletResponse wrappedResponse) {
+				wrappedRequest.getSession().setAttribute("a", "b");
+			}
+		});
+
+		verify(sessionRepository, never()).save(any());
+		assertThat(tasks).hasSize(1);
+		tasks.get(0).run();
+		verify(sessionRepository).save(any());
+		assertThat(this.sessionRepository.findById(session.getId()).<String>getAttribute("a")).isEqualTo("b");
+	}
+
+	@Test
+	void doFilterSaveExecutorResponseCommittedSavesSynchronously() throws Exception {
+		MapSession session = this.sessionRepository.createSession();
+		this.sessionRepository.save(session);
+		SessionRepository<MapSession> sessionRepository = spy(this.sessionRepository);
+		setSessionCookie(session.getId());
+		List<Runnable> tasks = new ArrayList<>();
+
+		this.filter = new SessionRepositoryFilter<>(sessionRepository);
+		this.filter.setSaveExecutor(tasks::add);
+
+		doFilter(new DoInFilter() {
+			@Override
+			public void doFilter(HttpServletRequest wrappedRequest, HttpServletResponse wrappedResponse)
+					throws IOException {
+				wrappedRequest.getSession().setAttribute("a", "b");
+				wrappedResponse.flushBuffer();
+				verify(sessionRepository).save(any());
+				assertThat(tasks).isEmpty();
+				wrappedRequest.getSession().setAttribute("c", "d");
+			}
+		});
+
+		assertThat(tasks).hasSize(1);
+		tasks.get(0).run();
+		assertThat(this.sessionRepository.findById(session.getId()).<String>getAttribute("c")).isEqualTo("d");
+	}
+
+	@Test
+	void doFilterSaveExecutorIncludeSavesSynchronously() throws Exception {
+		MapSession session = this.sessionRepository.createSession();
+		this.sessionRepository.save(session);
+		SessionRepository<MapSession> sessionRepository = spy(this.sessionRepository);
+		setSessionCookie(session.getId());
+		List<Runnable> tasks = new ArrayList<>();
+
+		this.filter = new SessionRepositoryFilter<>(sessionRepository);
+		this.filter.setSaveExecutor(tasks::add);
+
+		doFilter(new DoInFilter() {
+			@Override
+			public void doFilter(HttpServletRequest wrappedRequest, HttpServletResponse wrappedResponse)
+					throws IOException, ServletException {
+				wrappedRequest.getSession().setAttribute("a", "b");
+				wrappedRequest.getRequestDispatcher("/").include(wrappedRequest, wrappedResponse);
+				verify(sessionRepository).save(any());
+				assertThat(tasks).isEmpty();
+			}
+		});
+
+		assertThat(this.sessionRepository.findById(session.getId()).<String>getAttribute("a")).isEqualTo("b");
+	}
+
+	@Test
+	void doFilterSaveExecutorSavesNewSessionSynchronously() throws Exception {
+		SessionRepository<MapSession> sessionRepository = spy(this.sessionRepository);
+		List<Runnable> tasks = new ArrayList<>();
+
+		this.filter = new SessionRepositoryFilter<>(sessionRepository);
+		this.filter.setSaveExecutor(tasks::add);
+
+		doFilter(new DoInFilter() {
+			@Override
+			public void doFilter(HttpServletRequest wrappedRequest, HttpServletResponse wrappedResponse) {
+				wrappedRequest.getSession();
+			}
+		});
+
+		assertNewSession();
+		assertThat(tasks).isEmpty();
+		verify(sessionRepository).save(any());
+	}
+
+	@Test
+	void doFilterSaveExecutorMaxPendingSavesReachedSavesSynchronously() throws Exception {
+		MapSession session = this.sessionRepository.createSession();
+		this.sessionRepository.save(session);
+		MapSession otherSession = this.sessionRepository.createSession();
+		this.sessionRepository.save(otherSession);
+		SessionRepository<MapSession> sessionRepository = spy(this.sessionRepository);
+		List<Runnable> tasks = new ArrayList<>();
+
+		this.filter = new SessionRepositoryFilter<>(sessionRepository);
+		this.filter.setSaveExecutor(tasks::add);
+		this.filter.setMaxPendingSaves(1);
+
+		setSessionCookie(session.getId());
+		doFilter(new DoInFilter() {
+			@Override
+			public void doFilter(HttpServletRequest wrappedRequest, HttpServletResponse wrappedResponse) {
+				wrappedRequest.getSession().setAttribute("a", "b");
+			}
+		});
+		setupRequest();
+		setSessionCookie(otherSession.getId());
+		doFilter(new DoInFilter() {
+			@Override
+			public void doFilter(HttpServletRequest wrappedRequest, HttpServletResponse wrappedResponse) {
+				wrappedRequest.getSession().setAttribute("a", "b");
+			}
+		});
+
+		assertThat(tasks).hasSize(1);
+		verify(sessionRepository).save(any());
+		assertThat(this.sessionRepository.findById(otherSession.getId()).<String>getAttribute("a")).isEqualTo("b");
+	}
+
+	@Test
+	void doFilterSaveExecutorRejectedSavesSynchronously() throws Exception {
+		MapSession session = this.sessionRepository.createSession();
+		this.sessionRepository.save(session);
+		SessionRepository<MapSession> sessionRepository = spy(this.sessionRepository);
+		setSessionCookie(session.getId());
+
+		this.filter = new SessionRepositoryFilter<>(sessionRepository);
+		this.filter.setSaveExecutor((command) -> {
+			throw new RejectedExecutionException();
+		});
+
+		doFilter(new DoInFilter() {
+			@Override
+			public void doFilter(HttpServletRequest wrappedRequest, HttpServletResponse wrappedResponse) {
+				wrappedRequest.getSession().setAttribute("a", "b");
+			}
+		});
+
+		verify(sessionRepository).save(any());
+		assertThat(this.sessionRepository.findById(session.getId()).<String>getAttribute("a")).isEqualTo("b");
+	}
+
+	@Test
+	void setMaxPendingSavesNotPositive() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.filter.setMaxPendingSaves(0))
+				.withMessage("maxPendingSaves must be positive");
+	}
+
 	// --- order
 
 	@Test
@@ -16,6 +16,8 @@
 
 package org.springframework.session.web.server.session;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.AbstractMap;
 import java.util.Collections;
 import java.util.Map;
@@ -35,6 +37,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -234,6 +237,93 @@ class SpringSessionWebSessionStoreTests<S extends Session> {
 		verify(this.findByIdSession).setLastAccessedTime(any());
 	}
 
+	@Test
+	void retrieveSessionWhenDeferLastAccessTimeUpdateThenLastAccessedTimeNotUpdated() {
+		this.webSessionStore.setDeferLastAccessTimeUpdate(true);
+
+		WebSession retrievedWebSession = this.webSessionStore.retrieveSession("id").block();
+
+		assertThat(retrievedWebSession.isStarted()).isTrue();
+		verify(this.findByIdSession, never()).setLastAccessedTime(any());
+	}
+
+	@Test
+	void saveWhenDeferLastAccessTimeUpdateAndUntouchedThenNotSaved() {
+		this.webSessionStore.setDeferLastAccessTimeUpdate(true);
+		WebSession retrievedWebSession = this.webSessionStore.retrieveSession("id").block();
+
+		retrievedWebSession.save().block();
+
+		verify(this.sessionRepository, never()).save(any());
+	}
+
+	@Test
+	void saveWhenDeferLastAccessTimeUpdateAndAttributeReadThenSaved() {
+		this.webSessionStore.setDeferLastAccessTimeUpdate(true);
+		given(this.sessionRepository.save(this.findByIdSession)).willReturn(Mono.empty());
+		WebSession retrievedWebSession = this.webSessionStore.retrieveSession("id").block();
+
+		retrievedWebSession.getAttributes().get("a");
+		retrievedWebSession.save().block();
+
+		verify(this.findByIdSession).setLastAccessedTime(any());
+		verify(this.sessionRepository).save(this.findByIdSession);
+	}
+
+	@Test
+	void saveWhenLastAccessTimeUpdateIntervalNotElapsedThenNotSaved() {
+		this.webSessionStore.setLastAccessTimeUpdateInterval(Duration.ofMinutes(1));
+		given(this.findByIdSession.getLastAccessedTime()).willReturn(Instant.now());
+		WebSession retrievedWebSession = this.webSessionStore.retrieveSession("id").block();
+
+		retrievedWebSession.getAttributes().get("a");
+		retrievedWebSession.save().block();
+
+		verify(this.findByIdSession, never()).setLastAccessedTime(any());
+		verify(this.sessionRepository, never()).save(any());
+	}
+
+	@Test
+	void saveWhenLastAccessTimeUpdateIntervalNotElapsedAndAttributeSetThenSaved() {
+		this.webSessionStore.setLastAccessTimeUpdateInterval(Duration.ofMinutes(1));
+		given(this.findByIdSession.getLastAccessedTime()).willReturn(Instant.now());
+		given(this.sessionRepository.save(this.findByIdSession)).willReturn(Mono.empty());
+		WebSession retrievedWebSession = this.webSessionStore.retrieveSession("id").block();
+
+		retrievedWebSession.getAttributes().put("a", "b");
+		retrievedWebSession.save().block();
+
+		verify(this.findByIdSession).setAttribute("a", "b");
+		verify(this.sessionRepository).save(this.findByIdSession);
+	}
+
+	@Test
+	void saveWhenLastAccessTimeUpdateIntervalElapsedThenSaved() {
+		this.webSessionStore.setLastAccessTimeUpdateInterval(Duration.ofMinutes(1));
+		given(this.findByIdSession.getLastAccessedTime()).willReturn(Instant.now().minus(Duration.ofMinutes(2)));
+		given(this.sessionRepository.save(this.findByIdSession)).willReturn(Mono.empty());
+		WebSession retrievedWebSession = this.webSessionStore.retrieveSession("id").block();
+
+		retrievedWebSession.save().block();
+
+		verify(this.findByIdSession).setLastAccessedTime(any());
+		verify(this.sessionRepository).save(this.findByIdSession);
+	}
+
+	@Test
+	void setLastAccessTimeUpdateIntervalWhenNullThenException() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> this.webSessionStore.setLastAccessTimeUpdateInterval(null))
+				.withMessage("lastAccessTimeUpdateInterval cannot be null");
+	}
+
+	@Test
+	void setLastAccessTimeUpdateIntervalWhenNegativeThenException() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> this.webSessionStore.setLastAccessTimeUpdateInterval(Duration.ofSeconds(-1)))
+				.withMessage("lastAccessTimeUpdateInterval cannot be negative");
+	}
+
 	@Test
 	void removeSessionWhenInvokedThenSessionSaved() {
 		String sessionId = "session-id";
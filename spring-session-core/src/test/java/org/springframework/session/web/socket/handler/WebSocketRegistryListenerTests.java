@@ -17,8 +17,11 @@
 package org.springframework.session.web.socket.handler;
 
 import java.security.Principal;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,6 +42,7 @@ import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
@@ -130,6 +134,84 @@ class WebSocketRegistryListenerTests {
 		verify(this.wsSession, times(0)).close(any(CloseStatus.class));
 	}
 
+	@Test
+	void onApplicationEventConnectSessionDeletedNullPrincipalRegisterAnonymousSessions() throws Exception {
+		given(this.wsSession.getPrincipal()).willReturn(null);
+		this.listener.setRegisterAnonymousSessions(true);
+		this.listener.onApplicationEvent(this.connect);
+
+		this.listener.onApplicationEvent(this.deleted);
+
+		verify(this.wsSession).close(WebSocketRegistryListener.SESSION_EXPIRED_STATUS);
+	}
+
+	@Test
+	void onApplicationEventConnectSessionDeletedCloseExecutor() throws Exception {
+		List<Runnable> tasks = new ArrayList<>();
+		this.listener.setCloseExecutor(tasks::add);
+		this.listener.onApplicationEvent(this.connect);
+		this.listener.onApplicationEvent(this.connect2);
+
+		this.listener.onApplicationEvent(this.deleted);
+
+		verify(this.wsSession, times(0)).close(any(CloseStatus.class));
+		assertThat(this.listener.getPendingCloseCount()).isEqualTo(2);
+		assertThat(tasks).hasSize(1);
+		tasks.get(0).run();
+		verify(this.wsSession).close(WebSocketRegistryListener.SESSION_EXPIRED_STATUS);
+		verify(this.wsSession2).close(WebSocketRegistryListener.SESSION_EXPIRED_STATUS);
+		assertThat(this.listener.getPendingCloseCount()).isEqualTo(0);
+	}
+
+	@Test
+	void onApplicationEventConnectSessionDeletedCloseExecutorBatches() throws Exception {
+		List<Runnable> tasks = new ArrayList<>();
+		this.listener.setCloseExecutor(tasks::add);
+		this.listener.setCloseBatchSize(1);
+		this.listener.onApplicationEvent(this.connect);
+		this.listener.onApplicationEvent(this.connect2);
+
+		this.listener.onApplicationEvent(this.deleted);
+		tasks.get(0).run();
+
+		assertThat(this.listener.getPendingCloseCount()).isEqualTo(1);
+		assertThat(tasks).hasSize(2);
+		tasks.get(1).run();
+		verify(this.wsSession).close(WebSocketRegistryListener.SESSION_EXPIRED_STATUS);
+		verify(this.wsSession2).close(WebSocketRegistryListener.SESSION_EXPIRED_STATUS);
+	}
+
+	@Test
+	void onApplicationEventConnectSessionDeletedCloseExecutorRejected() throws Exception {
+		this.listener.setCloseExecutor((command) -> {
+			throw new RejectedExecutionException();
+		});
+		this.listener.onApplicationEvent(this.connect);
+
+		this.listener.onApplicationEvent(this.deleted);
+
+		verify(this.wsSession).close(WebSocketRegistryListener.SESSION_EXPIRED_STATUS);
+	}
+
+	@Test
+	void sessionCounts() {
+		this.listener.onApplicationEvent(this.connect);
+		this.listener.onApplicationEvent(this.connect2);
+
+		assertThat(this.listener.getHttpSessionCount()).isEqualTo(1);
+		assertThat(this.listener.getWebSocketSessionCount()).isEqualTo(2);
+
+		this.listener.onApplicationEvent(this.disconnect);
+
+		assertThat(this.listener.getWebSocketSessionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void setCloseBatchSizeNotPositive() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.listener.setCloseBatchSize(0))
+				.withMessage("closeBatchSize must be positive");
+	}
+
 	@Test
 	void onApplicationEventConnectDisconnect() throws Exception {
 		this.listener.onApplicationEvent(this.connect);
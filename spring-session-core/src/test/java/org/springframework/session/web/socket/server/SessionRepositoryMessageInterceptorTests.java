@@ -16,6 +16,7 @@
 
 package org.springframework.session.web.socket.server;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.EnumSet;
@@ -46,6 +47,7 @@ import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -79,6 +81,7 @@ class SessionRepositoryMessageInterceptorTests {
 		String sessionId = "http-session";
 		setSessionId(sessionId);
 		given(this.sessionRepository.findById(sessionId)).willReturn(this.session);
+		given(this.sessionRepository.touch(eq(sessionId), any(Instant.class))).willReturn(true);
 	}
 
 	@Test
@@ -148,8 +151,7 @@ class SessionRepositoryMessageInterceptorTests {
 
 		assertThat(this.interceptor.preSend(createMessage(), this.channel)).isSameAs(this.createMessage);
 
-		verify(this.sessionRepository).findById(anyString());
-		verify(this.sessionRepository).save(this.session);
+		verify(this.sessionRepository).touch(anyString(), any(Instant.class));
 	}
 
 	@Test
@@ -158,8 +160,7 @@ class SessionRepositoryMessageInterceptorTests {
 
 		assertThat(this.interceptor.preSend(createMessage(), this.channel)).isSameAs(this.createMessage);
 
-		verify(this.session).setLastAccessedTime(argThat(isAlmostNow()));
-		verify(this.sessionRepository).save(this.session);
+		verify(this.sessionRepository).touch(eq("http-session"), argThat(isAlmostNow()));
 	}
 
 	@Test
@@ -168,8 +169,7 @@ class SessionRepositoryMessageInterceptorTests {
 
 		assertThat(this.interceptor.preSend(createMessage(), this.channel)).isSameAs(this.createMessage);
 
-		verify(this.session).setLastAccessedTime(argThat(isAlmostNow()));
-		verify(this.sessionRepository).save(this.session);
+		verify(this.sessionRepository).touch(eq("http-session"), argThat(isAlmostNow()));
 	}
 
 	@Test
@@ -178,8 +178,7 @@ class SessionRepositoryMessageInterceptorTests {
 
 		assertThat(this.interceptor.preSend(createMessage(), this.channel)).isSameAs(this.createMessage);
 
-		verify(this.session).setLastAccessedTime(argThat(isAlmostNow()));
-		verify(this.sessionRepository).save(this.session);
+		verify(this.sessionRepository).touch(eq("http-session"), argThat(isAlmostNow()));
 	}
 
 	@Test
@@ -189,8 +188,70 @@ class SessionRepositoryMessageInterceptorTests {
 
 		assertThat(this.interceptor.preSend(createMessage(), this.channel)).isSameAs(this.createMessage);
 
-		verify(this.session).setLastAccessedTime(argThat(isAlmostNow()));
-		verify(this.sessionRepository).save(this.session);
+		verify(this.sessionRepository).touch(eq("http-session"), argThat(isAlmostNow()));
+	}
+
+	@Test
+	void preSendLastAccessUpdateIntervalNotElapsedDoesNotInvokeSessionRepository() {
+		this.interceptor.setLastAccessUpdateInterval(Duration.ofMinutes(1));
+
+		this.interceptor.preSend(createMessage(), this.channel);
+		this.interceptor.preSend(createMessage(), this.channel);
+		this.interceptor.preSend(createMessage(), this.channel);
+
+		verify(this.sessionRepository, times(1)).touch(anyString(), any(Instant.class));
+		assertThat(this.interceptor.getMatchedMessageCount()).isEqualTo(3);
+		assertThat(this.interceptor.getSessionUpdateCount()).isEqualTo(1);
+	}
+
+	@Test
+	void preSendLastAccessUpdateIntervalDisconnectResetsInterval() {
+		this.interceptor.setLastAccessUpdateInterval(Duration.ofMinutes(1));
+
+		this.interceptor.preSend(createMessage(), this.channel);
+		setMessageType(SimpMessageType.DISCONNECT);
+		this.interceptor.preSend(createMessage(), this.channel);
+		setMessageType(SimpMessageType.CONNECT);
+		this.interceptor.preSend(createMessage(), this.channel);
+
+		verify(this.sessionRepository, times(2)).touch(anyString(), any(Instant.class));
+		assertThat(this.interceptor.getSessionUpdateCount()).isEqualTo(2);
+	}
+
+	@Test
+	void preSendDefaultLastAccessUpdateIntervalUpdatesEveryMessage() {
+		this.interceptor.preSend(createMessage(), this.channel);
+		this.interceptor.preSend(createMessage(), this.channel);
+
+		verify(this.sessionRepository, times(2)).touch(anyString(), any(Instant.class));
+		assertThat(this.interceptor.getMatchedMessageCount()).isEqualTo(2);
+		assertThat(this.interceptor.getSessionUpdateCount()).isEqualTo(2);
+	}
+
+	@Test
+	void preSendSessionNotFoundDoesNotCountUpdate() {
+		this.interceptor.setLastAccessUpdateInterval(Duration.ofMinutes(1));
+		given(this.sessionRepository.touch(eq("http-session"), any(Instant.class))).willReturn(false);
+
+		this.interceptor.preSend(createMessage(), this.channel);
+		this.interceptor.preSend(createMessage(), this.channel);
+
+		verify(this.sessionRepository, times(2)).touch(anyString(), any(Instant.class));
+		assertThat(this.interceptor.getMatchedMessageCount()).isEqualTo(2);
+		assertThat(this.interceptor.getSessionUpdateCount()).isEqualTo(0);
+	}
+
+	@Test
+	void setLastAccessUpdateIntervalNull() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.interceptor.setLastAccessUpdateInterval(null))
+				.withMessage("lastAccessUpdateInterval cannot be null");
+	}
+
+	@Test
+	void setLastAccessUpdateIntervalNegative() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> this.interceptor.setLastAccessUpdateInterval(Duration.ofSeconds(-1)))
+				.withMessage("lastAccessUpdateInterval cannot be negative");
 	}
 
 	// This will updated when SPR-12288 is resolved
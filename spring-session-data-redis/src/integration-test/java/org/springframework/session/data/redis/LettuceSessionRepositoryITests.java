@@ -0,0 +1,190 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.data.redis;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testcontainers.containers.GenericContainer;
+import reactor.test.StepVerifier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.session.data.redis.LettuceSessionRepository.LettuceSession;
+import org.springframework.session.data.redis.RedisSessionRepository.RedisSession;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Integration tests for {@link LettuceSessionRepository} and
+ * {@link ReactiveLettuceSessionRepository}.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration
+@WebAppConfiguration
+class LettuceSessionRepositoryITests extends AbstractRedisITests {
+
+	@Autowired
+	private LettuceSessionRepository sessionRepository;
+
+	@Autowired
+	private ReactiveLettuceSessionRepository reactiveSessionRepository;
+
+	@Autowired
+	private RedisSessionRepository redisSessionRepository;
+
+	@Test
+	void save_NewSession_ShouldSaveSession() {
+		LettuceSession session = createAndSaveSession(Instant.now());
+		assertThat(session.getAttributeNames()).containsOnly("attribute1");
+		assertThat(session.<String>getAttribute("attribute1")).isEqualTo("value1");
+	}
+
+	@Test
+	void save_LastAccessedTimeInPast_ShouldExpireSession() {
+		assertThat(createAndSaveSession(Instant.EPOCH)).isNull();
+	}
+
+	@Test
+	void save_DeletedSession_ShouldThrowException() {
+		LettuceSession session = createAndSaveSession(Instant.now());
+		this.sessionRepository.deleteById(session.getId());
+		assertThatIllegalStateException().isThrownBy(() -> this.sessionRepository.save(session))
+				.withMessage("Session was invalidated");
+	}
+
+	@Test
+	void save_RemoveAttribute_ShouldRemoveAttribute() {
+		LettuceSession session = createAndSaveSession(Instant.now());
+		session.setAttribute("attribute2", "value2");
+		session.removeAttribute("attribute1");
+		this.sessionRepository.save(session);
+		LettuceSession loaded = this.sessionRepository.findById(session.getId());
+		assertThat(loaded.getAttributeNames()).containsOnly("attribute2");
+	}
+
+	@Test
+	void save_ChangeSessionId_ShouldChangeSessionId() {
+		LettuceSession session = createAndSaveSession(Instant.now());
+		String originalSessionId = session.getId();
+		String newSessionId = session.changeSessionId();
+		this.sessionRepository.save(session);
+		assertThat(this.sessionRepository.findById(newSessionId)).isNotNull();
+		assertThat(this.sessionRepository.findById(originalSessionId)).isNull();
+	}
+
+	@Test
+	void touch_ValidSession_ShouldUpdateLastAccessedTime() {
+		LettuceSession session = createAndSaveSession(Instant.now());
+		Instant lastAccessedTime = Instant.now().truncatedTo(ChronoUnit.MILLIS).plusSeconds(10L);
+		this.sessionRepository.touch(session.getId(), lastAccessedTime);
+		assertThat(this.sessionRepository.findById(session.getId()).getLastAccessedTime())
+				.isEqualTo(lastAccessedTime);
+	}
+
+	@Test
+	void deleteById_NonexistentSession_ShouldDoNothing() {
+		String sessionId = UUID.randomUUID().toString();
+		this.sessionRepository.deleteById(sessionId);
+		assertThat(this.sessionRepository.findById(sessionId)).isNull();
+	}
+
+	@Test
+	void findById_SessionSavedByRedisSessionRepository_ShouldReturnSession() {
+		RedisSession session = this.redisSessionRepository.createSession();
+		session.setAttribute("attribute1", "value1");
+		this.redisSessionRepository.save(session);
+		LettuceSession loaded = this.sessionRepository.findById(session.getId());
+		assertThat(loaded.<String>getAttribute("attribute1")).isEqualTo("value1");
+		assertThat(loaded.getCreationTime()).isEqualTo(session.getCreationTime().truncatedTo(ChronoUnit.MILLIS));
+	}
+
+	@Test
+	void findById_SessionSavedReactively_ShouldReturnSession() {
+		ReactiveLettuceSessionRepository.LettuceSession session = this.reactiveSessionRepository.createSession()
+				.block();
+		session.setAttribute("attribute1", "value1");
+		StepVerifier.create(this.reactiveSessionRepository.save(session)).verifyComplete();
+		StepVerifier.create(this.reactiveSessionRepository.findById(session.getId()))
+				.assertNext((loaded) -> assertThat(loaded.<String>getAttribute("attribute1")).isEqualTo("value1"))
+				.verifyComplete();
+		assertThat(this.sessionRepository.findById(session.getId())).isNotNull();
+		StepVerifier.create(this.reactiveSessionRepository.deleteById(session.getId())).verifyComplete();
+		StepVerifier.create(this.reactiveSessionRepository.findById(session.getId())).verifyComplete();
+	}
+
+	private LettuceSession createAndSaveSession(Instant lastAccessedTime) {
+		LettuceSession session = this.sessionRepository.createSession();
+		session.setLastAccessedTime(lastAccessedTime);
+		session.setAttribute("attribute1", "value1");
+		this.sessionRepository.save(session);
+		return this.sessionRepository.findById(session.getId());
+	}
+
+	@Configuration
+	static class Config extends BaseConfig {
+
+		@Bean(destroyMethod = "shutdown")
+		RedisClient redisClient(GenericContainer redisContainer) {
+			return RedisClient.create(
+					RedisURI.create(redisContainer.getContainerIpAddress(), redisContainer.getFirstMappedPort()));
+		}
+
+		@Bean(destroyMethod = "close")
+		StatefulRedisConnection<byte[], byte[]> redisConnection(RedisClient redisClient) {
+			return redisClient.connect(ByteArrayCodec.INSTANCE);
+		}
+
+		@Bean
+		LettuceSessionRepository sessionRepository(StatefulRedisConnection<byte[], byte[]> redisConnection) {
+			return new LettuceSessionRepository(redisConnection);
+		}
+
+		@Bean
+		ReactiveLettuceSessionRepository reactiveSessionRepository(
+				StatefulRedisConnection<byte[], byte[]> redisConnection) {
+			return new ReactiveLettuceSessionRepository(redisConnection);
+		}
+
+		@Bean
+		RedisSessionRepository redisSessionRepository(RedisConnectionFactory redisConnectionFactory) {
+			RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
+			redisTemplate.setConnectionFactory(redisConnectionFactory);
+			redisTemplate.setKeySerializer(RedisSerializer.string());
+			redisTemplate.setHashKeySerializer(RedisSerializer.string());
+			redisTemplate.afterPropertiesSet();
+			return new RedisSessionRepository(redisTemplate);
+		}
+
+	}
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.data.redis;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+import org.springframework.session.data.redis.RedisCompactSessionRepository.RedisCompactSession;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Integration tests for {@link RedisCompactSessionRepository}.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration
+@WebAppConfiguration
+class RedisCompactSessionRepositoryITests extends AbstractRedisITests {
+
+	@Autowired
+	private RedisCompactSessionRepository sessionRepository;
+
+	@Test
+	void save_NewSession_ShouldSaveSession() {
+		RedisCompactSession session = createAndSaveSession(Instant.now());
+		assertThat(session.getAttributeNames()).containsOnly("attribute1");
+		assertThat(session.<String>getAttribute("attribute1")).isEqualTo("value1");
+	}
+
+	@Test
+	void save_LastAccessedTimeInPast_ShouldExpireSession() {
+		assertThat(createAndSaveSession(Instant.EPOCH)).isNull();
+	}
+
+	@Test
+	void save_DeletedSession_ShouldThrowException() {
+		RedisCompactSession session = createAndSaveSession(Instant.now());
+		this.sessionRepository.deleteById(session.getId());
+		assertThatIllegalStateException().isThrownBy(() -> this.sessionRepository.save(session))
+				.withMessage("Session was invalidated");
+	}
+
+	@Test
+	void save_ManyUpdates_ShouldCompactAndKeepAttributes() {
+		RedisCompactSession session = createAndSaveSession(Instant.now());
+		for (int i = 0; i < 10; i++) {
+			session.setAttribute("attribute" + (i % 3), "value" + i);
+			this.sessionRepository.save(session);
+		}
+		session.removeAttribute("attribute2");
+		this.sessionRepository.save(session);
+		RedisCompactSession loaded = this.sessionRepository.findById(session.getId());
+		assertThat(loaded.getAttributeNames()).containsOnly("attribute0", "attribute1");
+		assertThat(loaded.<String>getAttribute("attribute0")).isEqualTo("value9");
+		assertThat(loaded.<String>getAttribute("attribute1")).isEqualTo("value7");
+	}
+
+	@Test
+	void save_ConcurrentUpdatesDuringCompaction_ShouldSaveSession() {
+		RedisCompactSession copy1 = createAndSaveSession(Instant.now());
+		for (int i = 0; i < 2; i++) {
+			copy1.setAttribute("attribute1", "value" + i);
+			this.sessionRepository.save(copy1);
+		}
+		String sessionId = copy1.getId();
+		RedisCompactSession copy2 = this.sessionRepository.findById(sessionId);
+		Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+		updateSession(copy1, now.plusSeconds(1L), "attribute2", "value2");
+		this.sessionRepository.save(copy1);
+		updateSession(copy2, now.plusSeconds(2L), "attribute3", "value3");
+		this.sessionRepository.save(copy2);
+		RedisCompactSession session = this.sessionRepository.findById(sessionId);
+		assertThat(session.getLastAccessedTime()).isEqualTo(now.plusSeconds(2L));
+		assertThat(session.getAttributeNames()).containsOnly("attribute1", "attribute2", "attribute3");
+	}
+
+	@Test
+	void save_ChangeSessionId_ShouldChangeSessionId() {
+		RedisCompactSession session = createAndSaveSession(Instant.now());
+		String originalSessionId = session.getId();
+		updateSession(session, Instant.now(), "attribute1", "value2");
+		String newSessionId = session.changeSessionId();
+		this.sessionRepository.save(session);
+		RedisCompactSession loaded = this.sessionRepository.findById(newSessionId);
+		assertThat(loaded.<String>getAttribute("attribute1")).isEqualTo("value2");
+		assertThat(this.sessionRepository.findById(originalSessionId)).isNull();
+	}
+
+	@Test
+	void touch_ValidSession_ShouldUpdateLastAccessedTime() {
+		RedisCompactSession session = createAndSaveSession(Instant.now());
+		Instant lastAccessedTime = Instant.now().truncatedTo(ChronoUnit.MILLIS).plusSeconds(10L);
+		this.sessionRepository.touch(session.getId(), lastAccessedTime);
+		RedisCompactSession loaded = this.sessionRepository.findById(session.getId());
+		assertThat(loaded.getLastAccessedTime()).isEqualTo(lastAccessedTime);
+		assertThat(loaded.<String>getAttribute("attribute1")).isEqualTo("value1");
+	}
+
+	@Test
+	void deleteById_ValidSession_ShouldDeleteSession() {
+		RedisCompactSession session = createAndSaveSession(Instant.now());
+		this.sessionRepository.deleteById(session.getId());
+		assertThat(this.sessionRepository.findById(session.getId())).isNull();
+	}
+
+	@Test
+	void deleteById_NonexistentSession_ShouldDoNothing() {
+		String sessionId = UUID.randomUUID().toString();
+		this.sessionRepository.deleteById(sessionId);
+		assertThat(this.sessionRepository.findById(sessionId)).isNull();
+	}
+
+	private RedisCompactSession createAndSaveSession(Instant lastAccessedTime) {
+		RedisCompactSession session = this.sessionRepository.createSession();
+		session.setLastAccessedTime(lastAccessedTime);
+		session.setAttribute("attribute1", "value1");
+		this.sessionRepository.save(session);
+		return this.sessionRepository.findById(session.getId());
+	}
+
+	private static void updateSession(RedisCompactSession session, Instant lastAccessedTime, String attributeName,
+			Object attributeValue) {
+		session.setLastAccessedTime(lastAccessedTime);
+		session.setAttribute(attributeName, attributeValue);
+	}
+
+	@Configuration
+	@EnableSpringHttpSession
+	static class Config extends BaseConfig {
+
+		@Bean
+		RedisCompactSessionRepository sessionRepository(RedisConnectionFactory redisConnectionFactory) {
+			RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
+			redisTemplate.setConnectionFactory(redisConnectionFactory);
+			redisTemplate.afterPropertiesSet();
+			RedisCompactSessionRepository sessionRepository = new RedisCompactSessionRepository(redisTemplate);
+			sessionRepository.setCompactionThreshold(2);
+			return sessionRepository;
+		}
+
+	}
+
+}
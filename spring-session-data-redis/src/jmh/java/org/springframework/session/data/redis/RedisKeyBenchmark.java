@@ -0,0 +1,77 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.data.redis;
+
+import java.util.UUID;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Benchmarks for the construction of Redis keys. Run with {@code ./gradlew
+ * :spring-session-data-redis:jmh}; the {@code gc.alloc.rate.norm} metric reported by the
+ * GC profiler shows the bytes allocated per key.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RedisKeyBenchmark {
+
+	private final String namespace = "spring:session:";
+
+	private final String sessionKeyPrefix = this.namespace + "sessions:";
+
+	private final RedisSerializer<String> keySerializer = RedisSerializer.string();
+
+	private final RedisKeyEncoder sessionKeyEncoder = new RedisKeyEncoder(this.sessionKeyPrefix);
+
+	private final String sessionId = UUID.randomUUID().toString();
+
+	private final String attributeName = "SPRING_SECURITY_CONTEXT";
+
+	@Benchmark
+	public byte[] sessionKeyConcatenated() {
+		return this.keySerializer.serialize(this.namespace + "sessions:" + this.sessionId);
+	}
+
+	@Benchmark
+	public byte[] sessionKeyPrefixed() {
+		return this.keySerializer.serialize(this.sessionKeyPrefix + this.sessionId);
+	}
+
+	@Benchmark
+	public byte[] sessionKeyEncoded() {
+		return this.sessionKeyEncoder.encode(this.sessionId);
+	}
+
+	@Benchmark
+	public String attributeKeyConcatenated() {
+		return RedisSessionMapper.ATTRIBUTE_PREFIX + this.attributeName;
+	}
+
+	@Benchmark
+	public String attributeKeyCached() {
+		return RedisSessionMapper.getAttributeKey(this.attributeName);
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.data.redis;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Benchmarks comparing {@link RedisSessionRepository} with {@link LettuceSessionRepository}.
+ * Requires a Redis server, which defaults to {@code redis://localhost:6379} and can be
+ * changed using the {@code redis.host} and {@code redis.port} system properties. Run with
+ * {@code ./gradlew :spring-session-data-redis:jmh}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RedisSessionRepositoryBenchmark {
+
+	private final String host = System.getProperty("redis.host", "localhost");
+
+	private final int port = Integer.getInteger("redis.port", 6379);
+
+	private LettuceConnectionFactory connectionFactory;
+
+	private RedisClient redisClient;
+
+	private StatefulRedisConnection<byte[], byte[]> connection;
+
+	private RedisSessionRepository redisSessionRepository;
+
+	private LettuceSessionRepository lettuceSessionRepository;
+
+	private String redisSessionId;
+
+	private String lettuceSessionId;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(this.host, this.port));
+		this.connectionFactory.afterPropertiesSet();
+		RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
+		redisTemplate.setConnectionFactory(this.connectionFactory);
+		redisTemplate.setKeySerializer(RedisSerializer.string());
+		redisTemplate.setHashKeySerializer(RedisSerializer.string());
+		redisTemplate.afterPropertiesSet();
+		this.redisSessionRepository = new RedisSessionRepository(redisTemplate);
+
+		this.redisClient = RedisClient.create("redis://" + this.host + ":" + this.port);
+		this.connection = this.redisClient.connect(ByteArrayCodec.INSTANCE);
+		this.lettuceSessionRepository = new LettuceSessionRepository(this.connection);
+
+		RedisSessionRepository.RedisSession redisSession = this.redisSessionRepository.createSession();
+		redisSession.setAttribute("attribute", "value");
+		this.redisSessionRepository.save(redisSession);
+		this.redisSessionId = redisSession.getId();
+
+		LettuceSessionRepository.LettuceSession lettuceSession = this.lettuceSessionRepository.createSession();
+		lettuceSession.setAttribute("attribute", "value");
+		this.lettuceSessionRepository.save(lettuceSession);
+		this.lettuceSessionId = lettuceSession.getId();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.redisSessionRepository.deleteById(this.redisSessionId);
+		this.lettuceSessionRepository.deleteById(this.lettuceSessionId);
+		this.connection.close();
+		this.redisClient.shutdown();
+		this.connectionFactory.destroy();
+	}
+
+	@Benchmark
+	public Object redisTemplateFindById() {
+		return this.redisSessionRepository.findById(this.redisSessionId);
+	}
+
+	@Benchmark
+	public Object lettuceFindById() {
+		return this.lettuceSessionRepository.findById(this.lettuceSessionId);
+	}
+
+	@Benchmark
+	public void redisTemplateSave() {
+		RedisSessionRepository.RedisSession session = this.redisSessionRepository.findById(this.redisSessionId);
+		session.setAttribute("attribute", "value");
+		this.redisSessionRepository.save(session);
+	}
+
+	@Benchmark
+	public void lettuceSave() {
+		LettuceSessionRepository.LettuceSession session = this.lettuceSessionRepository
+				.findById(this.lettuceSessionId);
+		session.setAttribute("attribute", "value");
+		this.lettuceSessionRepository.save(session);
+	}
+
+}
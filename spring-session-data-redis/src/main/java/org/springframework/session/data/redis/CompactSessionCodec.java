@@ -0,0 +1,245 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.data.redis;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.session.MapSession;
+import org.springframework.util.Assert;
+
+/**
+ * Encodes sessions as a compact binary log stored in a single Redis string. A log starts
+ * with a snapshot record holding the session metadata and all attributes, followed by
+ * delta records that each hold the metadata and the attributes changed by a save. A
+ * removed attribute is recorded without a value. Numbers and lengths are encoded as
+ * variable length integers.
+ *
+ * @since 2.3.0
+ */
+final class CompactSessionCodec {
+
+	static final byte SNAPSHOT_RECORD = 1;
+
+	static final byte DELTA_RECORD = 2;
+
+	private final RedisSerializer<Object> valueSerializer;
+
+	CompactSessionCodec(RedisSerializer<Object> valueSerializer) {
+		Assert.notNull(valueSerializer, "valueSerializer must not be null");
+		this.valueSerializer = valueSerializer;
+	}
+
+	/**
+	 * Encode a snapshot record for the given session.
+	 * @param session the session
+	 * @return the snapshot record
+	 */
+	byte[] encodeSnapshot(MapSession session) {
+		Output output = new Output();
+		output.write(SNAPSHOT_RECORD);
+		output.writeVarLong(session.getCreationTime().toEpochMilli());
+		writeMetadata(output, session.getLastAccessedTime(), session.getMaxInactiveInterval());
+		output.writeVarLong(session.getAttributeNames().size());
+		for (String attributeName : session.getAttributeNames()) {
+			writeAttribute(output, attributeName, session.getAttribute(attributeName));
+		}
+		return output.toByteArray();
+	}
+
+	/**
+	 * Encode a delta record.
+	 * @param lastAccessedTime the last accessed time of the session
+	 * @param maxInactiveInterval the max inactive interval of the session
+	 * @param attributes the changed attributes, with a {@code null} value for removed
+	 * attributes
+	 * @return the delta record
+	 */
+	byte[] encodeDelta(Instant lastAccessedTime, Duration maxInactiveInterval, Map<String, Object> attributes) {
+		Output output = new Output();
+		output.write(DELTA_RECORD);
+		writeMetadata(output, lastAccessedTime, maxInactiveInterval);
+		output.writeVarLong(attributes.size());
+		attributes.forEach((attributeName, attributeValue) -> writeAttribute(output, attributeName, attributeValue));
+		return output.toByteArray();
+	}
+
+	/**
+	 * Decode a log by applying its delta records to its snapshot.
+	 * @param sessionId the session id
+	 * @param log the log
+	 * @return the decoded log or {@code null} if the log does not start with a snapshot,
+	 * which is the case if the session was deleted while a delta was being appended
+	 */
+	DecodedLog decode(String sessionId, byte[] log) {
+		if (log == null || log.length == 0 || log[0] != SNAPSHOT_RECORD) {
+			return null;
+		}
+		Input input = new Input(log);
+		MapSession session = new MapSession(sessionId);
+		int deltaCount = -1;
+		while (input.hasRemaining()) {
+			byte recordType = input.read();
+			if (recordType == SNAPSHOT_RECORD) {
+				session.getAttributeNames().forEach(session::removeAttribute);
+				session.setCreationTime(Instant.ofEpochMilli(input.readVarLong()));
+			}
+			else if (recordType != DELTA_RECORD) {
+				throw new IllegalStateException("Unknown record type " + recordType);
+			}
+			session.setLastAccessedTime(Instant.ofEpochMilli(input.readVarLong()));
+			session.setMaxInactiveInterval(Duration.ofSeconds(input.readZigZagVarLong()));
+			long attributeCount = input.readVarLong();
+			for (long i = 0; i < attributeCount; i++) {
+				String attributeName = new String(input.readBytes((int) input.readVarLong()), StandardCharsets.UTF_8);
+				int valueLength = (int) input.readVarLong() - 1;
+				session.setAttribute(attributeName,
+						(valueLength < 0) ? null : this.valueSerializer.deserialize(input.readBytes(valueLength)));
+			}
+			deltaCount++;
+		}
+		return new DecodedLog(session, deltaCount, log.length);
+	}
+
+	private static void writeMetadata(Output output, Instant lastAccessedTime, Duration maxInactiveInterval) {
+		output.writeVarLong(lastAccessedTime.toEpochMilli());
+		output.writeZigZagVarLong(maxInactiveInterval.getSeconds());
+	}
+
+	private void writeAttribute(Output output, String attributeName, Object attributeValue) {
+		byte[] name = attributeName.getBytes(StandardCharsets.UTF_8);
+		output.writeVarLong(name.length);
+		output.write(name, 0, name.length);
+		if (attributeValue == null) {
+			output.writeVarLong(0);
+			return;
+		}
+		byte[] value = this.valueSerializer.serialize(attributeValue);
+		output.writeVarLong(value.length + 1L);
+		output.write(value, 0, value.length);
+	}
+
+	/**
+	 * The result of decoding a log.
+	 */
+	static final class DecodedLog {
+
+		private final MapSession session;
+
+		private final int deltaCount;
+
+		private final int length;
+
+		DecodedLog(MapSession session, int deltaCount, int length) {
+			this.session = session;
+			this.deltaCount = deltaCount;
+			this.length = length;
+		}
+
+		MapSession getSession() {
+			return this.session;
+		}
+
+		/**
+		 * Return the number of delta records following the last snapshot.
+		 * @return the number of delta records
+		 */
+		int getDeltaCount() {
+			return this.deltaCount;
+		}
+
+		int getLength() {
+			return this.length;
+		}
+
+	}
+
+	private static final class Output extends ByteArrayOutputStream {
+
+		Output() {
+			super(64);
+		}
+
+		void writeVarLong(long value) {
+			while ((value & ~0x7FL) != 0) {
+				write((int) ((value & 0x7F) | 0x80));
+				value >>>= 7;
+			}
+			write((int) value);
+		}
+
+		void writeZigZagVarLong(long value) {
+			writeVarLong((value << 1) ^ (value >> 63));
+		}
+
+	}
+
+	private static final class Input {
+
+		private final byte[] bytes;
+
+		private int position;
+
+		Input(byte[] bytes) {
+			this.bytes = bytes;
+		}
+
+		boolean hasRemaining() {
+			return this.position < this.bytes.length;
+		}
+
+		byte read() {
+			if (!hasRemaining()) {
+				throw new IllegalStateException("Unexpected end of session log");
+			}
+			return this.bytes[this.position++];
+		}
+
+		byte[] readBytes(int length) {
+			if (length < 0 || this.bytes.length - this.position < length) {
+				throw new IllegalStateException("Unexpected end of session log");
+			}
+			byte[] result = Arrays.copyOfRange(this.bytes, this.position, this.position + length);
+			this.position += length;
+			return result;
+		}
+
+		long readVarLong() {
+			long value = 0;
+			for (int shift = 0; shift < 64; shift += 7) {
+				byte b = read();
+				value |= (long) (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) {
+					return value;
+				}
+			}
+			throw new IllegalStateException("Malformed variable length integer in session log");
+		}
+
+		long readZigZagVarLong() {
+			long value = readVarLong();
+			return (value >>> 1) ^ -(value & 1);
+		}
+
+	}
+
+}
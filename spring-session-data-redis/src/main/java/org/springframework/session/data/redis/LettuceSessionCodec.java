@@ -0,0 +1,118 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.data.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.util.Assert;
+
+/**
+ * Converts between the fields of a session hash, as used by
+ * {@link RedisSessionMapper}, and the raw bytes exchanged with Lettuce. Field names are
+ * encoded as UTF-8 and values using a {@link RedisSerializer}, which matches a
+ * {@link RedisSessionRepository} using a {@code StringRedisSerializer} for hash keys and
+ * the same serializer for hash values.
+ *
+ * @since 2.3.0
+ */
+final class LettuceSessionCodec {
+
+	private static final int MAX_CACHED_FIELDS = 1024;
+
+	private static final Map<String, byte[]> FIELDS = new ConcurrentHashMap<>();
+
+	private final RedisSerializer<Object> valueSerializer;
+
+	LettuceSessionCodec(RedisSerializer<Object> valueSerializer) {
+		Assert.notNull(valueSerializer, "valueSerializer must not be null");
+		this.valueSerializer = valueSerializer;
+	}
+
+	/**
+	 * Encode the given field name. Encoded field names are cached and must not be
+	 * modified.
+	 * @param field the field name
+	 * @return the encoded field name
+	 */
+	byte[] encodeField(String field) {
+		byte[] encoded = FIELDS.get(field);
+		if (encoded == null) {
+			encoded = field.getBytes(StandardCharsets.UTF_8);
+			if (FIELDS.size() < MAX_CACHED_FIELDS) {
+				FIELDS.putIfAbsent(field, encoded);
+			}
+		}
+		return encoded;
+	}
+
+	byte[] encodeValue(Object value) {
+		return this.valueSerializer.serialize(value);
+	}
+
+	Object decodeValue(byte[] value) {
+		return this.valueSerializer.deserialize(value);
+	}
+
+	/**
+	 * Encode the fields of the given delta that have a value.
+	 * @param delta the delta
+	 * @return the encoded fields, which is empty if all fields were removed
+	 */
+	Map<byte[], byte[]> encodeUpdatedFields(Map<String, Object> delta) {
+		Map<byte[], byte[]> fields = new LinkedHashMap<>(delta.size());
+		delta.forEach((field, value) -> {
+			if (value != null) {
+				fields.put(encodeField(field), encodeValue(value));
+			}
+		});
+		return fields;
+	}
+
+	/**
+	 * Encode the fields of the given delta that were removed.
+	 * @param delta the delta
+	 * @return the encoded field names
+	 */
+	byte[][] encodeRemovedFields(Map<String, Object> delta) {
+		List<byte[]> fields = new ArrayList<>();
+		delta.forEach((field, value) -> {
+			if (value == null) {
+				fields.add(encodeField(field));
+			}
+		});
+		return fields.toArray(new byte[0][]);
+	}
+
+	/**
+	 * Decode a session hash.
+	 * @param hash the hash
+	 * @return the decoded fields, suitable for {@link RedisSessionMapper}
+	 */
+	Map<String, Object> decode(Map<byte[], byte[]> hash) {
+		Map<String, Object> fields = new HashMap<>(hash.size());
+		hash.forEach((field, value) -> fields.put(new String(field, StandardCharsets.UTF_8), decodeValue(value)));
+		return fields;
+	}
+
+}
@@ -0,0 +1,395 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.data.redis;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.lettuce.LettuceConverters;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.session.FlushMode;
+import org.springframework.session.MapSession;
+import org.springframework.session.SaveMode;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link SessionRepository} implementation that stores sessions in Redis using the
+ * asynchronous API of a Lettuce {@link StatefulRedisConnection} directly, rather than
+ * going through {@code RedisTemplate}.
+ * <p>
+ * Keys and hash fields are encoded once into bytes and the commands needed by a single
+ * operation are issued before waiting for their replies, so that Lettuce pipelines them.
+ * The connection is thread-safe and is meant to be shared, for instance with a
+ * {@link ReactiveLettuceSessionRepository}. It must use a byte array codec, for example:
+ *
+ * <pre class="code">
+ * RedisClient client = RedisClient.create("redis://localhost");
+ * StatefulRedisConnection&lt;byte[], byte[]&gt; connection = client.connect(ByteArrayCodec.INSTANCE);
+ * LettuceSessionRepository sessionRepository = new LettuceSessionRepository(connection);
+ * </pre>
+ *
+ * Sessions are stored in the same layout as {@link RedisSessionRepository} with a
+ * {@code StringRedisSerializer} for keys and hash keys. Exceptions are translated to
+ * {@link DataAccessException}.
+ * <p>
+ * This implementation does not support publishing of session events.
+ *
+ * @since 2.3.0
+ */
+public class LettuceSessionRepository implements SessionRepository<LettuceSessionRepository.LettuceSession> {
+
+	private static final String DEFAULT_KEY_NAMESPACE = "spring:session:";
+
+	private static final Converter<Exception, DataAccessException> EXCEPTION_CONVERTER = LettuceConverters
+			.exceptionConverter();
+
+	private final StatefulRedisConnection<byte[], byte[]> connection;
+
+	private final RedisAsyncCommands<byte[], byte[]> commands;
+
+	private LettuceSessionCodec codec = new LettuceSessionCodec(RedisSerializer.java());
+
+	private Duration defaultMaxInactiveInterval = Duration.ofSeconds(MapSession.DEFAULT_MAX_INACTIVE_INTERVAL_SECONDS);
+
+	private RedisKeyEncoder sessionKeyEncoder = new RedisKeyEncoder(DEFAULT_KEY_NAMESPACE + "sessions:");
+
+	private FlushMode flushMode = FlushMode.ON_SAVE;
+
+	private SaveMode saveMode = SaveMode.ON_SET_ATTRIBUTE;
+
+	/**
+	 * Create a new {@link LettuceSessionRepository} instance.
+	 * @param connection the Lettuce connection to use for managing sessions
+	 */
+	public LettuceSessionRepository(StatefulRedisConnection<byte[], byte[]> connection) {
+		Assert.notNull(connection, "connection must not be null");
+		this.connection = connection;
+		this.commands = connection.async();
+	}
+
+	/**
+	 * Set the serializer used for the values of the session hash. Default is
+	 * {@link RedisSerializer#java()}.
+	 * @param valueSerializer the value serializer
+	 */
+	public void setValueSerializer(RedisSerializer<Object> valueSerializer) {
+		this.codec = new LettuceSessionCodec(valueSerializer);
+	}
+
+	/**
+	 * Set the default maxInactiveInterval.
+	 * @param defaultMaxInactiveInterval the default maxInactiveInterval
+	 */
+	public void setDefaultMaxInactiveInterval(Duration defaultMaxInactiveInterval) {
+		Assert.notNull(defaultMaxInactiveInterval, "defaultMaxInactiveInterval must not be null");
+		this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+	}
+
+	/**
+	 * Set the key namespace.
+	 * @param keyNamespace the key namespace
+	 */
+	public void setKeyNamespace(String keyNamespace) {
+		Assert.hasText(keyNamespace, "keyNamespace must not be empty");
+		this.sessionKeyEncoder = new RedisKeyEncoder(keyNamespace + "sessions:");
+	}
+
+	/**
+	 * Set the flush mode.
+	 * @param flushMode the flush mode
+	 */
+	public void setFlushMode(FlushMode flushMode) {
+		Assert.notNull(flushMode, "flushMode must not be null");
+		this.flushMode = flushMode;
+	}
+
+	/**
+	 * Set the save mode.
+	 * @param saveMode the save mode
+	 */
+	public void setSaveMode(SaveMode saveMode) {
+		Assert.notNull(saveMode, "saveMode must not be null");
+		this.saveMode = saveMode;
+	}
+
+	@Override
+	public LettuceSession createSession() {
+		MapSession cached = new MapSession();
+		cached.setMaxInactiveInterval(this.defaultMaxInactiveInterval);
+		LettuceSession session = new LettuceSession(cached, true);
+		session.flushIfRequired();
+		return session;
+	}
+
+	@Override
+	public void save(LettuceSession session) {
+		if (!session.isNew) {
+			byte[] key = getSessionKey(session.hasChangedSessionId() ? session.originalSessionId : session.getId());
+			Long sessionExists = await(this.commands.exists(key));
+			if (sessionExists == null || sessionExists == 0) {
+				throw new IllegalStateException("Session was invalidated");
+			}
+		}
+		session.save();
+	}
+
+	@Override
+	public LettuceSession findById(String sessionId) {
+		Map<byte[], byte[]> hash = await(this.commands.hgetall(getSessionKey(sessionId)));
+		if (hash == null || hash.isEmpty()) {
+			return null;
+		}
+		MapSession session = new RedisSessionMapper(sessionId).apply(this.codec.decode(hash));
+		if (session.isExpired()) {
+			deleteById(sessionId);
+			return null;
+		}
+		return new LettuceSession(session, false);
+	}
+
+	/**
+	 * Updates the last accessed time of the session and its expiration without loading
+	 * the session attributes.
+	 * @param sessionId the session id
+	 * @param lastAccessedTime the last accessed time to set
+	 * @return whether the session was found and updated
+	 */
+	@Override
+	public boolean touch(String sessionId, Instant lastAccessedTime) {
+		byte[] key = getSessionKey(sessionId);
+		List<KeyValue<byte[], byte[]>> values = await(
+				this.commands.hmget(key, this.codec.encodeField(RedisSessionMapper.LAST_ACCESSED_TIME_KEY),
+						this.codec.encodeField(RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY)));
+		if (values == null || values.size() != 2 || !values.get(0).hasValue() || !values.get(1).hasValue()) {
+			return false;
+		}
+		MapSession session = new MapSession(sessionId);
+		session.setLastAccessedTime(Instant.ofEpochMilli((long) this.codec.decodeValue(values.get(0).getValue())));
+		session.setMaxInactiveInterval(Duration.ofSeconds((int) this.codec.decodeValue(values.get(1).getValue())));
+		if (session.isExpired()) {
+			return false;
+		}
+		RedisFuture<Boolean> update = this.commands.hset(key,
+				this.codec.encodeField(RedisSessionMapper.LAST_ACCESSED_TIME_KEY),
+				this.codec.encodeValue(lastAccessedTime.toEpochMilli()));
+		RedisFuture<Boolean> expire = this.commands.pexpireat(key,
+				lastAccessedTime.plus(session.getMaxInactiveInterval()).toEpochMilli());
+		await(update);
+		await(expire);
+		return true;
+	}
+
+	@Override
+	public void deleteById(String sessionId) {
+		await(this.commands.del(getSessionKey(sessionId)));
+	}
+
+	/**
+	 * Returns the Lettuce connection used for sessions.
+	 * @return the Lettuce connection used for sessions
+	 */
+	public StatefulRedisConnection<byte[], byte[]> getConnection() {
+		return this.connection;
+	}
+
+	private byte[] getSessionKey(String sessionId) {
+		return this.sessionKeyEncoder.encode(sessionId);
+	}
+
+	private <T> T await(RedisFuture<T> future) {
+		try {
+			Duration timeout = this.connection.getTimeout();
+			return LettuceFutures.awaitOrCancel(future, timeout.toNanos(), TimeUnit.NANOSECONDS);
+		}
+		catch (RuntimeException ex) {
+			DataAccessException translated = EXCEPTION_CONVERTER.convert(ex);
+			throw (translated != null) ? translated : ex;
+		}
+	}
+
+	private static String getAttributeKey(String attributeName) {
+		return RedisSessionMapper.getAttributeKey(attributeName);
+	}
+
+	/**
+	 * An internal {@link Session} implementation used by this {@link SessionRepository}.
+	 */
+	final class LettuceSession implements Session {
+
+		private final MapSession cached;
+
+		private final Map<String, Object> delta = new HashMap<>();
+
+		private boolean isNew;
+
+		private String originalSessionId;
+
+		LettuceSession(MapSession cached, boolean isNew) {
+			this.cached = cached;
+			this.isNew = isNew;
+			this.originalSessionId = cached.getId();
+			if (this.isNew) {
+				this.delta.put(RedisSessionMapper.CREATION_TIME_KEY, cached.getCreationTime().toEpochMilli());
+				this.delta.put(RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY,
+						(int) cached.getMaxInactiveInterval().getSeconds());
+				this.delta.put(RedisSessionMapper.LAST_ACCESSED_TIME_KEY, cached.getLastAccessedTime().toEpochMilli());
+			}
+			if (this.isNew || (LettuceSessionRepository.this.saveMode == SaveMode.ALWAYS)) {
+				getAttributeNames().forEach((attributeName) -> this.delta.put(getAttributeKey(attributeName),
+						cached.getAttribute(attributeName)));
+			}
+		}
+
+		@Override
+		public String getId() {
+			return this.cached.getId();
+		}
+
+		@Override
+		public String changeSessionId() {
+			return this.cached.changeSessionId();
+		}
+
+		@Override
+		public <T> T getAttribute(String attributeName) {
+			T attributeValue = this.cached.getAttribute(attributeName);
+			if (attributeValue != null && LettuceSessionRepository.this.saveMode.equals(SaveMode.ON_GET_ATTRIBUTE)) {
+				this.delta.put(getAttributeKey(attributeName), attributeValue);
+			}
+			return attributeValue;
+		}
+
+		@Override
+		public Set<String> getAttributeNames() {
+			return this.cached.getAttributeNames();
+		}
+
+		@Override
+		public void setAttribute(String attributeName, Object attributeValue) {
+			this.cached.setAttribute(attributeName, attributeValue);
+			this.delta.put(getAttributeKey(attributeName), attributeValue);
+			flushIfRequired();
+		}
+
+		@Override
+		public void removeAttribute(String attributeName) {
+			setAttribute(attributeName, null);
+		}
+
+		@Override
+		public Instant getCreationTime() {
+			return this.cached.getCreationTime();
+		}
+
+		@Override
+		public void setLastAccessedTime(Instant lastAccessedTime) {
+			this.cached.setLastAccessedTime(lastAccessedTime);
+			this.delta.put(RedisSessionMapper.LAST_ACCESSED_TIME_KEY, getLastAccessedTime().toEpochMilli());
+			flushIfRequired();
+		}
+
+		@Override
+		public Instant getLastAccessedTime() {
+			return this.cached.getLastAccessedTime();
+		}
+
+		@Override
+		public void setMaxInactiveInterval(Duration interval) {
+			this.cached.setMaxInactiveInterval(interval);
+			this.delta.put(RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY, (int) getMaxInactiveInterval().getSeconds());
+			flushIfRequired();
+		}
+
+		@Override
+		public Duration getMaxInactiveInterval() {
+			return this.cached.getMaxInactiveInterval();
+		}
+
+		@Override
+		public boolean isExpired() {
+			return this.cached.isExpired();
+		}
+
+		private void flushIfRequired() {
+			if (LettuceSessionRepository.this.flushMode == FlushMode.IMMEDIATE) {
+				save();
+			}
+		}
+
+		private boolean hasChangedSessionId() {
+			return !getId().equals(this.originalSessionId);
+		}
+
+		private void save() {
+			saveChangeSessionId();
+			saveDelta();
+			if (this.isNew) {
+				this.isNew = false;
+			}
+		}
+
+		private void saveChangeSessionId() {
+			if (hasChangedSessionId()) {
+				if (!this.isNew) {
+					await(LettuceSessionRepository.this.commands.rename(getSessionKey(this.originalSessionId),
+							getSessionKey(getId())));
+				}
+				this.originalSessionId = getId();
+			}
+		}
+
+		private void saveDelta() {
+			if (this.delta.isEmpty()) {
+				return;
+			}
+			RedisAsyncCommands<byte[], byte[]> commands = LettuceSessionRepository.this.commands;
+			LettuceSessionCodec codec = LettuceSessionRepository.this.codec;
+			byte[] key = getSessionKey(getId());
+			Map<byte[], byte[]> updatedFields = codec.encodeUpdatedFields(this.delta);
+			byte[][] removedFields = codec.encodeRemovedFields(this.delta);
+			RedisFuture<String> update = updatedFields.isEmpty() ? null : commands.hmset(key, updatedFields);
+			RedisFuture<Long> remove = (removedFields.length != 0) ? commands.hdel(key, removedFields) : null;
+			RedisFuture<Boolean> expire = commands.pexpireat(key,
+					getLastAccessedTime().plus(getMaxInactiveInterval()).toEpochMilli());
+			if (update != null) {
+				await(update);
+			}
+			if (remove != null) {
+				await(remove);
+			}
+			await(expire);
+			this.delta.clear();
+		}
+
+	}
+
+}
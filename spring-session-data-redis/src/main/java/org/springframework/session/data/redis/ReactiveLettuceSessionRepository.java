@@ -0,0 +1,332 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.data.redis;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.reactive.RedisReactiveCommands;
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.lettuce.LettuceConverters;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.session.MapSession;
+import org.springframework.session.ReactiveSessionRepository;
+import org.springframework.session.SaveMode;
+import org.springframework.session.Session;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link ReactiveSessionRepository} that stores sessions in Redis using the reactive
+ * API of a Lettuce {@link StatefulRedisConnection} directly, rather than going through
+ * {@code ReactiveRedisTemplate}.
+ * <p>
+ * The connection must use a byte array codec and can be shared with a
+ * {@link LettuceSessionRepository}. Sessions are stored in the same layout as
+ * {@link LettuceSessionRepository}.
+ *
+ * @since 2.3.0
+ */
+public class ReactiveLettuceSessionRepository
+		implements ReactiveSessionRepository<ReactiveLettuceSessionRepository.LettuceSession> {
+
+	/**
+	 * The default namespace for each key in Redis used by Spring Session.
+	 */
+	public static final String DEFAULT_NAMESPACE = "spring:session";
+
+	private static final Converter<Exception, DataAccessException> EXCEPTION_CONVERTER = LettuceConverters
+			.exceptionConverter();
+
+	private final StatefulRedisConnection<byte[], byte[]> connection;
+
+	private final RedisReactiveCommands<byte[], byte[]> commands;
+
+	private LettuceSessionCodec codec = new LettuceSessionCodec(RedisSerializer.java());
+
+	private RedisKeyEncoder sessionKeyEncoder = new RedisKeyEncoder(DEFAULT_NAMESPACE + ":sessions:");
+
+	/**
+	 * If non-null, this value is used to override the default value for
+	 * {@link LettuceSession#setMaxInactiveInterval(Duration)}.
+	 */
+	private Integer defaultMaxInactiveInterval;
+
+	private SaveMode saveMode = SaveMode.ON_SET_ATTRIBUTE;
+
+	/**
+	 * Create a new {@link ReactiveLettuceSessionRepository} instance.
+	 * @param connection the Lettuce connection to use for managing sessions
+	 */
+	public ReactiveLettuceSessionRepository(StatefulRedisConnection<byte[], byte[]> connection) {
+		Assert.notNull(connection, "connection must not be null");
+		this.connection = connection;
+		this.commands = connection.reactive();
+	}
+
+	/**
+	 * Set the serializer used for the values of the session hash. Default is
+	 * {@link RedisSerializer#java()}.
+	 * @param valueSerializer the value serializer
+	 */
+	public void setValueSerializer(RedisSerializer<Object> valueSerializer) {
+		this.codec = new LettuceSessionCodec(valueSerializer);
+	}
+
+	public void setRedisKeyNamespace(String namespace) {
+		Assert.hasText(namespace, "namespace cannot be null or empty");
+		this.sessionKeyEncoder = new RedisKeyEncoder(namespace.trim() + ":sessions:");
+	}
+
+	/**
+	 * Sets the maximum inactive interval in seconds between requests before newly created
+	 * sessions will be invalidated. A negative time indicates that the session will never
+	 * timeout. The default is 1800 (30 minutes).
+	 * @param defaultMaxInactiveInterval the number of seconds that the {@link Session}
+	 * should be kept alive between client requests.
+	 */
+	public void setDefaultMaxInactiveInterval(int defaultMaxInactiveInterval) {
+		this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+	}
+
+	/**
+	 * Set the save mode.
+	 * @param saveMode the save mode
+	 */
+	public void setSaveMode(SaveMode saveMode) {
+		Assert.notNull(saveMode, "saveMode must not be null");
+		this.saveMode = saveMode;
+	}
+
+	/**
+	 * Returns the Lettuce connection used for sessions.
+	 * @return the Lettuce connection used for sessions
+	 */
+	public StatefulRedisConnection<byte[], byte[]> getConnection() {
+		return this.connection;
+	}
+
+	@Override
+	public Mono<LettuceSession> createSession() {
+		return Mono.defer(() -> {
+			MapSession cached = new MapSession();
+			if (this.defaultMaxInactiveInterval != null) {
+				cached.setMaxInactiveInterval(Duration.ofSeconds(this.defaultMaxInactiveInterval));
+			}
+			LettuceSession session = new LettuceSession(cached, true);
+			return Mono.just(session);
+		});
+	}
+
+	@Override
+	public Mono<Void> save(LettuceSession session) {
+		if (session.isNew) {
+			return session.save();
+		}
+		byte[] sessionKey = getSessionKey(
+				session.hasChangedSessionId() ? session.originalSessionId : session.getId());
+		return translate(this.commands.exists(sessionKey)).flatMap((exists) -> (exists > 0) ? session.save()
+				: Mono.error(new IllegalStateException("Session was invalidated")));
+	}
+
+	@Override
+	public Mono<LettuceSession> findById(String id) {
+		// @formatter:off
+		return translate(this.commands.hgetall(getSessionKey(id)))
+				.filter((hash) -> !hash.isEmpty())
+				.map(this.codec::decode)
+				.map(new RedisSessionMapper(id))
+				.filter((session) -> !session.isExpired())
+				.map((session) -> new LettuceSession(session, false))
+				.switchIfEmpty(Mono.defer(() -> deleteById(id).then(Mono.empty())));
+		// @formatter:on
+	}
+
+	@Override
+	public Mono<Void> deleteById(String id) {
+		return translate(this.commands.del(getSessionKey(id))).then();
+	}
+
+	private byte[] getSessionKey(String sessionId) {
+		return this.sessionKeyEncoder.encode(sessionId);
+	}
+
+	private static <T> Mono<T> translate(Mono<T> mono) {
+		return mono.onErrorMap(RuntimeException.class, (ex) -> {
+			DataAccessException translated = EXCEPTION_CONVERTER.convert(ex);
+			return (translated != null) ? translated : ex;
+		});
+	}
+
+	private static String getAttributeKey(String attributeName) {
+		return RedisSessionMapper.getAttributeKey(attributeName);
+	}
+
+	/**
+	 * A custom implementation of {@link Session} that uses a {@link MapSession} as the
+	 * basis for its mapping. It keeps track of any attributes that have changed. When
+	 * {@link LettuceSession#saveDelta()} is invoked all the attributes that have been
+	 * changed will be persisted.
+	 */
+	final class LettuceSession implements Session {
+
+		private final MapSession cached;
+
+		private final Map<String, Object> delta = new HashMap<>();
+
+		private boolean isNew;
+
+		private String originalSessionId;
+
+		LettuceSession(MapSession cached, boolean isNew) {
+			this.cached = cached;
+			this.isNew = isNew;
+			this.originalSessionId = cached.getId();
+			if (this.isNew) {
+				this.delta.put(RedisSessionMapper.CREATION_TIME_KEY, cached.getCreationTime().toEpochMilli());
+				this.delta.put(RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY,
+						(int) cached.getMaxInactiveInterval().getSeconds());
+				this.delta.put(RedisSessionMapper.LAST_ACCESSED_TIME_KEY, cached.getLastAccessedTime().toEpochMilli());
+			}
+			if (this.isNew || (ReactiveLettuceSessionRepository.this.saveMode == SaveMode.ALWAYS)) {
+				getAttributeNames().forEach((attributeName) -> this.delta.put(getAttributeKey(attributeName),
+						cached.getAttribute(attributeName)));
+			}
+		}
+
+		@Override
+		public String getId() {
+			return this.cached.getId();
+		}
+
+		@Override
+		public String changeSessionId() {
+			return this.cached.changeSessionId();
+		}
+
+		@Override
+		public <T> T getAttribute(String attributeName) {
+			T attributeValue = this.cached.getAttribute(attributeName);
+			if (attributeValue != null
+					&& ReactiveLettuceSessionRepository.this.saveMode.equals(SaveMode.ON_GET_ATTRIBUTE)) {
+				this.delta.put(getAttributeKey(attributeName), attributeValue);
+			}
+			return attributeValue;
+		}
+
+		@Override
+		public Set<String> getAttributeNames() {
+			return this.cached.getAttributeNames();
+		}
+
+		@Override
+		public void setAttribute(String attributeName, Object attributeValue) {
+			this.cached.setAttribute(attributeName, attributeValue);
+			this.delta.put(getAttributeKey(attributeName), attributeValue);
+		}
+
+		@Override
+		public void removeAttribute(String attributeName) {
+			this.cached.removeAttribute(attributeName);
+			this.delta.put(getAttributeKey(attributeName), null);
+		}
+
+		@Override
+		public Instant getCreationTime() {
+			return this.cached.getCreationTime();
+		}
+
+		@Override
+		public void setLastAccessedTime(Instant lastAccessedTime) {
+			this.cached.setLastAccessedTime(lastAccessedTime);
+			this.delta.put(RedisSessionMapper.LAST_ACCESSED_TIME_KEY, getLastAccessedTime().toEpochMilli());
+		}
+
+		@Override
+		public Instant getLastAccessedTime() {
+			return this.cached.getLastAccessedTime();
+		}
+
+		@Override
+		public void setMaxInactiveInterval(Duration interval) {
+			this.cached.setMaxInactiveInterval(interval);
+			this.delta.put(RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY, (int) getMaxInactiveInterval().getSeconds());
+		}
+
+		@Override
+		public Duration getMaxInactiveInterval() {
+			return this.cached.getMaxInactiveInterval();
+		}
+
+		@Override
+		public boolean isExpired() {
+			return this.cached.isExpired();
+		}
+
+		private boolean hasChangedSessionId() {
+			return !getId().equals(this.originalSessionId);
+		}
+
+		private Mono<Void> save() {
+			return Mono.defer(() -> saveChangeSessionId().then(saveDelta()).doOnSuccess((aVoid) -> this.isNew = false));
+		}
+
+		private Mono<Void> saveDelta() {
+			if (this.delta.isEmpty()) {
+				return Mono.empty();
+			}
+
+			RedisReactiveCommands<byte[], byte[]> commands = ReactiveLettuceSessionRepository.this.commands;
+			LettuceSessionCodec codec = ReactiveLettuceSessionRepository.this.codec;
+			byte[] sessionKey = getSessionKey(getId());
+			Map<byte[], byte[]> updatedFields = codec.encodeUpdatedFields(this.delta);
+			byte[][] removedFields = codec.encodeRemovedFields(this.delta);
+			Mono<?> update = updatedFields.isEmpty() ? Mono.empty() : commands.hmset(sessionKey, updatedFields);
+			Mono<?> remove = (removedFields.length != 0) ? commands.hdel(sessionKey, removedFields) : Mono.empty();
+			Mono<Boolean> setTtl = commands.expire(sessionKey, getMaxInactiveInterval().getSeconds());
+
+			return translate(Mono.when(update, remove, setTtl)).doOnSuccess((aVoid) -> this.delta.clear());
+		}
+
+		private Mono<Void> saveChangeSessionId() {
+			if (!hasChangedSessionId()) {
+				return Mono.empty();
+			}
+
+			String sessionId = getId();
+
+			if (this.isNew) {
+				return Mono.fromRunnable(() -> this.originalSessionId = sessionId);
+			}
+			else {
+				byte[] originalSessionKey = getSessionKey(this.originalSessionId);
+				byte[] sessionKey = getSessionKey(sessionId);
+
+				return translate(ReactiveLettuceSessionRepository.this.commands.rename(originalSessionKey, sessionKey))
+						.doOnSuccess((renamed) -> this.originalSessionId = sessionId).then();
+			}
+		}
+
+	}
+
+}
@@ -54,6 +54,8 @@ public class ReactiveRedisSessionRepository
 	 */
 	private String namespace = DEFAULT_NAMESPACE + ":";
 
+	private String sessionKeyPrefix = this.namespace + "sessions:";
+
 	/**
 	 * If non-null, this value is used to override the default value for
 	 * {@link RedisSession#setMaxInactiveInterval(Duration)}.
@@ -62,6 +64,10 @@ public class ReactiveRedisSessionRepository
 
 	private SaveMode saveMode = SaveMode.ON_SET_ATTRIBUTE;
 
+	private ReactiveRedisOperations<String, Object> replicaSessionRedisOperations;
+
+	private final ReplicaReadGuard replicaReadGuard = new ReplicaReadGuard();
+
 	/**
 	 * Create a new {@link ReactiveRedisSessionRepository} instance.
 	 * @param sessionRedisOperations the {@link ReactiveRedisOperations} to use for
@@ -75,6 +81,7 @@ public class ReactiveRedisSessionRepository
 	public void setRedisKeyNamespace(String namespace) {
 		Assert.hasText(namespace, "namespace cannot be null or empty");
 		this.namespace = namespace.trim() + ":";
+		this.sessionKeyPrefix = this.namespace + "sessions:";
 	}
 
 	/**
@@ -97,6 +104,37 @@ public class ReactiveRedisSessionRepository
 		this.saveMode = saveMode;
 	}
 
+	/**
+	 * Set the {@link ReactiveRedisOperations} used to load sessions from Redis replicas,
+	 * for instance backed by a connection factory that reads from replicas. Sessions
+	 * written by this repository within the {@link #setReplicaStalenessWindow(Duration)
+	 * staleness window} and sessions not found on a replica are loaded from the master.
+	 * By default, all sessions are loaded from the master.
+	 * <p>
+	 * Note that this repository only knows about its own writes. Until replication
+	 * catches up, a replica may therefore still serve a session that another instance
+	 * has just updated or deleted, so that a session invalidated on another instance can
+	 * reappear. Only use replicas if this is acceptable, for instance with sticky
+	 * sessions.
+	 * @param replicaSessionRedisOperations the {@link ReactiveRedisOperations} used to
+	 * read from replicas
+	 * @since 2.3.0
+	 */
+	public void setReplicaSessionRedisOperations(
+			ReactiveRedisOperations<String, Object> replicaSessionRedisOperations) {
+		this.replicaSessionRedisOperations = replicaSessionRedisOperations;
+	}
+
+	/**
+	 * Set the period after a session was written by this repository during which it is
+	 * loaded from the master rather than from a replica. Default is 1 second.
+	 * @param replicaStalenessWindow the staleness window
+	 * @since 2.3.0
+	 */
+	public void setReplicaStalenessWindow(Duration replicaStalenessWindow) {
+		this.replicaReadGuard.setStalenessWindow(replicaStalenessWindow);
+	}
+
 	/**
 	 * Returns the {@link ReactiveRedisOperations} used for sessions.
 	 * @return the {@link ReactiveRedisOperations} used for sessions
@@ -132,9 +170,7 @@ public class ReactiveRedisSessionRepository
 		String sessionKey = getSessionKey(id);
 
 		// @formatter:off
-		return this.sessionRedisOperations.opsForHash().entries(sessionKey)
-				.collectMap((e) -> e.getKey().toString(), Map.Entry::getValue)
-				.filter((map) -> !map.isEmpty())
+		return loadEntries(sessionKey)
 				.map(new RedisSessionMapper(id))
 				.filter((session) -> !session.isExpired())
 				.map((session) -> new RedisSession(session, false))
@@ -146,15 +182,34 @@ public class ReactiveRedisSessionRepository
 	public Mono<Void> deleteById(String id) {
 		String sessionKey = getSessionKey(id);
 
-		return this.sessionRedisOperations.delete(sessionKey).then();
+		return this.sessionRedisOperations.delete(sessionKey)
+				.doOnSuccess((deleted) -> this.replicaReadGuard.onWrite(sessionKey)).then();
+	}
+
+	private Mono<Map<String, Object>> loadEntries(String sessionKey) {
+		return Mono.defer(() -> {
+			Mono<Map<String, Object>> master = loadEntries(this.sessionRedisOperations, sessionKey);
+			if (this.replicaSessionRedisOperations == null
+					|| !this.replicaReadGuard.isReadableFromReplica(sessionKey)) {
+				return master;
+			}
+			return loadEntries(this.replicaSessionRedisOperations, sessionKey).switchIfEmpty(master);
+		});
+	}
+
+	private static Mono<Map<String, Object>> loadEntries(ReactiveRedisOperations<String, Object> operations,
+			String sessionKey) {
+		return operations.opsForHash().entries(sessionKey)
+				.collectMap((e) -> e.getKey().toString(), Map.Entry::getValue)
+				.filter((map) -> !map.isEmpty());
 	}
 
 	private static String getAttributeKey(String attributeName) {
-		return RedisSessionMapper.ATTRIBUTE_PREFIX + attributeName;
+		return RedisSessionMapper.getAttributeKey(attributeName);
 	}
 
 	private String getSessionKey(String sessionId) {
-		return this.namespace + "sessions:" + sessionId;
+		return this.sessionKeyPrefix + sessionId;
 	}
 
 	/**
@@ -279,6 +334,7 @@ public class ReactiveRedisSessionRepository
 
 			return update.and(setTtl).and((s) -> {
 				this.delta.clear();
+				ReactiveRedisSessionRepository.this.replicaReadGuard.onWrite(sessionKey);
 				s.onComplete();
 			}).then();
 		}
@@ -303,7 +359,10 @@ public class ReactiveRedisSessionRepository
 				String sessionKey = getSessionKey(sessionId);
 
 				return ReactiveRedisSessionRepository.this.sessionRedisOperations.rename(originalSessionKey, sessionKey)
-						.and(replaceSessionId);
+						.doOnSuccess((renamed) -> {
+							ReactiveRedisSessionRepository.this.replicaReadGuard.onWrite(originalSessionKey);
+							ReactiveRedisSessionRepository.this.replicaReadGuard.onWrite(sessionKey);
+						}).and(replaceSessionId);
 			}
 		}
 
@@ -0,0 +1,468 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.data.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.session.FlushMode;
+import org.springframework.session.MapSession;
+import org.springframework.session.SaveMode;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.session.data.redis.CompactSessionCodec.DecodedLog;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link SessionRepository} implementation that uses Spring Data's
+ * {@link RedisOperations} to store each session in Redis as a single compact binary
+ * string rather than as a hash.
+ * <p>
+ * The string is a log that starts with a snapshot of the session, followed by a delta
+ * record for each save that is appended using {@code APPEND}. Once the number of delta
+ * records reaches the {@link #setCompactionThreshold(int) compaction threshold}, the
+ * next save replaces the log with a new snapshot. A session is therefore loaded with a
+ * single {@code GET} and saved with a single script invocation that also updates the
+ * expiration. Compared to {@link RedisSessionRepository}, attribute names are not
+ * prefixed and no per-field overhead is incurred, which reduces the memory used per
+ * session. Attribute values are serialized using the value serializer of the
+ * {@link RedisOperations}.
+ * <p>
+ * The two formats are not compatible, so sessions stored by
+ * {@link RedisSessionRepository} are not found by this implementation.
+ * <p>
+ * This implementation does not support publishing of session events.
+ *
+ * @since 2.3.0
+ */
+public class RedisCompactSessionRepository
+		implements SessionRepository<RedisCompactSessionRepository.RedisCompactSession> {
+
+	private static final String DEFAULT_KEY_NAMESPACE = "spring:session:";
+
+	private static final int DEFAULT_COMPACTION_THRESHOLD = 16;
+
+	private static final byte[] MODE_SET = "set".getBytes(StandardCharsets.UTF_8);
+
+	private static final byte[] MODE_COMPACT = "compact".getBytes(StandardCharsets.UTF_8);
+
+	private static final byte[] MODE_APPEND = "append".getBytes(StandardCharsets.UTF_8);
+
+	private static final byte[] EMPTY = new byte[0];
+
+	/**
+	 * Writes the log. In {@code set} mode, and in {@code compact} mode if the log still has
+	 * the expected length, the log is replaced with the snapshot. Otherwise the delta
+	 * record is appended, so that a concurrent save by another node is not lost, unless
+	 * the log no longer exists. Returns the new length of the log, negated if the delta
+	 * record was appended.
+	 */
+	// @formatter:off
+	private static final RedisScript<Long> WRITE_SCRIPT = new DefaultRedisScript<>(
+			"local length = redis.call('STRLEN', KEYS[1])\n"
+			+ "local replace = ARGV[1] == 'set' or (ARGV[1] == 'compact' and length == tonumber(ARGV[2]))\n"
+			+ "if replace then\n"
+			+ "  redis.call('SET', KEYS[1], ARGV[3])\n"
+			+ "elseif length == 0 then\n"
+			+ "  return 0\n"
+			+ "else\n"
+			+ "  redis.call('APPEND', KEYS[1], ARGV[4])\n"
+			+ "end\n"
+			+ "if tonumber(ARGV[5]) < 0 then\n"
+			+ "  redis.call('PERSIST', KEYS[1])\n"
+			+ "else\n"
+			+ "  redis.call('PEXPIREAT', KEYS[1], ARGV[5])\n"
+			+ "end\n"
+			+ "length = redis.call('STRLEN', KEYS[1])\n"
+			+ "if replace then return length else return -length end",
+			Long.class);
+	// @formatter:on
+
+	private static final RedisSerializer<Long> WRITE_SCRIPT_RESULT_SERIALIZER = new GenericToStringSerializer<>(
+			Long.class);
+
+	private final RedisOperations<String, Object> sessionRedisOperations;
+
+	private final CompactSessionCodec codec;
+
+	private final RedisSerializer<String> keySerializer;
+
+	private final boolean utf8Keys;
+
+	private Duration defaultMaxInactiveInterval = Duration.ofSeconds(MapSession.DEFAULT_MAX_INACTIVE_INTERVAL_SECONDS);
+
+	private String keyNamespace = DEFAULT_KEY_NAMESPACE;
+
+	private String sessionKeyPrefix = DEFAULT_KEY_NAMESPACE + "sessions:";
+
+	private RedisKeyEncoder sessionKeyEncoder = new RedisKeyEncoder(this.sessionKeyPrefix);
+
+	private FlushMode flushMode = FlushMode.ON_SAVE;
+
+	private SaveMode saveMode = SaveMode.ON_SET_ATTRIBUTE;
+
+	private int compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+
+	/**
+	 * Create a new {@link RedisCompactSessionRepository} instance.
+	 * @param sessionRedisOperations the {@link RedisOperations} to use for managing
+	 * sessions
+	 */
+	@SuppressWarnings("unchecked")
+	public RedisCompactSessionRepository(RedisOperations<String, Object> sessionRedisOperations) {
+		Assert.notNull(sessionRedisOperations, "sessionRedisOperations must not be null");
+		this.sessionRedisOperations = sessionRedisOperations;
+		RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) sessionRedisOperations
+				.getValueSerializer();
+		this.codec = new CompactSessionCodec((valueSerializer != null) ? valueSerializer : RedisSerializer.java());
+		RedisSerializer<String> keySerializer = (RedisSerializer<String>) sessionRedisOperations.getKeySerializer();
+		this.keySerializer = (keySerializer != null) ? keySerializer : RedisSerializer.string();
+		this.utf8Keys = isUtf8StringSerializer(this.keySerializer);
+	}
+
+	/**
+	 * Set the default maxInactiveInterval.
+	 * @param defaultMaxInactiveInterval the default maxInactiveInterval
+	 */
+	public void setDefaultMaxInactiveInterval(Duration defaultMaxInactiveInterval) {
+		Assert.notNull(defaultMaxInactiveInterval, "defaultMaxInactiveInterval must not be null");
+		this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+	}
+
+	/**
+	 * Set the key namespace.
+	 * @param keyNamespace the key namespace
+	 */
+	public void setKeyNamespace(String keyNamespace) {
+		Assert.hasText(keyNamespace, "keyNamespace must not be empty");
+		this.keyNamespace = keyNamespace;
+		this.sessionKeyPrefix = keyNamespace + "sessions:";
+		this.sessionKeyEncoder = new RedisKeyEncoder(this.sessionKeyPrefix);
+	}
+
+	/**
+	 * Set the flush mode.
+	 * @param flushMode the flush mode
+	 */
+	public void setFlushMode(FlushMode flushMode) {
+		Assert.notNull(flushMode, "flushMode must not be null");
+		this.flushMode = flushMode;
+	}
+
+	/**
+	 * Set the save mode.
+	 * @param saveMode the save mode
+	 */
+	public void setSaveMode(SaveMode saveMode) {
+		Assert.notNull(saveMode, "saveMode must not be null");
+		this.saveMode = saveMode;
+	}
+
+	/**
+	 * Set the number of delta records after which the log of a session is replaced with
+	 * a snapshot on the next save. Default is 16.
+	 * @param compactionThreshold the compaction threshold
+	 */
+	public void setCompactionThreshold(int compactionThreshold) {
+		Assert.isTrue(compactionThreshold >= 0, "compactionThreshold must not be negative");
+		this.compactionThreshold = compactionThreshold;
+	}
+
+	@Override
+	public RedisCompactSession createSession() {
+		MapSession cached = new MapSession();
+		cached.setMaxInactiveInterval(this.defaultMaxInactiveInterval);
+		RedisCompactSession session = new RedisCompactSession(cached, true, 0, 0);
+		session.flushIfRequired();
+		return session;
+	}
+
+	@Override
+	public void save(RedisCompactSession session) {
+		if (!session.isNew) {
+			String key = getSessionKey(session.hasChangedSessionId() ? session.originalSessionId : session.getId());
+			Boolean sessionExists = this.sessionRedisOperations.hasKey(key);
+			if (sessionExists == null || !sessionExists) {
+				throw new IllegalStateException("Session was invalidated");
+			}
+		}
+		session.save();
+	}
+
+	@Override
+	public RedisCompactSession findById(String sessionId) {
+		DecodedLog log = loadLog(sessionId);
+		if (log == null) {
+			return null;
+		}
+		MapSession session = log.getSession();
+		if (session.isExpired()) {
+			deleteById(sessionId);
+			return null;
+		}
+		return new RedisCompactSession(session, false, log.getDeltaCount(), log.getLength());
+	}
+
+	/**
+	 * Updates the last accessed time of the session and its expiration by appending a
+	 * delta record without attributes.
+	 * @param sessionId the session id
+	 * @param lastAccessedTime the last accessed time to set
+	 * @return whether the session was found and updated
+	 */
+	@Override
+	public boolean touch(String sessionId, Instant lastAccessedTime) {
+		DecodedLog log = loadLog(sessionId);
+		if (log == null || log.getSession().isExpired()) {
+			return false;
+		}
+		MapSession session = log.getSession();
+		session.setLastAccessedTime(lastAccessedTime);
+		byte[] delta = this.codec.encodeDelta(lastAccessedTime, session.getMaxInactiveInterval(),
+				Collections.emptyMap());
+		write(getSessionKey(sessionId), MODE_APPEND, -1, EMPTY, delta, session);
+		return true;
+	}
+
+	@Override
+	public void deleteById(String sessionId) {
+		this.sessionRedisOperations.delete(getSessionKey(sessionId));
+	}
+
+	/**
+	 * Returns the {@link RedisOperations} used for sessions.
+	 * @return the {@link RedisOperations} used for sessions
+	 */
+	public RedisOperations<String, Object> getSessionRedisOperations() {
+		return this.sessionRedisOperations;
+	}
+
+	private String getSessionKey(String sessionId) {
+		return this.sessionKeyPrefix + sessionId;
+	}
+
+	private byte[] getSessionKeyBytes(String sessionId) {
+		return this.utf8Keys ? this.sessionKeyEncoder.encode(sessionId)
+				: this.keySerializer.serialize(getSessionKey(sessionId));
+	}
+
+	private DecodedLog loadLog(String sessionId) {
+		byte[] key = getSessionKeyBytes(sessionId);
+		byte[] log = this.sessionRedisOperations.execute((RedisCallback<byte[]>) (connection) -> connection.get(key));
+		return this.codec.decode(sessionId, log);
+	}
+
+	private long write(String key, byte[] mode, int expectedLength, byte[] snapshot, byte[] delta,
+			Session session) {
+		long expireAt = session.getMaxInactiveInterval().isNegative() ? -1
+				: session.getLastAccessedTime().plus(session.getMaxInactiveInterval()).toEpochMilli();
+		Long result = this.sessionRedisOperations.execute(WRITE_SCRIPT, RedisSerializer.byteArray(),
+				WRITE_SCRIPT_RESULT_SERIALIZER, Collections.singletonList(key), mode, toBytes(expectedLength),
+				snapshot, delta, toBytes(expireAt));
+		return (result != null) ? result : 0;
+	}
+
+	private static boolean isUtf8StringSerializer(RedisSerializer<String> keySerializer) {
+		String probe = "sessions:\u00e9";
+		return keySerializer instanceof StringRedisSerializer
+				&& Arrays.equals(keySerializer.serialize(probe), probe.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static byte[] toBytes(long value) {
+		return Long.toString(value).getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * An internal {@link Session} implementation used by this {@link SessionRepository}.
+	 */
+	final class RedisCompactSession implements Session {
+
+		private final MapSession cached;
+
+		private final Map<String, Object> delta = new HashMap<>();
+
+		private boolean metadataChanged;
+
+		private boolean isNew;
+
+		private String originalSessionId;
+
+		private int deltaCount;
+
+		private int logLength;
+
+		RedisCompactSession(MapSession cached, boolean isNew, int deltaCount, int logLength) {
+			this.cached = cached;
+			this.isNew = isNew;
+			this.originalSessionId = cached.getId();
+			this.deltaCount = deltaCount;
+			this.logLength = logLength;
+			if (!this.isNew && RedisCompactSessionRepository.this.saveMode == SaveMode.ALWAYS) {
+				getAttributeNames().forEach(
+						(attributeName) -> this.delta.put(attributeName, cached.getAttribute(attributeName)));
+			}
+		}
+
+		@Override
+		public String getId() {
+			return this.cached.getId();
+		}
+
+		@Override
+		public String changeSessionId() {
+			return this.cached.changeSessionId();
+		}
+
+		@Override
+		public <T> T getAttribute(String attributeName) {
+			T attributeValue = this.cached.getAttribute(attributeName);
+			if (attributeValue != null
+					&& RedisCompactSessionRepository.this.saveMode.equals(SaveMode.ON_GET_ATTRIBUTE)) {
+				this.delta.put(attributeName, attributeValue);
+			}
+			return attributeValue;
+		}
+
+		@Override
+		public Set<String> getAttributeNames() {
+			return this.cached.getAttributeNames();
+		}
+
+		@Override
+		public void setAttribute(String attributeName, Object attributeValue) {
+			this.cached.setAttribute(attributeName, attributeValue);
+			this.delta.put(attributeName, attributeValue);
+			flushIfRequired();
+		}
+
+		@Override
+		public void removeAttribute(String attributeName) {
+			setAttribute(attributeName, null);
+		}
+
+		@Override
+		public Instant getCreationTime() {
+			return this.cached.getCreationTime();
+		}
+
+		@Override
+		public void setLastAccessedTime(Instant lastAccessedTime) {
+			this.cached.setLastAccessedTime(lastAccessedTime);
+			this.metadataChanged = true;
+			flushIfRequired();
+		}
+
+		@Override
+		public Instant getLastAccessedTime() {
+			return this.cached.getLastAccessedTime();
+		}
+
+		@Override
+		public void setMaxInactiveInterval(Duration interval) {
+			this.cached.setMaxInactiveInterval(interval);
+			this.metadataChanged = true;
+			flushIfRequired();
+		}
+
+		@Override
+		public Duration getMaxInactiveInterval() {
+			return this.cached.getMaxInactiveInterval();
+		}
+
+		@Override
+		public boolean isExpired() {
+			return this.cached.isExpired();
+		}
+
+		private void flushIfRequired() {
+			if (RedisCompactSessionRepository.this.flushMode == FlushMode.IMMEDIATE) {
+				save();
+			}
+		}
+
+		private boolean hasChangedSessionId() {
+			return !getId().equals(this.originalSessionId);
+		}
+
+		private void save() {
+			saveChangeSessionId();
+			saveDelta();
+			if (this.isNew) {
+				this.isNew = false;
+			}
+		}
+
+		private void saveChangeSessionId() {
+			if (hasChangedSessionId()) {
+				if (!this.isNew) {
+					String originalSessionIdKey = getSessionKey(this.originalSessionId);
+					String sessionIdKey = getSessionKey(getId());
+					RedisCompactSessionRepository.this.sessionRedisOperations.rename(originalSessionIdKey,
+							sessionIdKey);
+				}
+				this.originalSessionId = getId();
+			}
+		}
+
+		private void saveDelta() {
+			if (!this.isNew && !this.metadataChanged && this.delta.isEmpty()) {
+				return;
+			}
+			CompactSessionCodec codec = RedisCompactSessionRepository.this.codec;
+			String key = getSessionKey(getId());
+			long result;
+			if (this.isNew) {
+				result = write(key, MODE_SET, -1, codec.encodeSnapshot(this.cached), EMPTY, this);
+			}
+			else {
+				byte[] delta = codec.encodeDelta(getLastAccessedTime(), getMaxInactiveInterval(), this.delta);
+				if (this.deltaCount >= RedisCompactSessionRepository.this.compactionThreshold) {
+					result = write(key, MODE_COMPACT, this.logLength, codec.encodeSnapshot(this.cached), delta,
+							this);
+				}
+				else {
+					result = write(key, MODE_APPEND, -1, EMPTY, delta, this);
+				}
+			}
+			if (result > 0) {
+				this.deltaCount = 0;
+				this.logLength = (int) result;
+			}
+			else {
+				this.deltaCount++;
+				this.logLength = (int) -result;
+			}
+			this.delta.clear();
+			this.metadataChanged = false;
+		}
+
+	}
+
+}
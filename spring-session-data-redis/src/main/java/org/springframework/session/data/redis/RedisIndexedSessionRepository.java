@@ -18,10 +18,16 @@ package org.springframework.session.data.redis;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -34,8 +40,10 @@ import org.springframework.data.redis.connection.Message;
 import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.data.redis.core.BoundHashOperations;
 import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.session.BatchSessionRepository;
 import org.springframework.session.DelegatingIndexResolver;
 import org.springframework.session.FindByIndexNameSessionRepository;
 import org.springframework.session.FlushMode;
@@ -151,6 +159,13 @@ import org.springframework.util.Assert;
  * will then translate the Redis message into a {@link SessionCreatedEvent}.
  * </p>
  *
+ * <p>
+ * Publishing the session with every created event can be costly when many sessions are
+ * created. Using {@link #setSessionCreatedEventMode(SessionCreatedEventMode)} the event
+ * can instead only carry the session id, in which case the session is loaded from Redis
+ * on demand, or not be published at all.
+ * </p>
+ *
  * <h3>Expiration</h3>
  *
  * <p>
@@ -242,12 +257,32 @@ import org.springframework.util.Assert;
  * the key is only removed if the TTL on that key is expired.
  * </p>
  *
+ * <h3>Redis Cluster</h3>
+ *
+ * <p>
+ * By default the keys of a session map to different hash slots, which means that on Redis
+ * Cluster they cannot be used together in multi-key commands and that renaming them when
+ * the session id changes fails. With {@link #setUseHashTags(boolean)} the session id is
+ * wrapped in a hash tag, so that all keys of a session map to the same slot:
+ * </p>
+ *
+ * <pre>
+ * spring:session:sessions:{33fdd1b6-b496-4b33-9f7d-df96679d32fe}
+ * spring:session:sessions:expires:{33fdd1b6-b496-4b33-9f7d-df96679d32fe}
+ * </pre>
+ *
+ * <p>
+ * When the session id changes, the keys are then copied to the slot of the new id using
+ * {@code DUMP} and {@code RESTORE} rather than renamed.
+ * </p>
+ *
  * @author Rob Winch
  * @author Vedran Pavic
  * @since 2.2.0
  */
 public class RedisIndexedSessionRepository
-		implements FindByIndexNameSessionRepository<RedisIndexedSessionRepository.RedisSession>, MessageListener {
+		implements FindByIndexNameSessionRepository<RedisIndexedSessionRepository.RedisSession>,
+		BatchSessionRepository<RedisIndexedSessionRepository.RedisSession>, MessageListener {
 
 	private static final Log logger = LogFactory.getLog(RedisIndexedSessionRepository.class);
 
@@ -270,6 +305,14 @@ public class RedisIndexedSessionRepository
 	 */
 	private String namespace = DEFAULT_NAMESPACE + ":";
 
+	private String sessionKeyPrefix;
+
+	private String expiredKeyPrefix;
+
+	private String principalKeyPrefix;
+
+	private String expirationsKeyPrefix;
+
 	private String sessionCreatedChannelPrefix;
 
 	private String sessionDeletedChannel;
@@ -297,6 +340,16 @@ public class RedisIndexedSessionRepository
 
 	private SaveMode saveMode = SaveMode.ON_SET_ATTRIBUTE;
 
+	private SessionCreatedEventMode sessionCreatedEventMode = SessionCreatedEventMode.SESSION;
+
+	private boolean useHashTags;
+
+	private RedisOperations<Object, Object> replicaSessionRedisOperations;
+
+	private final ReplicaReadGuard replicaReadGuard = new ReplicaReadGuard();
+
+	private volatile boolean pipeliningSupported = true;
+
 	/**
 	 * Creates a new instance. For an example, refer to the class level javadoc.
 	 * @param sessionRedisOperations the {@link RedisOperations} to use for managing the
@@ -306,7 +359,8 @@ public class RedisIndexedSessionRepository
 		Assert.notNull(sessionRedisOperations, "sessionRedisOperations cannot be null");
 		this.sessionRedisOperations = sessionRedisOperations;
 		this.expirationPolicy = new RedisSessionExpirationPolicy(sessionRedisOperations, this::getExpirationsKey,
-				this::getSessionKey);
+				this::getSessionKey, this::getExpiredKey);
+		configureKeyPrefixes();
 		configureSessionChannels();
 	}
 
@@ -370,6 +424,72 @@ public class RedisIndexedSessionRepository
 		this.saveMode = saveMode;
 	}
 
+	/**
+	 * Set how the creation of a session is published to the
+	 * {@link #getSessionCreatedChannelPrefix() created channel}. Default is
+	 * {@link SessionCreatedEventMode#SESSION}.
+	 * @param sessionCreatedEventMode the session created event mode
+	 * @since 2.3.0
+	 */
+	public void setSessionCreatedEventMode(SessionCreatedEventMode sessionCreatedEventMode) {
+		Assert.notNull(sessionCreatedEventMode, "sessionCreatedEventMode cannot be null");
+		this.sessionCreatedEventMode = sessionCreatedEventMode;
+	}
+
+	/**
+	 * Get how the creation of a session is published to the
+	 * {@link #getSessionCreatedChannelPrefix() created channel}.
+	 * @return the session created event mode
+	 * @since 2.3.0
+	 */
+	public SessionCreatedEventMode getSessionCreatedEventMode() {
+		return this.sessionCreatedEventMode;
+	}
+
+	/**
+	 * Set whether to wrap the session id in the keys of a session in a hash tag, so that
+	 * all keys of a session map to the same Redis Cluster hash slot. Note that enabling
+	 * this changes the keys sessions are stored with, so existing sessions will no longer
+	 * be found. Default is {@code false}.
+	 * @param useHashTags whether to use hash tags
+	 * @since 2.3.0
+	 */
+	public void setUseHashTags(boolean useHashTags) {
+		this.useHashTags = useHashTags;
+	}
+
+	/**
+	 * Set the {@link RedisOperations} used to load sessions and the principal name index
+	 * from Redis replicas, for instance backed by a connection factory that reads from
+	 * replicas. Reading from replicas is opt-in: by default, all reads go to the master.
+	 * Keys written by this repository, and sessions that it has been notified to be
+	 * deleted or expired, within the {@link #setReplicaStalenessWindow(Duration) staleness
+	 * window} as well as keys not found on a replica are read from the master.
+	 * <p>
+	 * Note that changes made by other instances are only known through the session
+	 * deleted and expired notifications, which may arrive after a replica has already
+	 * been read. Until replication catches up, a replica may therefore still serve a
+	 * session that another instance has just updated, or invalidated with a notification
+	 * that has not arrived yet. Only use replicas if this is acceptable, for instance with
+	 * sticky sessions.
+	 * @param replicaSessionRedisOperations the {@link RedisOperations} used to read from
+	 * replicas
+	 * @since 2.3.0
+	 */
+	public void setReplicaSessionRedisOperations(RedisOperations<Object, Object> replicaSessionRedisOperations) {
+		this.replicaSessionRedisOperations = replicaSessionRedisOperations;
+	}
+
+	/**
+	 * Set the period after a key was written by this repository during which it is read
+	 * from the master rather than from a replica. Default is 1 second.
+	 * @param replicaStalenessWindow the staleness window
+	 * @since 2.3.0
+	 */
+	public void setReplicaStalenessWindow(Duration replicaStalenessWindow) {
+		this.replicaReadGuard.setStalenessWindow(replicaStalenessWindow);
+	}
+
 	/**
 	 * Sets the database index to use. Defaults to {@link #DEFAULT_DATABASE}.
 	 * @param database the database index to use
@@ -397,19 +517,28 @@ public class RedisIndexedSessionRepository
 	public void save(RedisSession session) {
 		session.save();
 		if (session.isNew) {
-			String sessionCreatedKey = getSessionCreatedChannel(session.getId());
-			this.sessionRedisOperations.convertAndSend(sessionCreatedKey, session.delta);
+			publishSessionCreated(session);
 			session.isNew = false;
 		}
 	}
 
+	private void publishSessionCreated(RedisSession session) {
+		if (this.sessionCreatedEventMode == SessionCreatedEventMode.NONE) {
+			return;
+		}
+		String sessionCreatedKey = getSessionCreatedChannel(session.getId());
+		Map<String, Object> message = (this.sessionCreatedEventMode == SessionCreatedEventMode.SESSION_ID)
+				? Collections.emptyMap() : session.delta;
+		this.sessionRedisOperations.convertAndSend(sessionCreatedKey, message);
+	}
+
 	public void cleanupExpiredSessions() {
 		this.expirationPolicy.cleanExpiredSessions();
 	}
 
 	@Override
 	public RedisSession findById(String id) {
-		return getSession(id, false);
+		return getSession(id, false, true);
 	}
 
 	@Override
@@ -418,33 +547,171 @@ public class RedisIndexedSessionRepository
 			return Collections.emptyMap();
 		}
 		String principalKey = getPrincipalKey(indexValue);
-		Set<Object> sessionIds = this.sessionRedisOperations.boundSetOps(principalKey).members();
-		Map<String, RedisSession> sessions = new HashMap<>(sessionIds.size());
-		for (Object id : sessionIds) {
-			RedisSession session = findById((String) id);
-			if (session != null) {
-				sessions.put(session.getId(), session);
-			}
+		Set<Object> sessionIds = null;
+		if (isReadableFromReplica(principalKey)) {
+			sessionIds = this.replicaSessionRedisOperations.boundSetOps(principalKey).members();
+		}
+		if (sessionIds == null || sessionIds.isEmpty()) {
+			sessionIds = this.sessionRedisOperations.boundSetOps(principalKey).members();
 		}
+		List<String> ids = new ArrayList<>(sessionIds.size());
+		sessionIds.forEach((id) -> ids.add((String) id));
+		return findAllById(ids);
+	}
+
+	/**
+	 * Loads the sessions with the given ids using a single pipeline, or two if some of
+	 * the sessions are loaded from a replica and not found there. If the connection does
+	 * not support pipelining, as is the case for Jedis with Redis Cluster, the sessions
+	 * are loaded one at a time.
+	 * @param ids the session ids
+	 * @return the sessions that were found and are not expired
+	 */
+	@Override
+	public Map<String, RedisSession> findAllById(Collection<String> ids) {
+		Map<String, RedisSession> sessions = getSessions(ids, true);
+		sessions.values().removeIf(RedisSession::isExpired);
 		return sessions;
 	}
 
+	/**
+	 * Loads the sessions with the given ids and deletes them, using one pipeline for
+	 * loading and one for deleting the sessions. If the connection does not support
+	 * pipelining, the sessions are loaded and deleted one at a time.
+	 * @param ids the session ids
+	 */
+	@Override
+	public void deleteAllById(Collection<String> ids) {
+		Collection<RedisSession> sessions = getSessions(ids, false).values();
+		if (sessions.isEmpty()) {
+			return;
+		}
+		if (this.pipeliningSupported) {
+			try {
+				this.sessionRedisOperations.executePipelined(new SessionCallback<Object>() {
+
+					@Override
+					public <K, V> Object execute(RedisOperations<K, V> operations) {
+						sessions.forEach(RedisIndexedSessionRepository.this::delete);
+						return null;
+					}
+
+				});
+				return;
+			}
+			catch (UnsupportedOperationException ex) {
+				onPipeliningUnsupported(ex);
+			}
+		}
+		sessions.forEach(this::delete);
+	}
+
 	/**
 	 * Gets the session.
 	 * @param id the session id
 	 * @param allowExpired if true, will also include expired sessions that have not been
 	 * deleted. If false, will ensure expired sessions are not returned.
+	 * @param allowReplica if true, the session may be loaded from a replica
 	 * @return the Redis session
 	 */
-	private RedisSession getSession(String id, boolean allowExpired) {
-		Map<Object, Object> entries = getSessionBoundHashOperations(id).entries();
+	private RedisSession getSession(String id, boolean allowExpired, boolean allowReplica) {
+		Map<Object, Object> entries = null;
+		String key = getSessionKey(id);
+		if (allowReplica && isReadableFromReplica(key)) {
+			entries = this.replicaSessionRedisOperations.boundHashOps(key).entries();
+		}
+		if (entries == null || entries.isEmpty()) {
+			entries = getSessionBoundHashOperations(id).entries();
+		}
 		if (entries.isEmpty()) {
 			return null;
 		}
-		MapSession loaded = loadSession(id, entries);
-		if (!allowExpired && loaded.isExpired()) {
+		RedisSession result = loadRedisSession(id, entries);
+		if (!allowExpired && result.isExpired()) {
 			return null;
 		}
+		return result;
+	}
+
+	/**
+	 * Gets the sessions with the given ids, including expired sessions that have not been
+	 * deleted.
+	 * @param ids the session ids
+	 * @param allowReplica if true, the sessions may be loaded from a replica
+	 * @return the Redis sessions by id
+	 */
+	private Map<String, RedisSession> getSessions(Collection<String> ids, boolean allowReplica) {
+		Assert.notNull(ids, "ids must not be null");
+		Map<String, RedisSession> sessions = new HashMap<>(ids.size());
+		List<String> sessionIds = new ArrayList<>(new LinkedHashSet<>(ids));
+		if (allowReplica && this.replicaSessionRedisOperations != null) {
+			List<String> replicaSessionIds = new ArrayList<>(sessionIds.size());
+			for (String id : sessionIds) {
+				if (isReadableFromReplica(getSessionKey(id))) {
+					replicaSessionIds.add(id);
+				}
+			}
+			loadSessions(this.replicaSessionRedisOperations, replicaSessionIds, sessions);
+			sessionIds.removeIf(sessions::containsKey);
+		}
+		loadSessions(this.sessionRedisOperations, sessionIds, sessions);
+		return sessions;
+	}
+
+	private void loadSessions(RedisOperations<Object, Object> redisOperations, List<String> ids,
+			Map<String, RedisSession> sessions) {
+		if (ids.isEmpty()) {
+			return;
+		}
+		if (this.pipeliningSupported) {
+			try {
+				loadSessionsPipelined(redisOperations, ids, sessions);
+				return;
+			}
+			catch (UnsupportedOperationException ex) {
+				onPipeliningUnsupported(ex);
+			}
+		}
+		for (String id : ids) {
+			Map<Object, Object> entries = redisOperations.boundHashOps(getSessionKey(id)).entries();
+			if (entries != null && !entries.isEmpty()) {
+				sessions.put(id, loadRedisSession(id, entries));
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void loadSessionsPipelined(RedisOperations<Object, Object> redisOperations, List<String> ids,
+			Map<String, RedisSession> sessions) {
+		List<Object> results = redisOperations.executePipelined(new SessionCallback<Object>() {
+
+			@Override
+			public <K, V> Object execute(RedisOperations<K, V> operations) {
+				for (String id : ids) {
+					operations.opsForHash().entries((K) getSessionKey(id));
+				}
+				return null;
+			}
+
+		});
+		for (int i = 0; i < ids.size(); i++) {
+			Map<Object, Object> entries = (Map<Object, Object>) results.get(i);
+			if (entries != null && !entries.isEmpty()) {
+				sessions.put(ids.get(i), loadRedisSession(ids.get(i), entries));
+			}
+		}
+	}
+
+	private void onPipeliningUnsupported(UnsupportedOperationException ex) {
+		this.pipeliningSupported = false;
+		if (logger.isDebugEnabled()) {
+			logger.debug("Pipelining is not supported by the Redis connection, "
+					+ "falling back to sending the commands one at a time", ex);
+		}
+	}
+
+	private RedisSession loadRedisSession(String id, Map<Object, Object> entries) {
+		MapSession loaded = loadSession(id, entries);
 		RedisSession result = new RedisSession(loaded, false);
 		result.originalLastAccessTime = loaded.getLastAccessedTime();
 		return result;
@@ -464,24 +731,56 @@ public class RedisIndexedSessionRepository
 				loaded.setLastAccessedTime(Instant.ofEpochMilli((long) entry.getValue()));
 			}
 			else if (key.startsWith(RedisSessionMapper.ATTRIBUTE_PREFIX)) {
-				loaded.setAttribute(key.substring(RedisSessionMapper.ATTRIBUTE_PREFIX.length()), entry.getValue());
+				loaded.setAttribute(RedisSessionMapper.getAttributeName(key), entry.getValue());
 			}
 		}
 		return loaded;
 	}
 
+	/**
+	 * Updates the last accessed time of the session and its expiration without loading
+	 * the session attributes.
+	 * @param sessionId the session id
+	 * @param lastAccessedTime the last accessed time to set
+	 * @return whether the session was found and updated
+	 */
+	@Override
+	public boolean touch(String sessionId, Instant lastAccessedTime) {
+		BoundHashOperations<Object, Object, Object> operations = getSessionBoundHashOperations(sessionId);
+		List<Object> values = operations.multiGet(Arrays.asList(RedisSessionMapper.LAST_ACCESSED_TIME_KEY,
+				RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY));
+		if (values == null || values.get(0) == null || values.get(1) == null) {
+			return false;
+		}
+		MapSession session = new MapSession(sessionId);
+		session.setLastAccessedTime(Instant.ofEpochMilli((long) values.get(0)));
+		session.setMaxInactiveInterval(Duration.ofSeconds((int) values.get(1)));
+		if (session.isExpired()) {
+			return false;
+		}
+		long originalExpiration = session.getLastAccessedTime().plus(session.getMaxInactiveInterval()).toEpochMilli();
+		session.setLastAccessedTime(lastAccessedTime);
+		operations.put(RedisSessionMapper.LAST_ACCESSED_TIME_KEY, lastAccessedTime.toEpochMilli());
+		this.replicaReadGuard.onWrite(getSessionKey(sessionId));
+		this.expirationPolicy.onExpirationUpdated(originalExpiration, session);
+		return true;
+	}
+
 	@Override
 	public void deleteById(String sessionId) {
-		RedisSession session = getSession(sessionId, true);
-		if (session == null) {
-			return;
+		RedisSession session = getSession(sessionId, true, false);
+		if (session != null) {
+			delete(session);
 		}
+	}
 
+	private void delete(RedisSession session) {
 		cleanupPrincipalIndex(session);
 		this.expirationPolicy.onDelete(session);
 
 		String expireKey = getExpiredKey(session.getId());
 		this.sessionRedisOperations.delete(expireKey);
+		this.replicaReadGuard.onWrite(expireKey);
 
 		session.setMaxInactiveInterval(Duration.ZERO);
 		save(session);
@@ -514,17 +813,21 @@ public class RedisIndexedSessionRepository
 		}
 
 		String body = new String(messageBody);
-		if (!body.startsWith(getExpiredKeyPrefix())) {
+		if (!body.startsWith(this.expiredKeyPrefix)) {
 			return;
 		}
 
 		boolean isDeleted = channel.equals(this.sessionDeletedChannel);
 		if (isDeleted || channel.equals(this.sessionExpiredChannel)) {
-			int beginIndex = body.lastIndexOf(":") + 1;
-			int endIndex = body.length();
-			String sessionId = body.substring(beginIndex, endIndex);
+			String sessionId = body.substring(this.expiredKeyPrefix.length());
+			if (this.useHashTags && sessionId.startsWith("{") && sessionId.endsWith("}")) {
+				sessionId = sessionId.substring(1, sessionId.length() - 1);
+			}
+			// the session may have been deleted by another instance, so replicas that have
+			// not caught up yet must not serve it
+			this.replicaReadGuard.onWrite(getSessionKey(sessionId));
 
-			RedisSession session = getSession(sessionId, true);
+			RedisSession session = getSession(sessionId, true, false);
 
 			if (session == null) {
 				logger.warn("Unable to publish SessionDestroyedEvent for session " + sessionId);
@@ -551,13 +854,15 @@ public class RedisIndexedSessionRepository
 		Map<String, String> indexes = RedisIndexedSessionRepository.this.indexResolver.resolveIndexesFor(session);
 		String principal = indexes.get(PRINCIPAL_NAME_INDEX_NAME);
 		if (principal != null) {
-			this.sessionRedisOperations.boundSetOps(getPrincipalKey(principal)).remove(sessionId);
+			String principalKey = getPrincipalKey(principal);
+			this.sessionRedisOperations.boundSetOps(principalKey).remove(sessionId);
+			this.replicaReadGuard.onWrite(principalKey);
 		}
 	}
 
 	private void handleCreated(Map<Object, Object> loaded, String channel) {
 		String id = channel.substring(channel.lastIndexOf(":") + 1);
-		Session session = loadSession(id, loaded);
+		Session session = (loaded == null || loaded.isEmpty()) ? new LazySession(id) : loadSession(id, loaded);
 		publishEvent(new SessionCreatedEvent(this, session));
 	}
 
@@ -581,39 +886,43 @@ public class RedisIndexedSessionRepository
 	public void setRedisKeyNamespace(String namespace) {
 		Assert.hasText(namespace, "namespace cannot be null or empty");
 		this.namespace = namespace.trim() + ":";
+		configureKeyPrefixes();
 		configureSessionChannels();
 	}
 
+	private void configureKeyPrefixes() {
+		this.sessionKeyPrefix = this.namespace + "sessions:";
+		this.expiredKeyPrefix = this.namespace + "sessions:expires:";
+		this.principalKeyPrefix = this.namespace + "index:" + FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME
+				+ ":";
+		this.expirationsKeyPrefix = this.namespace + "expirations:";
+	}
+
 	/**
 	 * Gets the Hash key for this session by prefixing it appropriately.
 	 * @param sessionId the session id
 	 * @return the Hash key for this session by prefixing it appropriately.
 	 */
 	String getSessionKey(String sessionId) {
-		return this.namespace + "sessions:" + sessionId;
+		return this.useHashTags ? this.sessionKeyPrefix + "{" + sessionId + "}" : this.sessionKeyPrefix + sessionId;
 	}
 
 	String getPrincipalKey(String principalName) {
-		return this.namespace + "index:" + FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME + ":"
-				+ principalName;
+		return this.principalKeyPrefix + principalName;
 	}
 
 	String getExpirationsKey(long expiration) {
-		return this.namespace + "expirations:" + expiration;
+		return this.expirationsKeyPrefix + expiration;
 	}
 
-	private String getExpiredKey(String sessionId) {
-		return getExpiredKeyPrefix() + sessionId;
+	String getExpiredKey(String sessionId) {
+		return this.useHashTags ? this.expiredKeyPrefix + "{" + sessionId + "}" : this.expiredKeyPrefix + sessionId;
 	}
 
 	private String getSessionCreatedChannel(String sessionId) {
 		return getSessionCreatedChannelPrefix() + sessionId;
 	}
 
-	private String getExpiredKeyPrefix() {
-		return this.namespace + "sessions:expires:";
-	}
-
 	/**
 	 * Gets the prefix for the channel that {@link SessionCreatedEvent}s are published to.
 	 * The suffix is the session id of the session that was created.
@@ -640,6 +949,10 @@ public class RedisIndexedSessionRepository
 		return this.sessionExpiredChannel;
 	}
 
+	private boolean isReadableFromReplica(String key) {
+		return this.replicaSessionRedisOperations != null && this.replicaReadGuard.isReadableFromReplica(key);
+	}
+
 	/**
 	 * Gets the {@link BoundHashOperations} to operate on a {@link Session}.
 	 * @param sessionId the id of the {@link Session} to work with
@@ -656,7 +969,92 @@ public class RedisIndexedSessionRepository
 	 * @return the attribute key name
 	 */
 	static String getSessionAttrNameKey(String attributeName) {
-		return RedisSessionMapper.ATTRIBUTE_PREFIX + attributeName;
+		return RedisSessionMapper.getAttributeKey(attributeName);
+	}
+
+	/**
+	 * A {@link Session} for which only the id is known up front. Used for
+	 * {@link SessionCreatedEvent}s that were published without the session, the session
+	 * is loaded from Redis when anything other than its id is accessed.
+	 */
+	private final class LazySession implements Session {
+
+		private final String id;
+
+		private MapSession delegate;
+
+		LazySession(String id) {
+			this.id = id;
+		}
+
+		private MapSession getDelegate() {
+			if (this.delegate == null) {
+				Map<Object, Object> entries = getSessionBoundHashOperations(this.id).entries();
+				this.delegate = entries.isEmpty() ? new MapSession(this.id) : loadSession(this.id, entries);
+			}
+			return this.delegate;
+		}
+
+		@Override
+		public String getId() {
+			return this.id;
+		}
+
+		@Override
+		public String changeSessionId() {
+			return getDelegate().changeSessionId();
+		}
+
+		@Override
+		public <T> T getAttribute(String attributeName) {
+			return getDelegate().getAttribute(attributeName);
+		}
+
+		@Override
+		public Set<String> getAttributeNames() {
+			return getDelegate().getAttributeNames();
+		}
+
+		@Override
+		public void setAttribute(String attributeName, Object attributeValue) {
+			getDelegate().setAttribute(attributeName, attributeValue);
+		}
+
+		@Override
+		public void removeAttribute(String attributeName) {
+			getDelegate().removeAttribute(attributeName);
+		}
+
+		@Override
+		public Instant getCreationTime() {
+			return getDelegate().getCreationTime();
+		}
+
+		@Override
+		public void setLastAccessedTime(Instant lastAccessedTime) {
+			getDelegate().setLastAccessedTime(lastAccessedTime);
+		}
+
+		@Override
+		public Instant getLastAccessedTime() {
+			return getDelegate().getLastAccessedTime();
+		}
+
+		@Override
+		public void setMaxInactiveInterval(Duration interval) {
+			getDelegate().setMaxInactiveInterval(interval);
+		}
+
+		@Override
+		public Duration getMaxInactiveInterval() {
+			return getDelegate().getMaxInactiveInterval();
+		}
+
+		@Override
+		public boolean isExpired() {
+			return getDelegate().isExpired();
+		}
+
 	}
 
 	/**
@@ -793,6 +1191,7 @@ public class RedisIndexedSessionRepository
 			}
 			String sessionId = getId();
 			getSessionBoundHashOperations(sessionId).putAll(this.delta);
+			RedisIndexedSessionRepository.this.replicaReadGuard.onWrite(getSessionKey(sessionId));
 			String principalSessionKey = getSessionAttrNameKey(
 					FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME);
 			String securityPrincipalSessionKey = getSessionAttrNameKey(SPRING_SECURITY_CONTEXT);
@@ -801,6 +1200,7 @@ public class RedisIndexedSessionRepository
 					String originalPrincipalRedisKey = getPrincipalKey(this.originalPrincipalName);
 					RedisIndexedSessionRepository.this.sessionRedisOperations.boundSetOps(originalPrincipalRedisKey)
 							.remove(sessionId);
+					RedisIndexedSessionRepository.this.replicaReadGuard.onWrite(originalPrincipalRedisKey);
 				}
 				Map<String, String> indexes = RedisIndexedSessionRepository.this.indexResolver.resolveIndexesFor(this);
 				String principal = indexes.get(PRINCIPAL_NAME_INDEX_NAME);
@@ -809,6 +1209,7 @@ public class RedisIndexedSessionRepository
 					String principalRedisKey = getPrincipalKey(principal);
 					RedisIndexedSessionRepository.this.sessionRedisOperations.boundSetOps(principalRedisKey)
 							.add(sessionId);
+					RedisIndexedSessionRepository.this.replicaReadGuard.onWrite(principalRedisKey);
 				}
 			}
 
@@ -825,27 +1226,46 @@ public class RedisIndexedSessionRepository
 				return;
 			}
 			if (!this.isNew) {
-				String originalSessionIdKey = getSessionKey(this.originalSessionId);
-				String sessionIdKey = getSessionKey(sessionId);
-				try {
-					RedisIndexedSessionRepository.this.sessionRedisOperations.rename(originalSessionIdKey,
-							sessionIdKey);
-				}
-				catch (NonTransientDataAccessException ex) {
-					handleErrNoSuchKeyError(ex);
-				}
-				String originalExpiredKey = getExpiredKey(this.originalSessionId);
-				String expiredKey = getExpiredKey(sessionId);
-				try {
-					RedisIndexedSessionRepository.this.sessionRedisOperations.rename(originalExpiredKey, expiredKey);
-				}
-				catch (NonTransientDataAccessException ex) {
-					handleErrNoSuchKeyError(ex);
-				}
+				renameKey(getSessionKey(this.originalSessionId), getSessionKey(sessionId));
+				renameKey(getExpiredKey(this.originalSessionId), getExpiredKey(sessionId));
 			}
 			this.originalSessionId = sessionId;
 		}
 
+		private void renameKey(String originalKey, String key) {
+			RedisIndexedSessionRepository.this.replicaReadGuard.onWrite(originalKey);
+			RedisIndexedSessionRepository.this.replicaReadGuard.onWrite(key);
+			if (RedisIndexedSessionRepository.this.useHashTags) {
+				moveKey(originalKey, key);
+				return;
+			}
+			try {
+				RedisIndexedSessionRepository.this.sessionRedisOperations.rename(originalKey, key);
+			}
+			catch (NonTransientDataAccessException ex) {
+				handleErrNoSuchKeyError(ex);
+			}
+		}
+
+		/**
+		 * Moves a key using {@code DUMP} and {@code RESTORE}, which unlike
+		 * {@code RENAME} also works if both keys map to different Redis Cluster hash
+		 * slots.
+		 * @param originalKey the key to move
+		 * @param key the new key
+		 */
+		private void moveKey(String originalKey, String key) {
+			RedisOperations<Object, Object> operations = RedisIndexedSessionRepository.this.sessionRedisOperations;
+			byte[] value = operations.dump(originalKey);
+			if (value == null) {
+				return;
+			}
+			Long timeToLive = operations.getExpire(originalKey, TimeUnit.MILLISECONDS);
+			operations.restore(key, value, (timeToLive != null && timeToLive > 0) ? timeToLive : 0,
+					TimeUnit.MILLISECONDS);
+			operations.delete(originalKey);
+		}
+
 		private void handleErrNoSuchKeyError(NonTransientDataAccessException ex) {
 			if (!"ERR no such key".equals(NestedExceptionUtils.getMostSpecificCause(ex).getMessage())) {
 				throw ex;
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.data.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.springframework.util.Assert;
+
+/**
+ * Encodes Redis keys that consist of a fixed prefix and a variable suffix, such as a
+ * session id, to UTF-8 bytes. The prefix is encoded once and ASCII suffixes are written
+ * directly into the key, so that encoding a key only allocates the key itself. The key
+ * is not written into a reused buffer, because Redis drivers may hold on to it until the
+ * command completes.
+ *
+ * @since 2.3.0
+ */
+final class RedisKeyEncoder {
+
+	private final byte[] prefix;
+
+	RedisKeyEncoder(String prefix) {
+		Assert.notNull(prefix, "prefix must not be null");
+		this.prefix = prefix.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Encode the key with the given suffix.
+	 * @param suffix the suffix
+	 * @return the UTF-8 encoded key
+	 */
+	byte[] encode(String suffix) {
+		int prefixLength = this.prefix.length;
+		int suffixLength = suffix.length();
+		byte[] key = Arrays.copyOf(this.prefix, prefixLength + suffixLength);
+		for (int i = 0; i < suffixLength; i++) {
+			char c = suffix.charAt(i);
+			if (c >= 0x80) {
+				return encodeNonAscii(suffix);
+			}
+			key[prefixLength + i] = (byte) c;
+		}
+		return key;
+	}
+
+	private byte[] encodeNonAscii(String suffix) {
+		byte[] encodedSuffix = suffix.getBytes(StandardCharsets.UTF_8);
+		byte[] key = Arrays.copyOf(this.prefix, this.prefix.length + encodedSuffix.length);
+		System.arraycopy(encodedSuffix, 0, key, this.prefix.length, encodedSuffix.length);
+		return key;
+	}
+
+}
@@ -50,18 +50,30 @@ final class RedisSessionExpirationPolicy {
 
 	private static final Log logger = LogFactory.getLog(RedisSessionExpirationPolicy.class);
 
+	private static final String EXPIRES_PREFIX = "expires:";
+
 	private final RedisOperations<Object, Object> redis;
 
 	private final Function<Long, String> lookupExpirationKey;
 
 	private final Function<String, String> lookupSessionKey;
 
+	private final Function<String, String> lookupExpiredKey;
+
 	RedisSessionExpirationPolicy(RedisOperations<Object, Object> sessionRedisOperations,
 			Function<Long, String> lookupExpirationKey, Function<String, String> lookupSessionKey) {
+		this(sessionRedisOperations, lookupExpirationKey, lookupSessionKey,
+				(sessionId) -> lookupSessionKey.apply(EXPIRES_PREFIX + sessionId));
+	}
+
+	RedisSessionExpirationPolicy(RedisOperations<Object, Object> sessionRedisOperations,
+			Function<Long, String> lookupExpirationKey, Function<String, String> lookupSessionKey,
+			Function<String, String> lookupExpiredKey) {
 		super();
 		this.redis = sessionRedisOperations;
 		this.lookupExpirationKey = lookupExpirationKey;
 		this.lookupSessionKey = lookupSessionKey;
+		this.lookupExpiredKey = lookupExpiredKey;
 	}
 
 	void onDelete(Session session) {
@@ -71,7 +83,7 @@ final class RedisSessionExpirationPolicy {
 	}
 
 	void onExpirationUpdated(Long originalExpirationTimeInMilli, Session session) {
-		String keyToExpire = "expires:" + session.getId();
+		String keyToExpire = EXPIRES_PREFIX + session.getId();
 		long toExpire = roundUpToNextMinute(expiresInMillis(session));
 
 		if (originalExpirationTimeInMilli != null) {
@@ -83,7 +95,7 @@ final class RedisSessionExpirationPolicy {
 		}
 
 		long sessionExpireInSeconds = session.getMaxInactiveInterval().getSeconds();
-		String sessionKey = getSessionKey(keyToExpire);
+		String sessionKey = getExpiredKey(session.getId());
 
 		if (sessionExpireInSeconds < 0) {
 			this.redis.boundValueOps(sessionKey).append("");
@@ -117,6 +129,10 @@ final class RedisSessionExpirationPolicy {
 		return this.lookupSessionKey.apply(sessionId);
 	}
 
+	String getExpiredKey(String sessionId) {
+		return this.lookupExpiredKey.apply(sessionId);
+	}
+
 	void cleanExpiredSessions() {
 		long now = System.currentTimeMillis();
 		long prevMin = roundDownMinute(now);
@@ -129,7 +145,9 @@ final class RedisSessionExpirationPolicy {
 		Set<Object> sessionsToExpire = this.redis.boundSetOps(expirationKey).members();
 		this.redis.delete(expirationKey);
 		for (Object session : sessionsToExpire) {
-			String sessionKey = getSessionKey((String) session);
+			String member = (String) session;
+			String sessionKey = member.startsWith(EXPIRES_PREFIX)
+					? getExpiredKey(member.substring(EXPIRES_PREFIX.length())) : getSessionKey(member);
 			touch(sessionKey);
 		}
 	}
@@ -19,6 +19,7 @@ package org.springframework.session.data.redis;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import org.springframework.session.MapSession;
@@ -56,6 +57,17 @@ final class RedisSessionMapper implements Function<Map<String, Object>, MapSessi
 	 */
 	static final String ATTRIBUTE_PREFIX = "sessionAttr:";
 
+	/**
+	 * The maximum number of attribute names for which keys are cached. Applications
+	 * typically use a small, fixed set of attribute names, so the limit only guards
+	 * against applications that generate attribute names.
+	 */
+	private static final int MAX_CACHED_ATTRIBUTES = 1024;
+
+	private static final Map<String, String> ATTRIBUTE_KEYS = new ConcurrentHashMap<>();
+
+	private static final Map<String, String> ATTRIBUTE_NAMES = new ConcurrentHashMap<>();
+
 	private final String sessionId;
 
 	RedisSessionMapper(String sessionId) {
@@ -84,12 +96,46 @@ final class RedisSessionMapper implements Function<Map<String, Object>, MapSessi
 		session.setMaxInactiveInterval(Duration.ofSeconds(maxInactiveInterval));
 		map.forEach((name, value) -> {
 			if (name.startsWith(ATTRIBUTE_PREFIX)) {
-				session.setAttribute(name.substring(ATTRIBUTE_PREFIX.length()), value);
+				session.setAttribute(getAttributeName(name), value);
 			}
 		});
 		return session;
 	}
 
+	/**
+	 * Return the key in the hash for the given attribute name.
+	 * @param attributeName the attribute name
+	 * @return the key
+	 */
+	static String getAttributeKey(String attributeName) {
+		String attributeKey = ATTRIBUTE_KEYS.get(attributeName);
+		if (attributeKey == null) {
+			attributeKey = ATTRIBUTE_PREFIX + attributeName;
+			cache(ATTRIBUTE_KEYS, attributeName, attributeKey);
+		}
+		return attributeKey;
+	}
+
+	/**
+	 * Return the attribute name for the given key in the hash.
+	 * @param attributeKey the key, which must start with {@link #ATTRIBUTE_PREFIX}
+	 * @return the attribute name
+	 */
+	static String getAttributeName(String attributeKey) {
+		String attributeName = ATTRIBUTE_NAMES.get(attributeKey);
+		if (attributeName == null) {
+			attributeName = attributeKey.substring(ATTRIBUTE_PREFIX.length());
+			cache(ATTRIBUTE_NAMES, attributeKey, attributeName);
+		}
+		return attributeName;
+	}
+
+	private static void cache(Map<String, String> cache, String key, String value) {
+		if (cache.size() < MAX_CACHED_ATTRIBUTES) {
+			cache.putIfAbsent(key, value);
+		}
+	}
+
 	private static void handleMissingKey(String key) {
 		throw new IllegalStateException(key + " key must not be null");
 	}
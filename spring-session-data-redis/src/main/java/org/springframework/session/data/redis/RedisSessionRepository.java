@@ -18,8 +18,10 @@ package org.springframework.session.data.redis;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -36,6 +38,9 @@ import org.springframework.util.Assert;
  * {@link RedisOperations} to store sessions is Redis.
  * <p>
  * This implementation does not support publishing of session events.
+ * <p>
+ * Sessions can be loaded from Redis replicas by providing
+ * {@link #setReplicaSessionRedisOperations(RedisOperations) replica operations}.
  *
  * @author Vedran Pavic
  * @since 2.2.0
@@ -50,10 +55,16 @@ public class RedisSessionRepository implements SessionRepository<RedisSessionRep
 
 	private String keyNamespace = DEFAULT_KEY_NAMESPACE;
 
+	private String sessionKeyPrefix = DEFAULT_KEY_NAMESPACE + "sessions:";
+
 	private FlushMode flushMode = FlushMode.ON_SAVE;
 
 	private SaveMode saveMode = SaveMode.ON_SET_ATTRIBUTE;
 
+	private RedisOperations<String, Object> replicaSessionRedisOperations;
+
+	private final ReplicaReadGuard replicaReadGuard = new ReplicaReadGuard();
+
 	/**
 	 * Create a new {@link RedisSessionRepository} instance.
 	 * @param sessionRedisOperations the {@link RedisOperations} to use for managing
@@ -80,6 +91,7 @@ public class RedisSessionRepository implements SessionRepository<RedisSessionRep
 	public void setKeyNamespace(String keyNamespace) {
 		Assert.hasText(keyNamespace, "keyNamespace must not be empty");
 		this.keyNamespace = keyNamespace;
+		this.sessionKeyPrefix = keyNamespace + "sessions:";
 	}
 
 	/**
@@ -100,6 +112,36 @@ public class RedisSessionRepository implements SessionRepository<RedisSessionRep
 		this.saveMode = saveMode;
 	}
 
+	/**
+	 * Set the {@link RedisOperations} used to load sessions from Redis replicas, for
+	 * instance backed by a connection factory that reads from replicas. Sessions written
+	 * by this repository within the {@link #setReplicaStalenessWindow(Duration) staleness
+	 * window} and sessions not found on a replica are loaded from the master. By default,
+	 * all sessions are loaded from the master.
+	 * <p>
+	 * Note that this repository only knows about its own writes. Until replication
+	 * catches up, a replica may therefore still serve a session that another instance
+	 * has just updated or deleted, so that a session invalidated on another instance can
+	 * reappear. Only use replicas if this is acceptable, for instance with sticky
+	 * sessions.
+	 * @param replicaSessionRedisOperations the {@link RedisOperations} used to read from
+	 * replicas
+	 * @since 2.3.0
+	 */
+	public void setReplicaSessionRedisOperations(RedisOperations<String, Object> replicaSessionRedisOperations) {
+		this.replicaSessionRedisOperations = replicaSessionRedisOperations;
+	}
+
+	/**
+	 * Set the period after a session was written by this repository during which it is
+	 * loaded from the master rather than from a replica. Default is 1 second.
+	 * @param replicaStalenessWindow the staleness window
+	 * @since 2.3.0
+	 */
+	public void setReplicaStalenessWindow(Duration replicaStalenessWindow) {
+		this.replicaReadGuard.setStalenessWindow(replicaStalenessWindow);
+	}
+
 	@Override
 	public RedisSession createSession() {
 		MapSession cached = new MapSession();
@@ -124,7 +166,7 @@ public class RedisSessionRepository implements SessionRepository<RedisSessionRep
 	@Override
 	public RedisSession findById(String sessionId) {
 		String key = getSessionKey(sessionId);
-		Map<String, Object> entries = this.sessionRedisOperations.<String, Object>opsForHash().entries(key);
+		Map<String, Object> entries = loadEntries(key);
 		if (entries.isEmpty()) {
 			return null;
 		}
@@ -136,10 +178,40 @@ public class RedisSessionRepository implements SessionRepository<RedisSessionRep
 		return new RedisSession(session, false);
 	}
 
+	/**
+	 * Updates the last accessed time of the session and its expiration without loading
+	 * the session attributes.
+	 * @param sessionId the session id
+	 * @param lastAccessedTime the last accessed time to set
+	 * @return whether the session was found and updated
+	 */
+	@Override
+	public boolean touch(String sessionId, Instant lastAccessedTime) {
+		String key = getSessionKey(sessionId);
+		List<Object> values = this.sessionRedisOperations.<String, Object>opsForHash().multiGet(key, Arrays
+				.asList(RedisSessionMapper.LAST_ACCESSED_TIME_KEY, RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY));
+		if (values == null || values.get(0) == null || values.get(1) == null) {
+			return false;
+		}
+		MapSession session = new MapSession(sessionId);
+		session.setLastAccessedTime(Instant.ofEpochMilli((long) values.get(0)));
+		session.setMaxInactiveInterval(Duration.ofSeconds((int) values.get(1)));
+		if (session.isExpired()) {
+			return false;
+		}
+		this.sessionRedisOperations.opsForHash().put(key, RedisSessionMapper.LAST_ACCESSED_TIME_KEY,
+				lastAccessedTime.toEpochMilli());
+		this.replicaReadGuard.onWrite(key);
+		this.sessionRedisOperations.expireAt(key,
+				Date.from(lastAccessedTime.plusSeconds(session.getMaxInactiveInterval().getSeconds())));
+		return true;
+	}
+
 	@Override
 	public void deleteById(String sessionId) {
 		String key = getSessionKey(sessionId);
 		this.sessionRedisOperations.delete(key);
+		this.replicaReadGuard.onWrite(key);
 	}
 
 	/**
@@ -151,11 +223,21 @@ public class RedisSessionRepository implements SessionRepository<RedisSessionRep
 	}
 
 	private String getSessionKey(String sessionId) {
-		return this.keyNamespace + "sessions:" + sessionId;
+		return this.sessionKeyPrefix + sessionId;
+	}
+
+	private Map<String, Object> loadEntries(String key) {
+		if (this.replicaSessionRedisOperations != null && this.replicaReadGuard.isReadableFromReplica(key)) {
+			Map<String, Object> entries = this.replicaSessionRedisOperations.<String, Object>opsForHash().entries(key);
+			if (!entries.isEmpty()) {
+				return entries;
+			}
+		}
+		return this.sessionRedisOperations.<String, Object>opsForHash().entries(key);
 	}
 
 	private static String getAttributeKey(String attributeName) {
-		return RedisSessionMapper.ATTRIBUTE_PREFIX + attributeName;
+		return RedisSessionMapper.getAttributeKey(attributeName);
 	}
 
 	/**
@@ -281,6 +363,8 @@ public class RedisSessionRepository implements SessionRepository<RedisSessionRep
 					String originalSessionIdKey = getSessionKey(this.originalSessionId);
 					String sessionIdKey = getSessionKey(getId());
 					RedisSessionRepository.this.sessionRedisOperations.rename(originalSessionIdKey, sessionIdKey);
+					RedisSessionRepository.this.replicaReadGuard.onWrite(originalSessionIdKey);
+					RedisSessionRepository.this.replicaReadGuard.onWrite(sessionIdKey);
 				}
 				this.originalSessionId = getId();
 			}
@@ -292,6 +376,7 @@ public class RedisSessionRepository implements SessionRepository<RedisSessionRep
 			}
 			String key = getSessionKey(getId());
 			RedisSessionRepository.this.sessionRedisOperations.opsForHash().putAll(key, new HashMap<>(this.delta));
+			RedisSessionRepository.this.replicaReadGuard.onWrite(key);
 			RedisSessionRepository.this.sessionRedisOperations.expireAt(key,
 					Date.from(Instant.ofEpochMilli(getLastAccessedTime().toEpochMilli())
 							.plusSeconds(getMaxInactiveInterval().getSeconds())));
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.data.redis;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.util.Assert;
+
+/**
+ * Decides whether a key may be read from a Redis replica. Replication is asynchronous,
+ * so a replica may not have received a recent write yet. Keys written within the
+ * staleness window are therefore read from the master.
+ * <p>
+ * Only writes reported through {@link #onWrite(String)} are known, that is writes by
+ * this instance and, where the repository is notified of them, writes by other
+ * instances. A key written by another instance without notification may still be read
+ * from a replica that has not caught up, which can for instance resurrect a session
+ * invalidated on another instance.
+ *
+ * @since 2.3.0
+ */
+final class ReplicaReadGuard {
+
+	static final Duration DEFAULT_STALENESS_WINDOW = Duration.ofSeconds(1);
+
+	private final Map<String, Long> writeTimes = new ConcurrentHashMap<>();
+
+	private final AtomicLong lastPurgeTime = new AtomicLong(System.nanoTime());
+
+	private volatile long stalenessWindowNanos = DEFAULT_STALENESS_WINDOW.toNanos();
+
+	void setStalenessWindow(Duration stalenessWindow) {
+		Assert.notNull(stalenessWindow, "stalenessWindow must not be null");
+		Assert.isTrue(!stalenessWindow.isNegative(), "stalenessWindow must not be negative");
+		this.stalenessWindowNanos = stalenessWindow.toNanos();
+	}
+
+	/**
+	 * Record that the given key has been written to the master, by this or by another
+	 * instance.
+	 * @param key the key
+	 */
+	void onWrite(String key) {
+		long now = System.nanoTime();
+		this.writeTimes.put(key, now);
+		purgeIfNecessary(now);
+	}
+
+	/**
+	 * Whether the given key may be read from a replica.
+	 * @param key the key
+	 * @return {@code true} if the key has not been written within the staleness window
+	 */
+	boolean isReadableFromReplica(String key) {
+		Long writeTime = this.writeTimes.get(key);
+		if (writeTime == null) {
+			return true;
+		}
+		if (System.nanoTime() - writeTime < this.stalenessWindowNanos) {
+			return false;
+		}
+		this.writeTimes.remove(key, writeTime);
+		return true;
+	}
+
+	private void purgeIfNecessary(long now) {
+		long stalenessWindow = this.stalenessWindowNanos;
+		long lastPurge = this.lastPurgeTime.get();
+		if (now - lastPurge >= stalenessWindow && this.lastPurgeTime.compareAndSet(lastPurge, now)) {
+			this.writeTimes.values().removeIf((writeTime) -> now - writeTime >= stalenessWindow);
+		}
+	}
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.data.redis;
+
+import org.springframework.session.events.SessionCreatedEvent;
+
+/**
+ * Specifies how {@link RedisIndexedSessionRepository} notifies other nodes that a
+ * session has been created, which in turn results in a {@link SessionCreatedEvent}.
+ *
+ * @since 2.3.0
+ */
+public enum SessionCreatedEventMode {
+
+	/**
+	 * Publish a message containing the attributes of the created session. Listeners
+	 * receive the session as it was when it was created. This is the default.
+	 */
+	SESSION,
+
+	/**
+	 * Publish a message that only identifies the created session. The session exposed by
+	 * the {@link SessionCreatedEvent} is loaded from Redis on first access to anything
+	 * other than its id.
+	 */
+	SESSION_ID,
+
+	/**
+	 * Do not publish a message when a session is created. No {@link SessionCreatedEvent}
+	 * is then published, and {@code @EnableRedisHttpSession} does not subscribe to the
+	 * created channel. As the messages are published by the node that creates the
+	 * session, all nodes should use this mode.
+	 */
+	NONE
+
+}
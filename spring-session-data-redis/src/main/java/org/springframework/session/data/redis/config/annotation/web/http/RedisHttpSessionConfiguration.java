@@ -59,6 +59,7 @@ import org.springframework.session.config.SessionRepositoryCustomizer;
 import org.springframework.session.config.annotation.web.http.SpringHttpSessionConfiguration;
 import org.springframework.session.data.redis.RedisFlushMode;
 import org.springframework.session.data.redis.RedisIndexedSessionRepository;
+import org.springframework.session.data.redis.SessionCreatedEventMode;
 import org.springframework.session.data.redis.config.ConfigureNotifyKeyspaceEventsAction;
 import org.springframework.session.data.redis.config.ConfigureRedisAction;
 import org.springframework.session.data.redis.config.annotation.SpringSessionRedisConnectionFactory;
@@ -153,8 +154,10 @@ public class RedisHttpSessionConfiguration extends SpringHttpSessionConfiguratio
 		container.addMessageListener(sessionRepository,
 				Arrays.asList(new ChannelTopic(sessionRepository.getSessionDeletedChannel()),
 						new ChannelTopic(sessionRepository.getSessionExpiredChannel())));
-		container.addMessageListener(sessionRepository,
-				Collections.singletonList(new PatternTopic(sessionRepository.getSessionCreatedChannelPrefix() + "*")));
+		if (sessionRepository.getSessionCreatedEventMode() != SessionCreatedEventMode.NONE) {
+			container.addMessageListener(sessionRepository, Collections
+					.singletonList(new PatternTopic(sessionRepository.getSessionCreatedChannelPrefix() + "*")));
+		}
 		return container;
 	}
 
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.data.redis;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.session.MapSession;
+import org.springframework.session.data.redis.CompactSessionCodec.DecodedLog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link CompactSessionCodec}.
+ */
+class CompactSessionCodecTests {
+
+	private final CompactSessionCodec codec = new CompactSessionCodec(RedisSerializer.java());
+
+	@Test
+	void constructorNullValueSerializer() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new CompactSessionCodec(null))
+				.withMessage("valueSerializer must not be null");
+	}
+
+	@Test
+	void decodeSnapshot() {
+		MapSession session = createSession();
+
+		DecodedLog log = this.codec.decode(session.getId(), this.codec.encodeSnapshot(session));
+
+		assertThat(log.getSession()).isEqualTo(session);
+		assertThat(log.getSession().getCreationTime()).isEqualTo(session.getCreationTime());
+		assertThat(log.getSession().getLastAccessedTime()).isEqualTo(session.getLastAccessedTime());
+		assertThat(log.getSession().getMaxInactiveInterval()).isEqualTo(session.getMaxInactiveInterval());
+		assertThat(log.getSession().getAttributeNames()).containsOnly("attribute1", "attribute2");
+		assertThat(log.getSession().<String>getAttribute("attribute1")).isEqualTo("value1");
+		assertThat(log.getSession().<Integer>getAttribute("attribute2")).isEqualTo(2);
+		assertThat(log.getDeltaCount()).isEqualTo(0);
+	}
+
+	@Test
+	void decodeSnapshotWithDeltas() {
+		MapSession session = createSession();
+		Instant lastAccessedTime = session.getLastAccessedTime().plusSeconds(10);
+		Map<String, Object> attributes = new HashMap<>();
+		attributes.put("attribute1", null);
+		attributes.put("attribute3", "value3");
+		byte[] snapshot = this.codec.encodeSnapshot(session);
+		byte[] delta1 = this.codec.encodeDelta(lastAccessedTime, Duration.ofMinutes(5), attributes);
+		byte[] delta2 = this.codec.encodeDelta(lastAccessedTime, Duration.ofSeconds(-1),
+				Collections.singletonMap("attribute2", 3));
+
+		DecodedLog log = this.codec.decode(session.getId(), concat(snapshot, delta1, delta2));
+
+		assertThat(log.getSession().getCreationTime()).isEqualTo(session.getCreationTime());
+		assertThat(log.getSession().getLastAccessedTime()).isEqualTo(lastAccessedTime);
+		assertThat(log.getSession().getMaxInactiveInterval()).isEqualTo(Duration.ofSeconds(-1));
+		assertThat(log.getSession().getAttributeNames()).containsOnly("attribute2", "attribute3");
+		assertThat(log.getSession().<Integer>getAttribute("attribute2")).isEqualTo(3);
+		assertThat(log.getSession().<String>getAttribute("attribute3")).isEqualTo("value3");
+		assertThat(log.getDeltaCount()).isEqualTo(2);
+		assertThat(log.getLength()).isEqualTo(snapshot.length + delta1.length + delta2.length);
+	}
+
+	@Test
+	void decodeWithoutSnapshot() {
+		byte[] delta = this.codec.encodeDelta(Instant.now(), Duration.ofMinutes(30), Collections.emptyMap());
+
+		assertThat(this.codec.decode("id", delta)).isNull();
+		assertThat(this.codec.decode("id", new byte[0])).isNull();
+		assertThat(this.codec.decode("id", null)).isNull();
+	}
+
+	@Test
+	void decodeTruncatedLog() {
+		MapSession session = createSession();
+		byte[] snapshot = this.codec.encodeSnapshot(session);
+
+		assertThatIllegalStateException()
+				.isThrownBy(() -> this.codec.decode(session.getId(), Arrays.copyOf(snapshot, snapshot.length - 1)))
+				.withMessage("Unexpected end of session log");
+	}
+
+	@Test
+	void snapshotIsSmallerThanHashFieldNames() {
+		MapSession session = createSession();
+		int hashFieldNamesLength = RedisSessionMapper.CREATION_TIME_KEY.length()
+				+ RedisSessionMapper.LAST_ACCESSED_TIME_KEY.length()
+				+ RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY.length()
+				+ 2 * RedisSessionMapper.ATTRIBUTE_PREFIX.length();
+		int attributeValuesLength = RedisSerializer.java().serialize("value1").length
+				+ RedisSerializer.java().serialize(2).length;
+
+		assertThat(this.codec.encodeSnapshot(session).length - attributeValuesLength)
+				.isLessThan(hashFieldNamesLength);
+	}
+
+	private static MapSession createSession() {
+		MapSession session = new MapSession();
+		session.setCreationTime(Instant.now().truncatedTo(ChronoUnit.MILLIS).minusSeconds(60));
+		session.setLastAccessedTime(Instant.now().truncatedTo(ChronoUnit.MILLIS));
+		session.setMaxInactiveInterval(Duration.ofMinutes(30));
+		session.setAttribute("attribute1", "value1");
+		session.setAttribute("attribute2", 2);
+		return session;
+	}
+
+	private static byte[] concat(byte[]... records) {
+		int length = 0;
+		for (byte[] record : records) {
+			length += record.length;
+		}
+		byte[] result = new byte[length];
+		int position = 0;
+		for (byte[] record : records) {
+			System.arraycopy(record, 0, result, position, record.length);
+			position += record.length;
+		}
+		return result;
+	}
+
+}
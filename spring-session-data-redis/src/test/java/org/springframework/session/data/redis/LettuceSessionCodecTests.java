@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.data.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link LettuceSessionCodec}.
+ */
+class LettuceSessionCodecTests {
+
+	private final LettuceSessionCodec codec = new LettuceSessionCodec(RedisSerializer.java());
+
+	@Test
+	void constructorNullValueSerializer() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new LettuceSessionCodec(null))
+				.withMessage("valueSerializer must not be null");
+	}
+
+	@Test
+	void encodeFieldIsCached() {
+		byte[] field = this.codec.encodeField(RedisSessionMapper.CREATION_TIME_KEY);
+		assertThat(field).isEqualTo(RedisSessionMapper.CREATION_TIME_KEY.getBytes(StandardCharsets.UTF_8));
+		assertThat(this.codec.encodeField(RedisSessionMapper.CREATION_TIME_KEY)).isSameAs(field);
+	}
+
+	@Test
+	void encodeDeltaSeparatesUpdatedAndRemovedFields() {
+		Map<String, Object> delta = new HashMap<>();
+		delta.put(RedisSessionMapper.LAST_ACCESSED_TIME_KEY, 1L);
+		delta.put("sessionAttr:updated", "value");
+		delta.put("sessionAttr:removed", null);
+
+		Map<byte[], byte[]> updatedFields = this.codec.encodeUpdatedFields(delta);
+		byte[][] removedFields = this.codec.encodeRemovedFields(delta);
+
+		Map<String, Object> decoded = this.codec.decode(updatedFields);
+		assertThat(decoded).hasSize(2).containsEntry(RedisSessionMapper.LAST_ACCESSED_TIME_KEY, 1L)
+				.containsEntry("sessionAttr:updated", "value");
+		assertThat(removedFields).containsExactly("sessionAttr:removed".getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void decodeMatchesJdkSerializedHash() {
+		Map<byte[], byte[]> hash = new HashMap<>();
+		hash.put(RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY.getBytes(StandardCharsets.UTF_8),
+				RedisSerializer.java().serialize(1800));
+
+		assertThat(this.codec.decode(hash)).containsEntry(RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY, 1800);
+	}
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.data.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.session.data.redis.LettuceSessionRepository.LettuceSession;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link LettuceSessionRepository}.
+ */
+class LettuceSessionRepositoryTests {
+
+	private static final String TEST_SESSION_ID = "session-id";
+
+	private static final byte[] TEST_SESSION_KEY = utf8("spring:session:sessions:" + TEST_SESSION_ID);
+
+	private final LettuceSessionCodec codec = new LettuceSessionCodec(RedisSerializer.java());
+
+	@Mock
+	private StatefulRedisConnection<byte[], byte[]> connection;
+
+	@Mock
+	private RedisAsyncCommands<byte[], byte[]> commands;
+
+	@Captor
+	private ArgumentCaptor<Map<byte[], byte[]>> fields;
+
+	private LettuceSessionRepository sessionRepository;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		MockitoAnnotations.initMocks(this);
+		given(this.connection.async()).willReturn(this.commands);
+		given(this.connection.getTimeout()).willReturn(Duration.ofSeconds(1));
+		RedisFuture<String> hmset = future("OK");
+		given(this.commands.hmset(any(), any())).willReturn(hmset);
+		RedisFuture<Boolean> pexpireat = future(true);
+		given(this.commands.pexpireat(any(byte[].class), anyLong())).willReturn(pexpireat);
+		RedisFuture<Long> exists = future(1L);
+		given(this.commands.exists(any(byte[].class))).willReturn(exists);
+		this.sessionRepository = new LettuceSessionRepository(this.connection);
+	}
+
+	@Test
+	void constructor_NullConnection_ShouldThrowException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new LettuceSessionRepository(null))
+				.withMessage("connection must not be null");
+	}
+
+	@Test
+	void save_NewSession_ShouldSaveSession() {
+		LettuceSession session = this.sessionRepository.createSession();
+		session.setAttribute("attribute1", "value1");
+		this.sessionRepository.save(session);
+		byte[] key = utf8("spring:session:sessions:" + session.getId());
+		verify(this.commands).hmset(eq(key), this.fields.capture());
+		Map<String, Object> saved = this.codec.decode(this.fields.getValue());
+		assertThat(saved).hasSize(4).containsEntry("sessionAttr:attribute1", "value1")
+				.containsEntry(RedisSessionMapper.CREATION_TIME_KEY, session.getCreationTime().toEpochMilli());
+		verify(this.commands).pexpireat(eq(key),
+				eq(session.getLastAccessedTime().plus(session.getMaxInactiveInterval()).toEpochMilli()));
+	}
+
+	@Test
+	void save_RemovedAttribute_ShouldDeleteField() throws Exception {
+		givenSessionHash();
+		RedisFuture<Long> hdel = future(1L);
+		given(this.commands.hdel(any(), any())).willReturn(hdel);
+		LettuceSession session = this.sessionRepository.findById(TEST_SESSION_ID);
+		session.removeAttribute("attribute1");
+		this.sessionRepository.save(session);
+		verify(this.commands).hdel(eq(TEST_SESSION_KEY), eq(utf8("sessionAttr:attribute1")));
+		verify(this.commands, never()).hmset(any(), any());
+	}
+
+	@Test
+	void save_DeletedSession_ShouldThrowException() throws Exception {
+		givenSessionHash();
+		RedisFuture<Long> exists = future(0L);
+		given(this.commands.exists(any(byte[].class))).willReturn(exists);
+		LettuceSession session = this.sessionRepository.findById(TEST_SESSION_ID);
+		assertThatIllegalStateException().isThrownBy(() -> this.sessionRepository.save(session))
+				.withMessage("Session was invalidated");
+	}
+
+	@Test
+	void findById_SessionExists_ShouldReturnSession() throws Exception {
+		Instant lastAccessedTime = givenSessionHash();
+		LettuceSession session = this.sessionRepository.findById(TEST_SESSION_ID);
+		assertThat(session.getId()).isEqualTo(TEST_SESSION_ID);
+		assertThat(session.getCreationTime()).isEqualTo(Instant.EPOCH);
+		assertThat(session.getLastAccessedTime()).isEqualTo(lastAccessedTime);
+		assertThat(session.<String>getAttribute("attribute1")).isEqualTo("value1");
+	}
+
+	@Test
+	void findById_SessionNotExists_ShouldReturnNull() throws Exception {
+		RedisFuture<Map<byte[], byte[]>> hgetall = future(Collections.emptyMap());
+		given(this.commands.hgetall(any())).willReturn(hgetall);
+		assertThat(this.sessionRepository.findById(TEST_SESSION_ID)).isNull();
+	}
+
+	private Instant givenSessionHash() throws Exception {
+		Instant lastAccessedTime = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+		Map<byte[], byte[]> hash = new HashMap<>();
+		hash.put(utf8(RedisSessionMapper.CREATION_TIME_KEY), this.codec.encodeValue(Instant.EPOCH.toEpochMilli()));
+		hash.put(utf8(RedisSessionMapper.LAST_ACCESSED_TIME_KEY),
+				this.codec.encodeValue(lastAccessedTime.toEpochMilli()));
+		hash.put(utf8(RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY), this.codec.encodeValue(1800));
+		hash.put(utf8("sessionAttr:attribute1"), this.codec.encodeValue("value1"));
+		RedisFuture<Map<byte[], byte[]>> hgetall = future(hash);
+		given(this.commands.hgetall(eq(TEST_SESSION_KEY))).willReturn(hgetall);
+		return lastAccessedTime;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> RedisFuture<T> future(T value) throws Exception {
+		RedisFuture<T> future = mock(RedisFuture.class);
+		given(future.await(anyLong(), any(TimeUnit.class))).willReturn(true);
+		given(future.get()).willReturn(value);
+		return future;
+	}
+
+	private static byte[] utf8(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.data.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.session.MapSession;
+import org.springframework.session.data.redis.RedisCompactSessionRepository.RedisCompactSession;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link RedisCompactSessionRepository}.
+ */
+class RedisCompactSessionRepositoryTests {
+
+	private static final String TEST_SESSION_ID = "session-id";
+
+	private static final String TEST_SESSION_KEY = getSessionKey(TEST_SESSION_ID);
+
+	private final CompactSessionCodec codec = new CompactSessionCodec(RedisSerializer.java());
+
+	@Mock
+	private RedisOperations<String, Object> sessionRedisOperations;
+
+	@Captor
+	private ArgumentCaptor<Object> scriptArgs;
+
+	private RedisCompactSessionRepository sessionRepository;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.initMocks(this);
+		willReturn(RedisSerializer.string()).given(this.sessionRedisOperations).getKeySerializer();
+		willReturn(RedisSerializer.java()).given(this.sessionRedisOperations).getValueSerializer();
+		this.sessionRepository = new RedisCompactSessionRepository(this.sessionRedisOperations);
+	}
+
+	@Test
+	void constructor_NullRedisOperations_ShouldThrowException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new RedisCompactSessionRepository(null))
+				.withMessage("sessionRedisOperations must not be null");
+	}
+
+	@Test
+	void setCompactionThreshold_Negative_ShouldThrowException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.sessionRepository.setCompactionThreshold(-1))
+				.withMessage("compactionThreshold must not be negative");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void save_NewSession_ShouldWriteSnapshot() {
+		RedisCompactSession session = this.sessionRepository.createSession();
+		session.setAttribute("attribute1", "value1");
+		this.sessionRepository.save(session);
+		List<Object> args = verifyWrite(getSessionKey(session.getId()));
+		assertThat(args.get(0)).isEqualTo(bytes("set"));
+		MapSession saved = this.codec.decode(session.getId(), (byte[]) args.get(2)).getSession();
+		assertThat(saved.getCreationTime()).isEqualTo(session.getCreationTime());
+		assertThat(saved.<String>getAttribute("attribute1")).isEqualTo("value1");
+		assertThat(args.get(4)).isEqualTo(bytes(String.valueOf(
+				session.getLastAccessedTime().plus(session.getMaxInactiveInterval()).toEpochMilli())));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void save_SessionExists_ShouldAppendDelta() {
+		MapSession cached = createSession();
+		given(this.sessionRedisOperations.execute(any(RedisCallback.class)))
+				.willReturn(this.codec.encodeSnapshot(cached));
+		given(this.sessionRedisOperations.hasKey(eq(TEST_SESSION_KEY))).willReturn(true);
+		RedisCompactSession session = this.sessionRepository.findById(TEST_SESSION_ID);
+		session.setAttribute("attribute2", "value2");
+		this.sessionRepository.save(session);
+		List<Object> args = verifyWrite(TEST_SESSION_KEY);
+		assertThat(args.get(0)).isEqualTo(bytes("append"));
+		byte[] log = concat(this.codec.encodeSnapshot(cached), (byte[]) args.get(3));
+		MapSession saved = this.codec.decode(TEST_SESSION_ID, log).getSession();
+		assertThat(saved.getAttributeNames()).containsOnly("attribute1", "attribute2");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void save_CompactionThresholdReached_ShouldCompact() {
+		MapSession cached = createSession();
+		byte[] log = concat(this.codec.encodeSnapshot(cached),
+				this.codec.encodeDelta(Instant.now(), cached.getMaxInactiveInterval(), Collections.emptyMap()));
+		given(this.sessionRedisOperations.execute(any(RedisCallback.class))).willReturn(log);
+		given(this.sessionRedisOperations.hasKey(eq(TEST_SESSION_KEY))).willReturn(true);
+		this.sessionRepository.setCompactionThreshold(1);
+		RedisCompactSession session = this.sessionRepository.findById(TEST_SESSION_ID);
+		session.setAttribute("attribute1", "value2");
+		this.sessionRepository.save(session);
+		List<Object> args = verifyWrite(TEST_SESSION_KEY);
+		assertThat(args.get(0)).isEqualTo(bytes("compact"));
+		assertThat(args.get(1)).isEqualTo(bytes(String.valueOf(log.length)));
+		MapSession saved = this.codec.decode(TEST_SESSION_ID, (byte[]) args.get(2)).getSession();
+		assertThat(saved.<String>getAttribute("attribute1")).isEqualTo("value2");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void findById_SessionExists_ShouldReturnSession() {
+		MapSession cached = createSession();
+		given(this.sessionRedisOperations.execute(any(RedisCallback.class)))
+				.willReturn(this.codec.encodeSnapshot(cached));
+		RedisCompactSession session = this.sessionRepository.findById(TEST_SESSION_ID);
+		assertThat(session.getId()).isEqualTo(TEST_SESSION_ID);
+		assertThat(session.getCreationTime()).isEqualTo(cached.getCreationTime());
+		assertThat(session.getLastAccessedTime()).isEqualTo(cached.getLastAccessedTime());
+		assertThat(session.getMaxInactiveInterval()).isEqualTo(cached.getMaxInactiveInterval());
+		assertThat(session.<String>getAttribute("attribute1")).isEqualTo("value1");
+	}
+
+	@Test
+	void findById_SessionNotExists_ShouldReturnNull() {
+		assertThat(this.sessionRepository.findById(TEST_SESSION_ID)).isNull();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void findById_ExpiredSession_ShouldDeleteSession() {
+		MapSession cached = createSession();
+		cached.setLastAccessedTime(Instant.EPOCH);
+		given(this.sessionRedisOperations.execute(any(RedisCallback.class)))
+				.willReturn(this.codec.encodeSnapshot(cached));
+		assertThat(this.sessionRepository.findById(TEST_SESSION_ID)).isNull();
+		verify(this.sessionRedisOperations).delete(eq(TEST_SESSION_KEY));
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Object> verifyWrite(String key) {
+		verify(this.sessionRedisOperations).execute(any(RedisScript.class), any(RedisSerializer.class),
+				any(RedisSerializer.class), eq(Collections.singletonList(key)), this.scriptArgs.capture());
+		return this.scriptArgs.getAllValues();
+	}
+
+	private static MapSession createSession() {
+		MapSession session = new MapSession(TEST_SESSION_ID);
+		session.setCreationTime(Instant.now().truncatedTo(ChronoUnit.MILLIS).minusSeconds(60));
+		session.setLastAccessedTime(Instant.now().truncatedTo(ChronoUnit.MILLIS));
+		session.setMaxInactiveInterval(Duration.ofMinutes(30));
+		session.setAttribute("attribute1", "value1");
+		return session;
+	}
+
+	private static String getSessionKey(String sessionId) {
+		return "spring:session:sessions:" + sessionId;
+	}
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static byte[] concat(byte[] first, byte[] second) {
+		byte[] result = new byte[first.length + second.length];
+		System.arraycopy(first, 0, result, 0, first.length);
+		System.arraycopy(second, 0, result, first.length, second.length);
+		return result;
+	}
+
+}
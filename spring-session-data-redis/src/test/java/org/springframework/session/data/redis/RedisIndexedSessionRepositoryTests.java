@@ -24,8 +24,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -36,11 +38,14 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
 import org.springframework.data.redis.connection.DefaultMessage;
 import org.springframework.data.redis.core.BoundHashOperations;
 import org.springframework.data.redis.core.BoundSetOperations;
 import org.springframework.data.redis.core.BoundValueOperations;
+import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.session.FindByIndexNameSessionRepository;
@@ -59,6 +64,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
@@ -148,6 +154,43 @@ class RedisIndexedSessionRepositoryTests {
 		assertThat(session.getId()).isEqualTo(session.getId());
 	}
 
+	@Test
+	void changeSessionIdWhenSavedWithHashTags() {
+		this.redisRepository.setUseHashTags(true);
+		given(this.redisOperations.boundHashOps(anyString())).willReturn(this.boundHashOperations);
+		given(this.redisOperations.boundSetOps(anyString())).willReturn(this.boundSetOperations);
+		given(this.redisOperations.boundValueOps(anyString())).willReturn(this.boundValueOperations);
+		byte[] dump = new byte[] { 1 };
+		given(this.redisOperations.dump("spring:session:sessions:{session-id}")).willReturn(dump);
+		given(this.redisOperations.getExpire("spring:session:sessions:{session-id}", TimeUnit.MILLISECONDS))
+				.willReturn(1000L);
+
+		RedisSession session = this.redisRepository.new RedisSession(this.cached, false);
+		session.setLastAccessedTime(session.getLastAccessedTime());
+		String changeSessionId = session.changeSessionId();
+		this.redisRepository.save(session);
+
+		verify(this.redisOperations, never()).rename(anyString(), anyString());
+		verify(this.redisOperations).restore("spring:session:sessions:{" + changeSessionId + "}", dump, 1000L,
+				TimeUnit.MILLISECONDS);
+		verify(this.redisOperations).delete("spring:session:sessions:{session-id}");
+		verify(this.redisOperations).dump("spring:session:sessions:expires:{session-id}");
+		verify(this.redisOperations, never()).delete("spring:session:sessions:expires:{session-id}");
+	}
+
+	@Test
+	void useHashTagsKeysOfSessionMapToSameSlot() {
+		this.redisRepository.setUseHashTags(true);
+		String sessionId = UUID.randomUUID().toString();
+
+		String sessionKey = this.redisRepository.getSessionKey(sessionId);
+		String expiredKey = this.redisRepository.getExpiredKey(sessionId);
+
+		assertThat(sessionKey).isEqualTo("spring:session:sessions:{" + sessionId + "}");
+		assertThat(ClusterSlotHashUtil.calculateSlot(expiredKey))
+				.isEqualTo(ClusterSlotHashUtil.calculateSlot(sessionKey));
+	}
+
 	@Test
 	void createSessionDefaultMaxInactiveInterval() {
 		Session session = this.redisRepository.createSession();
@@ -181,6 +224,39 @@ class RedisIndexedSessionRepositoryTests {
 				.isEqualTo(session.getCreationTime().toEpochMilli());
 	}
 
+	@Test
+	void saveNewSessionCreatedEventModeSessionId() {
+		this.redisRepository.setSessionCreatedEventMode(SessionCreatedEventMode.SESSION_ID);
+		RedisSession session = this.redisRepository.createSession();
+		given(this.redisOperations.boundHashOps(anyString())).willReturn(this.boundHashOperations);
+		given(this.redisOperations.boundSetOps(anyString())).willReturn(this.boundSetOperations);
+		given(this.redisOperations.boundValueOps(anyString())).willReturn(this.boundValueOperations);
+
+		this.redisRepository.save(session);
+
+		verify(this.redisOperations).convertAndSend("spring:session:event:0:created:" + session.getId(),
+				Collections.emptyMap());
+	}
+
+	@Test
+	void saveNewSessionCreatedEventModeNone() {
+		this.redisRepository.setSessionCreatedEventMode(SessionCreatedEventMode.NONE);
+		RedisSession session = this.redisRepository.createSession();
+		given(this.redisOperations.boundHashOps(anyString())).willReturn(this.boundHashOperations);
+		given(this.redisOperations.boundSetOps(anyString())).willReturn(this.boundSetOperations);
+		given(this.redisOperations.boundValueOps(anyString())).willReturn(this.boundValueOperations);
+
+		this.redisRepository.save(session);
+
+		verify(this.redisOperations, never()).convertAndSend(anyString(), any());
+	}
+
+	@Test
+	void setSessionCreatedEventModeNull() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.redisRepository.setSessionCreatedEventMode(null))
+				.withMessage("sessionCreatedEventMode cannot be null");
+	}
+
 	// gh-467
 	@Test
 	void saveSessionNothingChanged() {
@@ -332,6 +408,47 @@ class RedisIndexedSessionRepositoryTests {
 		verify(this.redisOperations, never()).boundValueOps(getKey("expires:" + id));
 	}
 
+	@Test
+	void touch() {
+		given(this.redisOperations.boundHashOps(anyString())).willReturn(this.boundHashOperations);
+		given(this.redisOperations.boundSetOps(anyString())).willReturn(this.boundSetOperations);
+		given(this.redisOperations.boundValueOps(anyString())).willReturn(this.boundValueOperations);
+		Instant lastAccessedTime = Instant.now().minusSeconds(60);
+		given(this.boundHashOperations.multiGet(any())).willReturn(Arrays.asList(lastAccessedTime.toEpochMilli(),
+				MapSession.DEFAULT_MAX_INACTIVE_INTERVAL_SECONDS));
+		Instant newLastAccessedTime = Instant.now();
+
+		assertThat(this.redisRepository.touch("session-id", newLastAccessedTime)).isTrue();
+
+		verify(this.boundHashOperations).put(RedisSessionMapper.LAST_ACCESSED_TIME_KEY,
+				newLastAccessedTime.toEpochMilli());
+		verify(this.boundHashOperations, never()).entries();
+		verify(this.boundValueOperations).expire(MapSession.DEFAULT_MAX_INACTIVE_INTERVAL_SECONDS, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void touchExpiredSession() {
+		given(this.redisOperations.boundHashOps(anyString())).willReturn(this.boundHashOperations);
+		Instant lastAccessedTime = Instant.now().minusSeconds(MapSession.DEFAULT_MAX_INACTIVE_INTERVAL_SECONDS + 1);
+		given(this.boundHashOperations.multiGet(any())).willReturn(Arrays.asList(lastAccessedTime.toEpochMilli(),
+				MapSession.DEFAULT_MAX_INACTIVE_INTERVAL_SECONDS));
+
+		assertThat(this.redisRepository.touch("session-id", Instant.now())).isFalse();
+
+		verify(this.boundHashOperations, never()).put(any(), any());
+		verify(this.redisOperations, never()).boundValueOps(any());
+	}
+
+	@Test
+	void touchNullSession() {
+		given(this.redisOperations.boundHashOps(anyString())).willReturn(this.boundHashOperations);
+		given(this.boundHashOperations.multiGet(any())).willReturn(Arrays.asList(null, null));
+
+		assertThat(this.redisRepository.touch("abc", Instant.now())).isFalse();
+
+		verify(this.boundHashOperations, never()).put(any(), any());
+	}
+
 	@Test
 	void deleteNullSession() {
 		given(this.redisOperations.boundHashOps(anyString())).willReturn(this.boundHashOperations);
@@ -382,6 +499,60 @@ class RedisIndexedSessionRepositoryTests {
 				.isEqualTo(expected.getLastAccessedTime().truncatedTo(ChronoUnit.MILLIS));
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	void getSessionFromReplica() {
+		RedisOperations<Object, Object> replicaRedisOperations = mock(RedisOperations.class);
+		BoundHashOperations<Object, Object, Object> replicaHashOperations = mock(BoundHashOperations.class);
+		MapSession expected = new MapSession();
+		given(replicaRedisOperations.boundHashOps(getKey(expected.getId()))).willReturn(replicaHashOperations);
+		given(replicaHashOperations.entries()).willReturn(map(RedisSessionMapper.CREATION_TIME_KEY,
+				expected.getCreationTime().toEpochMilli(), RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY,
+				(int) expected.getMaxInactiveInterval().getSeconds(), RedisSessionMapper.LAST_ACCESSED_TIME_KEY,
+				expected.getLastAccessedTime().toEpochMilli()));
+		this.redisRepository.setReplicaSessionRedisOperations(replicaRedisOperations);
+
+		RedisSession session = this.redisRepository.findById(expected.getId());
+
+		assertThat(session.getId()).isEqualTo(expected.getId());
+		verify(this.redisOperations, never()).boundHashOps(getKey(expected.getId()));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void getSessionRecentlySavedNotFromReplica() {
+		RedisOperations<Object, Object> replicaRedisOperations = mock(RedisOperations.class);
+		this.redisRepository.setReplicaSessionRedisOperations(replicaRedisOperations);
+		this.redisRepository.setReplicaStalenessWindow(Duration.ofMinutes(1));
+		given(this.redisOperations.boundHashOps(anyString())).willReturn(this.boundHashOperations);
+		given(this.redisOperations.boundSetOps(anyString())).willReturn(this.boundSetOperations);
+		given(this.redisOperations.boundValueOps(anyString())).willReturn(this.boundValueOperations);
+		RedisSession session = this.redisRepository.createSession();
+		this.redisRepository.save(session);
+
+		assertThat(this.redisRepository.findById(session.getId())).isNull();
+		verifyZeroInteractions(replicaRedisOperations);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void getSessionDeletedByOtherInstanceNotFromReplica() {
+		RedisOperations<Object, Object> replicaRedisOperations = mock(RedisOperations.class);
+		this.redisRepository.setReplicaSessionRedisOperations(replicaRedisOperations);
+		this.redisRepository.setReplicaStalenessWindow(Duration.ofMinutes(1));
+		String deletedId = "deleted-id";
+		given(this.redisOperations.boundHashOps(getKey(deletedId))).willReturn(this.boundHashOperations);
+		given(this.boundHashOperations.entries()).willReturn(map());
+		String channel = "__keyevent@0__:del";
+		String body = "spring:session:sessions:expires:" + deletedId;
+		DefaultMessage message = new DefaultMessage(channel.getBytes(StandardCharsets.UTF_8),
+				body.getBytes(StandardCharsets.UTF_8));
+		this.redisRepository.onMessage(message, "".getBytes(StandardCharsets.UTF_8));
+
+		assertThat(this.redisRepository.findById(deletedId)).isNull();
+		verifyZeroInteractions(replicaRedisOperations);
+	}
+
 	@Test
 	@SuppressWarnings("unchecked")
 	void getSessionExpired() {
@@ -400,10 +571,9 @@ class RedisIndexedSessionRepositoryTests {
 		String expiredId = "expired-id";
 		given(this.redisOperations.boundSetOps(anyString())).willReturn(this.boundSetOperations);
 		given(this.boundSetOperations.members()).willReturn(Collections.singleton(expiredId));
-		given(this.redisOperations.boundHashOps(getKey(expiredId))).willReturn(this.boundHashOperations);
 		Map map = map(RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY, 1, RedisSessionMapper.LAST_ACCESSED_TIME_KEY,
 				Instant.now().minus(5, ChronoUnit.MINUTES).toEpochMilli());
-		given(this.boundHashOperations.entries()).willReturn(map);
+		givenPipelinedResults(Collections.singletonList(map));
 
 		assertThat(this.redisRepository
 				.findByIndexNameAndIndexValue(FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME, "principal"))
@@ -419,11 +589,10 @@ class RedisIndexedSessionRepositoryTests {
 		String sessionId = "some-id";
 		given(this.redisOperations.boundSetOps(anyString())).willReturn(this.boundSetOperations);
 		given(this.boundSetOperations.members()).willReturn(Collections.singleton(sessionId));
-		given(this.redisOperations.boundHashOps(getKey(sessionId))).willReturn(this.boundHashOperations);
 		Map map = map(RedisSessionMapper.CREATION_TIME_KEY, createdTime.toEpochMilli(),
 				RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY, (int) maxInactive.getSeconds(),
 				RedisSessionMapper.LAST_ACCESSED_TIME_KEY, lastAccessed.toEpochMilli());
-		given(this.boundHashOperations.entries()).willReturn(map);
+		givenPipelinedResults(Collections.singletonList(map));
 
 		Map<String, RedisSession> sessionIdToSessions = this.redisRepository
 				.findByIndexNameAndIndexValue(FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME, "principal");
@@ -439,6 +608,94 @@ class RedisIndexedSessionRepositoryTests {
 				.isEqualTo(createdTime.truncatedTo(ChronoUnit.MILLIS));
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	void findAllById() {
+		Instant lastAccessed = Instant.now().minusMillis(10);
+		Map map = map(RedisSessionMapper.CREATION_TIME_KEY, lastAccessed.toEpochMilli(),
+				RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY, 1800, RedisSessionMapper.LAST_ACCESSED_TIME_KEY,
+				lastAccessed.toEpochMilli());
+		Map expired = map(RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY, 1, RedisSessionMapper.LAST_ACCESSED_TIME_KEY,
+				Instant.now().minus(5, ChronoUnit.MINUTES).toEpochMilli());
+		HashOperations<Object, Object, Object> hashOperations = givenPipelinedResults(
+				Arrays.asList(map, expired, Collections.emptyMap()));
+
+		Map<String, RedisSession> sessions = this.redisRepository
+				.findAllById(Arrays.asList("some-id", "expired-id", "missing-id", "some-id"));
+
+		assertThat(sessions).containsOnlyKeys("some-id");
+		verify(this.redisOperations, times(1)).executePipelined(any(SessionCallback.class));
+		verify(hashOperations).entries(getKey("some-id"));
+		verify(hashOperations).entries(getKey("expired-id"));
+		verify(hashOperations).entries(getKey("missing-id"));
+	}
+
+	@Test
+	void findAllByIdEmpty() {
+		assertThat(this.redisRepository.findAllById(Collections.emptyList())).isEmpty();
+		verifyZeroInteractions(this.redisOperations);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void deleteAllById() {
+		given(this.redisOperations.boundHashOps(anyString())).willReturn(this.boundHashOperations);
+		given(this.redisOperations.boundSetOps(anyString())).willReturn(this.boundSetOperations);
+		Map map = map(RedisSessionMapper.CREATION_TIME_KEY, Instant.now().toEpochMilli(),
+				RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY, 1800, RedisSessionMapper.LAST_ACCESSED_TIME_KEY,
+				Instant.now().toEpochMilli());
+		givenPipelinedResults(Arrays.asList(map, map));
+
+		this.redisRepository.deleteAllById(Arrays.asList("id1", "id2"));
+
+		verify(this.redisOperations, times(2)).executePipelined(any(SessionCallback.class));
+		verify(this.redisOperations, atLeastOnce()).delete(getKey("expires:id1"));
+		verify(this.redisOperations, atLeastOnce()).delete(getKey("expires:id2"));
+		verify(this.boundHashOperations, times(2)).putAll(this.delta.capture());
+		assertThat(this.delta.getValue().get(RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY)).isEqualTo(0);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void findAllByIdWithoutPipelining() {
+		given(this.redisOperations.executePipelined(any(SessionCallback.class)))
+				.willThrow(new UnsupportedOperationException());
+		given(this.redisOperations.boundHashOps(anyString())).willReturn(this.boundHashOperations);
+		Map map = map(RedisSessionMapper.CREATION_TIME_KEY, Instant.now().toEpochMilli(),
+				RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY, 1800, RedisSessionMapper.LAST_ACCESSED_TIME_KEY,
+				Instant.now().toEpochMilli());
+		given(this.boundHashOperations.entries()).willReturn(map);
+
+		assertThat(this.redisRepository.findAllById(Arrays.asList("id1", "id2"))).containsOnlyKeys("id1", "id2");
+		assertThat(this.redisRepository.findAllById(Collections.singletonList("id3"))).containsOnlyKeys("id3");
+
+		verify(this.redisOperations, times(1)).executePipelined(any(SessionCallback.class));
+		verify(this.redisOperations).boundHashOps(getKey("id1"));
+		verify(this.redisOperations).boundHashOps(getKey("id2"));
+		verify(this.redisOperations).boundHashOps(getKey("id3"));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void deleteAllByIdWithoutPipelining() {
+		given(this.redisOperations.executePipelined(any(SessionCallback.class)))
+				.willThrow(new UnsupportedOperationException());
+		given(this.redisOperations.boundHashOps(anyString())).willReturn(this.boundHashOperations);
+		given(this.redisOperations.boundSetOps(anyString())).willReturn(this.boundSetOperations);
+		Map map = map(RedisSessionMapper.CREATION_TIME_KEY, Instant.now().toEpochMilli(),
+				RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY, 1800, RedisSessionMapper.LAST_ACCESSED_TIME_KEY,
+				Instant.now().toEpochMilli());
+		given(this.boundHashOperations.entries()).willReturn(map);
+
+		this.redisRepository.deleteAllById(Arrays.asList("id1", "id2"));
+
+		verify(this.redisOperations, times(1)).executePipelined(any(SessionCallback.class));
+		verify(this.redisOperations, atLeastOnce()).delete(getKey("expires:id1"));
+		verify(this.redisOperations, atLeastOnce()).delete(getKey("expires:id2"));
+		verify(this.boundHashOperations, times(2)).putAll(this.delta.capture());
+		assertThat(this.delta.getValue().get(RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY)).isEqualTo(0);
+	}
+
 	@Test
 	void cleanupExpiredSessions() {
 		given(this.redisOperations.boundSetOps(anyString())).willReturn(this.boundSetOperations);
@@ -455,6 +712,19 @@ class RedisIndexedSessionRepositoryTests {
 		}
 	}
 
+	@Test
+	void cleanupExpiredSessionsWithHashTags() {
+		this.redisRepository.setUseHashTags(true);
+		given(this.redisOperations.boundSetOps(anyString())).willReturn(this.boundSetOperations);
+		given(this.boundSetOperations.members())
+				.willReturn(new HashSet<>(Arrays.asList("expires:session-id1", "expires:session-id2")));
+
+		this.redisRepository.cleanupExpiredSessions();
+
+		verify(this.redisOperations).hasKey("spring:session:sessions:expires:{session-id1}");
+		verify(this.redisOperations).hasKey("spring:session:sessions:expires:{session-id2}");
+	}
+
 	@Test
 	void onMessageCreated() {
 		MapSession session = this.cached;
@@ -490,6 +760,31 @@ class RedisIndexedSessionRepositoryTests {
 		verify(this.defaultSerializer).deserialize(body);
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	void onMessageCreatedWithoutSessionLoadsSessionOnDemand() {
+		String channel = "spring:session:event:0:created:" + this.cached.getId();
+		byte[] body = new byte[0];
+		given(this.defaultSerializer.deserialize(body)).willReturn(Collections.emptyMap());
+		given(this.redisOperations.boundHashOps(getKey(this.cached.getId()))).willReturn(this.boundHashOperations);
+		given(this.boundHashOperations.entries()).willReturn(map(RedisSessionMapper.CREATION_TIME_KEY,
+				this.cached.getCreationTime().toEpochMilli(), RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY, 1800,
+				RedisSessionMapper.LAST_ACCESSED_TIME_KEY, this.cached.getLastAccessedTime().toEpochMilli(),
+				RedisIndexedSessionRepository.getSessionAttrNameKey("attr"), "value"));
+		DefaultMessage message = new DefaultMessage(channel.getBytes(StandardCharsets.UTF_8), body);
+		this.redisRepository.setApplicationEventPublisher(this.publisher);
+
+		this.redisRepository.onMessage(message, "".getBytes(StandardCharsets.UTF_8));
+
+		verify(this.publisher).publishEvent(this.event.capture());
+		Session session = this.event.getValue().getSession();
+		assertThat(session.getId()).isEqualTo(this.cached.getId());
+		verifyZeroInteractions(this.redisOperations);
+		assertThat(session.<String>getAttribute("attr")).isEqualTo("value");
+		assertThat(session.getCreationTime()).isEqualTo(this.cached.getCreationTime());
+		verify(this.boundHashOperations, times(1)).entries();
+	}
+
 	@Test
 	@SuppressWarnings("unchecked")
 	void onMessageDeletedSessionFound() {
@@ -567,6 +862,29 @@ class RedisIndexedSessionRepositoryTests {
 		verifyZeroInteractions(this.boundHashOperations);
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	void onMessageExpiredSessionFoundWithHashTags() {
+		this.redisRepository.setUseHashTags(true);
+		String expiredId = "expired-id";
+		given(this.redisOperations.boundHashOps("spring:session:sessions:{" + expiredId + "}"))
+				.willReturn(this.boundHashOperations);
+		Map map = map(RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY, 1, RedisSessionMapper.LAST_ACCESSED_TIME_KEY,
+				System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(5));
+		given(this.boundHashOperations.entries()).willReturn(map);
+
+		String channel = "__keyevent@0__:expired";
+		String body = "spring:session:sessions:expires:{" + expiredId + "}";
+		DefaultMessage message = new DefaultMessage(channel.getBytes(StandardCharsets.UTF_8),
+				body.getBytes(StandardCharsets.UTF_8));
+
+		this.redisRepository.setApplicationEventPublisher(this.publisher);
+		this.redisRepository.onMessage(message, "".getBytes(StandardCharsets.UTF_8));
+
+		verify(this.publisher).publishEvent(this.event.capture());
+		assertThat(this.event.getValue().getSessionId()).isEqualTo(expiredId);
+	}
+
 	@Test
 	@SuppressWarnings("unchecked")
 	void onMessageExpiredSessionNotFound() {
@@ -880,6 +1198,17 @@ class RedisIndexedSessionRepositoryTests {
 		assertThat(getDelta()).hasSize(3);
 	}
 
+	@SuppressWarnings("unchecked")
+	private HashOperations<Object, Object, Object> givenPipelinedResults(List<Object> results) {
+		HashOperations<Object, Object, Object> hashOperations = mock(HashOperations.class);
+		given(this.redisOperations.opsForHash()).willReturn(hashOperations);
+		given(this.redisOperations.executePipelined(any(SessionCallback.class))).willAnswer((invocation) -> {
+			invocation.<SessionCallback<?>>getArgument(0).execute(this.redisOperations);
+			return results;
+		});
+		return hashOperations;
+	}
+
 	private String getKey(String id) {
 		return "spring:session:sessions:" + id;
 	}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.data.redis;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link RedisKeyEncoder}.
+ */
+class RedisKeyEncoderTests {
+
+	private final RedisKeyEncoder encoder = new RedisKeyEncoder("spring:session:sessions:");
+
+	@Test
+	void constructorNullPrefix() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new RedisKeyEncoder(null))
+				.withMessage("prefix must not be null");
+	}
+
+	@Test
+	void encodeAsciiSuffix() {
+		assertThat(this.encoder.encode("33fdd1b6-b496-4b33-9f7d-df96679d32fe"))
+				.isEqualTo(utf8("spring:session:sessions:33fdd1b6-b496-4b33-9f7d-df96679d32fe"));
+	}
+
+	@Test
+	void encodeNonAsciiSuffix() {
+		assertThat(this.encoder.encode("s\u00e9ssion-\u20ac"))
+				.isEqualTo(utf8("spring:session:sessions:s\u00e9ssion-\u20ac"));
+	}
+
+	@Test
+	void encodeEmptySuffix() {
+		assertThat(this.encoder.encode("")).isEqualTo(utf8("spring:session:sessions:"));
+	}
+
+	private static byte[] utf8(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+}
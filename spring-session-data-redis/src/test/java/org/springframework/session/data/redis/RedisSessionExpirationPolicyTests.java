@@ -18,6 +18,7 @@ package org.springframework.session.data.redis;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -164,4 +165,17 @@ class RedisSessionExpirationPolicyTests {
 		verify(this.hashOperations).persist();
 	}
 
+	@Test
+	void cleanExpiredSessionsWithHashTags() {
+		this.policy = new RedisSessionExpirationPolicy(this.sessionRedisOperations, (expiration) -> "expirations",
+				(sessionId) -> "sessions:{" + sessionId + "}", (sessionId) -> "sessions:expires:{" + sessionId + "}");
+		given(this.setOperations.members())
+				.willReturn(Collections.<Object>singleton("expires:" + this.session.getId()));
+
+		this.policy.cleanExpiredSessions();
+
+		verify(this.sessionRedisOperations).delete("expirations");
+		verify(this.sessionRedisOperations).hasKey("sessions:expires:{" + this.session.getId() + "}");
+	}
+
 }
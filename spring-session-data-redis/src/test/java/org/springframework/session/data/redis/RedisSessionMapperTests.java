@@ -113,4 +113,20 @@ class RedisSessionMapperTests {
 		assertThat((String) session.getAttribute("existing")).isEqualTo("value");
 	}
 
+
+	@Test
+	void getAttributeKey_ShouldReturnCachedKey() {
+		String attributeKey = RedisSessionMapper.getAttributeKey("attribute");
+		assertThat(attributeKey).isEqualTo(RedisSessionMapper.ATTRIBUTE_PREFIX + "attribute");
+		assertThat(RedisSessionMapper.getAttributeKey("attribute")).isSameAs(attributeKey);
+	}
+
+	@Test
+	void getAttributeName_ShouldReturnCachedName() {
+		String attributeName = RedisSessionMapper.getAttributeName(RedisSessionMapper.ATTRIBUTE_PREFIX + "attribute");
+		assertThat(attributeName).isEqualTo("attribute");
+		assertThat(RedisSessionMapper.getAttributeName(RedisSessionMapper.ATTRIBUTE_PREFIX + "attribute"))
+				.isSameAs(attributeName);
+	}
+
 }
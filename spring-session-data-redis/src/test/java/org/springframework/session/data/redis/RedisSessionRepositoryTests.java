@@ -19,6 +19,7 @@ package org.springframework.session.data.redis;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -44,8 +45,11 @@ import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 /**
  * Tests for {@link RedisSessionRepository}.
@@ -358,6 +362,92 @@ class RedisSessionRepositoryTests {
 		verifyNoMoreInteractions(this.sessionHashOperations);
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	void findById_ReplicaConfigured_ShouldLoadFromReplica() {
+		RedisOperations<String, Object> replicaRedisOperations = mock(RedisOperations.class);
+		HashOperations<String, String, Object> replicaHashOperations = mock(HashOperations.class);
+		given(replicaRedisOperations.<String, Object>opsForHash()).willReturn(replicaHashOperations);
+		given(replicaHashOperations.entries(eq(TEST_SESSION_KEY)))
+				.willReturn(mapOf(RedisSessionMapper.CREATION_TIME_KEY, Instant.EPOCH.toEpochMilli(),
+						RedisSessionMapper.LAST_ACCESSED_TIME_KEY, Instant.now().toEpochMilli(),
+						RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY, 1800));
+		this.sessionRepository.setReplicaSessionRedisOperations(replicaRedisOperations);
+		RedisSession session = this.sessionRepository.findById(TEST_SESSION_ID);
+		assertThat(session.getId()).isEqualTo(TEST_SESSION_ID);
+		verify(replicaHashOperations).entries(eq(TEST_SESSION_KEY));
+		verifyNoMoreInteractions(this.sessionRedisOperations);
+		verifyNoMoreInteractions(this.sessionHashOperations);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void findById_ReplicaMiss_ShouldLoadFromMaster() {
+		RedisOperations<String, Object> replicaRedisOperations = mock(RedisOperations.class);
+		HashOperations<String, String, Object> replicaHashOperations = mock(HashOperations.class);
+		given(replicaRedisOperations.<String, Object>opsForHash()).willReturn(replicaHashOperations);
+		given(this.sessionHashOperations.entries(eq(TEST_SESSION_KEY)))
+				.willReturn(mapOf(RedisSessionMapper.CREATION_TIME_KEY, Instant.EPOCH.toEpochMilli(),
+						RedisSessionMapper.LAST_ACCESSED_TIME_KEY, Instant.now().toEpochMilli(),
+						RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY, 1800));
+		this.sessionRepository.setReplicaSessionRedisOperations(replicaRedisOperations);
+		RedisSession session = this.sessionRepository.findById(TEST_SESSION_ID);
+		assertThat(session.getId()).isEqualTo(TEST_SESSION_ID);
+		verify(replicaHashOperations).entries(eq(TEST_SESSION_KEY));
+		verify(this.sessionHashOperations).entries(eq(TEST_SESSION_KEY));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void findById_RecentlyWritten_ShouldLoadFromMaster() {
+		RedisOperations<String, Object> replicaRedisOperations = mock(RedisOperations.class);
+		this.sessionRepository.setReplicaSessionRedisOperations(replicaRedisOperations);
+		this.sessionRepository.setReplicaStalenessWindow(Duration.ofMinutes(1));
+		this.sessionRepository.deleteById(TEST_SESSION_ID);
+		assertThat(this.sessionRepository.findById(TEST_SESSION_ID)).isNull();
+		verify(this.sessionHashOperations).entries(eq(TEST_SESSION_KEY));
+		verifyZeroInteractions(replicaRedisOperations);
+	}
+
+	@Test
+	void setReplicaStalenessWindow_NullWindow_ShouldThrowException() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> this.sessionRepository.setReplicaStalenessWindow(null))
+				.withMessage("stalenessWindow must not be null");
+	}
+
+	@Test
+	void touch_SessionExists_ShouldUpdateLastAccessedTimeAndExpiration() {
+		Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+		Instant lastAccessedTime = now.plusSeconds(10);
+		given(this.sessionHashOperations.multiGet(eq(TEST_SESSION_KEY), eq(Arrays.asList(
+				RedisSessionMapper.LAST_ACCESSED_TIME_KEY, RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY))))
+						.willReturn(Arrays.asList(now.toEpochMilli(), MapSession.DEFAULT_MAX_INACTIVE_INTERVAL_SECONDS));
+		assertThat(this.sessionRepository.touch(TEST_SESSION_ID, lastAccessedTime)).isTrue();
+		verify(this.sessionRedisOperations, times(2)).opsForHash();
+		verify(this.sessionRedisOperations).expireAt(eq(TEST_SESSION_KEY), eq(Date.from(
+				lastAccessedTime.plusSeconds(MapSession.DEFAULT_MAX_INACTIVE_INTERVAL_SECONDS))));
+		verify(this.sessionHashOperations).multiGet(eq(TEST_SESSION_KEY), eq(Arrays.asList(
+				RedisSessionMapper.LAST_ACCESSED_TIME_KEY, RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY)));
+		verify(this.sessionHashOperations).put(eq(TEST_SESSION_KEY), eq(RedisSessionMapper.LAST_ACCESSED_TIME_KEY),
+				eq(lastAccessedTime.toEpochMilli()));
+		verifyNoMoreInteractions(this.sessionRedisOperations);
+		verifyNoMoreInteractions(this.sessionHashOperations);
+	}
+
+	@Test
+	void touch_SessionNotExists_ShouldDoNothing() {
+		given(this.sessionHashOperations.multiGet(eq(TEST_SESSION_KEY), eq(Arrays.asList(
+				RedisSessionMapper.LAST_ACCESSED_TIME_KEY, RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY))))
+						.willReturn(Arrays.asList(null, null));
+		assertThat(this.sessionRepository.touch(TEST_SESSION_ID, Instant.now())).isFalse();
+		verify(this.sessionRedisOperations).opsForHash();
+		verify(this.sessionHashOperations).multiGet(eq(TEST_SESSION_KEY), eq(Arrays.asList(
+				RedisSessionMapper.LAST_ACCESSED_TIME_KEY, RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY)));
+		verifyNoMoreInteractions(this.sessionRedisOperations);
+		verifyNoMoreInteractions(this.sessionHashOperations);
+	}
+
 	@Test
 	void deleteById__ShouldDeleteSession() {
 		this.sessionRepository.deleteById(TEST_SESSION_ID);
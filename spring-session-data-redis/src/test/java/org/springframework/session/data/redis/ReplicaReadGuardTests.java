@@ -0,0 +1,69 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.data.redis;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link ReplicaReadGuard}.
+ */
+class ReplicaReadGuardTests {
+
+	private final ReplicaReadGuard guard = new ReplicaReadGuard();
+
+	@Test
+	void unwrittenKeyIsReadableFromReplica() {
+		assertThat(this.guard.isReadableFromReplica("key")).isTrue();
+	}
+
+	@Test
+	void recentlyWrittenKeyIsNotReadableFromReplica() {
+		this.guard.setStalenessWindow(Duration.ofMinutes(1));
+
+		this.guard.onWrite("key");
+
+		assertThat(this.guard.isReadableFromReplica("key")).isFalse();
+		assertThat(this.guard.isReadableFromReplica("other")).isTrue();
+	}
+
+	@Test
+	void writtenKeyIsReadableFromReplicaAfterStalenessWindow() {
+		this.guard.setStalenessWindow(Duration.ZERO);
+
+		this.guard.onWrite("key");
+
+		assertThat(this.guard.isReadableFromReplica("key")).isTrue();
+	}
+
+	@Test
+	void setStalenessWindowNull() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.guard.setStalenessWindow(null))
+				.withMessage("stalenessWindow must not be null");
+	}
+
+	@Test
+	void setStalenessWindowNegative() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.guard.setStalenessWindow(Duration.ofSeconds(-1)))
+				.withMessage("stalenessWindow must not be negative");
+	}
+
+}
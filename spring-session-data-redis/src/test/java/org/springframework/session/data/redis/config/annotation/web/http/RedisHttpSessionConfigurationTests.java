@@ -42,6 +42,7 @@ import org.springframework.session.Session;
 import org.springframework.session.config.SessionRepositoryCustomizer;
 import org.springframework.session.data.redis.RedisFlushMode;
 import org.springframework.session.data.redis.RedisIndexedSessionRepository;
+import org.springframework.session.data.redis.SessionCreatedEventMode;
 import org.springframework.session.data.redis.config.annotation.SpringSessionRedisConnectionFactory;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -258,6 +259,22 @@ class RedisHttpSessionConfigurationTests {
 				MAX_INACTIVE_INTERVAL_IN_SECONDS);
 	}
 
+	@Test
+	void sessionCreatedChannelSubscribedByDefault() {
+		registerAndRefresh(RedisConfig.class, EnableRedisHttpSessionConfiguration.class);
+		RedisMessageListenerContainer container = this.context.getBean("springSessionRedisMessageListenerContainer",
+				RedisMessageListenerContainer.class);
+		assertThat((Map<?, ?>) ReflectionTestUtils.getField(container, "patternMapping")).hasSize(1);
+	}
+
+	@Test
+	void sessionCreatedChannelNotSubscribedWithSessionCreatedEventModeNone() {
+		registerAndRefresh(RedisConfig.class, SessionCreatedEventModeNoneConfiguration.class);
+		RedisMessageListenerContainer container = this.context.getBean("springSessionRedisMessageListenerContainer",
+				RedisMessageListenerContainer.class);
+		assertThat((Map<?, ?>) ReflectionTestUtils.getField(container, "patternMapping")).isEmpty();
+	}
+
 	private void registerAndRefresh(Class<?>... annotatedClasses) {
 		this.context.register(annotatedClasses);
 		this.context.refresh();
@@ -450,6 +467,21 @@ class RedisHttpSessionConfigurationTests {
 
 	}
 
+	@EnableRedisHttpSession
+	static class EnableRedisHttpSessionConfiguration {
+
+	}
+
+	@EnableRedisHttpSession
+	static class SessionCreatedEventModeNoneConfiguration {
+
+		@Bean
+		SessionRepositoryCustomizer<RedisIndexedSessionRepository> sessionRepositoryCustomizer() {
+			return (sessionRepository) -> sessionRepository.setSessionCreatedEventMode(SessionCreatedEventMode.NONE);
+		}
+
+	}
+
 	@EnableRedisHttpSession
 	static class SessionRepositoryCustomizerConfiguration {
 
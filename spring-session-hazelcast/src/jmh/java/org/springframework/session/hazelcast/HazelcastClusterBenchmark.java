@@ -0,0 +1,305 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.hazelcast;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.config.MapAttributeConfig;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.config.SerializerConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.monitor.LocalMapStats;
+import com.hazelcast.nio.BufferObjectDataOutput;
+import com.hazelcast.nio.ObjectDataOutput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.MapSession;
+import org.springframework.session.hazelcast.HazelcastIndexedSessionRepository.HazelcastSession;
+
+/**
+ * Benchmarks concurrent session traffic against a cluster of embedded Hazelcast members
+ * started in one JVM. Each member has its own {@link HazelcastIndexedSessionRepository}
+ * that publishes session events, like the nodes of an application would, and each
+ * benchmark thread uses one of them. Throughput and latency percentiles are reported by
+ * JMH. After each iteration, the utilization of the partition threads, the number of
+ * bytes written by {@link HazelcastSessionSerializer}, the number of session events and
+ * the size of the session map are printed, so that regressions in the entry processor
+ * and listener paths show up next to the timings. Run with {@code ./gradlew
+ * :spring-session-hazelcast:jmh}.
+ * <p>
+ * To use the benchmark as a soak test, build the benchmark jar with {@code ./gradlew
+ * :spring-session-hazelcast:jmhJar} and run it with more and longer measurement
+ * iterations, for example {@code java -jar spring-session-hazelcast-*-jmh.jar
+ * HazelcastClusterBenchmark -i 60 -r 60s}, which should show a steady map size and
+ * partition thread utilization.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(8)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HazelcastClusterBenchmark {
+
+	private static final String PARTITION_THREAD_NAME = ".partition-operation.thread-";
+
+	private static final int PRINCIPAL_COUNT = 1000;
+
+	@Param({ "3" })
+	private int memberCount;
+
+	@Param({ "10000" })
+	private int sessionCount;
+
+	@Param({ "true", "false" })
+	private boolean includeEventValues;
+
+	private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+	private final CountingSessionSerializer sessionSerializer = new CountingSessionSerializer();
+
+	private final LongAdder events = new LongAdder();
+
+	private final AtomicInteger nextRepository = new AtomicInteger();
+
+	private final List<HazelcastInstance> members = new ArrayList<>();
+
+	private final List<HazelcastIndexedSessionRepository> sessionRepositories = new ArrayList<>();
+
+	private AtomicReferenceArray<String> sessionIds;
+
+	private long iterationStartTime;
+
+	private long iterationPartitionThreadCpuTime;
+
+	private long iterationSerializedBytes;
+
+	private long iterationEvents;
+
+	@Setup
+	public void setUp() {
+		for (int i = 0; i < this.memberCount; i++) {
+			this.members.add(Hazelcast.newHazelcastInstance(createConfig()));
+		}
+		for (HazelcastInstance member : this.members) {
+			HazelcastIndexedSessionRepository sessionRepository = new HazelcastIndexedSessionRepository(member);
+			sessionRepository.setIncludeEventValues(this.includeEventValues);
+			sessionRepository.setApplicationEventPublisher((event) -> this.events.increment());
+			sessionRepository.init();
+			this.sessionRepositories.add(sessionRepository);
+		}
+		this.sessionIds = new AtomicReferenceArray<>(this.sessionCount);
+		HazelcastIndexedSessionRepository sessionRepository = this.sessionRepositories.get(0);
+		for (int i = 0; i < this.sessionCount; i++) {
+			HazelcastSession session = sessionRepository.createSession();
+			session.setAttribute(FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME,
+					"user" + (i % PRINCIPAL_COUNT));
+			session.setAttribute("cart", "item1,item2,item3");
+			session.setAttribute("visits", 0);
+			sessionRepository.save(session);
+			this.sessionIds.set(i, session.getId());
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.sessionRepositories.forEach(HazelcastIndexedSessionRepository::close);
+		this.members.forEach(HazelcastInstance::shutdown);
+	}
+
+	@Setup(Level.Iteration)
+	public void startIteration() {
+		this.iterationStartTime = System.nanoTime();
+		this.iterationPartitionThreadCpuTime = getPartitionThreadCpuTime();
+		this.iterationSerializedBytes = this.sessionSerializer.bytes.sum();
+		this.iterationEvents = this.events.sum();
+	}
+
+	@TearDown(Level.Iteration)
+	public void endIteration() {
+		double seconds = (System.nanoTime() - this.iterationStartTime) / 1e9;
+		long partitionThreadCpuTime = getPartitionThreadCpuTime() - this.iterationPartitionThreadCpuTime;
+		long serializedBytes = this.sessionSerializer.bytes.sum() - this.iterationSerializedBytes;
+		long events = this.events.sum() - this.iterationEvents;
+		long sessions = 0;
+		long entryMemoryCost = 0;
+		for (HazelcastInstance member : this.members) {
+			LocalMapStats stats = member.getMap(HazelcastIndexedSessionRepository.DEFAULT_SESSION_MAP_NAME)
+					.getLocalMapStats();
+			sessions += stats.getOwnedEntryCount();
+			entryMemoryCost += stats.getOwnedEntryMemoryCost();
+		}
+		System.out.printf("%nPartition threads: %.1f%% utilized, serialized sessions: %.0f bytes/s, "
+				+ "events: %.0f/s, session map: %d entries, %d bytes%n",
+				partitionThreadCpuTime / 1e7 / seconds / getPartitionThreadCount(), serializedBytes / seconds,
+				events / seconds, sessions, entryMemoryCost);
+	}
+
+	@Benchmark
+	public String createAndDeleteSession(Node node) {
+		HazelcastSession session = node.sessionRepository.createSession();
+		session.setAttribute(FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME, node.randomPrincipalName());
+		node.sessionRepository.save(session);
+		node.sessionRepository.deleteById(session.getId());
+		return session.getId();
+	}
+
+	@Benchmark
+	public HazelcastSession findById(Node node) {
+		return node.sessionRepository.findById(this.sessionIds.get(node.randomIndex()));
+	}
+
+	@Benchmark
+	public HazelcastSession saveAttribute(Node node) {
+		HazelcastSession session = node.sessionRepository.findById(this.sessionIds.get(node.randomIndex()));
+		if (session != null) {
+			session.setAttribute("visits", session.<Integer>getAttribute("visits") + 1);
+			node.sessionRepository.save(session);
+		}
+		return session;
+	}
+
+	@Benchmark
+	public HazelcastSession changeSessionId(Node node) {
+		int index = node.randomIndex();
+		String sessionId = this.sessionIds.get(index);
+		HazelcastSession session = node.sessionRepository.findById(sessionId);
+		if (session != null) {
+			session.changeSessionId();
+			node.sessionRepository.save(session);
+			this.sessionIds.compareAndSet(index, sessionId, session.getId());
+		}
+		return session;
+	}
+
+	@Benchmark
+	public Map<String, HazelcastSession> findByPrincipalName(Node node) {
+		return node.sessionRepository.findByPrincipalName(node.randomPrincipalName());
+	}
+
+	private Config createConfig() {
+		Config config = new Config();
+		config.setProperty("hazelcast.logging.type", "none");
+		config.getNetworkConfig().setPort(5701).setPortAutoIncrement(true);
+		JoinConfig joinConfig = config.getNetworkConfig().getJoin();
+		joinConfig.getMulticastConfig().setEnabled(false);
+		joinConfig.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+		String attribute = HazelcastIndexedSessionRepository.PRINCIPAL_NAME_ATTRIBUTE;
+		config.getMapConfig(HazelcastIndexedSessionRepository.DEFAULT_SESSION_MAP_NAME)
+				.addMapAttributeConfig(new MapAttributeConfig(attribute, PrincipalNameExtractor.class.getName()))
+				.addMapIndexConfig(new MapIndexConfig(attribute, false));
+		config.getSerializationConfig().addSerializerConfig(
+				new SerializerConfig().setImplementation(this.sessionSerializer).setTypeClass(MapSession.class));
+		return config;
+	}
+
+	private long getPartitionThreadCpuTime() {
+		long cpuTime = 0;
+		for (ThreadInfo thread : this.threadMXBean.getThreadInfo(this.threadMXBean.getAllThreadIds())) {
+			if (thread != null && thread.getThreadName().contains(PARTITION_THREAD_NAME)) {
+				cpuTime += Math.max(this.threadMXBean.getThreadCpuTime(thread.getThreadId()), 0);
+			}
+		}
+		return cpuTime;
+	}
+
+	private int getPartitionThreadCount() {
+		int count = 0;
+		for (ThreadInfo thread : this.threadMXBean.getThreadInfo(this.threadMXBean.getAllThreadIds())) {
+			if (thread != null && thread.getThreadName().contains(PARTITION_THREAD_NAME)) {
+				count++;
+			}
+		}
+		return Math.max(count, 1);
+	}
+
+	/**
+	 * The state of a benchmark thread, which uses the session repository of one of the
+	 * members.
+	 */
+	@State(Scope.Thread)
+	public static class Node {
+
+		private HazelcastIndexedSessionRepository sessionRepository;
+
+		private int sessionCount;
+
+		@Setup
+		public void setUp(HazelcastClusterBenchmark cluster) {
+			int index = cluster.nextRepository.getAndIncrement() % cluster.sessionRepositories.size();
+			this.sessionRepository = cluster.sessionRepositories.get(index);
+			this.sessionCount = cluster.sessionCount;
+		}
+
+		int randomIndex() {
+			return ThreadLocalRandom.current().nextInt(this.sessionCount);
+		}
+
+		String randomPrincipalName() {
+			return "user" + ThreadLocalRandom.current().nextInt(PRINCIPAL_COUNT);
+		}
+
+	}
+
+	/**
+	 * A {@link HazelcastSessionSerializer} that counts the bytes it writes.
+	 */
+	static class CountingSessionSerializer extends HazelcastSessionSerializer {
+
+		private final LongAdder bytes = new LongAdder();
+
+		@Override
+		public void write(ObjectDataOutput out, MapSession session) throws IOException {
+			int start = (out instanceof BufferObjectDataOutput) ? ((BufferObjectDataOutput) out).position() : 0;
+			super.write(out, session);
+			if (out instanceof BufferObjectDataOutput) {
+				this.bytes.add(((BufferObjectDataOutput) out).position() - start);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.hazelcast;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.hazelcast.config.SerializerConfig;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.session.MapSession;
+
+/**
+ * Benchmarks comparing Java serialization of sessions and entry processors with
+ * {@link HazelcastSessionSerializer} and the {@code DataSerializable} implementation of
+ * {@link SessionUpdateEntryProcessor}. Run with {@code ./gradlew
+ * :spring-session-hazelcast:jmh}; the payload sizes are printed during setup.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HazelcastSerializationBenchmark {
+
+	private final SerializationService javaSerializationService = new DefaultSerializationServiceBuilder().build();
+
+	private final SerializationService sessionSerializationService = new DefaultSerializationServiceBuilder()
+			.addSerializerConfig(new SerializerConfig().setImplementation(new HazelcastSessionSerializer())
+					.setTypeClass(MapSession.class))
+			.build();
+
+	private final MapSession session = new MapSession();
+
+	private final SessionUpdateEntryProcessor entryProcessor = new SessionUpdateEntryProcessor();
+
+	private Data javaSessionData;
+
+	private Data sessionData;
+
+	private Data entryProcessorData;
+
+	@Setup
+	public void setUp() throws IOException {
+		this.session.setAttribute("SPRING_SECURITY_CONTEXT", "user");
+		this.session.setAttribute("cart", "item1,item2,item3");
+		this.session.setAttribute("visits", 42);
+		Map<String, Object> delta = new HashMap<>();
+		delta.put("visits", 43);
+		this.entryProcessor.setLastAccessedTime(Instant.now());
+		this.entryProcessor.setDelta(delta);
+
+		this.javaSessionData = this.javaSerializationService.toData(this.session);
+		this.sessionData = this.sessionSerializationService.toData(this.session);
+		this.entryProcessorData = this.sessionSerializationService.toData(this.entryProcessor);
+		System.out.println("Session: " + this.javaSessionData.totalSize() + " bytes using Java serialization, "
+				+ this.sessionData.totalSize() + " bytes using HazelcastSessionSerializer");
+		System.out.println("Entry processor: " + entryProcessorJava().length + " bytes using Java serialization, "
+				+ this.entryProcessorData.totalSize() + " bytes using DataSerializable");
+	}
+
+	@Benchmark
+	public Data sessionToDataJava() {
+		return this.javaSerializationService.toData(this.session);
+	}
+
+	@Benchmark
+	public Data sessionToData() {
+		return this.sessionSerializationService.toData(this.session);
+	}
+
+	@Benchmark
+	public Object sessionToObjectJava() {
+		return this.javaSerializationService.toObject(this.javaSessionData);
+	}
+
+	@Benchmark
+	public Object sessionToObject() {
+		return this.sessionSerializationService.toObject(this.sessionData);
+	}
+
+	@Benchmark
+	public byte[] entryProcessorJava() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(this.entryProcessor);
+		}
+		return bytes.toByteArray();
+	}
+
+	@Benchmark
+	public Data entryProcessorToData() {
+		return this.sessionSerializationService.toData(this.entryProcessor);
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.hazelcast;
+
+import java.util.Map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapAttributeConfig;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.hazelcast.HazelcastIndexedSessionRepository.HazelcastSession;
+
+/**
+ * Benchmarks the cost of finding sessions by principal name on an embedded Hazelcast
+ * member, with and without a hash index on the principal name attribute. Run with
+ * {@code ./gradlew :spring-session-hazelcast:jmh}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrincipalNameIndexBenchmark {
+
+	@Param({ "true", "false" })
+	private boolean indexed;
+
+	@Param({ "10000" })
+	private int sessionCount;
+
+	private HazelcastInstance hazelcastInstance;
+
+	private HazelcastIndexedSessionRepository sessionRepository;
+
+	@Setup
+	public void setUp() {
+		Config config = new Config();
+		config.getNetworkConfig().setPort(0).getJoin().getMulticastConfig().setEnabled(false);
+		String attribute = HazelcastIndexedSessionRepository.PRINCIPAL_NAME_ATTRIBUTE;
+		MapConfig mapConfig = config.getMapConfig(HazelcastIndexedSessionRepository.DEFAULT_SESSION_MAP_NAME)
+				.addMapAttributeConfig(new MapAttributeConfig(attribute, PrincipalNameExtractor.class.getName()));
+		if (this.indexed) {
+			mapConfig.addMapIndexConfig(new MapIndexConfig(attribute, false));
+		}
+		this.hazelcastInstance = Hazelcast.newHazelcastInstance(config);
+		this.sessionRepository = new HazelcastIndexedSessionRepository(this.hazelcastInstance);
+		this.sessionRepository.init();
+		for (int i = 0; i < this.sessionCount; i++) {
+			HazelcastSession session = this.sessionRepository.createSession();
+			session.setAttribute(FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME, "user" + i);
+			session.setAttribute("attribute", "value" + i);
+			this.sessionRepository.save(session);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.sessionRepository.close();
+		this.hazelcastInstance.shutdown();
+	}
+
+	@Benchmark
+	public Map<String, HazelcastSession> findByPrincipalName() {
+		return this.sessionRepository.findByPrincipalName("user" + (this.sessionCount / 2));
+	}
+
+}
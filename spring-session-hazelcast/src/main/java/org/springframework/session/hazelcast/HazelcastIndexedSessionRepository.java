@@ -21,6 +21,7 @@ import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -34,17 +35,24 @@ import com.hazelcast.core.IMap;
 import com.hazelcast.map.listener.EntryAddedListener;
 import com.hazelcast.map.listener.EntryEvictedListener;
 import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.monitor.NearCacheStats;
 import com.hazelcast.query.Predicates;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.session.BatchSessionRepository;
 import org.springframework.session.DelegatingIndexResolver;
-import org.springframework.session.FindByIndexNameSessionRepository;
 import org.springframework.session.FlushMode;
 import org.springframework.session.IndexResolver;
 import org.springframework.session.MapSession;
 import org.springframework.session.PrincipalNameIndexResolver;
+import org.springframework.session.ProjectingFindByIndexNameSessionRepository;
 import org.springframework.session.SaveMode;
 import org.springframework.session.Session;
 import org.springframework.session.events.AbstractSessionEvent;
@@ -74,7 +82,10 @@ import org.springframework.util.ClassUtils;
  *
  * In order to support finding sessions by principal name using
  * {@link #findByIndexNameAndIndexValue(String, String)} method, custom configuration of
- * {@code IMap} supplied to this implementation is required.
+ * {@code IMap} supplied to this implementation is required. The ids or the metadata of
+ * the sessions of a principal can be found without loading the sessions themselves
+ * using {@link #findIdsByIndexNameAndIndexValue(String, String)} and
+ * {@link #findMetadataByIndexNameAndIndexValue(String, String, Collection)}.
  *
  * The following snippet demonstrates how to define required configuration using
  * programmatic Hazelcast Configuration:
@@ -104,6 +115,22 @@ import org.springframework.util.ClassUtils;
  * <li>entryRemoved - {@link SessionDeletedEvent}</li>
  * </ul>
  *
+ * By default, entry events include the session, which means every session that is added,
+ * evicted or removed is transferred to all listening members and clients. This can be
+ * disabled using {@link #setIncludeEventValues(boolean)}.
+ *
+ * Using {@link #setSerializeAttributes(boolean)}, session attributes can be stored in
+ * serialized form, so that {@link SessionUpdateEntryProcessor} and the
+ * {@link PrincipalNameExtractor} do not deserialize attribute values on the members.
+ *
+ * Sessions expire using the time to live of their map entry, which is reset whenever a
+ * session is written. Using {@link #setMaxIdleExpiration(boolean)}, they can instead
+ * expire using the max idle time of their map entry, which Hazelcast tracks on access.
+ *
+ * When the id of a session is changed, the session is stored under its new id and its
+ * previous entry is replaced using a {@link SessionIdChangeEntryProcessor}, so that no
+ * {@link SessionDeletedEvent} is published for the previous id.
+ *
  * @author Vedran Pavic
  * @author Tommy Ludwig
  * @author Mark Anderson
@@ -111,7 +138,8 @@ import org.springframework.util.ClassUtils;
  * @since 2.2.0
  */
 public class HazelcastIndexedSessionRepository
-		implements FindByIndexNameSessionRepository<HazelcastIndexedSessionRepository.HazelcastSession>,
+		implements ProjectingFindByIndexNameSessionRepository<HazelcastIndexedSessionRepository.HazelcastSession>,
+		BatchSessionRepository<HazelcastIndexedSessionRepository.HazelcastSession>,
 		EntryAddedListener<String, MapSession>, EntryEvictedListener<String, MapSession>,
 		EntryRemovedListener<String, MapSession> {
 
@@ -129,6 +157,12 @@ public class HazelcastIndexedSessionRepository
 
 	private static final boolean SUPPORTS_SET_TTL = ClassUtils.hasAtLeastOneMethodWithName(IMap.class, "setTtl");
 
+	private static final boolean SUPPORTS_ENTRY_TTL = ClassUtils.isPresent("com.hazelcast.map.ExtendedMapEntry",
+			HazelcastIndexedSessionRepository.class.getClassLoader());
+
+	private static final boolean SUPPORTS_MAX_IDLE = ClassUtils.hasMethod(IMap.class, "set", Object.class,
+			Object.class, long.class, TimeUnit.class, long.class, TimeUnit.class);
+
 	private static final Log logger = LogFactory.getLog(HazelcastIndexedSessionRepository.class);
 
 	private final HazelcastInstance hazelcastInstance;
@@ -152,8 +186,18 @@ public class HazelcastIndexedSessionRepository
 
 	private IMap<String, MapSession> sessions;
 
+	private boolean includeEventValues = true;
+
+	private boolean serializeAttributes;
+
+	private boolean maxIdleExpiration;
+
+	private ConversionService conversionService = createDefaultConversionService();
+
 	private String sessionListenerId;
 
+	private String sessionCreatedListenerId;
+
 	/**
 	 * Create a new {@link HazelcastIndexedSessionRepository} instance.
 	 * @param hazelcastInstance the {@link HazelcastInstance} to use for managing sessions
@@ -166,12 +210,25 @@ public class HazelcastIndexedSessionRepository
 	@PostConstruct
 	public void init() {
 		this.sessions = this.hazelcastInstance.getMap(this.sessionMapName);
-		this.sessionListenerId = this.sessions.addEntryListener(this, true);
+		if (this.includeEventValues) {
+			this.sessionListenerId = this.sessions.addEntryListener(this, true);
+		}
+		else {
+			this.sessionListenerId = this.sessions.addEntryListener(new SessionRemovedListener(),
+					new SessionRemovedPredicate(), false);
+			this.sessionCreatedListenerId = this.sessions.addEntryListener(
+					(EntryAddedListener<String, MapSession>) (event) -> publishSessionCreatedEvent(
+							new EventSession(event.getKey())),
+					new SessionCreatedPredicate(), false);
+		}
 	}
 
 	@PreDestroy
 	public void close() {
 		this.sessions.removeEntryListener(this.sessionListenerId);
+		if (this.sessionCreatedListenerId != null) {
+			this.sessions.removeEntryListener(this.sessionCreatedListenerId);
+		}
 	}
 
 	/**
@@ -196,6 +253,70 @@ public class HazelcastIndexedSessionRepository
 		this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
 	}
 
+	/**
+	 * Set whether entry events should include the session. If disabled, entries added by
+	 * a change of the session id are filtered out on the member that owns the entry using
+	 * a {@link SessionCreatedPredicate}, and entries left behind by it using a
+	 * {@link SessionRemovedPredicate}, which therefore need to be available to all
+	 * members. The session of a {@link SessionCreatedEvent} is then loaded from the map
+	 * when it is first accessed, and the sessions of {@link SessionExpiredEvent} and
+	 * {@link SessionDeletedEvent} only contain the session id. Must be set before
+	 * {@link #init()} is invoked. Default is {@code true}.
+	 * @param includeEventValues whether entry events should include the session
+	 */
+	public void setIncludeEventValues(boolean includeEventValues) {
+		this.includeEventValues = includeEventValues;
+	}
+
+	/**
+	 * Set whether session attribute values should be stored in serialized form. Each
+	 * attribute value is then kept as a separate byte array in the {@link MapSession}
+	 * stored in the map, which is only deserialized by the application when the
+	 * attribute is read. Updates made by {@link SessionUpdateEntryProcessor} replace the
+	 * bytes of the changed attributes, and the principal name used by
+	 * {@link PrincipalNameExtractor} is kept in plain form, so no attribute value is
+	 * deserialized on the members. Attributes are serialized using the
+	 * {@link #setConversionService(ConversionService) conversion service}. Attributes that
+	 * are saved again due to the {@link #setSaveMode(SaveMode) save mode} are serialized
+	 * again when the session is saved, so that changes to mutable values are not lost.
+	 * Default is {@code false}.
+	 * @param serializeAttributes whether attribute values should be stored in
+	 * serialized form
+	 */
+	public void setSerializeAttributes(boolean serializeAttributes) {
+		this.serializeAttributes = serializeAttributes;
+	}
+
+	/**
+	 * Set whether sessions should expire using the max idle time of their map entry
+	 * rather than its time to live. If enabled, the max inactive interval of a session is
+	 * used as the max idle time of its entry, so Hazelcast evicts sessions that have not
+	 * been accessed for that long, and a save that only changes the last accessed time of
+	 * a session does not update the map. Changing the max inactive interval of a session
+	 * then writes the whole session, as Hazelcast does not support changing the max idle
+	 * time of an existing entry. Reads served by a near cache do not count as accesses on
+	 * the members, so this should not be combined with a near cache. Requires Hazelcast
+	 * 3.11 or later. Default is {@code false}.
+	 * @param maxIdleExpiration whether sessions should expire using the max idle time of
+	 * their map entry
+	 * @since 2.3.0
+	 */
+	public void setMaxIdleExpiration(boolean maxIdleExpiration) {
+		Assert.state(!maxIdleExpiration || SUPPORTS_MAX_IDLE, "Max idle expiration requires Hazelcast 3.11 or later");
+		this.maxIdleExpiration = maxIdleExpiration;
+	}
+
+	/**
+	 * Sets the {@link ConversionService} used to serialize attribute values if
+	 * {@link #setSerializeAttributes(boolean)} is enabled. Default uses Java
+	 * serialization.
+	 * @param conversionService the converter to set
+	 */
+	public void setConversionService(ConversionService conversionService) {
+		Assert.notNull(conversionService, "conversionService must not be null");
+		this.conversionService = conversionService;
+	}
+
 	/**
 	 * Set the {@link IndexResolver} to use.
 	 * @param indexResolver the index resolver
@@ -232,6 +353,16 @@ public class HazelcastIndexedSessionRepository
 		this.saveMode = saveMode;
 	}
 
+	/**
+	 * Returns the statistics of the near cache of the session map, such as its hits and
+	 * misses.
+	 * @return the near cache statistics or {@code null} if the session map has no near
+	 * cache
+	 */
+	public NearCacheStats getNearCacheStats() {
+		return this.sessions.getLocalMapStats().getNearCacheStats();
+	}
+
 	@Override
 	public HazelcastSession createSession() {
 		MapSession cached = new MapSession();
@@ -245,17 +376,26 @@ public class HazelcastIndexedSessionRepository
 
 	@Override
 	public void save(HazelcastSession session) {
+		session.serializeReadAttributes();
 		if (session.isNew) {
-			this.sessions.set(session.getId(), session.getDelegate(), session.getMaxInactiveInterval().getSeconds(),
-					TimeUnit.SECONDS);
+			setSession(session);
 		}
 		else if (session.sessionIdChanged) {
-			this.sessions.delete(session.originalId);
+			setSession(session);
+			if (SUPPORTS_ENTRY_TTL) {
+				SessionIdChangeEntryProcessor entryProcessor = new SessionIdChangeEntryProcessor();
+				entryProcessor.setSessionId(session.getId());
+				this.sessions.executeOnKey(session.originalId, entryProcessor);
+			}
+			else {
+				this.sessions.delete(session.originalId);
+			}
 			session.originalId = session.getId();
-			this.sessions.set(session.getId(), session.getDelegate(), session.getMaxInactiveInterval().getSeconds(),
-					TimeUnit.SECONDS);
 		}
-		else if (session.hasChanges()) {
+		else if (this.maxIdleExpiration && session.maxInactiveIntervalChanged) {
+			setSession(session);
+		}
+		else if (session.hasChanges() && (!this.maxIdleExpiration || !session.delta.isEmpty())) {
 			SessionUpdateEntryProcessor entryProcessor = new SessionUpdateEntryProcessor();
 			if (session.lastAccessedTimeChanged) {
 				entryProcessor.setLastAccessedTime(session.getLastAccessedTime());
@@ -274,6 +414,17 @@ public class HazelcastIndexedSessionRepository
 		session.clearChangeFlags();
 	}
 
+	private void setSession(HazelcastSession session) {
+		long maxInactiveIntervalSeconds = session.getMaxInactiveInterval().getSeconds();
+		if (this.maxIdleExpiration) {
+			this.sessions.set(session.getId(), session.getDelegate(), 0, TimeUnit.SECONDS,
+					Math.max(maxInactiveIntervalSeconds, 0), TimeUnit.SECONDS);
+		}
+		else {
+			this.sessions.set(session.getId(), session.getDelegate(), maxInactiveIntervalSeconds, TimeUnit.SECONDS);
+		}
+	}
+
 	private void updateTtl(HazelcastSession session) {
 		this.sessions.setTtl(session.getId(), session.getMaxInactiveInterval().getSeconds(), TimeUnit.SECONDS);
 	}
@@ -281,21 +432,81 @@ public class HazelcastIndexedSessionRepository
 	@Override
 	public HazelcastSession findById(String id) {
 		MapSession saved = this.sessions.get(id);
-		if (saved == null) {
+		if (saved == null || isMovedSession(id, saved)) {
 			return null;
 		}
-		if (saved.isExpired()) {
+		if (!this.maxIdleExpiration && saved.isExpired()) {
 			deleteById(saved.getId());
 			return null;
 		}
 		return new HazelcastSession(saved, false);
 	}
 
+	/**
+	 * Updates the last accessed time of the session using a
+	 * {@link SessionUpdateEntryProcessor}, without transferring the session to the
+	 * caller.
+	 * @param id the session id
+	 * @param lastAccessedTime the last accessed time to set
+	 * @return whether the session was found and updated
+	 */
+	@Override
+	public boolean touch(String id, Instant lastAccessedTime) {
+		SessionUpdateEntryProcessor entryProcessor = new SessionUpdateEntryProcessor();
+		entryProcessor.setLastAccessedTime(lastAccessedTime);
+		return Boolean.TRUE.equals(this.sessions.executeOnKey(id, entryProcessor));
+	}
+
 	@Override
 	public void deleteById(String id) {
 		this.sessions.remove(id);
 	}
 
+	/**
+	 * Loads the sessions with the given ids using {@link IMap#getAll(Set)}, which
+	 * requests the sessions from each member at once. Expired sessions are deleted using
+	 * {@link #deleteAllById(Collection)}.
+	 * @param ids the session ids
+	 * @return the sessions that were found and are not expired
+	 */
+	@Override
+	public Map<String, HazelcastSession> findAllById(Collection<String> ids) {
+		Assert.notNull(ids, "ids must not be null");
+		if (ids.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		Map<String, MapSession> saved = this.sessions.getAll(new HashSet<>(ids));
+		Map<String, HazelcastSession> sessionMap = new HashMap<>(saved.size());
+		Set<String> expiredIds = new HashSet<>();
+		for (Map.Entry<String, MapSession> entry : saved.entrySet()) {
+			MapSession session = entry.getValue();
+			if (isMovedSession(entry.getKey(), session)) {
+				continue;
+			}
+			if (!this.maxIdleExpiration && session.isExpired()) {
+				expiredIds.add(session.getId());
+			}
+			else {
+				sessionMap.put(session.getId(), new HazelcastSession(session, false));
+			}
+		}
+		deleteAllById(expiredIds);
+		return sessionMap;
+	}
+
+	/**
+	 * Deletes the sessions with the given ids by applying a
+	 * {@link SessionRemoveEntryProcessor} to all of them at once.
+	 * @param ids the session ids
+	 */
+	@Override
+	public void deleteAllById(Collection<String> ids) {
+		Assert.notNull(ids, "ids must not be null");
+		if (!ids.isEmpty()) {
+			this.sessions.executeOnKeys(new HashSet<>(ids), new SessionRemoveEntryProcessor());
+		}
+	}
+
 	@Override
 	public Map<String, HazelcastSession> findByIndexNameAndIndexValue(String indexName, String indexValue) {
 		if (!PRINCIPAL_NAME_INDEX_NAME.equals(indexName)) {
@@ -309,34 +520,249 @@ public class HazelcastIndexedSessionRepository
 		return sessionMap;
 	}
 
+	/**
+	 * Finds the ids of the sessions with the given principal name using
+	 * {@link IMap#keySet(com.hazelcast.query.Predicate)}, so that the members only return
+	 * the keys of the matching entries.
+	 * @param indexName the name of the index
+	 * @param indexValue the value of the index to search for
+	 * @return the ids of the sessions that were found
+	 */
+	@Override
+	public Set<String> findIdsByIndexNameAndIndexValue(String indexName, String indexValue) {
+		if (!PRINCIPAL_NAME_INDEX_NAME.equals(indexName)) {
+			return Collections.emptySet();
+		}
+		return this.sessions.keySet(Predicates.equal(PRINCIPAL_NAME_ATTRIBUTE, indexValue));
+	}
+
+	/**
+	 * Finds the metadata of the sessions with the given principal name using a
+	 * {@link SessionMetadataProjection}, which the members apply to the matching sessions
+	 * in parallel, so that they only return the metadata and the given attributes.
+	 * @param indexName the name of the index
+	 * @param indexValue the value of the index to search for
+	 * @param attributeNames the names of the attributes to include
+	 * @return the metadata of the sessions that were found
+	 */
+	@Override
+	public Map<String, MapSession> findMetadataByIndexNameAndIndexValue(String indexName, String indexValue,
+			Collection<String> attributeNames) {
+		Assert.notNull(attributeNames, "attributeNames must not be null");
+		if (!PRINCIPAL_NAME_INDEX_NAME.equals(indexName)) {
+			return Collections.emptyMap();
+		}
+		SessionMetadataProjection projection = new SessionMetadataProjection();
+		projection.setAttributeNames(new HashSet<>(attributeNames));
+		Collection<MapSession> sessions = this.sessions.project(projection,
+				Predicates.equal(PRINCIPAL_NAME_ATTRIBUTE, indexValue));
+		Map<String, MapSession> sessionMap = new HashMap<>(sessions.size());
+		for (MapSession session : sessions) {
+			if (this.serializeAttributes) {
+				for (String attributeName : session.getAttributeNames()) {
+					session.setAttribute(attributeName, getAttribute(session, attributeName));
+				}
+			}
+			sessionMap.put(session.getId(), session);
+		}
+		return sessionMap;
+	}
+
 	@Override
 	public void entryAdded(EntryEvent<String, MapSession> event) {
 		MapSession session = event.getValue();
 		if (session.getId().equals(session.getOriginalId())) {
-			if (logger.isDebugEnabled()) {
-				logger.debug("Session created with id: " + session.getId());
-			}
-			this.eventPublisher.publishEvent(new SessionCreatedEvent(this, session));
+			publishSessionCreatedEvent(getEventSession(session));
 		}
 	}
 
 	@Override
 	public void entryEvicted(EntryEvent<String, MapSession> event) {
+		MapSession session = getOldValue(event);
+		if (isMovedSession(event.getKey(), session)) {
+			return;
+		}
 		if (logger.isDebugEnabled()) {
-			logger.debug("Session expired with id: " + event.getOldValue().getId());
+			logger.debug("Session expired with id: " + session.getId());
 		}
-		this.eventPublisher.publishEvent(new SessionExpiredEvent(this, event.getOldValue()));
+		this.eventPublisher.publishEvent(new SessionExpiredEvent(this, getEventSession(session)));
 	}
 
 	@Override
 	public void entryRemoved(EntryEvent<String, MapSession> event) {
-		MapSession session = event.getOldValue();
-		if (session != null) {
+		MapSession session = getOldValue(event);
+		if (session != null && !isMovedSession(event.getKey(), session)) {
 			if (logger.isDebugEnabled()) {
 				logger.debug("Session deleted with id: " + session.getId());
 			}
-			this.eventPublisher.publishEvent(new SessionDeletedEvent(this, session));
+			this.eventPublisher.publishEvent(new SessionDeletedEvent(this, getEventSession(session)));
+		}
+	}
+
+	private void publishSessionCreatedEvent(Session session) {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Session created with id: " + session.getId());
+		}
+		this.eventPublisher.publishEvent(new SessionCreatedEvent(this, session));
+	}
+
+	private Session getEventSession(MapSession session) {
+		return this.serializeAttributes ? new EventSession(session) : session;
+	}
+
+	private <T> T getAttribute(MapSession session, String attributeName) {
+		Object attributeValue = session.getAttribute(attributeName);
+		if (this.serializeAttributes && attributeValue instanceof byte[]) {
+			attributeValue = deserialize((byte[]) attributeValue);
+		}
+		@SuppressWarnings("unchecked")
+		T result = (T) attributeValue;
+		return result;
+	}
+
+	private Object serializeIfNecessary(String attributeName, Object attributeValue) {
+		if (!this.serializeAttributes || attributeValue == null || PRINCIPAL_NAME_INDEX_NAME.equals(attributeName)) {
+			return attributeValue;
+		}
+		return serialize(attributeValue);
+	}
+
+	private byte[] serialize(Object object) {
+		return (byte[]) this.conversionService.convert(object, TypeDescriptor.valueOf(Object.class),
+				TypeDescriptor.valueOf(byte[].class));
+	}
+
+	private Object deserialize(byte[] bytes) {
+		return this.conversionService.convert(bytes, TypeDescriptor.valueOf(byte[].class),
+				TypeDescriptor.valueOf(Object.class));
+	}
+
+	private static GenericConversionService createDefaultConversionService() {
+		GenericConversionService converter = new GenericConversionService();
+		converter.addConverter(Object.class, byte[].class, new SerializingConverter());
+		converter.addConverter(byte[].class, Object.class, new DeserializingConverter());
+		return converter;
+	}
+
+	private static boolean isMovedSession(String id, MapSession session) {
+		return !session.getId().equals(id);
+	}
+
+	private MapSession getOldValue(EntryEvent<String, MapSession> event) {
+		if (event.getOldValue() == null && !this.includeEventValues) {
+			return new MapSession(event.getKey());
+		}
+		return event.getOldValue();
+	}
+
+	/**
+	 * Listener for evicted and removed entries that is used if entry events do not
+	 * include the session.
+	 */
+	private final class SessionRemovedListener
+			implements EntryEvictedListener<String, MapSession>, EntryRemovedListener<String, MapSession> {
+
+		@Override
+		public void entryEvicted(EntryEvent<String, MapSession> event) {
+			HazelcastIndexedSessionRepository.this.entryEvicted(event);
+		}
+
+		@Override
+		public void entryRemoved(EntryEvent<String, MapSession> event) {
+			HazelcastIndexedSessionRepository.this.entryRemoved(event);
+		}
+
+	}
+
+	/**
+	 * A {@link Session} published with session events if entry events do not include the
+	 * session or if attributes are stored in serialized form. Without a session, it is
+	 * loaded from the map when anything other than its id is first accessed. Attribute
+	 * values are deserialized when they are read.
+	 */
+	private final class EventSession implements Session {
+
+		private final String id;
+
+		private MapSession delegate;
+
+		EventSession(String id) {
+			this.id = id;
+		}
+
+		EventSession(MapSession delegate) {
+			this.id = delegate.getId();
+			this.delegate = delegate;
+		}
+
+		@Override
+		public String getId() {
+			return (this.delegate != null) ? this.delegate.getId() : this.id;
+		}
+
+		@Override
+		public String changeSessionId() {
+			return getDelegate().changeSessionId();
+		}
+
+		@Override
+		public <T> T getAttribute(String attributeName) {
+			return HazelcastIndexedSessionRepository.this.getAttribute(getDelegate(), attributeName);
+		}
+
+		@Override
+		public Set<String> getAttributeNames() {
+			return getDelegate().getAttributeNames();
+		}
+
+		@Override
+		public void setAttribute(String attributeName, Object attributeValue) {
+			getDelegate().setAttribute(attributeName, attributeValue);
+		}
+
+		@Override
+		public void removeAttribute(String attributeName) {
+			getDelegate().removeAttribute(attributeName);
+		}
+
+		@Override
+		public Instant getCreationTime() {
+			return getDelegate().getCreationTime();
+		}
+
+		@Override
+		public void setLastAccessedTime(Instant lastAccessedTime) {
+			getDelegate().setLastAccessedTime(lastAccessedTime);
+		}
+
+		@Override
+		public Instant getLastAccessedTime() {
+			return getDelegate().getLastAccessedTime();
+		}
+
+		@Override
+		public void setMaxInactiveInterval(Duration interval) {
+			getDelegate().setMaxInactiveInterval(interval);
+		}
+
+		@Override
+		public Duration getMaxInactiveInterval() {
+			return getDelegate().getMaxInactiveInterval();
+		}
+
+		@Override
+		public boolean isExpired() {
+			return getDelegate().isExpired();
+		}
+
+		private MapSession getDelegate() {
+			if (this.delegate == null) {
+				MapSession saved = HazelcastIndexedSessionRepository.this.sessions.get(this.id);
+				this.delegate = (saved != null) ? saved : new MapSession(this.id);
+			}
+			return this.delegate;
 		}
+
 	}
 
 	/**
@@ -361,6 +787,8 @@ public class HazelcastIndexedSessionRepository
 
 		private Map<String, Object> delta = new HashMap<>();
 
+		private Map<String, Object> deserializedAttributes;
+
 		HazelcastSession(MapSession cached, boolean isNew) {
 			this.delegate = cached;
 			this.isNew = isNew;
@@ -418,13 +846,21 @@ public class HazelcastIndexedSessionRepository
 		}
 
 		@Override
+		@SuppressWarnings("unchecked")
 		public <T> T getAttribute(String attributeName) {
-			T attributeValue = this.delegate.getAttribute(attributeName);
-			if (attributeValue != null
+			Object storedValue = this.delegate.getAttribute(attributeName);
+			if (storedValue != null
 					&& HazelcastIndexedSessionRepository.this.saveMode.equals(SaveMode.ON_GET_ATTRIBUTE)) {
-				this.delta.put(attributeName, attributeValue);
+				this.delta.put(attributeName, storedValue);
 			}
-			return attributeValue;
+			if (!HazelcastIndexedSessionRepository.this.serializeAttributes || storedValue == null) {
+				return (T) storedValue;
+			}
+			if (this.deserializedAttributes == null) {
+				this.deserializedAttributes = new HashMap<>();
+			}
+			return (T) this.deserializedAttributes.computeIfAbsent(attributeName,
+					(name) -> HazelcastIndexedSessionRepository.this.getAttribute(this.delegate, name));
 		}
 
 		@Override
@@ -434,8 +870,12 @@ public class HazelcastIndexedSessionRepository
 
 		@Override
 		public void setAttribute(String attributeName, Object attributeValue) {
-			this.delegate.setAttribute(attributeName, attributeValue);
-			this.delta.put(attributeName, attributeValue);
+			Object storedValue = serializeIfNecessary(attributeName, attributeValue);
+			this.delegate.setAttribute(attributeName, storedValue);
+			this.delta.put(attributeName, storedValue);
+			if (this.deserializedAttributes != null) {
+				this.deserializedAttributes.remove(attributeName);
+			}
 			if (SPRING_SECURITY_CONTEXT.equals(attributeName)) {
 				Map<String, String> indexes = HazelcastIndexedSessionRepository.this.indexResolver
 						.resolveIndexesFor(this);
@@ -458,6 +898,23 @@ public class HazelcastIndexedSessionRepository
 			return (this.lastAccessedTimeChanged || this.maxInactiveIntervalChanged || !this.delta.isEmpty());
 		}
 
+		/**
+		 * Serialize the values of the attributes that have been read and are to be saved
+		 * again, so that changes made to mutable attribute values are saved as well.
+		 */
+		void serializeReadAttributes() {
+			if (this.deserializedAttributes == null) {
+				return;
+			}
+			this.deserializedAttributes.forEach((attributeName, attributeValue) -> {
+				if (this.delta.get(attributeName) instanceof byte[]) {
+					byte[] storedValue = HazelcastIndexedSessionRepository.this.serialize(attributeValue);
+					this.delegate.setAttribute(attributeName, storedValue);
+					this.delta.put(attributeName, storedValue);
+				}
+			});
+		}
+
 		void clearChangeFlags() {
 			this.isNew = false;
 			this.lastAccessedTimeChanged = false;
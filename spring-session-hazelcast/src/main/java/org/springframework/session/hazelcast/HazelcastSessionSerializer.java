@@ -0,0 +1,130 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.hazelcast;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+import org.springframework.session.MapSession;
+
+/**
+ * Hazelcast {@link StreamSerializer} for {@link MapSession}, which avoids the cost of Java
+ * serialization for the session itself. Attribute values are written using
+ * {@link ObjectDataOutput#writeObject(Object)}, so they are serialized using the
+ * serializer Hazelcast has registered for their type.
+ * <p>
+ * The serializer must be registered on every Hazelcast member and client that stores or
+ * reads sessions, for example:
+ *
+ * <pre class="code">
+ * SerializerConfig serializerConfig = new SerializerConfig()
+ *         .setImplementation(new HazelcastSessionSerializer())
+ *         .setTypeClass(MapSession.class);
+ *
+ * Config config = new Config();
+ * config.getSerializationConfig().addSerializerConfig(serializerConfig);
+ * </pre>
+ *
+ * @since 2.3.0
+ */
+public class HazelcastSessionSerializer implements StreamSerializer<MapSession> {
+
+	/**
+	 * The type id of this serializer.
+	 */
+	public static final int SERIALIZER_ID = 1453555;
+
+	@Override
+	public int getTypeId() {
+		return SERIALIZER_ID;
+	}
+
+	@Override
+	public void write(ObjectDataOutput out, MapSession session) throws IOException {
+		out.writeUTF(session.getOriginalId());
+		out.writeUTF(session.getId());
+		writeInstant(out, session.getCreationTime());
+		writeInstant(out, session.getLastAccessedTime());
+		writeDuration(out, session.getMaxInactiveInterval());
+		out.writeInt(session.getAttributeNames().size());
+		for (String attributeName : session.getAttributeNames()) {
+			out.writeUTF(attributeName);
+			out.writeObject(session.getAttribute(attributeName));
+		}
+	}
+
+	@Override
+	public MapSession read(ObjectDataInput in) throws IOException {
+		MapSession session = new MapSession(in.readUTF());
+		session.setId(in.readUTF());
+		session.setCreationTime(readInstant(in));
+		session.setLastAccessedTime(readInstant(in));
+		session.setMaxInactiveInterval(readDuration(in));
+		int attributeCount = in.readInt();
+		for (int i = 0; i < attributeCount; i++) {
+			session.setAttribute(in.readUTF(), in.readObject());
+		}
+		return session;
+	}
+
+	@Override
+	public void destroy() {
+	}
+
+	static void writeInstant(ObjectDataOutput out, Instant instant) throws IOException {
+		out.writeLong(instant.getEpochSecond());
+		out.writeInt(instant.getNano());
+	}
+
+	static Instant readInstant(ObjectDataInput in) throws IOException {
+		return Instant.ofEpochSecond(in.readLong(), in.readInt());
+	}
+
+	static void writeDuration(ObjectDataOutput out, Duration duration) throws IOException {
+		out.writeLong(duration.getSeconds());
+		out.writeInt(duration.getNano());
+	}
+
+	static Duration readDuration(ObjectDataInput in) throws IOException {
+		return Duration.ofSeconds(in.readLong(), in.readInt());
+	}
+
+	/**
+	 * Write the given attributes, where a {@code null} value denotes a removed attribute.
+	 */
+	static void writeAttributes(ObjectDataOutput out, Map<String, Object> attributes) throws IOException {
+		out.writeInt(attributes.size());
+		for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+			out.writeUTF(attribute.getKey());
+			out.writeObject(attribute.getValue());
+		}
+	}
+
+	static void readAttributes(ObjectDataInput in, Map<String, Object> attributes) throws IOException {
+		int attributeCount = in.readInt();
+		for (int i = 0; i < attributeCount; i++) {
+			attributes.put(in.readUTF(), in.readObject());
+		}
+	}
+
+}
@@ -0,0 +1,385 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.hazelcast;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.EntryProcessor;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.session.DelegatingIndexResolver;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.IndexResolver;
+import org.springframework.session.MapSession;
+import org.springframework.session.PrincipalNameIndexResolver;
+import org.springframework.session.ReactiveSessionRepository;
+import org.springframework.session.SaveMode;
+import org.springframework.session.Session;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * A {@link ReactiveSessionRepository} implementation that stores sessions in Hazelcast's
+ * distributed {@link IMap}. All map operations are issued through the asynchronous
+ * {@link IMap} API and adapted to {@link Mono}, so a calling event-loop thread never
+ * waits on a partition operation.
+ *
+ * <p>
+ * An example of how to create a new instance can be seen below:
+ *
+ * <pre class="code">
+ * HazelcastInstance hazelcastInstance = Hazelcast.newHazelcastInstance(config);
+ *
+ * ReactiveHazelcastSessionRepository sessionRepository =
+ *         new ReactiveHazelcastSessionRepository(hazelcastInstance);
+ * sessionRepository.init();
+ * </pre>
+ *
+ * The repository shares the map layout with {@link HazelcastIndexedSessionRepository},
+ * and updates to existing sessions and changes of the session id are applied using the
+ * same {@link SessionUpdateEntryProcessor} and {@link SessionIdChangeEntryProcessor}.
+ * This implementation does not support publishing of session events.
+ *
+ * @since 2.3.0
+ * @see HazelcastIndexedSessionRepository
+ */
+public class ReactiveHazelcastSessionRepository
+		implements ReactiveSessionRepository<ReactiveHazelcastSessionRepository.HazelcastSession> {
+
+	/**
+	 * The default name of map used by Spring Session to store sessions.
+	 */
+	public static final String DEFAULT_SESSION_MAP_NAME = HazelcastIndexedSessionRepository.DEFAULT_SESSION_MAP_NAME;
+
+	private static final String SPRING_SECURITY_CONTEXT = "SPRING_SECURITY_CONTEXT";
+
+	private static final boolean SUPPORTS_SET_TTL = ClassUtils.hasAtLeastOneMethodWithName(IMap.class, "setTtl");
+
+	private static final boolean SUPPORTS_ENTRY_TTL = ClassUtils.isPresent("com.hazelcast.map.ExtendedMapEntry",
+			ReactiveHazelcastSessionRepository.class.getClassLoader());
+
+	private final HazelcastInstance hazelcastInstance;
+
+	/**
+	 * If non-null, this value is used to override
+	 * {@link MapSession#setMaxInactiveInterval(Duration)}.
+	 */
+	private Integer defaultMaxInactiveInterval;
+
+	private IndexResolver<Session> indexResolver = new DelegatingIndexResolver<>(new PrincipalNameIndexResolver<>());
+
+	private String sessionMapName = DEFAULT_SESSION_MAP_NAME;
+
+	private SaveMode saveMode = SaveMode.ON_SET_ATTRIBUTE;
+
+	private IMap<String, MapSession> sessions;
+
+	/**
+	 * Create a new {@link ReactiveHazelcastSessionRepository} instance.
+	 * @param hazelcastInstance the {@link HazelcastInstance} to use for managing sessions
+	 */
+	public ReactiveHazelcastSessionRepository(HazelcastInstance hazelcastInstance) {
+		Assert.notNull(hazelcastInstance, "HazelcastInstance must not be null");
+		this.hazelcastInstance = hazelcastInstance;
+	}
+
+	@PostConstruct
+	public void init() {
+		this.sessions = this.hazelcastInstance.getMap(this.sessionMapName);
+	}
+
+	/**
+	 * Set the maximum inactive interval in seconds between requests before newly created
+	 * sessions will be invalidated. A negative time indicates that the session will never
+	 * timeout. The default is 1800 (30 minutes).
+	 * @param defaultMaxInactiveInterval the maximum inactive interval in seconds
+	 */
+	public void setDefaultMaxInactiveInterval(Integer defaultMaxInactiveInterval) {
+		this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+	}
+
+	/**
+	 * Set the {@link IndexResolver} to use.
+	 * @param indexResolver the index resolver
+	 */
+	public void setIndexResolver(IndexResolver<Session> indexResolver) {
+		Assert.notNull(indexResolver, "indexResolver cannot be null");
+		this.indexResolver = indexResolver;
+	}
+
+	/**
+	 * Set the name of map used to store sessions.
+	 * @param sessionMapName the session map name
+	 */
+	public void setSessionMapName(String sessionMapName) {
+		Assert.hasText(sessionMapName, "Map name must not be empty");
+		this.sessionMapName = sessionMapName;
+	}
+
+	/**
+	 * Set the save mode.
+	 * @param saveMode the save mode
+	 */
+	public void setSaveMode(SaveMode saveMode) {
+		Assert.notNull(saveMode, "saveMode must not be null");
+		this.saveMode = saveMode;
+	}
+
+	@Override
+	public Mono<HazelcastSession> createSession() {
+		return Mono.fromSupplier(() -> {
+			MapSession cached = new MapSession();
+			if (this.defaultMaxInactiveInterval != null) {
+				cached.setMaxInactiveInterval(Duration.ofSeconds(this.defaultMaxInactiveInterval));
+			}
+			return new HazelcastSession(cached, true);
+		});
+	}
+
+	@Override
+	public Mono<Void> save(HazelcastSession session) {
+		return Mono.defer(() -> {
+			if (session.isNew) {
+				return set(session);
+			}
+			else if (session.sessionIdChanged) {
+				String originalId = session.originalId;
+				Mono<?> retireOriginal;
+				if (SUPPORTS_ENTRY_TTL) {
+					SessionIdChangeEntryProcessor entryProcessor = new SessionIdChangeEntryProcessor();
+					entryProcessor.setSessionId(session.getId());
+					retireOriginal = submitToKey(originalId, entryProcessor);
+				}
+				else {
+					retireOriginal = toMono(() -> this.sessions.removeAsync(originalId));
+				}
+				return set(session).then(retireOriginal).then()
+						.doOnSuccess((aVoid) -> session.originalId = session.getId());
+			}
+			else if (session.hasChanges()) {
+				SessionUpdateEntryProcessor entryProcessor = new SessionUpdateEntryProcessor();
+				Mono<Void> updateTtl = Mono.empty();
+				if (session.lastAccessedTimeChanged) {
+					entryProcessor.setLastAccessedTime(session.getLastAccessedTime());
+				}
+				if (session.maxInactiveIntervalChanged) {
+					if (SUPPORTS_SET_TTL) {
+						updateTtl = updateTtl(session);
+					}
+					entryProcessor.setMaxInactiveInterval(session.getMaxInactiveInterval());
+				}
+				if (!session.delta.isEmpty()) {
+					entryProcessor.setDelta(new HashMap<>(session.delta));
+				}
+				return updateTtl.then(submitToKey(session.getId(), entryProcessor)).then();
+			}
+			return Mono.<Void>empty();
+		}).doOnSuccess((aVoid) -> session.clearChangeFlags());
+	}
+
+	@Override
+	public Mono<HazelcastSession> findById(String id) {
+		return toMono(() -> this.sessions.getAsync(id)).filter((saved) -> saved.getId().equals(id))
+				.flatMap((saved) -> {
+					if (saved.isExpired()) {
+						return deleteById(saved.getId()).then(Mono.<HazelcastSession>empty());
+					}
+					return Mono.just(new HazelcastSession(saved, false));
+				});
+	}
+
+	@Override
+	public Mono<Void> deleteById(String id) {
+		return toMono(() -> this.sessions.removeAsync(id)).then();
+	}
+
+	private Mono<Void> set(HazelcastSession session) {
+		return toMono(() -> this.sessions.setAsync(session.getId(), session.getDelegate(),
+				session.getMaxInactiveInterval().getSeconds(), TimeUnit.SECONDS));
+	}
+
+	@SuppressWarnings("unchecked")
+	private Mono<Object> submitToKey(String id, EntryProcessor<String, MapSession> entryProcessor) {
+		return toMono(() -> (ICompletableFuture<Object>) this.sessions.submitToKey(id, entryProcessor));
+	}
+
+	/**
+	 * {@link IMap} offers no asynchronous variant of {@code setTtl}, so the call is
+	 * offloaded to a worker thread. Changes of the maximum inactive interval are rare
+	 * compared to last access time and attribute updates.
+	 */
+	private Mono<Void> updateTtl(HazelcastSession session) {
+		return Mono.<Void>fromRunnable(() -> this.sessions.setTtl(session.getId(),
+				session.getMaxInactiveInterval().getSeconds(), TimeUnit.SECONDS))
+				.subscribeOn(Schedulers.boundedElastic());
+	}
+
+	private static <T> Mono<T> toMono(Supplier<ICompletableFuture<T>> futureSupplier) {
+		return Mono.create((sink) -> futureSupplier.get().andThen(new ExecutionCallback<T>() {
+
+			@Override
+			public void onResponse(T response) {
+				sink.success(response);
+			}
+
+			@Override
+			public void onFailure(Throwable t) {
+				sink.error(t);
+			}
+
+		}));
+	}
+
+	/**
+	 * A custom implementation of {@link Session} that uses a {@link MapSession} as the
+	 * basis for its mapping. It keeps track if changes have been made since last save.
+	 */
+	final class HazelcastSession implements Session {
+
+		private final MapSession delegate;
+
+		private boolean isNew;
+
+		private boolean sessionIdChanged;
+
+		private boolean lastAccessedTimeChanged;
+
+		private boolean maxInactiveIntervalChanged;
+
+		private String originalId;
+
+		private Map<String, Object> delta = new HashMap<>();
+
+		HazelcastSession(MapSession cached, boolean isNew) {
+			this.delegate = cached;
+			this.isNew = isNew;
+			this.originalId = cached.getId();
+			if (this.isNew || (ReactiveHazelcastSessionRepository.this.saveMode == SaveMode.ALWAYS)) {
+				getAttributeNames()
+						.forEach((attributeName) -> this.delta.put(attributeName, cached.getAttribute(attributeName)));
+			}
+		}
+
+		@Override
+		public void setLastAccessedTime(Instant lastAccessedTime) {
+			this.delegate.setLastAccessedTime(lastAccessedTime);
+			this.lastAccessedTimeChanged = true;
+		}
+
+		@Override
+		public boolean isExpired() {
+			return this.delegate.isExpired();
+		}
+
+		@Override
+		public Instant getCreationTime() {
+			return this.delegate.getCreationTime();
+		}
+
+		@Override
+		public String getId() {
+			return this.delegate.getId();
+		}
+
+		@Override
+		public String changeSessionId() {
+			String newSessionId = this.delegate.changeSessionId();
+			this.sessionIdChanged = true;
+			return newSessionId;
+		}
+
+		@Override
+		public Instant getLastAccessedTime() {
+			return this.delegate.getLastAccessedTime();
+		}
+
+		@Override
+		public void setMaxInactiveInterval(Duration interval) {
+			this.delegate.setMaxInactiveInterval(interval);
+			this.maxInactiveIntervalChanged = true;
+		}
+
+		@Override
+		public Duration getMaxInactiveInterval() {
+			return this.delegate.getMaxInactiveInterval();
+		}
+
+		@Override
+		public <T> T getAttribute(String attributeName) {
+			T attributeValue = this.delegate.getAttribute(attributeName);
+			if (attributeValue != null
+					&& ReactiveHazelcastSessionRepository.this.saveMode.equals(SaveMode.ON_GET_ATTRIBUTE)) {
+				this.delta.put(attributeName, attributeValue);
+			}
+			return attributeValue;
+		}
+
+		@Override
+		public Set<String> getAttributeNames() {
+			return this.delegate.getAttributeNames();
+		}
+
+		@Override
+		public void setAttribute(String attributeName, Object attributeValue) {
+			this.delegate.setAttribute(attributeName, attributeValue);
+			this.delta.put(attributeName, attributeValue);
+			if (SPRING_SECURITY_CONTEXT.equals(attributeName)) {
+				Map<String, String> indexes = ReactiveHazelcastSessionRepository.this.indexResolver
+						.resolveIndexesFor(this);
+				String principal = (attributeValue != null)
+						? indexes.get(FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME) : null;
+				this.delegate.setAttribute(FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME, principal);
+			}
+		}
+
+		@Override
+		public void removeAttribute(String attributeName) {
+			setAttribute(attributeName, null);
+		}
+
+		MapSession getDelegate() {
+			return this.delegate;
+		}
+
+		boolean hasChanges() {
+			return (this.lastAccessedTimeChanged || this.maxInactiveIntervalChanged || !this.delta.isEmpty());
+		}
+
+		void clearChangeFlags() {
+			this.isNew = false;
+			this.lastAccessedTimeChanged = false;
+			this.sessionIdChanged = false;
+			this.maxInactiveIntervalChanged = false;
+			this.delta.clear();
+		}
+
+	}
+
+}
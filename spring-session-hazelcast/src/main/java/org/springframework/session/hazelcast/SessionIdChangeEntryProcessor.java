@@ -0,0 +1,97 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.hazelcast;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.hazelcast.map.EntryBackupProcessor;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.ExtendedMapEntry;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+
+import org.springframework.session.MapSession;
+import org.springframework.session.hazelcast.HazelcastIndexedSessionRepository.HazelcastSession;
+
+/**
+ * Hazelcast {@link EntryProcessor} responsible for retiring the entry of a session whose
+ * id has been changed, after the session has been stored under its new id. Rather than
+ * removing the entry, which would publish an entry removed event carrying the whole
+ * session, the session is replaced by an empty session with the new id that expires
+ * after {@link #MOVED_SESSION_TIME_TO_LIVE_SECONDS}. Such a moved session is recognized
+ * by an id that does not match its key, and is ignored when reading sessions and
+ * filtered out of entry events using a {@link SessionRemovedPredicate}.
+ * <p>
+ * Requires Hazelcast 3.11 or later, as older versions do not support setting the time to
+ * live of an entry from an entry processor. Entries that do not support it are removed.
+ *
+ * @since 2.3.0
+ * @see HazelcastIndexedSessionRepository#save(HazelcastSession)
+ */
+public class SessionIdChangeEntryProcessor implements EntryProcessor<String, MapSession>,
+		EntryBackupProcessor<String, MapSession>, DataSerializable {
+
+	/**
+	 * The time to live of a moved session, in seconds.
+	 */
+	public static final long MOVED_SESSION_TIME_TO_LIVE_SECONDS = 1;
+
+	private String sessionId;
+
+	@Override
+	public Object process(Map.Entry<String, MapSession> entry) {
+		if (entry.getValue() == null) {
+			return Boolean.FALSE;
+		}
+		if (entry instanceof ExtendedMapEntry) {
+			((ExtendedMapEntry<String, MapSession>) entry).setValue(new MapSession(this.sessionId),
+					MOVED_SESSION_TIME_TO_LIVE_SECONDS, TimeUnit.SECONDS);
+		}
+		else {
+			entry.setValue(null);
+		}
+		return Boolean.TRUE;
+	}
+
+	@Override
+	public void processBackup(Map.Entry<String, MapSession> entry) {
+		process(entry);
+	}
+
+	@Override
+	public EntryBackupProcessor<String, MapSession> getBackupProcessor() {
+		return this;
+	}
+
+	@Override
+	public void writeData(ObjectDataOutput out) throws IOException {
+		out.writeUTF(this.sessionId);
+	}
+
+	@Override
+	public void readData(ObjectDataInput in) throws IOException {
+		this.sessionId = in.readUTF();
+	}
+
+	void setSessionId(String sessionId) {
+		this.sessionId = sessionId;
+	}
+
+}
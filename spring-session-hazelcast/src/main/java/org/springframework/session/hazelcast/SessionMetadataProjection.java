@@ -0,0 +1,84 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.hazelcast;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.projection.Projection;
+
+import org.springframework.session.MapSession;
+
+/**
+ * Hazelcast {@link Projection} that reduces a session to its metadata and the given
+ * attributes on the member that owns it, so that only those are sent to the caller. The
+ * projection is {@link DataSerializable}, so it is not subject to Java serialization.
+ *
+ * @since 2.3.0
+ * @see HazelcastIndexedSessionRepository#findMetadataByIndexNameAndIndexValue(String,
+ * String, Collection)
+ */
+public class SessionMetadataProjection extends Projection<Map.Entry<String, MapSession>, MapSession>
+		implements DataSerializable {
+
+	private Set<String> attributeNames = Collections.emptySet();
+
+	@Override
+	public MapSession transform(Map.Entry<String, MapSession> input) {
+		MapSession session = input.getValue();
+		MapSession metadata = new MapSession(session.getId());
+		metadata.setCreationTime(session.getCreationTime());
+		metadata.setLastAccessedTime(session.getLastAccessedTime());
+		metadata.setMaxInactiveInterval(session.getMaxInactiveInterval());
+		for (String attributeName : this.attributeNames) {
+			Object attributeValue = session.getAttribute(attributeName);
+			if (attributeValue != null) {
+				metadata.setAttribute(attributeName, attributeValue);
+			}
+		}
+		return metadata;
+	}
+
+	@Override
+	public void writeData(ObjectDataOutput out) throws IOException {
+		out.writeInt(this.attributeNames.size());
+		for (String attributeName : this.attributeNames) {
+			out.writeUTF(attributeName);
+		}
+	}
+
+	@Override
+	public void readData(ObjectDataInput in) throws IOException {
+		int attributeCount = in.readInt();
+		this.attributeNames = new HashSet<>(attributeCount);
+		for (int i = 0; i < attributeCount; i++) {
+			this.attributeNames.add(in.readUTF());
+		}
+	}
+
+	void setAttributeNames(Set<String> attributeNames) {
+		this.attributeNames = attributeNames;
+	}
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.hazelcast;
+
+import java.util.Map;
+
+import com.hazelcast.query.Predicate;
+
+import org.springframework.session.MapSession;
+
+/**
+ * Hazelcast {@link Predicate} that matches sessions whose id matches their key, which is
+ * used to filter entry evicted and removed events on the member that owns the entry so
+ * that none are sent to listeners for sessions left behind by a change of the session
+ * id.
+ *
+ * @since 2.3.0
+ * @see SessionIdChangeEntryProcessor
+ * @see HazelcastIndexedSessionRepository#setIncludeEventValues(boolean)
+ */
+public class SessionRemovedPredicate implements Predicate<String, MapSession> {
+
+	@Override
+	public boolean apply(Map.Entry<String, MapSession> mapEntry) {
+		MapSession session = mapEntry.getValue();
+		return session == null || session.getId().equals(mapEntry.getKey());
+	}
+
+}
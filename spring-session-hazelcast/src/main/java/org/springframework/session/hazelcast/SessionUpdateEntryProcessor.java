@@ -16,25 +16,33 @@
 
 package org.springframework.session.hazelcast;
 
+import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.Map;
 
 import com.hazelcast.core.Offloadable;
-import com.hazelcast.map.AbstractEntryProcessor;
+import com.hazelcast.map.EntryBackupProcessor;
 import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
 
 import org.springframework.session.MapSession;
 import org.springframework.session.hazelcast.HazelcastIndexedSessionRepository.HazelcastSession;
 
 /**
- * Hazelcast {@link EntryProcessor} responsible for handling updates to session.
+ * Hazelcast {@link EntryProcessor} responsible for handling updates to session. The
+ * processor is {@link DataSerializable}, so it is not subject to Java serialization and
+ * acts as its own {@link EntryBackupProcessor}.
  *
  * @author Vedran Pavic
  * @since 1.3.4
  * @see HazelcastIndexedSessionRepository#save(HazelcastSession)
  */
-public class SessionUpdateEntryProcessor extends AbstractEntryProcessor<String, MapSession> implements Offloadable {
+public class SessionUpdateEntryProcessor implements EntryProcessor<String, MapSession>,
+		EntryBackupProcessor<String, MapSession>, Offloadable, DataSerializable {
 
 	private Instant lastAccessedTime;
 
@@ -45,7 +53,7 @@ public class SessionUpdateEntryProcessor extends AbstractEntryProcessor<String,
 	@Override
 	public Object process(Map.Entry<String, MapSession> entry) {
 		MapSession value = entry.getValue();
-		if (value == null) {
+		if (value == null || !value.getId().equals(entry.getKey())) {
 			return Boolean.FALSE;
 		}
 		if (this.lastAccessedTime != null) {
@@ -68,11 +76,51 @@ public class SessionUpdateEntryProcessor extends AbstractEntryProcessor<String,
 		return Boolean.TRUE;
 	}
 
+	@Override
+	public void processBackup(Map.Entry<String, MapSession> entry) {
+		process(entry);
+	}
+
+	@Override
+	public EntryBackupProcessor<String, MapSession> getBackupProcessor() {
+		return this;
+	}
+
 	@Override
 	public String getExecutorName() {
 		return OFFLOADABLE_EXECUTOR;
 	}
 
+	@Override
+	public void writeData(ObjectDataOutput out) throws IOException {
+		out.writeBoolean(this.lastAccessedTime != null);
+		if (this.lastAccessedTime != null) {
+			HazelcastSessionSerializer.writeInstant(out, this.lastAccessedTime);
+		}
+		out.writeBoolean(this.maxInactiveInterval != null);
+		if (this.maxInactiveInterval != null) {
+			HazelcastSessionSerializer.writeDuration(out, this.maxInactiveInterval);
+		}
+		out.writeBoolean(this.delta != null);
+		if (this.delta != null) {
+			HazelcastSessionSerializer.writeAttributes(out, this.delta);
+		}
+	}
+
+	@Override
+	public void readData(ObjectDataInput in) throws IOException {
+		if (in.readBoolean()) {
+			this.lastAccessedTime = HazelcastSessionSerializer.readInstant(in);
+		}
+		if (in.readBoolean()) {
+			this.maxInactiveInterval = HazelcastSessionSerializer.readDuration(in);
+		}
+		if (in.readBoolean()) {
+			this.delta = new HashMap<>();
+			HazelcastSessionSerializer.readAttributes(in, this.delta);
+		}
+	}
+
 	void setLastAccessedTime(Instant lastAccessedTime) {
 		this.lastAccessedTime = lastAccessedTime;
 	}
@@ -123,4 +123,39 @@ public @interface EnableHazelcastHttpSession {
 	 */
 	SaveMode saveMode() default SaveMode.ON_SET_ATTRIBUTE;
 
+	/**
+	 * Whether to enable a near cache for the session map, so that sessions read by a
+	 * Hazelcast client are kept in its local memory. The near cache is invalidated when a
+	 * session is updated by any node. This requires the {@link HazelcastInstance} to be a
+	 * client that has not yet accessed the session map. A near cache that is already
+	 * configured for the session map in the client configuration is used as is. The
+	 * default is {@code false}.
+	 * @return whether to enable a near cache for the session map
+	 * @since 2.3.0
+	 */
+	boolean nearCacheEnabled() default false;
+
+	/**
+	 * Whether to configure the principal name attribute and a hash index on it for the
+	 * session map of an embedded Hazelcast member, so that finding sessions by principal
+	 * name does not scan all sessions. Nothing is changed if the attribute and index are
+	 * configured already. Hazelcast clients need the attribute and index to be configured
+	 * on the members. The default is {@code true}.
+	 * @return whether to configure the principal name index
+	 * @since 2.3.0
+	 */
+	boolean configurePrincipalNameIndex() default true;
+
+	/**
+	 * Whether sessions should expire using the max idle time of their map entry rather
+	 * than its time to live. Hazelcast then evicts sessions that have not been accessed
+	 * for {@link #maxInactiveIntervalInSeconds()}, so requests that only update the last
+	 * accessed time of a session do not write to the session map. This cannot be combined
+	 * with {@link #nearCacheEnabled()}, as reads served by a near cache are not seen by
+	 * the members. The default is {@code false}.
+	 * @return whether sessions should expire using the max idle time of their map entry
+	 * @since 2.3.0
+	 */
+	boolean maxIdleExpiration() default false;
+
 }
@@ -20,7 +20,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.impl.clientside.HazelcastClientProxy;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapAttributeConfig;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.core.HazelcastInstance;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -39,8 +49,11 @@ import org.springframework.session.config.SessionRepositoryCustomizer;
 import org.springframework.session.config.annotation.web.http.SpringHttpSessionConfiguration;
 import org.springframework.session.hazelcast.HazelcastFlushMode;
 import org.springframework.session.hazelcast.HazelcastIndexedSessionRepository;
+import org.springframework.session.hazelcast.PrincipalNameExtractor;
 import org.springframework.session.hazelcast.config.annotation.SpringSessionHazelcastInstance;
 import org.springframework.session.web.http.SessionRepositoryFilter;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -56,6 +69,12 @@ import org.springframework.util.StringUtils;
 @Configuration(proxyBeanMethods = false)
 public class HazelcastHttpSessionConfiguration extends SpringHttpSessionConfiguration implements ImportAware {
 
+	private static final boolean HAZELCAST_CLIENT_PRESENT = ClassUtils.isPresent(
+			"com.hazelcast.client.impl.clientside.HazelcastClientProxy",
+			HazelcastHttpSessionConfiguration.class.getClassLoader());
+
+	private static final Log logger = LogFactory.getLog(HazelcastHttpSessionConfiguration.class);
+
 	private Integer maxInactiveIntervalInSeconds = MapSession.DEFAULT_MAX_INACTIVE_INTERVAL_SECONDS;
 
 	private String sessionMapName = HazelcastIndexedSessionRepository.DEFAULT_SESSION_MAP_NAME;
@@ -64,6 +83,12 @@ public class HazelcastHttpSessionConfiguration extends SpringHttpSessionConfigur
 
 	private SaveMode saveMode = SaveMode.ON_SET_ATTRIBUTE;
 
+	private boolean nearCacheEnabled;
+
+	private boolean configurePrincipalNameIndex = true;
+
+	private boolean maxIdleExpiration;
+
 	private HazelcastInstance hazelcastInstance;
 
 	private ApplicationEventPublisher applicationEventPublisher;
@@ -74,6 +99,25 @@ public class HazelcastHttpSessionConfiguration extends SpringHttpSessionConfigur
 
 	@Bean
 	public HazelcastIndexedSessionRepository sessionRepository() {
+		String sessionMapName = StringUtils.hasText(this.sessionMapName) ? this.sessionMapName
+				: HazelcastIndexedSessionRepository.DEFAULT_SESSION_MAP_NAME;
+		boolean client = HAZELCAST_CLIENT_PRESENT && ClientConfigurer.isClient(this.hazelcastInstance);
+		if (this.nearCacheEnabled) {
+			Assert.state(!this.maxIdleExpiration, "Max idle expiration cannot be combined with a near cache");
+			Assert.state(client, "Near cache can only be enabled for a Hazelcast client");
+			ClientConfigurer.configureNearCache(this.hazelcastInstance, sessionMapName,
+					this.maxInactiveIntervalInSeconds);
+		}
+		if (this.configurePrincipalNameIndex) {
+			if (client) {
+				logger.warn("Unable to configure the principal name index for session map '" + sessionMapName
+						+ "' from a Hazelcast client, the index must be configured on the cluster members"
+						+ " or finding sessions by principal name will scan all sessions");
+			}
+			else {
+				configurePrincipalNameIndex(this.hazelcastInstance.getConfig(), sessionMapName);
+			}
+		}
 		HazelcastIndexedSessionRepository sessionRepository = new HazelcastIndexedSessionRepository(
 				this.hazelcastInstance);
 		sessionRepository.setApplicationEventPublisher(this.applicationEventPublisher);
@@ -86,6 +130,7 @@ public class HazelcastHttpSessionConfiguration extends SpringHttpSessionConfigur
 		sessionRepository.setDefaultMaxInactiveInterval(this.maxInactiveIntervalInSeconds);
 		sessionRepository.setFlushMode(this.flushMode);
 		sessionRepository.setSaveMode(this.saveMode);
+		sessionRepository.setMaxIdleExpiration(this.maxIdleExpiration);
 		this.sessionRepositoryCustomizers
 				.forEach((sessionRepositoryCustomizer) -> sessionRepositoryCustomizer.customize(sessionRepository));
 		return sessionRepository;
@@ -112,6 +157,18 @@ public class HazelcastHttpSessionConfiguration extends SpringHttpSessionConfigur
 		this.saveMode = saveMode;
 	}
 
+	public void setNearCacheEnabled(boolean nearCacheEnabled) {
+		this.nearCacheEnabled = nearCacheEnabled;
+	}
+
+	public void setConfigurePrincipalNameIndex(boolean configurePrincipalNameIndex) {
+		this.configurePrincipalNameIndex = configurePrincipalNameIndex;
+	}
+
+	public void setMaxIdleExpiration(boolean maxIdleExpiration) {
+		this.maxIdleExpiration = maxIdleExpiration;
+	}
+
 	@Autowired
 	public void setHazelcastInstance(
 			@SpringSessionHazelcastInstance ObjectProvider<HazelcastInstance> springSessionHazelcastInstance,
@@ -157,6 +214,75 @@ public class HazelcastHttpSessionConfiguration extends SpringHttpSessionConfigur
 		}
 		this.flushMode = flushMode;
 		this.saveMode = attributes.getEnum("saveMode");
+		this.nearCacheEnabled = attributes.getBoolean("nearCacheEnabled");
+		this.configurePrincipalNameIndex = attributes.getBoolean("configurePrincipalNameIndex");
+		this.maxIdleExpiration = attributes.getBoolean("maxIdleExpiration");
+	}
+
+	/**
+	 * Adds the principal name attribute and a hash index on it to the configuration of
+	 * the session map of a Hazelcast member, unless both are configured already. The
+	 * configuration is added as dynamic configuration based on the configuration that
+	 * currently applies to the session map, which must not be accessed before.
+	 */
+	private static void configurePrincipalNameIndex(Config config, String sessionMapName) {
+		String attribute = HazelcastIndexedSessionRepository.PRINCIPAL_NAME_ATTRIBUTE;
+		MapConfig mapConfig = config.findMapConfig(sessionMapName);
+		boolean attributeConfigured = mapConfig.getMapAttributeConfigs().stream()
+				.anyMatch((attributeConfig) -> attribute.equals(attributeConfig.getName()));
+		boolean indexConfigured = mapConfig.getMapIndexConfigs().stream()
+				.anyMatch((indexConfig) -> attribute.equals(indexConfig.getAttribute()));
+		if (attributeConfigured && indexConfigured) {
+			return;
+		}
+		MapConfig sessionMapConfig = new MapConfig(mapConfig).setName(sessionMapName);
+		if (!attributeConfigured) {
+			sessionMapConfig
+					.addMapAttributeConfig(new MapAttributeConfig(attribute, PrincipalNameExtractor.class.getName()));
+		}
+		if (!indexConfigured) {
+			sessionMapConfig.addMapIndexConfig(new MapIndexConfig(attribute, false));
+		}
+		try {
+			config.addMapConfig(sessionMapConfig);
+		}
+		catch (RuntimeException ex) {
+			logger.warn("Unable to configure the principal name index for session map '" + sessionMapName
+					+ "', finding sessions by principal name will scan all sessions", ex);
+		}
+	}
+
+	/**
+	 * Configuration that is specific to Hazelcast clients, which is kept separate to
+	 * avoid a hard dependency on hazelcast-client.
+	 */
+	private static final class ClientConfigurer {
+
+		private ClientConfigurer() {
+		}
+
+		static boolean isClient(HazelcastInstance hazelcastInstance) {
+			return hazelcastInstance instanceof HazelcastClientProxy;
+		}
+
+		/**
+		 * Adds a near cache for the session map to the configuration of a Hazelcast
+		 * client. The client creates the near cache when the map is first accessed.
+		 */
+		static void configureNearCache(HazelcastInstance hazelcastInstance, String sessionMapName,
+				int maxInactiveIntervalInSeconds) {
+			ClientConfig clientConfig = ((HazelcastClientProxy) hazelcastInstance).getClientConfig();
+			if (clientConfig.getNearCacheConfigMap().containsKey(sessionMapName)) {
+				return;
+			}
+			NearCacheConfig nearCacheConfig = new NearCacheConfig(sessionMapName)
+					.setInMemoryFormat(InMemoryFormat.BINARY).setInvalidateOnChange(true);
+			if (maxInactiveIntervalInSeconds > 0) {
+				nearCacheConfig.setMaxIdleSeconds(maxInactiveIntervalInSeconds);
+			}
+			clientConfig.addNearCacheConfig(nearCacheConfig);
+		}
+
 	}
 
 }
@@ -18,20 +18,35 @@ package org.springframework.session.hazelcast;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
+import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
 import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.ExtendedMapEntry;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
 import com.hazelcast.map.listener.MapListener;
+import com.hazelcast.monitor.LocalMapStats;
+import com.hazelcast.monitor.NearCacheStats;
 import com.hazelcast.query.impl.predicates.EqualPredicate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.AuthorityUtils;
@@ -39,6 +54,8 @@ import org.springframework.session.FindByIndexNameSessionRepository;
 import org.springframework.session.FlushMode;
 import org.springframework.session.MapSession;
 import org.springframework.session.SaveMode;
+import org.springframework.session.events.SessionCreatedEvent;
+import org.springframework.session.events.SessionDeletedEvent;
 import org.springframework.session.hazelcast.HazelcastIndexedSessionRepository.HazelcastSession;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -52,6 +69,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -318,6 +336,19 @@ class HazelcastIndexedSessionRepositoryTests {
 		verifyZeroInteractions(this.sessions);
 	}
 
+	@Test
+	void getSessionMoved() {
+		verify(this.sessions, times(1)).addEntryListener(any(MapListener.class), anyBoolean());
+
+		given(this.sessions.get(eq("originalId"))).willReturn(new MapSession("changedId"));
+
+		HazelcastSession session = this.repository.findById("originalId");
+
+		assertThat(session).isNull();
+		verify(this.sessions, times(1)).get(eq("originalId"));
+		verifyZeroInteractions(this.sessions);
+	}
+
 	@Test
 	void getSessionFound() {
 		verify(this.sessions, times(1)).addEntryListener(any(MapListener.class), anyBoolean());
@@ -334,6 +365,18 @@ class HazelcastIndexedSessionRepositoryTests {
 		verifyZeroInteractions(this.sessions);
 	}
 
+	@Test
+	void touch() {
+		verify(this.sessions, times(1)).addEntryListener(any(MapListener.class), anyBoolean());
+
+		String sessionId = "testSessionId";
+
+		this.repository.touch(sessionId, Instant.now());
+
+		verify(this.sessions, times(1)).executeOnKey(eq(sessionId), any(SessionUpdateEntryProcessor.class));
+		verifyZeroInteractions(this.sessions);
+	}
+
 	@Test
 	void delete() {
 		verify(this.sessions, times(1)).addEntryListener(any(MapListener.class), anyBoolean());
@@ -397,6 +440,84 @@ class HazelcastIndexedSessionRepositoryTests {
 		verifyZeroInteractions(this.sessions);
 	}
 
+	@Test
+	void findIdsByPrincipalName() {
+		verify(this.sessions, times(1)).addEntryListener(any(MapListener.class), anyBoolean());
+
+		given(this.sessions.keySet(isA(EqualPredicate.class))).willReturn(Collections.singleton("id1"));
+
+		Set<String> ids = this.repository.findIdsByPrincipalName("username");
+
+		assertThat(ids).containsOnly("id1");
+		verify(this.sessions, times(1)).keySet(isA(EqualPredicate.class));
+		verifyZeroInteractions(this.sessions);
+	}
+
+	@Test
+	void findMetadataByIndexNameAndIndexValueUnknownIndexName() {
+		verify(this.sessions, times(1)).addEntryListener(any(MapListener.class), anyBoolean());
+
+		Map<String, MapSession> sessions = this.repository.findMetadataByIndexNameAndIndexValue("testIndexName",
+				"testIndexValue", Collections.emptySet());
+
+		assertThat(sessions).isEmpty();
+		verifyZeroInteractions(this.sessions);
+	}
+
+	@Test
+	void findMetadataByPrincipalName() {
+		verify(this.sessions, times(1)).addEntryListener(any(MapListener.class), anyBoolean());
+
+		MapSession metadata = new MapSession();
+		metadata.setAttribute("attribute1", "value1");
+		given(this.sessions.project(isA(SessionMetadataProjection.class), isA(EqualPredicate.class)))
+				.willReturn(Collections.singletonList(metadata));
+
+		Map<String, MapSession> sessions = this.repository.findMetadataByPrincipalName("username",
+				Collections.singleton("attribute1"));
+
+		assertThat(sessions).containsOnlyKeys(metadata.getId());
+		assertThat(sessions.get(metadata.getId()).<String>getAttribute("attribute1")).isEqualTo("value1");
+		ArgumentCaptor<SessionMetadataProjection> captor = ArgumentCaptor.forClass(SessionMetadataProjection.class);
+		verify(this.sessions, times(1)).project(captor.capture(), isA(EqualPredicate.class));
+		assertThat(ReflectionTestUtils.getField(captor.getValue(), "attributeNames"))
+				.isEqualTo(Collections.singleton("attribute1"));
+		verifyZeroInteractions(this.sessions);
+	}
+
+	@Test
+	void findMetadataByPrincipalNameWithSerializedAttributes() {
+		this.repository.setSerializeAttributes(true);
+		MapSession metadata = new MapSession();
+		metadata.setAttribute("attribute1", new SerializingConverter().convert("value1"));
+		given(this.sessions.project(isA(SessionMetadataProjection.class), isA(EqualPredicate.class)))
+				.willReturn(Collections.singletonList(metadata));
+
+		Map<String, MapSession> sessions = this.repository.findMetadataByPrincipalName("username",
+				Collections.singleton("attribute1"));
+
+		assertThat(sessions.get(metadata.getId()).<String>getAttribute("attribute1")).isEqualTo("value1");
+	}
+
+	@Test
+	void sessionMetadataProjection() {
+		MapSession session = new MapSession();
+		session.setMaxInactiveInterval(Duration.ofMinutes(5));
+		session.setAttribute("attribute1", "value1");
+		session.setAttribute("attribute2", "value2");
+		SessionMetadataProjection projection = new SessionMetadataProjection();
+		projection.setAttributeNames(new HashSet<>(Arrays.asList("attribute1", "attribute3")));
+
+		MapSession metadata = projection.transform(new AbstractMap.SimpleEntry<>(session.getId(), session));
+
+		assertThat(metadata.getId()).isEqualTo(session.getId());
+		assertThat(metadata.getCreationTime()).isEqualTo(session.getCreationTime());
+		assertThat(metadata.getLastAccessedTime()).isEqualTo(session.getLastAccessedTime());
+		assertThat(metadata.getMaxInactiveInterval()).isEqualTo(Duration.ofMinutes(5));
+		assertThat(metadata.getAttributeNames()).containsOnly("attribute1");
+		assertThat(metadata.<String>getAttribute("attribute1")).isEqualTo("value1");
+	}
+
 	@Test // gh-1120
 	void getAttributeNamesAndRemove() {
 		HazelcastSession session = this.repository.createSession();
@@ -467,4 +588,322 @@ class HazelcastIndexedSessionRepositoryTests {
 		verifyZeroInteractions(this.sessions);
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	void saveWithSerializedAttributesAndSaveModeOnGetAttribute() {
+		verify(this.sessions).addEntryListener(any(MapListener.class), anyBoolean());
+		this.repository.setSerializeAttributes(true);
+		this.repository.setSaveMode(SaveMode.ON_GET_ATTRIBUTE);
+		MapSession delegate = new MapSession();
+		delegate.setAttribute("attribute1", new SerializingConverter().convert(new ArrayList<>()));
+		HazelcastSession session = this.repository.new HazelcastSession(delegate, false);
+		session.<List<String>>getAttribute("attribute1").add("value1");
+		this.repository.save(session);
+		ArgumentCaptor<SessionUpdateEntryProcessor> captor = ArgumentCaptor.forClass(SessionUpdateEntryProcessor.class);
+		verify(this.sessions).executeOnKey(eq(session.getId()), captor.capture());
+		Map<String, Object> delta = (Map<String, Object>) ReflectionTestUtils.getField(captor.getValue(), "delta");
+		assertThat(new DeserializingConverter().convert((byte[]) delta.get("attribute1")))
+				.isEqualTo(Collections.singletonList("value1"));
+		verifyZeroInteractions(this.sessions);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void saveWithSerializedAttributesAndSaveModeAlways() {
+		verify(this.sessions).addEntryListener(any(MapListener.class), anyBoolean());
+		this.repository.setSerializeAttributes(true);
+		this.repository.setSaveMode(SaveMode.ALWAYS);
+		MapSession delegate = new MapSession();
+		delegate.setAttribute("attribute1", new SerializingConverter().convert(new ArrayList<>()));
+		HazelcastSession session = this.repository.new HazelcastSession(delegate, false);
+		session.<List<String>>getAttribute("attribute1").add("value1");
+		this.repository.save(session);
+		ArgumentCaptor<SessionUpdateEntryProcessor> captor = ArgumentCaptor.forClass(SessionUpdateEntryProcessor.class);
+		verify(this.sessions).executeOnKey(eq(session.getId()), captor.capture());
+		Map<String, Object> delta = (Map<String, Object>) ReflectionTestUtils.getField(captor.getValue(), "delta");
+		assertThat(new DeserializingConverter().convert((byte[]) delta.get("attribute1")))
+				.isEqualTo(Collections.singletonList("value1"));
+		verifyZeroInteractions(this.sessions);
+	}
+
+	@Test
+	void initWithoutEventValues() {
+		HazelcastIndexedSessionRepository repository = new HazelcastIndexedSessionRepository(this.hazelcastInstance);
+		repository.setIncludeEventValues(false);
+		repository.init();
+		verify(this.sessions).addEntryListener(any(MapListener.class), isA(SessionRemovedPredicate.class), eq(false));
+		verify(this.sessions).addEntryListener(isA(EntryAddedListener.class), isA(SessionCreatedPredicate.class),
+				eq(false));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void sessionCreatedEventWithoutEventValues() {
+		ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+		HazelcastIndexedSessionRepository repository = new HazelcastIndexedSessionRepository(this.hazelcastInstance);
+		repository.setApplicationEventPublisher(eventPublisher);
+		repository.setIncludeEventValues(false);
+		repository.init();
+		ArgumentCaptor<EntryAddedListener<String, MapSession>> listener = ArgumentCaptor
+				.forClass(EntryAddedListener.class);
+		verify(this.sessions).addEntryListener(listener.capture(), isA(SessionCreatedPredicate.class), eq(false));
+		MapSession saved = new MapSession();
+		saved.setAttribute("attribute1", "value1");
+		given(this.sessions.get(eq(saved.getId()))).willReturn(saved);
+		EntryEvent<String, MapSession> event = mock(EntryEvent.class);
+		given(event.getKey()).willReturn(saved.getId());
+
+		listener.getValue().entryAdded(event);
+
+		ArgumentCaptor<SessionCreatedEvent> createdEvent = ArgumentCaptor.forClass(SessionCreatedEvent.class);
+		verify(eventPublisher).publishEvent(createdEvent.capture());
+		assertThat(createdEvent.getValue().getSessionId()).isEqualTo(saved.getId());
+		verify(this.sessions, never()).get(anyString());
+		assertThat(createdEvent.getValue().getSession().<String>getAttribute("attribute1")).isEqualTo("value1");
+		verify(this.sessions).get(eq(saved.getId()));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void sessionDeletedEventWithoutEventValues() {
+		ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+		HazelcastIndexedSessionRepository repository = new HazelcastIndexedSessionRepository(this.hazelcastInstance);
+		repository.setApplicationEventPublisher(eventPublisher);
+		repository.setIncludeEventValues(false);
+		repository.init();
+		ArgumentCaptor<MapListener> listener = ArgumentCaptor.forClass(MapListener.class);
+		verify(this.sessions).addEntryListener(listener.capture(), isA(SessionRemovedPredicate.class), eq(false));
+		EntryEvent<String, MapSession> event = mock(EntryEvent.class);
+		given(event.getKey()).willReturn("1");
+
+		((EntryRemovedListener<String, MapSession>) listener.getValue()).entryRemoved(event);
+
+		ArgumentCaptor<SessionDeletedEvent> deletedEvent = ArgumentCaptor.forClass(SessionDeletedEvent.class);
+		verify(eventPublisher).publishEvent(deletedEvent.capture());
+		assertThat(deletedEvent.getValue().getSessionId()).isEqualTo("1");
+	}
+
+	@Test
+	void saveChangedSessionId() {
+		verify(this.sessions, times(1)).addEntryListener(any(MapListener.class), anyBoolean());
+
+		MapSession saved = new MapSession();
+		String originalId = saved.getId();
+		HazelcastSession session = this.repository.new HazelcastSession(saved, false);
+		session.changeSessionId();
+		this.repository.save(session);
+
+		verify(this.sessions, times(1)).set(eq(session.getId()), eq(saved), isA(Long.class), eq(TimeUnit.SECONDS));
+		ArgumentCaptor<SessionIdChangeEntryProcessor> captor = ArgumentCaptor
+				.forClass(SessionIdChangeEntryProcessor.class);
+		verify(this.sessions, times(1)).executeOnKey(eq(originalId), captor.capture());
+		assertThat(ReflectionTestUtils.getField(captor.getValue(), "sessionId")).isEqualTo(session.getId());
+		verifyZeroInteractions(this.sessions);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void sessionIdChangeEntryProcessor() {
+		ExtendedMapEntry<String, MapSession> entry = mock(ExtendedMapEntry.class);
+		given(entry.getValue()).willReturn(new MapSession("originalId"));
+		SessionIdChangeEntryProcessor entryProcessor = new SessionIdChangeEntryProcessor();
+		entryProcessor.setSessionId("changedId");
+
+		assertThat(entryProcessor.process(entry)).isEqualTo(Boolean.TRUE);
+
+		ArgumentCaptor<MapSession> captor = ArgumentCaptor.forClass(MapSession.class);
+		verify(entry).setValue(captor.capture(), eq(SessionIdChangeEntryProcessor.MOVED_SESSION_TIME_TO_LIVE_SECONDS),
+				eq(TimeUnit.SECONDS));
+		assertThat(captor.getValue().getId()).isEqualTo("changedId");
+		assertThat(captor.getValue().getAttributeNames()).isEmpty();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void movedSessionRemovedEvent() {
+		ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+		this.repository.setApplicationEventPublisher(eventPublisher);
+		EntryEvent<String, MapSession> event = mock(EntryEvent.class);
+		given(event.getKey()).willReturn("originalId");
+		given(event.getOldValue()).willReturn(new MapSession("changedId"));
+
+		this.repository.entryEvicted(event);
+		this.repository.entryRemoved(event);
+
+		verifyZeroInteractions(eventPublisher);
+	}
+
+	@Test
+	void sessionRemovedPredicate() {
+		MapSession session = new MapSession();
+		SessionRemovedPredicate predicate = new SessionRemovedPredicate();
+		assertThat(predicate.apply(new AbstractMap.SimpleEntry<>(session.getId(), session))).isTrue();
+		assertThat(predicate.apply(new AbstractMap.SimpleEntry<>("originalId", session))).isFalse();
+	}
+
+	@Test
+	void sessionCreatedPredicate() {
+		MapSession session = new MapSession();
+		SessionCreatedPredicate predicate = new SessionCreatedPredicate();
+		assertThat(predicate.apply(new AbstractMap.SimpleEntry<>(session.getId(), session))).isTrue();
+		session.changeSessionId();
+		assertThat(predicate.apply(new AbstractMap.SimpleEntry<>(session.getId(), session))).isFalse();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void saveNewWithSerializedAttributes() {
+		this.repository.setSerializeAttributes(true);
+		HazelcastSession session = this.repository.createSession();
+		session.setAttribute("attribute1", "value1");
+		session.setAttribute(FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME, "user");
+		this.repository.save(session);
+		ArgumentCaptor<MapSession> captor = ArgumentCaptor.forClass(MapSession.class);
+		verify(this.sessions).set(eq(session.getId()), captor.capture(), isA(Long.class), eq(TimeUnit.SECONDS));
+		assertThat(captor.getValue().<Object>getAttribute("attribute1"))
+				.isEqualTo(new SerializingConverter().convert("value1"));
+		assertThat(captor.getValue().<Object>getAttribute(FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME))
+				.isEqualTo("user");
+		assertThat(session.<String>getAttribute("attribute1")).isEqualTo("value1");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void saveUpdatedWithSerializedAttributes() {
+		this.repository.setSerializeAttributes(true);
+		MapSession saved = new MapSession();
+		saved.setAttribute("attribute1", new SerializingConverter().convert("value1"));
+		saved.setAttribute("attribute2", new SerializingConverter().convert("value2"));
+		given(this.sessions.get(eq(saved.getId()))).willReturn(saved);
+		HazelcastSession session = this.repository.findById(saved.getId());
+		assertThat(session.<String>getAttribute("attribute1")).isEqualTo("value1");
+		session.setAttribute("attribute2", "value3");
+		assertThat(session.<String>getAttribute("attribute2")).isEqualTo("value3");
+		this.repository.save(session);
+		ArgumentCaptor<SessionUpdateEntryProcessor> captor = ArgumentCaptor.forClass(SessionUpdateEntryProcessor.class);
+		verify(this.sessions).executeOnKey(eq(session.getId()), captor.capture());
+		assertThat((Map<String, Object>) ReflectionTestUtils.getField(captor.getValue(), "delta"))
+				.containsOnlyKeys("attribute2")
+				.containsEntry("attribute2", new SerializingConverter().convert("value3"));
+	}
+
+	@Test
+	void setConversionServiceNull() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.repository.setConversionService(null))
+				.withMessage("conversionService must not be null");
+	}
+
+	@Test
+	void getNearCacheStats() {
+		LocalMapStats localMapStats = mock(LocalMapStats.class);
+		NearCacheStats nearCacheStats = mock(NearCacheStats.class);
+		given(this.sessions.getLocalMapStats()).willReturn(localMapStats);
+		given(localMapStats.getNearCacheStats()).willReturn(nearCacheStats);
+		assertThat(this.repository.getNearCacheStats()).isSameAs(nearCacheStats);
+	}
+
+	@Test
+	void saveNewWithMaxIdleExpiration() {
+		this.repository.setMaxIdleExpiration(true);
+		HazelcastSession session = this.repository.createSession();
+		session.setMaxInactiveInterval(Duration.ofSeconds(60));
+		this.repository.save(session);
+		verify(this.sessions).set(eq(session.getId()), eq(session.getDelegate()), eq(0L), eq(TimeUnit.SECONDS),
+				eq(60L), eq(TimeUnit.SECONDS));
+	}
+
+	@Test
+	void saveUpdatedLastAccessedTimeWithMaxIdleExpiration() {
+		this.repository.setMaxIdleExpiration(true);
+		MapSession saved = new MapSession();
+		given(this.sessions.get(eq(saved.getId()))).willReturn(saved);
+		HazelcastSession session = this.repository.findById(saved.getId());
+		session.setLastAccessedTime(Instant.now());
+		this.repository.save(session);
+		verify(this.sessions, never()).executeOnKey(anyString(), any(EntryProcessor.class));
+		verify(this.sessions, never()).set(anyString(), any(MapSession.class), anyLong(), any(TimeUnit.class),
+				anyLong(), any(TimeUnit.class));
+	}
+
+	@Test
+	void saveUpdatedAttributeWithMaxIdleExpiration() {
+		this.repository.setMaxIdleExpiration(true);
+		MapSession saved = new MapSession();
+		given(this.sessions.get(eq(saved.getId()))).willReturn(saved);
+		HazelcastSession session = this.repository.findById(saved.getId());
+		session.setLastAccessedTime(Instant.now());
+		session.setAttribute("attribute", "value");
+		this.repository.save(session);
+		verify(this.sessions).executeOnKey(eq(session.getId()), any(EntryProcessor.class));
+	}
+
+	@Test
+	void saveUpdatedMaxInactiveIntervalWithMaxIdleExpiration() {
+		this.repository.setMaxIdleExpiration(true);
+		MapSession saved = new MapSession();
+		given(this.sessions.get(eq(saved.getId()))).willReturn(saved);
+		HazelcastSession session = this.repository.findById(saved.getId());
+		session.setMaxInactiveInterval(Duration.ofSeconds(-1));
+		this.repository.save(session);
+		verify(this.sessions).set(eq(session.getId()), eq(session.getDelegate()), eq(0L), eq(TimeUnit.SECONDS),
+				eq(0L), eq(TimeUnit.SECONDS));
+		verify(this.sessions, never()).setTtl(anyString(), anyLong(), any(TimeUnit.class));
+		verify(this.sessions, never()).executeOnKey(anyString(), any(EntryProcessor.class));
+	}
+
+	@Test
+	void getSessionWithStaleLastAccessedTimeAndMaxIdleExpiration() {
+		this.repository.setMaxIdleExpiration(true);
+		MapSession saved = new MapSession();
+		saved.setLastAccessedTime(Instant.now().minusSeconds(MapSession.DEFAULT_MAX_INACTIVE_INTERVAL_SECONDS + 1));
+		given(this.sessions.get(eq(saved.getId()))).willReturn(saved);
+		HazelcastSession session = this.repository.findById(saved.getId());
+		assertThat(session).isNotNull();
+		verify(this.sessions, never()).remove(anyString());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void findAllById() {
+		MapSession saved = new MapSession();
+		MapSession expired = new MapSession();
+		expired.setLastAccessedTime(Instant.now().minusSeconds(MapSession.DEFAULT_MAX_INACTIVE_INTERVAL_SECONDS + 1));
+		Map<String, MapSession> found = new HashMap<>();
+		found.put(saved.getId(), saved);
+		found.put(expired.getId(), expired);
+		given(this.sessions.getAll(any(Set.class))).willReturn(found);
+
+		Map<String, HazelcastSession> sessions = this.repository
+				.findAllById(Arrays.asList(saved.getId(), expired.getId(), "missing"));
+
+		assertThat(sessions).containsOnlyKeys(saved.getId());
+		verify(this.sessions).getAll(new HashSet<>(Arrays.asList(saved.getId(), expired.getId(), "missing")));
+		verify(this.sessions).executeOnKeys(eq(Collections.singleton(expired.getId())),
+				isA(SessionRemoveEntryProcessor.class));
+	}
+
+	@Test
+	void findAllByIdEmpty() {
+		verify(this.sessions, times(1)).addEntryListener(any(MapListener.class), anyBoolean());
+
+		assertThat(this.repository.findAllById(Collections.emptyList())).isEmpty();
+		verifyZeroInteractions(this.sessions);
+	}
+
+	@Test
+	void deleteAllById() {
+		this.repository.deleteAllById(Arrays.asList("id1", "id2", "id1"));
+		verify(this.sessions).executeOnKeys(eq(new HashSet<>(Arrays.asList("id1", "id2"))),
+				isA(SessionRemoveEntryProcessor.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void sessionRemoveEntryProcessor() {
+		Map.Entry<String, MapSession> entry = mock(Map.Entry.class);
+		given(entry.getValue()).willReturn(new MapSession());
+		assertThat(new SessionRemoveEntryProcessor().process(entry)).isNull();
+		verify(entry).setValue(null);
+	}
+
 }
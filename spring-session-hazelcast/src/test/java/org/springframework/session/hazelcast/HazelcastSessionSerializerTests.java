@@ -0,0 +1,119 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.hazelcast;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.hazelcast.config.SerializerConfig;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.session.MapSession;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link HazelcastSessionSerializer} and the serialization of
+ * {@link SessionUpdateEntryProcessor}.
+ */
+class HazelcastSessionSerializerTests {
+
+	private final SerializationService serializationService = new DefaultSerializationServiceBuilder()
+			.addSerializerConfig(new SerializerConfig().setImplementation(new HazelcastSessionSerializer())
+					.setTypeClass(MapSession.class))
+			.build();
+
+	@Test
+	void serializeSession() {
+		MapSession session = new MapSession();
+		session.setLastAccessedTime(session.getCreationTime().plusMillis(1));
+		session.setMaxInactiveInterval(Duration.ofMinutes(5));
+		session.setAttribute("attribute1", "value1");
+		session.setAttribute("attribute2", 2);
+		String originalId = session.getId();
+		session.changeSessionId();
+
+		Data data = this.serializationService.toData(session);
+		MapSession deserialized = this.serializationService.toObject(data);
+
+		assertThat(data.getType()).isEqualTo(HazelcastSessionSerializer.SERIALIZER_ID);
+		assertThat(deserialized.getId()).isEqualTo(session.getId());
+		assertThat(deserialized.getOriginalId()).isEqualTo(originalId);
+		assertThat(deserialized.getCreationTime()).isEqualTo(session.getCreationTime());
+		assertThat(deserialized.getLastAccessedTime()).isEqualTo(session.getLastAccessedTime());
+		assertThat(deserialized.getMaxInactiveInterval()).isEqualTo(Duration.ofMinutes(5));
+		assertThat(deserialized.getAttributeNames()).containsOnly("attribute1", "attribute2");
+		assertThat(deserialized.<String>getAttribute("attribute1")).isEqualTo("value1");
+		assertThat(deserialized.<Integer>getAttribute("attribute2")).isEqualTo(2);
+	}
+
+	@Test
+	void serializedSessionSmallerThanJavaSerialization() {
+		MapSession session = new MapSession();
+		session.setAttribute("attribute1", "value1");
+		SerializationService javaSerializationService = new DefaultSerializationServiceBuilder().build();
+
+		assertThat(this.serializationService.toData(session).totalSize())
+				.isLessThan(javaSerializationService.toData(session).totalSize());
+	}
+
+	@Test
+	void serializeEntryProcessor() {
+		Instant lastAccessedTime = Instant.now();
+		Map<String, Object> delta = new HashMap<>();
+		delta.put("attribute1", "value2");
+		delta.put("attribute2", null);
+		SessionUpdateEntryProcessor entryProcessor = new SessionUpdateEntryProcessor();
+		entryProcessor.setLastAccessedTime(lastAccessedTime);
+		entryProcessor.setMaxInactiveInterval(Duration.ofMinutes(5));
+		entryProcessor.setDelta(delta);
+
+		SessionUpdateEntryProcessor deserialized = this.serializationService
+				.toObject(this.serializationService.toData(entryProcessor));
+
+		MapSession session = new MapSession();
+		session.setAttribute("attribute1", "value1");
+		session.setAttribute("attribute2", "value2");
+		Map.Entry<String, MapSession> entry = new AbstractMap.SimpleEntry<>(session.getId(), session);
+		assertThat(deserialized.process(entry)).isEqualTo(Boolean.TRUE);
+		assertThat(entry.getValue().getLastAccessedTime()).isEqualTo(lastAccessedTime);
+		assertThat(entry.getValue().getMaxInactiveInterval()).isEqualTo(Duration.ofMinutes(5));
+		assertThat(entry.getValue().getAttributeNames()).isEqualTo(Collections.singleton("attribute1"));
+		assertThat(entry.getValue().<String>getAttribute("attribute1")).isEqualTo("value2");
+	}
+
+	@Test
+	void serializeEmptyEntryProcessor() {
+		SessionUpdateEntryProcessor deserialized = this.serializationService
+				.toObject(this.serializationService.toData(new SessionUpdateEntryProcessor()));
+
+		MapSession session = new MapSession();
+		Instant lastAccessedTime = session.getLastAccessedTime();
+		Map.Entry<String, MapSession> entry = new AbstractMap.SimpleEntry<>(session.getId(), session);
+		assertThat(deserialized.process(entry)).isEqualTo(Boolean.TRUE);
+		assertThat(entry.getValue().getLastAccessedTime()).isEqualTo(lastAccessedTime);
+		assertThat(deserialized.getBackupProcessor()).isSameAs(deserialized);
+	}
+
+}
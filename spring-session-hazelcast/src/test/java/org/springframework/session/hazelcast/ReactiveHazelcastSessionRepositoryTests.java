@@ -0,0 +1,178 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.hazelcast;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.EntryProcessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import org.springframework.session.MapSession;
+import org.springframework.session.hazelcast.ReactiveHazelcastSessionRepository.HazelcastSession;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+/**
+ * Tests for {@link ReactiveHazelcastSessionRepository}.
+ */
+class ReactiveHazelcastSessionRepositoryTests {
+
+	private HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+
+	@SuppressWarnings("unchecked")
+	private IMap<String, MapSession> sessions = mock(IMap.class);
+
+	private ReactiveHazelcastSessionRepository repository;
+
+	@BeforeEach
+	void setUp() {
+		given(this.hazelcastInstance.<String, MapSession>getMap(anyString())).willReturn(this.sessions);
+		this.repository = new ReactiveHazelcastSessionRepository(this.hazelcastInstance);
+		this.repository.init();
+	}
+
+	@Test
+	void constructorNullHazelcastInstance() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new ReactiveHazelcastSessionRepository(null))
+				.withMessage("HazelcastInstance must not be null");
+	}
+
+	@Test
+	void createSessionCustomMaxInactiveInterval() {
+		this.repository.setDefaultMaxInactiveInterval(1);
+
+		StepVerifier.create(this.repository.createSession())
+				.consumeNextWith((session) -> assertThat(session.getMaxInactiveInterval())
+						.isEqualTo(Duration.ofSeconds(1)))
+				.verifyComplete();
+		verifyZeroInteractions(this.sessions);
+	}
+
+	@Test
+	void saveNewUsesSetAsync() {
+		given(this.sessions.setAsync(anyString(), any(MapSession.class), anyLong(), eq(TimeUnit.SECONDS)))
+				.willReturn(completedFuture(null));
+		HazelcastSession session = this.repository.createSession().block();
+
+		StepVerifier.create(this.repository.save(session)).verifyComplete();
+
+		verify(this.sessions, times(1)).setAsync(eq(session.getId()), eq(session.getDelegate()), isA(Long.class),
+				eq(TimeUnit.SECONDS));
+		verifyNoMoreInteractions(this.sessions);
+	}
+
+	@Test
+	void saveUpdatedAttributeUsesSubmitToKey() {
+		given(this.sessions.submitToKey(anyString(), any(EntryProcessor.class))).willReturn(completedFuture(true));
+		HazelcastSession session = this.repository.new HazelcastSession(new MapSession(), false);
+		session.setAttribute("testName", "testValue");
+
+		StepVerifier.create(this.repository.save(session)).verifyComplete();
+
+		verify(this.sessions, times(1)).submitToKey(eq(session.getId()), any(EntryProcessor.class));
+		verifyNoMoreInteractions(this.sessions);
+		assertThat(session.hasChanges()).isFalse();
+	}
+
+	@Test
+	void saveUnchangedDoesNotInteractWithMap() {
+		HazelcastSession session = this.repository.new HazelcastSession(new MapSession(), false);
+
+		StepVerifier.create(this.repository.save(session)).verifyComplete();
+
+		verifyZeroInteractions(this.sessions);
+	}
+
+	@Test
+	void saveChangedSessionIdRetiresOriginal() {
+		given(this.sessions.submitToKey(anyString(), any(SessionIdChangeEntryProcessor.class)))
+				.willReturn(completedFuture(true));
+		given(this.sessions.setAsync(anyString(), any(MapSession.class), anyLong(), eq(TimeUnit.SECONDS)))
+				.willReturn(completedFuture(null));
+		MapSession delegate = new MapSession();
+		String originalId = delegate.getId();
+		HazelcastSession session = this.repository.new HazelcastSession(delegate, false);
+		session.changeSessionId();
+
+		StepVerifier.create(this.repository.save(session)).verifyComplete();
+
+		verify(this.sessions, times(1)).setAsync(eq(session.getId()), eq(delegate), isA(Long.class),
+				eq(TimeUnit.SECONDS));
+		verify(this.sessions, times(1)).submitToKey(eq(originalId), isA(SessionIdChangeEntryProcessor.class));
+		verifyNoMoreInteractions(this.sessions);
+	}
+
+	@Test
+	void findByIdFound() {
+		MapSession saved = new MapSession();
+		given(this.sessions.getAsync(saved.getId())).willReturn(completedFuture(saved));
+
+		StepVerifier.create(this.repository.findById(saved.getId()))
+				.consumeNextWith((session) -> assertThat(session.getId()).isEqualTo(saved.getId())).verifyComplete();
+	}
+
+	@Test
+	void findByIdNotFound() {
+		given(this.sessions.getAsync(anyString())).willReturn(completedFuture(null));
+
+		StepVerifier.create(this.repository.findById("missing")).verifyComplete();
+	}
+
+	@Test
+	void findByIdExpiredRemovesSession() {
+		MapSession saved = new MapSession();
+		saved.setLastAccessedTime(Instant.now().minusSeconds(MapSession.DEFAULT_MAX_INACTIVE_INTERVAL_SECONDS + 1));
+		given(this.sessions.getAsync(saved.getId())).willReturn(completedFuture(saved));
+		given(this.sessions.removeAsync(saved.getId())).willReturn(completedFuture(saved));
+
+		StepVerifier.create(this.repository.findById(saved.getId())).verifyComplete();
+
+		verify(this.sessions, times(1)).removeAsync(saved.getId());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> ICompletableFuture<T> completedFuture(T value) {
+		ICompletableFuture<T> future = mock(ICompletableFuture.class);
+		willAnswer((invocation) -> {
+			invocation.<ExecutionCallback<T>>getArgument(0).onResponse(value);
+			return null;
+		}).given(future).andThen(any(ExecutionCallback.class));
+		return future;
+	}
+
+}
@@ -16,6 +16,14 @@
 
 package org.springframework.session.hazelcast.config.annotation.web.http;
 
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.impl.clientside.HazelcastClientProxy;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapAttributeConfig;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
 import org.junit.jupiter.api.AfterEach;
@@ -34,6 +42,7 @@ import org.springframework.session.Session;
 import org.springframework.session.config.SessionRepositoryCustomizer;
 import org.springframework.session.hazelcast.HazelcastFlushMode;
 import org.springframework.session.hazelcast.HazelcastIndexedSessionRepository;
+import org.springframework.session.hazelcast.PrincipalNameExtractor;
 import org.springframework.session.hazelcast.config.annotation.SpringSessionHazelcastInstance;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -245,6 +254,71 @@ class HazelcastHttpSessionConfigurationTests {
 				MAX_INACTIVE_INTERVAL_IN_SECONDS);
 	}
 
+	@Test
+	void nearCacheEnabledConfiguration() {
+		registerAndRefresh(NearCacheEnabledConfiguration.class);
+		NearCacheConfig nearCacheConfig = NearCacheEnabledConfiguration.clientConfig.getNearCacheConfigMap()
+				.get(HazelcastIndexedSessionRepository.DEFAULT_SESSION_MAP_NAME);
+		assertThat(nearCacheConfig).isNotNull();
+		assertThat(nearCacheConfig.getInMemoryFormat()).isEqualTo(InMemoryFormat.BINARY);
+		assertThat(nearCacheConfig.isInvalidateOnChange()).isTrue();
+		assertThat(nearCacheConfig.getMaxIdleSeconds()).isEqualTo(MAX_INACTIVE_INTERVAL_IN_SECONDS);
+	}
+
+	@Test
+	void nearCacheEnabledMemberConfiguration() {
+		assertThatExceptionOfType(BeanCreationException.class)
+				.isThrownBy(() -> registerAndRefresh(NearCacheEnabledMemberConfiguration.class))
+				.withMessageContaining("Near cache can only be enabled for a Hazelcast client");
+	}
+
+	@Test
+	void principalNameIndexConfiguration() {
+		registerAndRefresh(DefaultConfiguration.class);
+		MapConfig mapConfig = this.context.getBean(HazelcastInstance.class).getConfig()
+				.getMapConfig(HazelcastIndexedSessionRepository.DEFAULT_SESSION_MAP_NAME);
+		assertThat(mapConfig.getMapAttributeConfigs()).hasSize(1);
+		assertThat(mapConfig.getMapAttributeConfigs().get(0).getName())
+				.isEqualTo(HazelcastIndexedSessionRepository.PRINCIPAL_NAME_ATTRIBUTE);
+		assertThat(mapConfig.getMapAttributeConfigs().get(0).getExtractor())
+				.isEqualTo(PrincipalNameExtractor.class.getName());
+		assertThat(mapConfig.getMapIndexConfigs()).hasSize(1);
+		assertThat(mapConfig.getMapIndexConfigs().get(0).getAttribute())
+				.isEqualTo(HazelcastIndexedSessionRepository.PRINCIPAL_NAME_ATTRIBUTE);
+		assertThat(mapConfig.getMapIndexConfigs().get(0).isOrdered()).isFalse();
+	}
+
+	@Test
+	void existingPrincipalNameIndexConfiguration() {
+		registerAndRefresh(ExistingPrincipalNameIndexConfiguration.class);
+		Config config = this.context.getBean(HazelcastInstance.class).getConfig();
+		assertThat(config.getMapConfigs()).containsOnlyKeys(HazelcastIndexedSessionRepository.DEFAULT_SESSION_MAP_NAME);
+		MapConfig mapConfig = config.getMapConfig(HazelcastIndexedSessionRepository.DEFAULT_SESSION_MAP_NAME);
+		assertThat(mapConfig.getBackupCount()).isEqualTo(2);
+		assertThat(mapConfig.getMapAttributeConfigs()).hasSize(1);
+		assertThat(mapConfig.getMapIndexConfigs()).hasSize(1);
+	}
+
+	@Test
+	void disabledPrincipalNameIndexConfiguration() {
+		registerAndRefresh(DisabledPrincipalNameIndexConfiguration.class);
+		assertThat(this.context.getBean(HazelcastInstance.class).getConfig().getMapConfigs()).isEmpty();
+	}
+
+	@Test
+	void maxIdleExpirationConfiguration() {
+		registerAndRefresh(MaxIdleExpirationConfiguration.class);
+		assertThat(this.context.getBean(HazelcastIndexedSessionRepository.class))
+				.hasFieldOrPropertyWithValue("maxIdleExpiration", true);
+	}
+
+	@Test
+	void maxIdleExpirationNearCacheEnabledConfiguration() {
+		assertThatExceptionOfType(BeanCreationException.class)
+				.isThrownBy(() -> registerAndRefresh(MaxIdleExpirationNearCacheEnabledConfiguration.class))
+				.withMessageContaining("Max idle expiration cannot be combined with a near cache");
+	}
+
 	private void registerAndRefresh(Class<?>... annotatedClasses) {
 		this.context.register(annotatedClasses);
 		this.context.refresh();
@@ -264,6 +338,7 @@ class HazelcastHttpSessionConfigurationTests {
 		@Bean
 		HazelcastInstance defaultHazelcastInstance() {
 			HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+			given(hazelcastInstance.getConfig()).willReturn(new Config());
 			given(hazelcastInstance.getMap(anyString())).willReturn(defaultHazelcastInstanceSessions);
 			return hazelcastInstance;
 		}
@@ -363,6 +438,7 @@ class HazelcastHttpSessionConfigurationTests {
 		@SpringSessionHazelcastInstance
 		HazelcastInstance qualifiedHazelcastInstance() {
 			HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+			given(hazelcastInstance.getConfig()).willReturn(new Config());
 			given(hazelcastInstance.getMap(anyString())).willReturn(qualifiedHazelcastInstanceSessions);
 			return hazelcastInstance;
 		}
@@ -380,6 +456,7 @@ class HazelcastHttpSessionConfigurationTests {
 		@Primary
 		HazelcastInstance primaryHazelcastInstance() {
 			HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+			given(hazelcastInstance.getConfig()).willReturn(new Config());
 			given(hazelcastInstance.getMap(anyString())).willReturn(primaryHazelcastInstanceSessions);
 			return hazelcastInstance;
 		}
@@ -400,6 +477,7 @@ class HazelcastHttpSessionConfigurationTests {
 		@SpringSessionHazelcastInstance
 		HazelcastInstance qualifiedHazelcastInstance() {
 			HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+			given(hazelcastInstance.getConfig()).willReturn(new Config());
 			given(hazelcastInstance.getMap(anyString())).willReturn(qualifiedHazelcastInstanceSessions);
 			return hazelcastInstance;
 		}
@@ -408,6 +486,7 @@ class HazelcastHttpSessionConfigurationTests {
 		@Primary
 		HazelcastInstance primaryHazelcastInstance() {
 			HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+			given(hazelcastInstance.getConfig()).willReturn(new Config());
 			given(hazelcastInstance.getMap(anyString())).willReturn(primaryHazelcastInstanceSessions);
 			return hazelcastInstance;
 		}
@@ -424,6 +503,7 @@ class HazelcastHttpSessionConfigurationTests {
 		@Bean
 		HazelcastInstance hazelcastInstance() {
 			HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+			given(hazelcastInstance.getConfig()).willReturn(new Config());
 			given(hazelcastInstance.getMap(anyString())).willReturn(hazelcastInstanceSessions);
 			return hazelcastInstance;
 		}
@@ -440,6 +520,7 @@ class HazelcastHttpSessionConfigurationTests {
 		@Bean
 		HazelcastInstance secondaryHazelcastInstance() {
 			HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+			given(hazelcastInstance.getConfig()).willReturn(new Config());
 			given(hazelcastInstance.getMap(anyString())).willReturn(secondaryHazelcastInstanceSessions);
 			return hazelcastInstance;
 		}
@@ -475,4 +556,68 @@ class HazelcastHttpSessionConfigurationTests {
 
 	}
 
+	@Configuration
+	@EnableHazelcastHttpSession(nearCacheEnabled = true,
+			maxInactiveIntervalInSeconds = MAX_INACTIVE_INTERVAL_IN_SECONDS)
+	static class NearCacheEnabledConfiguration {
+
+		static ClientConfig clientConfig = new ClientConfig();
+
+		@Bean
+		@SuppressWarnings("unchecked")
+		HazelcastInstance hazelcastClient() {
+			HazelcastClientProxy hazelcastInstance = mock(HazelcastClientProxy.class);
+			given(hazelcastInstance.getClientConfig()).willReturn(clientConfig);
+			given(hazelcastInstance.getMap(anyString())).willReturn(mock(IMap.class));
+			return hazelcastInstance;
+		}
+
+	}
+
+	@Configuration
+	@EnableHazelcastHttpSession(nearCacheEnabled = true)
+	static class NearCacheEnabledMemberConfiguration extends BaseConfiguration {
+
+	}
+
+	@Configuration
+	@EnableHazelcastHttpSession
+	static class ExistingPrincipalNameIndexConfiguration {
+
+		@Bean
+		@SuppressWarnings("unchecked")
+		HazelcastInstance hazelcastInstance() {
+			Config config = new Config();
+			config.getMapConfig(HazelcastIndexedSessionRepository.DEFAULT_SESSION_MAP_NAME).setBackupCount(2)
+					.addMapAttributeConfig(new MapAttributeConfig(
+							HazelcastIndexedSessionRepository.PRINCIPAL_NAME_ATTRIBUTE,
+							PrincipalNameExtractor.class.getName()))
+					.addMapIndexConfig(new MapIndexConfig(HazelcastIndexedSessionRepository.PRINCIPAL_NAME_ATTRIBUTE,
+							false));
+			HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+			given(hazelcastInstance.getConfig()).willReturn(config);
+			given(hazelcastInstance.getMap(anyString())).willReturn(mock(IMap.class));
+			return hazelcastInstance;
+		}
+
+	}
+
+	@Configuration
+	@EnableHazelcastHttpSession(configurePrincipalNameIndex = false)
+	static class DisabledPrincipalNameIndexConfiguration extends BaseConfiguration {
+
+	}
+
+	@Configuration
+	@EnableHazelcastHttpSession(maxIdleExpiration = true)
+	static class MaxIdleExpirationConfiguration extends BaseConfiguration {
+
+	}
+
+	@Configuration
+	@EnableHazelcastHttpSession(maxIdleExpiration = true, nearCacheEnabled = true)
+	static class MaxIdleExpirationNearCacheEnabledConfiguration extends BaseConfiguration {
+
+	}
+
 }
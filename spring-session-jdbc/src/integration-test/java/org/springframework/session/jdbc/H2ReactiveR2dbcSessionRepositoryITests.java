@@ -0,0 +1,197 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.jdbc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.MapSession;
+import org.springframework.session.jdbc.ReactiveR2dbcSessionRepository.R2dbcSession;
+import org.springframework.session.jdbc.config.annotation.web.server.EnableR2dbcWebSession;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link ReactiveR2dbcSessionRepository} using in-memory H2
+ * database.
+ */
+@ExtendWith(SpringExtension.class)
+@WebAppConfiguration
+@ContextConfiguration
+class H2ReactiveR2dbcSessionRepositoryITests {
+
+	@Autowired
+	private ReactiveR2dbcSessionRepository repository;
+
+	@Test
+	void saveWhenNoAttributesThenCanBeFound() {
+		R2dbcSession toSave = this.repository.createSession().block();
+
+		this.repository.save(toSave).block();
+		R2dbcSession session = this.repository.findById(toSave.getId()).block();
+
+		assertThat(session).isNotNull();
+		assertThat(session.isChanged()).isFalse();
+		assertThat(session.getDelta()).isEmpty();
+	}
+
+	@Test
+	void saves() {
+		R2dbcSession toSave = this.repository.createSession().block();
+		toSave.setAttribute("a", "b");
+		toSave.setAttribute(FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME, "user");
+
+		this.repository.save(toSave).block();
+
+		R2dbcSession session = this.repository.findById(toSave.getId()).block();
+
+		assertThat(session.getId()).isEqualTo(toSave.getId());
+		assertThat(session.isNew()).isFalse();
+		assertThat(session.getAttributeNames()).isEqualTo(toSave.getAttributeNames());
+		assertThat(session.<String>getAttribute("a")).isEqualTo("b");
+
+		this.repository.deleteById(toSave.getId()).block();
+
+		assertThat(this.repository.findById(toSave.getId()).block()).isNull();
+	}
+
+	@Test
+	void saveDeltaAddsUpdatesAndRemovesAttributes() {
+		R2dbcSession toSave = this.repository.createSession().block();
+		toSave.setAttribute("a", "b");
+		toSave.setAttribute("c", "d");
+		this.repository.save(toSave).block();
+
+		R2dbcSession session = this.repository.findById(toSave.getId()).block();
+		session.setAttribute("a", "b2");
+		session.removeAttribute("c");
+		session.setAttribute("e", "f");
+		this.repository.save(session).block();
+
+		R2dbcSession reloaded = this.repository.findById(toSave.getId()).block();
+		assertThat(reloaded.getAttributeNames()).containsOnly("a", "e");
+		assertThat(reloaded.<String>getAttribute("a")).isEqualTo("b2");
+		assertThat(reloaded.<String>getAttribute("e")).isEqualTo("f");
+	}
+
+	@Test
+	void updateLastAccessedTime() {
+		R2dbcSession toSave = this.repository.createSession().block();
+		toSave.setLastAccessedTime(Instant.now().minusSeconds(MapSession.DEFAULT_MAX_INACTIVE_INTERVAL_SECONDS + 1));
+		this.repository.save(toSave).block();
+
+		Instant lastAccessedTime = Instant.now();
+		toSave.setLastAccessedTime(lastAccessedTime);
+		this.repository.save(toSave).block();
+
+		R2dbcSession session = this.repository.findById(toSave.getId()).block();
+
+		assertThat(session).isNotNull();
+		assertThat(session.isExpired()).isFalse();
+		assertThat(session.getLastAccessedTime().truncatedTo(ChronoUnit.MILLIS))
+				.isEqualTo(lastAccessedTime.truncatedTo(ChronoUnit.MILLIS));
+	}
+
+	@Test
+	void changeSessionIdWhenSaved() {
+		R2dbcSession toSave = this.repository.createSession().block();
+		toSave.setAttribute("a", "b");
+		this.repository.save(toSave).block();
+
+		String originalId = toSave.getId();
+		String changedId = toSave.changeSessionId();
+		this.repository.save(toSave).block();
+
+		assertThat(this.repository.findById(originalId).block()).isNull();
+		R2dbcSession session = this.repository.findById(changedId).block();
+		assertThat(session).isNotNull();
+		assertThat(session.<String>getAttribute("a")).isEqualTo("b");
+	}
+
+	@Test
+	void findByIdWhenExpiredThenDeleted() {
+		R2dbcSession toSave = this.repository.createSession().block();
+		toSave.setLastAccessedTime(Instant.now().minusSeconds(MapSession.DEFAULT_MAX_INACTIVE_INTERVAL_SECONDS + 1));
+		this.repository.save(toSave).block();
+
+		assertThat(this.repository.findById(toSave.getId()).block()).isNull();
+	}
+
+	@Test
+	void cleanUpExpiredSessions() {
+		R2dbcSession toSave = this.repository.createSession().block();
+		toSave.setLastAccessedTime(Instant.now().minusSeconds(MapSession.DEFAULT_MAX_INACTIVE_INTERVAL_SECONDS + 1));
+		this.repository.save(toSave).block();
+
+		assertThat(this.repository.cleanUpExpiredSessions().block()).isGreaterThanOrEqualTo(1);
+	}
+
+	@Configuration
+	@EnableR2dbcWebSession
+	static class Config {
+
+		@Bean
+		ConnectionFactory connectionFactory() throws IOException {
+			ConnectionFactory connectionFactory = new H2ConnectionFactory(
+					H2ConnectionConfiguration.builder().inMemory("spring-session").property("DB_CLOSE_DELAY", "-1")
+							.build());
+			initializeSchema(connectionFactory);
+			return connectionFactory;
+		}
+
+		private static void initializeSchema(ConnectionFactory connectionFactory) throws IOException {
+			String script;
+			try (InputStream is = new ClassPathResource("org/springframework/session/jdbc/schema-h2.sql")
+					.getInputStream()) {
+				script = StreamUtils.copyToString(is, StandardCharsets.UTF_8);
+			}
+			Flux<String> statements = Flux.fromIterable(Arrays.asList(script.split(";")))
+					.filter(StringUtils::hasText);
+			Mono.usingWhen(connectionFactory.create(),
+					(connection) -> statements
+							.concatMap((sql) -> Flux.from(connection.createStatement(sql.trim()).execute()))
+							.concatMap(Result::getRowsUpdated).then(),
+					Connection::close).block();
+		}
+
+	}
+
+}
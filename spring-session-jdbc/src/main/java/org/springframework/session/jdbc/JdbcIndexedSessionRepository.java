@@ -22,8 +22,10 @@ import java.sql.SQLException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -45,6 +47,7 @@ import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.support.lob.DefaultLobHandler;
 import org.springframework.jdbc.support.lob.LobHandler;
+import org.springframework.session.BatchSessionRepository;
 import org.springframework.session.DelegatingIndexResolver;
 import org.springframework.session.FindByIndexNameSessionRepository;
 import org.springframework.session.FlushMode;
@@ -128,7 +131,8 @@ import org.springframework.util.StringUtils;
  * @since 2.2.0
  */
 public class JdbcIndexedSessionRepository
-		implements FindByIndexNameSessionRepository<JdbcIndexedSessionRepository.JdbcSession> {
+		implements FindByIndexNameSessionRepository<JdbcIndexedSessionRepository.JdbcSession>,
+		BatchSessionRepository<JdbcIndexedSessionRepository.JdbcSession> {
 
 	/**
 	 * The default name of database table used by Spring Session to store sessions.
@@ -137,6 +141,10 @@ public class JdbcIndexedSessionRepository
 
 	private static final String SPRING_SECURITY_CONTEXT = "SPRING_SECURITY_CONTEXT";
 
+	private static final String SESSION_IDS_PLACEHOLDER = "%SESSION_IDS%";
+
+	private static final int SESSION_IDS_BATCH_SIZE = 100;
+
 	// @formatter:off
 	private static final String CREATE_SESSION_QUERY = "INSERT INTO %TABLE_NAME%(PRIMARY_ID, SESSION_ID, CREATION_TIME, LAST_ACCESS_TIME, MAX_INACTIVE_INTERVAL, EXPIRY_TIME, PRINCIPAL_NAME) "
 			+ "VALUES (?, ?, ?, ?, ?, ?, ?)";
@@ -156,11 +164,24 @@ public class JdbcIndexedSessionRepository
 			+ "WHERE S.SESSION_ID = ?";
 	// @formatter:on
 
+	// @formatter:off
+	private static final String GET_SESSIONS_QUERY = "SELECT S.PRIMARY_ID, S.SESSION_ID, S.CREATION_TIME, S.LAST_ACCESS_TIME, S.MAX_INACTIVE_INTERVAL, SA.ATTRIBUTE_NAME, SA.ATTRIBUTE_BYTES "
+			+ "FROM %TABLE_NAME% S "
+			+ "LEFT OUTER JOIN %TABLE_NAME%_ATTRIBUTES SA ON S.PRIMARY_ID = SA.SESSION_PRIMARY_ID "
+			+ "WHERE S.SESSION_ID IN (%SESSION_IDS%)";
+	// @formatter:on
+
 	// @formatter:off
 	private static final String UPDATE_SESSION_QUERY = "UPDATE %TABLE_NAME% SET SESSION_ID = ?, LAST_ACCESS_TIME = ?, MAX_INACTIVE_INTERVAL = ?, EXPIRY_TIME = ?, PRINCIPAL_NAME = ? "
 			+ "WHERE PRIMARY_ID = ?";
 	// @formatter:on
 
+	// @formatter:off
+	private static final String UPDATE_SESSION_LAST_ACCESS_TIME_QUERY = "UPDATE %TABLE_NAME% SET EXPIRY_TIME = EXPIRY_TIME - LAST_ACCESS_TIME + ?, LAST_ACCESS_TIME = ? "
+			+ "WHERE SESSION_ID = ? "
+			+ "AND (EXPIRY_TIME > ? OR MAX_INACTIVE_INTERVAL < 0)";
+	// @formatter:on
+
 	// @formatter:off
 	private static final String UPDATE_SESSION_ATTRIBUTE_QUERY = "UPDATE %TABLE_NAME%_ATTRIBUTES SET ATTRIBUTE_BYTES = ? "
 			+ "WHERE SESSION_PRIMARY_ID = ? "
@@ -178,6 +199,11 @@ public class JdbcIndexedSessionRepository
 			+ "WHERE SESSION_ID = ?";
 	// @formatter:on
 
+	// @formatter:off
+	private static final String DELETE_SESSIONS_QUERY = "DELETE FROM %TABLE_NAME% "
+			+ "WHERE SESSION_ID IN (%SESSION_IDS%)";
+	// @formatter:on
+
 	// @formatter:off
 	private static final String LIST_SESSIONS_BY_PRINCIPAL_NAME_QUERY = "SELECT S.PRIMARY_ID, S.SESSION_ID, S.CREATION_TIME, S.LAST_ACCESS_TIME, S.MAX_INACTIVE_INTERVAL, SA.ATTRIBUTE_NAME, SA.ATTRIBUTE_BYTES "
 			+ "FROM %TABLE_NAME% S "
@@ -209,14 +235,20 @@ public class JdbcIndexedSessionRepository
 
 	private String getSessionQuery;
 
+	private String getSessionsQuery;
+
 	private String updateSessionQuery;
 
+	private String updateSessionLastAccessTimeQuery;
+
 	private String updateSessionAttributeQuery;
 
 	private String deleteSessionAttributeQuery;
 
 	private String deleteSessionQuery;
 
+	private String deleteSessionsQuery;
+
 	private String listSessionsByPrincipalNameQuery;
 
 	private String deleteSessionsByExpiryTimeQuery;
@@ -288,6 +320,20 @@ public class JdbcIndexedSessionRepository
 		this.getSessionQuery = getSessionQuery;
 	}
 
+	/**
+	 * Set the custom SQL query used to retrieve several sessions. The query must contain
+	 * a {@code %SESSION_IDS%} placeholder for the session ids, which is replaced with one
+	 * parameter for each session id of a batch.
+	 * @param getSessionsQuery the SQL query string
+	 * @since 2.3.0
+	 */
+	public void setGetSessionsQuery(String getSessionsQuery) {
+		Assert.hasText(getSessionsQuery, "Query must not be empty");
+		Assert.isTrue(getSessionsQuery.contains(SESSION_IDS_PLACEHOLDER),
+				"Query must contain " + SESSION_IDS_PLACEHOLDER);
+		this.getSessionsQuery = getSessionsQuery;
+	}
+
 	/**
 	 * Set the custom SQL query used to update the session.
 	 * @param updateSessionQuery the SQL query string
@@ -297,6 +343,16 @@ public class JdbcIndexedSessionRepository
 		this.updateSessionQuery = updateSessionQuery;
 	}
 
+	/**
+	 * Set the custom SQL query used to update the last access time of the session.
+	 * @param updateSessionLastAccessTimeQuery the SQL query string
+	 * @since 2.3.0
+	 */
+	public void setUpdateSessionLastAccessTimeQuery(String updateSessionLastAccessTimeQuery) {
+		Assert.hasText(updateSessionLastAccessTimeQuery, "Query must not be empty");
+		this.updateSessionLastAccessTimeQuery = updateSessionLastAccessTimeQuery;
+	}
+
 	/**
 	 * Set the custom SQL query used to update the session attribute.
 	 * @param updateSessionAttributeQuery the SQL query string
@@ -324,6 +380,20 @@ public class JdbcIndexedSessionRepository
 		this.deleteSessionQuery = deleteSessionQuery;
 	}
 
+	/**
+	 * Set the custom SQL query used to delete several sessions. The query must contain a
+	 * {@code %SESSION_IDS%} placeholder for the session ids, which is replaced with one
+	 * parameter for each session id of a batch.
+	 * @param deleteSessionsQuery the SQL query string
+	 * @since 2.3.0
+	 */
+	public void setDeleteSessionsQuery(String deleteSessionsQuery) {
+		Assert.hasText(deleteSessionsQuery, "Query must not be empty");
+		Assert.isTrue(deleteSessionsQuery.contains(SESSION_IDS_PLACEHOLDER),
+				"Query must contain " + SESSION_IDS_PLACEHOLDER);
+		this.deleteSessionsQuery = deleteSessionsQuery;
+	}
+
 	/**
 	 * Set the custom SQL query used to retrieve the sessions by principal name.
 	 * @param listSessionsByPrincipalNameQuery the SQL query string
@@ -438,6 +508,82 @@ public class JdbcIndexedSessionRepository
 				.update(JdbcIndexedSessionRepository.this.deleteSessionQuery, id));
 	}
 
+	/**
+	 * Updates the last access time and the expiry time of the session using a single
+	 * update statement, without loading the session attributes.
+	 * @param id the session id
+	 * @param lastAccessedTime the last accessed time to set
+	 * @return whether the session was found and updated
+	 */
+	@Override
+	public boolean touch(final String id, final Instant lastAccessedTime) {
+		Integer count = this.transactionOperations.execute((status) -> JdbcIndexedSessionRepository.this.jdbcOperations
+				.update(JdbcIndexedSessionRepository.this.updateSessionLastAccessTimeQuery, (ps) -> {
+					ps.setLong(1, lastAccessedTime.toEpochMilli());
+					ps.setLong(2, lastAccessedTime.toEpochMilli());
+					ps.setString(3, id);
+					ps.setLong(4, System.currentTimeMillis());
+				}));
+		return count != null && count > 0;
+	}
+
+	/**
+	 * Retrieves the sessions with the given ids using a single transaction, with one
+	 * query for each batch of up to 100 session ids. Expired sessions are deleted using
+	 * {@link #deleteAllById(Collection)}.
+	 * @param ids the session ids
+	 * @return the sessions that were found and are not expired
+	 */
+	@Override
+	public Map<String, JdbcSession> findAllById(Collection<String> ids) {
+		List<List<String>> batches = batchSessionIds(ids);
+		if (batches.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		List<JdbcSession> sessions = this.transactionOperations.execute((status) -> {
+			List<JdbcSession> result = new ArrayList<>();
+			for (List<String> batch : batches) {
+				result.addAll(JdbcIndexedSessionRepository.this.jdbcOperations.query(
+						getSessionIdsQuery(JdbcIndexedSessionRepository.this.getSessionsQuery, batch.size()),
+						(ps) -> setSessionIds(ps, batch), JdbcIndexedSessionRepository.this.extractor));
+			}
+			return result;
+		});
+
+		Map<String, JdbcSession> sessionMap = new HashMap<>(sessions.size());
+		List<String> expiredIds = new ArrayList<>();
+		for (JdbcSession session : sessions) {
+			if (session.isExpired()) {
+				expiredIds.add(session.getId());
+			}
+			else {
+				sessionMap.put(session.getId(), session);
+			}
+		}
+		deleteAllById(expiredIds);
+		return sessionMap;
+	}
+
+	/**
+	 * Deletes the sessions with the given ids using a single transaction, with one
+	 * statement for each batch of up to 100 session ids.
+	 * @param ids the session ids
+	 */
+	@Override
+	public void deleteAllById(Collection<String> ids) {
+		List<List<String>> batches = batchSessionIds(ids);
+		if (batches.isEmpty()) {
+			return;
+		}
+		this.transactionOperations.executeWithoutResult((status) -> {
+			for (List<String> batch : batches) {
+				JdbcIndexedSessionRepository.this.jdbcOperations.update(
+						getSessionIdsQuery(JdbcIndexedSessionRepository.this.deleteSessionsQuery, batch.size()),
+						(ps) -> setSessionIds(ps, batch));
+			}
+		});
+	}
+
 	@Override
 	public Map<String, JdbcSession> findByIndexNameAndIndexValue(String indexName, final String indexValue) {
 		if (!PRINCIPAL_NAME_INDEX_NAME.equals(indexName)) {
@@ -565,6 +711,27 @@ public class JdbcIndexedSessionRepository
 		return converter;
 	}
 
+	private static List<List<String>> batchSessionIds(Collection<String> ids) {
+		Assert.notNull(ids, "ids must not be null");
+		List<String> sessionIds = new ArrayList<>(new LinkedHashSet<>(ids));
+		List<List<String>> batches = new ArrayList<>();
+		for (int start = 0; start < sessionIds.size(); start += SESSION_IDS_BATCH_SIZE) {
+			batches.add(sessionIds.subList(start, Math.min(start + SESSION_IDS_BATCH_SIZE, sessionIds.size())));
+		}
+		return batches;
+	}
+
+	private static String getSessionIdsQuery(String query, int sessionIdCount) {
+		return StringUtils.replace(query, SESSION_IDS_PLACEHOLDER,
+				String.join(", ", Collections.nCopies(sessionIdCount, "?")));
+	}
+
+	private static void setSessionIds(PreparedStatement ps, List<String> sessionIds) throws SQLException {
+		for (int i = 0; i < sessionIds.size(); i++) {
+			ps.setString(i + 1, sessionIds.get(i));
+		}
+	}
+
 	private String getQuery(String base) {
 		return StringUtils.replace(base, "%TABLE_NAME%", this.tableName);
 	}
@@ -573,10 +740,13 @@ public class JdbcIndexedSessionRepository
 		this.createSessionQuery = getQuery(CREATE_SESSION_QUERY);
 		this.createSessionAttributeQuery = getQuery(CREATE_SESSION_ATTRIBUTE_QUERY);
 		this.getSessionQuery = getQuery(GET_SESSION_QUERY);
+		this.getSessionsQuery = getQuery(GET_SESSIONS_QUERY);
 		this.updateSessionQuery = getQuery(UPDATE_SESSION_QUERY);
+		this.updateSessionLastAccessTimeQuery = getQuery(UPDATE_SESSION_LAST_ACCESS_TIME_QUERY);
 		this.updateSessionAttributeQuery = getQuery(UPDATE_SESSION_ATTRIBUTE_QUERY);
 		this.deleteSessionAttributeQuery = getQuery(DELETE_SESSION_ATTRIBUTE_QUERY);
 		this.deleteSessionQuery = getQuery(DELETE_SESSION_QUERY);
+		this.deleteSessionsQuery = getQuery(DELETE_SESSIONS_QUERY);
 		this.listSessionsByPrincipalNameQuery = getQuery(LIST_SESSIONS_BY_PRINCIPAL_NAME_QUERY);
 		this.deleteSessionsByExpiryTimeQuery = getQuery(DELETE_SESSIONS_BY_EXPIRY_TIME_QUERY);
 	}
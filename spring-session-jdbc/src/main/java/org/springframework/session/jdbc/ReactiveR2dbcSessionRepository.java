@@ -0,0 +1,737 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.jdbc;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.Statement;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.session.DelegatingIndexResolver;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.IndexResolver;
+import org.springframework.session.MapSession;
+import org.springframework.session.PrincipalNameIndexResolver;
+import org.springframework.session.ReactiveSessionRepository;
+import org.springframework.session.SaveMode;
+import org.springframework.session.Session;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * A {@link ReactiveSessionRepository} implementation that uses R2DBC's
+ * {@link ConnectionFactory} to store sessions in a relational database without blocking.
+ * This implementation does not support publishing of session events.
+ * <p>
+ * An example of how to create a new instance can be seen below:
+ *
+ * <pre class="code">
+ * ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///session");
+ *
+ * ReactiveR2dbcSessionRepository sessionRepository =
+ *         new ReactiveR2dbcSessionRepository(connectionFactory);
+ * </pre>
+ *
+ * The repository uses the same <code>SPRING_SESSION</code> and
+ * <code>SPRING_SESSION_ATTRIBUTES</code> tables as {@link JdbcIndexedSessionRepository},
+ * so the <code>org/springframework/session/jdbc/schema-*.sql</code> scripts can be used to
+ * initialize the database. Note that the table name can be customized using the
+ * {@link #setTableName(String)} method. Queries use the <code>$1</code>, <code>$2</code>,
+ * ... bind marker syntax by default; custom queries can be provided for drivers that
+ * use a different syntax.
+ *
+ * @since 2.3.0
+ * @see JdbcIndexedSessionRepository
+ */
+public class ReactiveR2dbcSessionRepository
+		implements ReactiveSessionRepository<ReactiveR2dbcSessionRepository.R2dbcSession> {
+
+	/**
+	 * The default name of database table used by Spring Session to store sessions.
+	 */
+	public static final String DEFAULT_TABLE_NAME = JdbcIndexedSessionRepository.DEFAULT_TABLE_NAME;
+
+	private static final String SPRING_SECURITY_CONTEXT = "SPRING_SECURITY_CONTEXT";
+
+	// @formatter:off
+	private static final String CREATE_SESSION_QUERY = "INSERT INTO %TABLE_NAME%(PRIMARY_ID, SESSION_ID, CREATION_TIME, LAST_ACCESS_TIME, MAX_INACTIVE_INTERVAL, EXPIRY_TIME, PRINCIPAL_NAME) "
+			+ "VALUES ($1, $2, $3, $4, $5, $6, $7)";
+	// @formatter:on
+
+	// @formatter:off
+	private static final String CREATE_SESSION_ATTRIBUTE_QUERY = "INSERT INTO %TABLE_NAME%_ATTRIBUTES(SESSION_PRIMARY_ID, ATTRIBUTE_NAME, ATTRIBUTE_BYTES) "
+			+ "VALUES ($1, $2, $3)";
+	// @formatter:on
+
+	// @formatter:off
+	private static final String GET_SESSION_QUERY = "SELECT S.PRIMARY_ID, S.SESSION_ID, S.CREATION_TIME, S.LAST_ACCESS_TIME, S.MAX_INACTIVE_INTERVAL, SA.ATTRIBUTE_NAME, SA.ATTRIBUTE_BYTES "
+			+ "FROM %TABLE_NAME% S "
+			+ "LEFT OUTER JOIN %TABLE_NAME%_ATTRIBUTES SA ON S.PRIMARY_ID = SA.SESSION_PRIMARY_ID "
+			+ "WHERE S.SESSION_ID = $1";
+	// @formatter:on
+
+	// @formatter:off
+	private static final String UPDATE_SESSION_QUERY = "UPDATE %TABLE_NAME% SET SESSION_ID = $1, LAST_ACCESS_TIME = $2, MAX_INACTIVE_INTERVAL = $3, EXPIRY_TIME = $4, PRINCIPAL_NAME = $5 "
+			+ "WHERE PRIMARY_ID = $6";
+	// @formatter:on
+
+	// @formatter:off
+	private static final String UPDATE_SESSION_ATTRIBUTE_QUERY = "UPDATE %TABLE_NAME%_ATTRIBUTES SET ATTRIBUTE_BYTES = $1 "
+			+ "WHERE SESSION_PRIMARY_ID = $2 "
+			+ "AND ATTRIBUTE_NAME = $3";
+	// @formatter:on
+
+	// @formatter:off
+	private static final String DELETE_SESSION_ATTRIBUTE_QUERY = "DELETE FROM %TABLE_NAME%_ATTRIBUTES "
+			+ "WHERE SESSION_PRIMARY_ID = $1 "
+			+ "AND ATTRIBUTE_NAME = $2";
+	// @formatter:on
+
+	// @formatter:off
+	private static final String DELETE_SESSION_QUERY = "DELETE FROM %TABLE_NAME% "
+			+ "WHERE SESSION_ID = $1";
+	// @formatter:on
+
+	// @formatter:off
+	private static final String DELETE_SESSIONS_BY_EXPIRY_TIME_QUERY = "DELETE FROM %TABLE_NAME% "
+			+ "WHERE EXPIRY_TIME < $1";
+	// @formatter:on
+
+	private static final Log logger = LogFactory.getLog(ReactiveR2dbcSessionRepository.class);
+
+	private final ConnectionFactory connectionFactory;
+
+	/**
+	 * The name of database table used by Spring Session to store sessions.
+	 */
+	private String tableName = DEFAULT_TABLE_NAME;
+
+	private String createSessionQuery;
+
+	private String createSessionAttributeQuery;
+
+	private String getSessionQuery;
+
+	private String updateSessionQuery;
+
+	private String updateSessionAttributeQuery;
+
+	private String deleteSessionAttributeQuery;
+
+	private String deleteSessionQuery;
+
+	private String deleteSessionsByExpiryTimeQuery;
+
+	/**
+	 * If non-null, this value is used to override the default value for
+	 * {@link R2dbcSession#setMaxInactiveInterval(Duration)}.
+	 */
+	private Integer defaultMaxInactiveInterval;
+
+	private IndexResolver<Session> indexResolver = new DelegatingIndexResolver<>(new PrincipalNameIndexResolver<>());
+
+	private ConversionService conversionService = createDefaultConversionService();
+
+	private SaveMode saveMode = SaveMode.ON_SET_ATTRIBUTE;
+
+	/**
+	 * Create a new {@link ReactiveR2dbcSessionRepository} instance which uses the
+	 * provided {@link ConnectionFactory} to manage sessions.
+	 * @param connectionFactory the {@link ConnectionFactory} to use
+	 */
+	public ReactiveR2dbcSessionRepository(ConnectionFactory connectionFactory) {
+		Assert.notNull(connectionFactory, "connectionFactory must not be null");
+		this.connectionFactory = connectionFactory;
+		prepareQueries();
+	}
+
+	/**
+	 * Set the name of database table used to store sessions.
+	 * @param tableName the database table name
+	 */
+	public void setTableName(String tableName) {
+		Assert.hasText(tableName, "Table name must not be empty");
+		this.tableName = tableName.trim();
+		prepareQueries();
+	}
+
+	/**
+	 * Set the custom SQL query used to create the session.
+	 * @param createSessionQuery the SQL query string
+	 */
+	public void setCreateSessionQuery(String createSessionQuery) {
+		Assert.hasText(createSessionQuery, "Query must not be empty");
+		this.createSessionQuery = createSessionQuery;
+	}
+
+	/**
+	 * Set the custom SQL query used to create the session attribute.
+	 * @param createSessionAttributeQuery the SQL query string
+	 */
+	public void setCreateSessionAttributeQuery(String createSessionAttributeQuery) {
+		Assert.hasText(createSessionAttributeQuery, "Query must not be empty");
+		this.createSessionAttributeQuery = createSessionAttributeQuery;
+	}
+
+	/**
+	 * Set the custom SQL query used to retrieve the session.
+	 * @param getSessionQuery the SQL query string
+	 */
+	public void setGetSessionQuery(String getSessionQuery) {
+		Assert.hasText(getSessionQuery, "Query must not be empty");
+		this.getSessionQuery = getSessionQuery;
+	}
+
+	/**
+	 * Set the custom SQL query used to update the session.
+	 * @param updateSessionQuery the SQL query string
+	 */
+	public void setUpdateSessionQuery(String updateSessionQuery) {
+		Assert.hasText(updateSessionQuery, "Query must not be empty");
+		this.updateSessionQuery = updateSessionQuery;
+	}
+
+	/**
+	 * Set the custom SQL query used to update the session attribute.
+	 * @param updateSessionAttributeQuery the SQL query string
+	 */
+	public void setUpdateSessionAttributeQuery(String updateSessionAttributeQuery) {
+		Assert.hasText(updateSessionAttributeQuery, "Query must not be empty");
+		this.updateSessionAttributeQuery = updateSessionAttributeQuery;
+	}
+
+	/**
+	 * Set the custom SQL query used to delete the session attribute.
+	 * @param deleteSessionAttributeQuery the SQL query string
+	 */
+	public void setDeleteSessionAttributeQuery(String deleteSessionAttributeQuery) {
+		Assert.hasText(deleteSessionAttributeQuery, "Query must not be empty");
+		this.deleteSessionAttributeQuery = deleteSessionAttributeQuery;
+	}
+
+	/**
+	 * Set the custom SQL query used to delete the session.
+	 * @param deleteSessionQuery the SQL query string
+	 */
+	public void setDeleteSessionQuery(String deleteSessionQuery) {
+		Assert.hasText(deleteSessionQuery, "Query must not be empty");
+		this.deleteSessionQuery = deleteSessionQuery;
+	}
+
+	/**
+	 * Set the custom SQL query used to delete the sessions by last access time.
+	 * @param deleteSessionsByExpiryTimeQuery the SQL query string
+	 */
+	public void setDeleteSessionsByExpiryTimeQuery(String deleteSessionsByExpiryTimeQuery) {
+		Assert.hasText(deleteSessionsByExpiryTimeQuery, "Query must not be empty");
+		this.deleteSessionsByExpiryTimeQuery = deleteSessionsByExpiryTimeQuery;
+	}
+
+	/**
+	 * Set the maximum inactive interval in seconds between requests before newly created
+	 * sessions will be invalidated. A negative time indicates that the session will never
+	 * timeout. The default is 1800 (30 minutes).
+	 * @param defaultMaxInactiveInterval the maximum inactive interval in seconds
+	 */
+	public void setDefaultMaxInactiveInterval(Integer defaultMaxInactiveInterval) {
+		this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+	}
+
+	/**
+	 * Set the {@link IndexResolver} to use.
+	 * @param indexResolver the index resolver
+	 */
+	public void setIndexResolver(IndexResolver<Session> indexResolver) {
+		Assert.notNull(indexResolver, "indexResolver cannot be null");
+		this.indexResolver = indexResolver;
+	}
+
+	/**
+	 * Sets the {@link ConversionService} to use.
+	 * @param conversionService the converter to set
+	 */
+	public void setConversionService(ConversionService conversionService) {
+		Assert.notNull(conversionService, "conversionService must not be null");
+		this.conversionService = conversionService;
+	}
+
+	/**
+	 * Set the save mode.
+	 * @param saveMode the save mode
+	 */
+	public void setSaveMode(SaveMode saveMode) {
+		Assert.notNull(saveMode, "saveMode must not be null");
+		this.saveMode = saveMode;
+	}
+
+	@Override
+	public Mono<R2dbcSession> createSession() {
+		return Mono.fromSupplier(() -> {
+			MapSession delegate = new MapSession();
+			if (this.defaultMaxInactiveInterval != null) {
+				delegate.setMaxInactiveInterval(Duration.ofSeconds(this.defaultMaxInactiveInterval));
+			}
+			return new R2dbcSession(delegate, UUID.randomUUID().toString(), true);
+		});
+	}
+
+	@Override
+	public Mono<Void> save(R2dbcSession session) {
+		return session.save();
+	}
+
+	@Override
+	public Mono<R2dbcSession> findById(String id) {
+		// @formatter:off
+		return inTransaction((connection) -> {
+					Statement statement = connection.createStatement(this.getSessionQuery).bind(0, id);
+					return Flux.from(statement.execute())
+							.concatMap((result) -> result.map((row, metadata) -> new SessionRow(row)))
+							.collectList()
+							.flatMap((rows) -> Mono.justOrEmpty(extractSession(rows)));
+				})
+				.flatMap((session) -> session.isExpired()
+						? deleteById(id).then(Mono.<R2dbcSession>empty())
+						: Mono.just(session));
+		// @formatter:on
+	}
+
+	@Override
+	public Mono<Void> deleteById(String id) {
+		return inTransaction((connection) -> execute(connection.createStatement(this.deleteSessionQuery).bind(0, id)))
+				.then();
+	}
+
+	/**
+	 * Delete all sessions whose expiry time is in the past.
+	 * @return the number of deleted sessions
+	 */
+	public Mono<Integer> cleanUpExpiredSessions() {
+		return inTransaction((connection) -> execute(connection.createStatement(this.deleteSessionsByExpiryTimeQuery)
+				.bind(0, System.currentTimeMillis()))).doOnNext((deletedCount) -> {
+					if (logger.isDebugEnabled()) {
+						logger.debug("Cleaned up " + deletedCount + " expired sessions");
+					}
+				});
+	}
+
+	private <T> Mono<T> inTransaction(Function<Connection, Mono<T>> action) {
+		// @formatter:off
+		return Mono.usingWhen(this.connectionFactory.create(),
+				(connection) -> Mono.from(connection.beginTransaction())
+						.then(action.apply(connection))
+						.map(Optional::of)
+						.defaultIfEmpty(Optional.empty())
+						.flatMap((result) -> Mono.from(connection.commitTransaction()).then(Mono.justOrEmpty(result)))
+						.onErrorResume((ex) -> Mono.from(connection.rollbackTransaction()).then(Mono.error(ex))),
+				Connection::close);
+		// @formatter:on
+	}
+
+	private static Mono<Integer> execute(Statement statement) {
+		return Flux.from(statement.execute()).concatMap(Result::getRowsUpdated).reduce(0, Integer::sum);
+	}
+
+	private Mono<Integer> insertSessionAttributes(Connection connection, R2dbcSession session,
+			List<String> attributeNames) {
+		Assert.notEmpty(attributeNames, "attributeNames must not be null or empty");
+		Statement statement = connection.createStatement(this.createSessionAttributeQuery);
+		for (int i = 0; i < attributeNames.size(); i++) {
+			String attributeName = attributeNames.get(i);
+			if (i > 0) {
+				statement.add();
+			}
+			statement.bind(0, session.primaryKey);
+			statement.bind(1, attributeName);
+			statement.bind(2, serialize(session.getAttribute(attributeName)));
+		}
+		return execute(statement);
+	}
+
+	private Mono<Integer> updateSessionAttributes(Connection connection, R2dbcSession session,
+			List<String> attributeNames) {
+		Assert.notEmpty(attributeNames, "attributeNames must not be null or empty");
+		Statement statement = connection.createStatement(this.updateSessionAttributeQuery);
+		for (int i = 0; i < attributeNames.size(); i++) {
+			String attributeName = attributeNames.get(i);
+			if (i > 0) {
+				statement.add();
+			}
+			statement.bind(0, serialize(session.getAttribute(attributeName)));
+			statement.bind(1, session.primaryKey);
+			statement.bind(2, attributeName);
+		}
+		return execute(statement);
+	}
+
+	private Mono<Integer> deleteSessionAttributes(Connection connection, R2dbcSession session,
+			List<String> attributeNames) {
+		Assert.notEmpty(attributeNames, "attributeNames must not be null or empty");
+		Statement statement = connection.createStatement(this.deleteSessionAttributeQuery);
+		for (int i = 0; i < attributeNames.size(); i++) {
+			if (i > 0) {
+				statement.add();
+			}
+			statement.bind(0, session.primaryKey);
+			statement.bind(1, attributeNames.get(i));
+		}
+		return execute(statement);
+	}
+
+	private R2dbcSession extractSession(List<SessionRow> rows) {
+		R2dbcSession session = null;
+		for (SessionRow row : rows) {
+			if (session == null) {
+				MapSession delegate = new MapSession(row.sessionId);
+				delegate.setCreationTime(Instant.ofEpochMilli(row.creationTime));
+				delegate.setLastAccessedTime(Instant.ofEpochMilli(row.lastAccessTime));
+				delegate.setMaxInactiveInterval(Duration.ofSeconds(row.maxInactiveInterval));
+				session = new R2dbcSession(delegate, row.primaryKey, false);
+			}
+			if (row.attributeName != null) {
+				byte[] bytes = row.attributeBytes;
+				session.delegate.setAttribute(row.attributeName, lazily(() -> deserialize(bytes)));
+			}
+		}
+		return session;
+	}
+
+	private static GenericConversionService createDefaultConversionService() {
+		GenericConversionService converter = new GenericConversionService();
+		converter.addConverter(Object.class, byte[].class, new SerializingConverter());
+		converter.addConverter(byte[].class, Object.class, new DeserializingConverter());
+		return converter;
+	}
+
+	private String getQuery(String base) {
+		return StringUtils.replace(base, "%TABLE_NAME%", this.tableName);
+	}
+
+	private void prepareQueries() {
+		this.createSessionQuery = getQuery(CREATE_SESSION_QUERY);
+		this.createSessionAttributeQuery = getQuery(CREATE_SESSION_ATTRIBUTE_QUERY);
+		this.getSessionQuery = getQuery(GET_SESSION_QUERY);
+		this.updateSessionQuery = getQuery(UPDATE_SESSION_QUERY);
+		this.updateSessionAttributeQuery = getQuery(UPDATE_SESSION_ATTRIBUTE_QUERY);
+		this.deleteSessionAttributeQuery = getQuery(DELETE_SESSION_ATTRIBUTE_QUERY);
+		this.deleteSessionQuery = getQuery(DELETE_SESSION_QUERY);
+		this.deleteSessionsByExpiryTimeQuery = getQuery(DELETE_SESSIONS_BY_EXPIRY_TIME_QUERY);
+	}
+
+	private byte[] serialize(Object object) {
+		return (byte[]) this.conversionService.convert(object, TypeDescriptor.valueOf(Object.class),
+				TypeDescriptor.valueOf(byte[].class));
+	}
+
+	private Object deserialize(byte[] bytes) {
+		return this.conversionService.convert(bytes, TypeDescriptor.valueOf(byte[].class),
+				TypeDescriptor.valueOf(Object.class));
+	}
+
+	private enum DeltaValue {
+
+		ADDED, UPDATED, REMOVED
+
+	}
+
+	private static <T> Supplier<T> value(T value) {
+		return (value != null) ? () -> value : null;
+	}
+
+	private static <T> Supplier<T> lazily(Supplier<T> supplier) {
+		Supplier<T> lazySupplier = new Supplier<T>() {
+
+			private T value;
+
+			@Override
+			public T get() {
+				if (this.value == null) {
+					this.value = supplier.get();
+				}
+				return this.value;
+			}
+
+		};
+
+		return (supplier != null) ? lazySupplier : null;
+	}
+
+	/**
+	 * The {@link Session} to use for {@link ReactiveR2dbcSessionRepository}. Tracks
+	 * changes the same way as {@link JdbcIndexedSessionRepository.JdbcSession}, so only
+	 * the delta is written on save.
+	 */
+	final class R2dbcSession implements Session {
+
+		private final Session delegate;
+
+		private final String primaryKey;
+
+		private boolean isNew;
+
+		private boolean changed;
+
+		private Map<String, DeltaValue> delta = new HashMap<>();
+
+		R2dbcSession(MapSession delegate, String primaryKey, boolean isNew) {
+			this.delegate = delegate;
+			this.primaryKey = primaryKey;
+			this.isNew = isNew;
+			if (this.isNew || (ReactiveR2dbcSessionRepository.this.saveMode == SaveMode.ALWAYS)) {
+				getAttributeNames().forEach((attributeName) -> this.delta.put(attributeName, DeltaValue.UPDATED));
+			}
+		}
+
+		boolean isNew() {
+			return this.isNew;
+		}
+
+		boolean isChanged() {
+			return this.changed;
+		}
+
+		Map<String, DeltaValue> getDelta() {
+			return this.delta;
+		}
+
+		void clearChangeFlags() {
+			this.isNew = false;
+			this.changed = false;
+			this.delta.clear();
+		}
+
+		Instant getExpiryTime() {
+			return getLastAccessedTime().plus(getMaxInactiveInterval());
+		}
+
+		@Override
+		public String getId() {
+			return this.delegate.getId();
+		}
+
+		@Override
+		public String changeSessionId() {
+			this.changed = true;
+			return this.delegate.changeSessionId();
+		}
+
+		@Override
+		public <T> T getAttribute(String attributeName) {
+			Supplier<T> supplier = this.delegate.getAttribute(attributeName);
+			if (supplier == null) {
+				return null;
+			}
+			T attributeValue = supplier.get();
+			if (attributeValue != null
+					&& ReactiveR2dbcSessionRepository.this.saveMode.equals(SaveMode.ON_GET_ATTRIBUTE)) {
+				this.delta.put(attributeName, DeltaValue.UPDATED);
+			}
+			return attributeValue;
+		}
+
+		@Override
+		public Set<String> getAttributeNames() {
+			return this.delegate.getAttributeNames();
+		}
+
+		@Override
+		public void setAttribute(String attributeName, Object attributeValue) {
+			boolean attributeExists = (this.delegate.getAttribute(attributeName) != null);
+			boolean attributeRemoved = (attributeValue == null);
+			if (!attributeExists && attributeRemoved) {
+				return;
+			}
+			if (attributeExists) {
+				if (attributeRemoved) {
+					this.delta.merge(attributeName, DeltaValue.REMOVED,
+							(oldDeltaValue, deltaValue) -> (oldDeltaValue == DeltaValue.ADDED) ? null : deltaValue);
+				}
+				else {
+					this.delta.merge(attributeName, DeltaValue.UPDATED, (oldDeltaValue,
+							deltaValue) -> (oldDeltaValue == DeltaValue.ADDED) ? oldDeltaValue : deltaValue);
+				}
+			}
+			else {
+				this.delta.merge(attributeName, DeltaValue.ADDED, (oldDeltaValue,
+						deltaValue) -> (oldDeltaValue == DeltaValue.ADDED) ? oldDeltaValue : DeltaValue.UPDATED);
+			}
+			this.delegate.setAttribute(attributeName, value(attributeValue));
+			if (FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME.equals(attributeName)
+					|| SPRING_SECURITY_CONTEXT.equals(attributeName)) {
+				this.changed = true;
+			}
+		}
+
+		@Override
+		public void removeAttribute(String attributeName) {
+			setAttribute(attributeName, null);
+		}
+
+		@Override
+		public Instant getCreationTime() {
+			return this.delegate.getCreationTime();
+		}
+
+		@Override
+		public void setLastAccessedTime(Instant lastAccessedTime) {
+			this.delegate.setLastAccessedTime(lastAccessedTime);
+			this.changed = true;
+		}
+
+		@Override
+		public Instant getLastAccessedTime() {
+			return this.delegate.getLastAccessedTime();
+		}
+
+		@Override
+		public void setMaxInactiveInterval(Duration interval) {
+			this.delegate.setMaxInactiveInterval(interval);
+			this.changed = true;
+		}
+
+		@Override
+		public Duration getMaxInactiveInterval() {
+			return this.delegate.getMaxInactiveInterval();
+		}
+
+		@Override
+		public boolean isExpired() {
+			return this.delegate.isExpired();
+		}
+
+		private Mono<Void> save() {
+			return inTransaction((connection) -> this.isNew ? insert(connection) : update(connection))
+					.doOnSuccess((count) -> clearChangeFlags()).then();
+		}
+
+		private Mono<Integer> insert(Connection connection) {
+			Map<String, String> indexes = ReactiveR2dbcSessionRepository.this.indexResolver
+					.resolveIndexesFor(R2dbcSession.this);
+			Statement statement = connection.createStatement(ReactiveR2dbcSessionRepository.this.createSessionQuery)
+					.bind(0, this.primaryKey).bind(1, getId()).bind(2, getCreationTime().toEpochMilli())
+					.bind(3, getLastAccessedTime().toEpochMilli())
+					.bind(4, (int) getMaxInactiveInterval().getSeconds()).bind(5, getExpiryTime().toEpochMilli());
+			bindPrincipalName(statement, 6, indexes);
+			Mono<Integer> result = execute(statement);
+			List<String> attributeNames = new ArrayList<>(getAttributeNames());
+			if (!attributeNames.isEmpty()) {
+				result = result.then(insertSessionAttributes(connection, this, attributeNames));
+			}
+			return result;
+		}
+
+		private Mono<Integer> update(Connection connection) {
+			Mono<Integer> result = Mono.just(0);
+			if (this.changed) {
+				Map<String, String> indexes = ReactiveR2dbcSessionRepository.this.indexResolver
+						.resolveIndexesFor(R2dbcSession.this);
+				Statement statement = connection
+						.createStatement(ReactiveR2dbcSessionRepository.this.updateSessionQuery).bind(0, getId())
+						.bind(1, getLastAccessedTime().toEpochMilli())
+						.bind(2, (int) getMaxInactiveInterval().getSeconds()).bind(3, getExpiryTime().toEpochMilli());
+				bindPrincipalName(statement, 4, indexes);
+				statement.bind(5, this.primaryKey);
+				result = execute(statement);
+			}
+			List<String> addedAttributeNames = getDeltaAttributeNames(DeltaValue.ADDED);
+			if (!addedAttributeNames.isEmpty()) {
+				result = result.then(insertSessionAttributes(connection, this, addedAttributeNames));
+			}
+			List<String> updatedAttributeNames = getDeltaAttributeNames(DeltaValue.UPDATED);
+			if (!updatedAttributeNames.isEmpty()) {
+				result = result.then(updateSessionAttributes(connection, this, updatedAttributeNames));
+			}
+			List<String> removedAttributeNames = getDeltaAttributeNames(DeltaValue.REMOVED);
+			if (!removedAttributeNames.isEmpty()) {
+				result = result.then(deleteSessionAttributes(connection, this, removedAttributeNames));
+			}
+			return result;
+		}
+
+		private List<String> getDeltaAttributeNames(DeltaValue deltaValue) {
+			return this.delta.entrySet().stream().filter((entry) -> entry.getValue() == deltaValue)
+					.map(Map.Entry::getKey).collect(Collectors.toList());
+		}
+
+		private void bindPrincipalName(Statement statement, int index, Map<String, String> indexes) {
+			String principalName = indexes.get(FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME);
+			if (principalName != null) {
+				statement.bind(index, principalName);
+			}
+			else {
+				statement.bindNull(index, String.class);
+			}
+		}
+
+	}
+
+	/**
+	 * A single row of the session query, read eagerly so that it can outlive the
+	 * underlying {@link Row}.
+	 */
+	private static final class SessionRow {
+
+		private final String primaryKey;
+
+		private final String sessionId;
+
+		private final long creationTime;
+
+		private final long lastAccessTime;
+
+		private final int maxInactiveInterval;
+
+		private final String attributeName;
+
+		private final byte[] attributeBytes;
+
+		SessionRow(Row row) {
+			this.primaryKey = row.get("PRIMARY_ID", String.class);
+			this.sessionId = row.get("SESSION_ID", String.class);
+			this.creationTime = row.get("CREATION_TIME", Long.class);
+			this.lastAccessTime = row.get("LAST_ACCESS_TIME", Long.class);
+			this.maxInactiveInterval = row.get("MAX_INACTIVE_INTERVAL", Integer.class);
+			this.attributeName = row.get("ATTRIBUTE_NAME", String.class);
+			this.attributeBytes = (this.attributeName != null) ? row.get("ATTRIBUTE_BYTES", byte[].class) : null;
+		}
+
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.jdbc.config.annotation.web.server;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import io.r2dbc.spi.ConnectionFactory;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.session.MapSession;
+import org.springframework.session.SaveMode;
+import org.springframework.session.config.annotation.web.server.EnableSpringWebSession;
+import org.springframework.session.jdbc.ReactiveR2dbcSessionRepository;
+import org.springframework.web.server.session.WebSessionManager;
+
+/**
+ * Add this annotation to an {@code @Configuration} class to expose the
+ * {@link WebSessionManager} as a bean named {@code webSessionManager} and backed by a
+ * relational database accessed through R2DBC. In order to leverage the annotation, a
+ * single {@link ConnectionFactory} must be provided. For example:
+ *
+ * <pre class="code">
+ * &#064;Configuration
+ * &#064;EnableR2dbcWebSession
+ * public class R2dbcWebSessionConfig {
+ *
+ *     &#064;Bean
+ *     public ConnectionFactory connectionFactory() {
+ *         return ConnectionFactories.get("r2dbc:postgresql://localhost/session");
+ *     }
+ *
+ * }
+ * </pre>
+ *
+ * More advanced configurations can extend {@link R2dbcWebSessionConfiguration} instead.
+ *
+ * @since 2.3.0
+ * @see EnableSpringWebSession
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Documented
+@Import(R2dbcWebSessionConfiguration.class)
+@Configuration(proxyBeanMethods = false)
+public @interface EnableR2dbcWebSession {
+
+	/**
+	 * The session timeout in seconds. By default, it is set to 1800 seconds (30 minutes).
+	 * This should be a non-negative integer.
+	 * @return the seconds a session can be inactive before expiring
+	 */
+	int maxInactiveIntervalInSeconds() default MapSession.DEFAULT_MAX_INACTIVE_INTERVAL_SECONDS;
+
+	/**
+	 * The name of database table used by Spring Session to store sessions.
+	 * @return the database table name
+	 */
+	String tableName() default ReactiveR2dbcSessionRepository.DEFAULT_TABLE_NAME;
+
+	/**
+	 * The cron expression for expired session cleanup job. By default runs every minute.
+	 * @return the session cleanup cron expression
+	 */
+	String cleanupCron() default R2dbcWebSessionConfiguration.DEFAULT_CLEANUP_CRON;
+
+	/**
+	 * Save mode for the session. The default is {@link SaveMode#ON_SET_ATTRIBUTE}, which
+	 * only saves changes made to session.
+	 * @return the save mode
+	 */
+	SaveMode saveMode() default SaveMode.ON_SET_ATTRIBUTE;
+
+}
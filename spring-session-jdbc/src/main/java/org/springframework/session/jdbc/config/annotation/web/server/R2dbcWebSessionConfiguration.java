@@ -0,0 +1,227 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.jdbc.config.annotation.web.server;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.EmbeddedValueResolverAware;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportAware;
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.session.IndexResolver;
+import org.springframework.session.MapSession;
+import org.springframework.session.SaveMode;
+import org.springframework.session.Session;
+import org.springframework.session.config.ReactiveSessionRepositoryCustomizer;
+import org.springframework.session.config.annotation.web.server.SpringWebSessionConfiguration;
+import org.springframework.session.jdbc.ReactiveR2dbcSessionRepository;
+import org.springframework.session.jdbc.config.annotation.SpringSessionConnectionFactory;
+import org.springframework.util.StringUtils;
+import org.springframework.util.StringValueResolver;
+import org.springframework.web.server.session.WebSessionManager;
+
+/**
+ * Exposes the {@link WebSessionManager} as a bean named {@code webSessionManager} and
+ * backed by a relational database accessed through R2DBC. In order to use this a single
+ * {@link ConnectionFactory} must be exposed as a Bean.
+ *
+ * @since 2.3.0
+ * @see EnableR2dbcWebSession
+ */
+@Configuration(proxyBeanMethods = false)
+public class R2dbcWebSessionConfiguration extends SpringWebSessionConfiguration
+		implements BeanClassLoaderAware, EmbeddedValueResolverAware, ImportAware {
+
+	static final String DEFAULT_CLEANUP_CRON = "0 * * * * *";
+
+	private static final Log logger = LogFactory.getLog(R2dbcWebSessionConfiguration.class);
+
+	private Integer maxInactiveIntervalInSeconds = MapSession.DEFAULT_MAX_INACTIVE_INTERVAL_SECONDS;
+
+	private String tableName = ReactiveR2dbcSessionRepository.DEFAULT_TABLE_NAME;
+
+	private String cleanupCron = DEFAULT_CLEANUP_CRON;
+
+	private SaveMode saveMode = SaveMode.ON_SET_ATTRIBUTE;
+
+	private ConnectionFactory connectionFactory;
+
+	private IndexResolver<Session> indexResolver;
+
+	private ConversionService springSessionConversionService;
+
+	private ConversionService conversionService;
+
+	private List<ReactiveSessionRepositoryCustomizer<ReactiveR2dbcSessionRepository>> sessionRepositoryCustomizers;
+
+	private ClassLoader classLoader;
+
+	private StringValueResolver embeddedValueResolver;
+
+	@Bean
+	public ReactiveR2dbcSessionRepository sessionRepository() {
+		ReactiveR2dbcSessionRepository sessionRepository = new ReactiveR2dbcSessionRepository(this.connectionFactory);
+		if (StringUtils.hasText(this.tableName)) {
+			sessionRepository.setTableName(this.tableName);
+		}
+		sessionRepository.setDefaultMaxInactiveInterval(this.maxInactiveIntervalInSeconds);
+		sessionRepository.setSaveMode(this.saveMode);
+		if (this.indexResolver != null) {
+			sessionRepository.setIndexResolver(this.indexResolver);
+		}
+		if (this.springSessionConversionService != null) {
+			sessionRepository.setConversionService(this.springSessionConversionService);
+		}
+		else if (this.conversionService != null) {
+			sessionRepository.setConversionService(this.conversionService);
+		}
+		else {
+			sessionRepository.setConversionService(createConversionServiceWithBeanClassLoader(this.classLoader));
+		}
+		this.sessionRepositoryCustomizers
+				.forEach((sessionRepositoryCustomizer) -> sessionRepositoryCustomizer.customize(sessionRepository));
+		return sessionRepository;
+	}
+
+	public void setMaxInactiveIntervalInSeconds(Integer maxInactiveIntervalInSeconds) {
+		this.maxInactiveIntervalInSeconds = maxInactiveIntervalInSeconds;
+	}
+
+	public void setTableName(String tableName) {
+		this.tableName = tableName;
+	}
+
+	public void setCleanupCron(String cleanupCron) {
+		this.cleanupCron = cleanupCron;
+	}
+
+	public void setSaveMode(SaveMode saveMode) {
+		this.saveMode = saveMode;
+	}
+
+	@Autowired
+	public void setConnectionFactory(
+			@SpringSessionConnectionFactory ObjectProvider<ConnectionFactory> springSessionConnectionFactory,
+			ObjectProvider<ConnectionFactory> connectionFactory) {
+		ConnectionFactory connectionFactoryToUse = springSessionConnectionFactory.getIfAvailable();
+		if (connectionFactoryToUse == null) {
+			connectionFactoryToUse = connectionFactory.getObject();
+		}
+		this.connectionFactory = connectionFactoryToUse;
+	}
+
+	@Autowired(required = false)
+	public void setIndexResolver(IndexResolver<Session> indexResolver) {
+		this.indexResolver = indexResolver;
+	}
+
+	@Autowired(required = false)
+	@Qualifier("springSessionConversionService")
+	public void setSpringSessionConversionService(ConversionService conversionService) {
+		this.springSessionConversionService = conversionService;
+	}
+
+	@Autowired(required = false)
+	@Qualifier("conversionService")
+	public void setConversionService(ConversionService conversionService) {
+		this.conversionService = conversionService;
+	}
+
+	@Autowired(required = false)
+	public void setSessionRepositoryCustomizer(
+			ObjectProvider<ReactiveSessionRepositoryCustomizer<ReactiveR2dbcSessionRepository>> sessionRepositoryCustomizers) {
+		this.sessionRepositoryCustomizers = sessionRepositoryCustomizers.orderedStream().collect(Collectors.toList());
+	}
+
+	@Override
+	public void setBeanClassLoader(ClassLoader classLoader) {
+		this.classLoader = classLoader;
+	}
+
+	@Override
+	public void setEmbeddedValueResolver(StringValueResolver resolver) {
+		this.embeddedValueResolver = resolver;
+	}
+
+	@Override
+	public void setImportMetadata(AnnotationMetadata importMetadata) {
+		Map<String, Object> attributeMap = importMetadata
+				.getAnnotationAttributes(EnableR2dbcWebSession.class.getName());
+		AnnotationAttributes attributes = AnnotationAttributes.fromMap(attributeMap);
+		this.maxInactiveIntervalInSeconds = attributes.getNumber("maxInactiveIntervalInSeconds");
+		String tableNameValue = attributes.getString("tableName");
+		if (StringUtils.hasText(tableNameValue)) {
+			this.tableName = this.embeddedValueResolver.resolveStringValue(tableNameValue);
+		}
+		String cleanupCron = attributes.getString("cleanupCron");
+		if (StringUtils.hasText(cleanupCron)) {
+			this.cleanupCron = cleanupCron;
+		}
+		this.saveMode = attributes.getEnum("saveMode");
+	}
+
+	private static GenericConversionService createConversionServiceWithBeanClassLoader(ClassLoader classLoader) {
+		GenericConversionService conversionService = new GenericConversionService();
+		conversionService.addConverter(Object.class, byte[].class, new SerializingConverter());
+		conversionService.addConverter(byte[].class, Object.class, new DeserializingConverter(classLoader));
+		return conversionService;
+	}
+
+	/**
+	 * Configuration of scheduled job for cleaning up expired sessions. The cleanup is
+	 * subscribed to rather than blocked on, so the scheduler thread is released as soon
+	 * as the delete statement has been issued.
+	 */
+	@EnableScheduling
+	@Configuration(proxyBeanMethods = false)
+	class SessionCleanupConfiguration implements SchedulingConfigurer {
+
+		private final ReactiveR2dbcSessionRepository sessionRepository;
+
+		SessionCleanupConfiguration(ReactiveR2dbcSessionRepository sessionRepository) {
+			this.sessionRepository = sessionRepository;
+		}
+
+		@Override
+		public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+			taskRegistrar.addCronTask(() -> this.sessionRepository.cleanUpExpiredSessions().subscribe(null,
+					(ex) -> logger.warn("Failed to clean up expired sessions", ex)),
+					R2dbcWebSessionConfiguration.this.cleanupCron);
+		}
+
+	}
+
+}
@@ -19,6 +19,7 @@ package org.springframework.session.jdbc;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -49,6 +50,7 @@ import org.springframework.transaction.support.TransactionOperations;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.endsWith;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.ArgumentMatchers.startsWith;
@@ -153,6 +155,20 @@ class JdbcIndexedSessionRepositoryTests {
 				.withMessage("Query must not be empty");
 	}
 
+	@Test
+	void setUpdateSessionLastAccessTimeQueryNull() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> this.repository.setUpdateSessionLastAccessTimeQuery(null))
+				.withMessage("Query must not be empty");
+	}
+
+	@Test
+	void setUpdateSessionLastAccessTimeQueryEmpty() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> this.repository.setUpdateSessionLastAccessTimeQuery(" "))
+				.withMessage("Query must not be empty");
+	}
+
 	@Test
 	void setUpdateSessionAttributeQueryNull() {
 		assertThatIllegalArgumentException().isThrownBy(() -> this.repository.setUpdateSessionAttributeQuery(null))
@@ -189,6 +205,32 @@ class JdbcIndexedSessionRepositoryTests {
 				.withMessage("Query must not be empty");
 	}
 
+	@Test
+	void setGetSessionsQueryNull() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.repository.setGetSessionsQuery(null))
+				.withMessage("Query must not be empty");
+	}
+
+	@Test
+	void setGetSessionsQueryWithoutSessionIds() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> this.repository.setGetSessionsQuery("SELECT * FROM SPRING_SESSION"))
+				.withMessage("Query must contain %SESSION_IDS%");
+	}
+
+	@Test
+	void setDeleteSessionsQueryNull() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.repository.setDeleteSessionsQuery(null))
+				.withMessage("Query must not be empty");
+	}
+
+	@Test
+	void setDeleteSessionsQueryWithoutSessionIds() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> this.repository.setDeleteSessionsQuery("DELETE FROM SPRING_SESSION"))
+				.withMessage("Query must contain %SESSION_IDS%");
+	}
+
 	@Test
 	void setListSessionsByPrincipalNameQueryNull() {
 		assertThatIllegalArgumentException().isThrownBy(() -> this.repository.setListSessionsByPrincipalNameQuery(null))
@@ -539,6 +581,19 @@ class JdbcIndexedSessionRepositoryTests {
 				isA(ResultSetExtractor.class));
 	}
 
+	@Test
+	void touch() {
+		String sessionId = "testSessionId";
+		given(this.jdbcOperations.update(startsWith("UPDATE SPRING_SESSION SET EXPIRY_TIME"),
+				isA(PreparedStatementSetter.class))).willReturn(1);
+
+		assertThat(this.repository.touch(sessionId, Instant.now())).isTrue();
+
+		verify(this.jdbcOperations, times(1)).update(startsWith("UPDATE SPRING_SESSION SET EXPIRY_TIME"),
+				isA(PreparedStatementSetter.class));
+		verifyNoMoreInteractions(this.jdbcOperations);
+	}
+
 	@Test
 	void delete() {
 		String sessionId = "testSessionId";
@@ -710,4 +765,49 @@ class JdbcIndexedSessionRepositoryTests {
 		verifyNoMoreInteractions(this.jdbcOperations);
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	void findAllById() {
+		JdbcSession saved = this.repository.new JdbcSession(new MapSession(), "primaryKey1", false);
+		JdbcSession expired = this.repository.new JdbcSession(new MapSession(), "primaryKey2", false);
+		expired.setLastAccessedTime(Instant.now().minusSeconds(MapSession.DEFAULT_MAX_INACTIVE_INTERVAL_SECONDS + 1));
+		given(this.jdbcOperations.query(isA(String.class), isA(PreparedStatementSetter.class),
+				isA(ResultSetExtractor.class))).willReturn(Arrays.asList(saved, expired));
+
+		Map<String, JdbcSession> sessions = this.repository
+				.findAllById(Arrays.asList(saved.getId(), expired.getId(), "missing", saved.getId()));
+
+		assertThat(sessions).containsOnlyKeys(saved.getId());
+		verify(this.jdbcOperations).query(endsWith("WHERE S.SESSION_ID IN (?, ?, ?)"),
+				isA(PreparedStatementSetter.class), isA(ResultSetExtractor.class));
+		verify(this.jdbcOperations).update(eq("DELETE FROM SPRING_SESSION WHERE SESSION_ID IN (?)"),
+				isA(PreparedStatementSetter.class));
+		verifyNoMoreInteractions(this.jdbcOperations);
+	}
+
+	@Test
+	void findAllByIdEmpty() {
+		assertThat(this.repository.findAllById(Collections.emptyList())).isEmpty();
+		verifyNoMoreInteractions(this.jdbcOperations);
+	}
+
+	@Test
+	void deleteAllById() {
+		List<String> ids = new ArrayList<>();
+		for (int i = 0; i < 150; i++) {
+			ids.add(UUID.randomUUID().toString());
+		}
+
+		this.repository.deleteAllById(ids);
+
+		ArgumentCaptor<String> query = ArgumentCaptor.forClass(String.class);
+		verify(this.jdbcOperations, times(2)).update(query.capture(), isA(PreparedStatementSetter.class));
+		String deleteSessionsQuery = "DELETE FROM SPRING_SESSION WHERE SESSION_ID IN (%s)";
+		assertThat(query.getAllValues().get(0))
+				.isEqualTo(String.format(deleteSessionsQuery, String.join(", ", Collections.nCopies(100, "?"))));
+		assertThat(query.getAllValues().get(1))
+				.isEqualTo(String.format(deleteSessionsQuery, String.join(", ", Collections.nCopies(50, "?"))));
+		verifyNoMoreInteractions(this.jdbcOperations);
+	}
+
 }
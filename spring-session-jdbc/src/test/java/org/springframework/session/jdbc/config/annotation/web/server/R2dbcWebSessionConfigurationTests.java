@@ -0,0 +1,421 @@
+/*
+ * Copyright 2014-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.session.jdbc.config.annotation.web.server;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.session.IndexResolver;
+import org.springframework.session.SaveMode;
+import org.springframework.session.Session;
+import org.springframework.session.config.ReactiveSessionRepositoryCustomizer;
+import org.springframework.session.jdbc.ReactiveR2dbcSessionRepository;
+import org.springframework.session.jdbc.config.annotation.SpringSessionConnectionFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.session.WebSessionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link R2dbcWebSessionConfiguration}.
+ */
+class R2dbcWebSessionConfigurationTests {
+
+	private static final String TABLE_NAME = "TEST_SESSION";
+
+	private static final int MAX_INACTIVE_INTERVAL_IN_SECONDS = 600;
+
+	private static final String CLEANUP_CRON_EXPRESSION = "0 0 * * * *";
+
+	private AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+
+	@AfterEach
+	void closeContext() {
+		if (this.context != null) {
+			this.context.close();
+		}
+	}
+
+	@Test
+	void noConnectionFactoryConfiguration() {
+		assertThatExceptionOfType(BeanCreationException.class)
+				.isThrownBy(() -> registerAndRefresh(NoConnectionFactoryConfiguration.class))
+				.withMessageContaining("expected at least 1 bean which qualifies as autowire candidate");
+	}
+
+	@Test
+	void defaultConfiguration() {
+		registerAndRefresh(ConnectionFactoryConfiguration.class, DefaultConfiguration.class);
+
+		ReactiveR2dbcSessionRepository repository = this.context.getBean(ReactiveR2dbcSessionRepository.class);
+		assertThat(repository).isNotNull();
+		assertThat(this.context.getBean(WebSessionManager.class)).isNotNull();
+		assertThat(ReflectionTestUtils.getField(repository, "connectionFactory"))
+				.isEqualTo(this.context.getBean(ConnectionFactory.class));
+	}
+
+	@Test
+	void customTableNameAnnotation() {
+		registerAndRefresh(ConnectionFactoryConfiguration.class, CustomTableNameAnnotationConfiguration.class);
+
+		ReactiveR2dbcSessionRepository repository = this.context.getBean(ReactiveR2dbcSessionRepository.class);
+		assertThat(repository).isNotNull();
+		assertThat(ReflectionTestUtils.getField(repository, "tableName")).isEqualTo(TABLE_NAME);
+	}
+
+	@Test
+	void customTableNameSetter() {
+		registerAndRefresh(ConnectionFactoryConfiguration.class, CustomTableNameSetterConfiguration.class);
+
+		ReactiveR2dbcSessionRepository repository = this.context.getBean(ReactiveR2dbcSessionRepository.class);
+		assertThat(repository).isNotNull();
+		assertThat(ReflectionTestUtils.getField(repository, "tableName")).isEqualTo(TABLE_NAME);
+	}
+
+	@Test
+	void customMaxInactiveIntervalInSecondsAnnotation() {
+		registerAndRefresh(ConnectionFactoryConfiguration.class,
+				CustomMaxInactiveIntervalInSecondsAnnotationConfiguration.class);
+
+		ReactiveR2dbcSessionRepository repository = this.context.getBean(ReactiveR2dbcSessionRepository.class);
+		assertThat(repository).isNotNull();
+		assertThat(ReflectionTestUtils.getField(repository, "defaultMaxInactiveInterval"))
+				.isEqualTo(MAX_INACTIVE_INTERVAL_IN_SECONDS);
+	}
+
+	@Test
+	void customMaxInactiveIntervalInSecondsSetter() {
+		registerAndRefresh(ConnectionFactoryConfiguration.class,
+				CustomMaxInactiveIntervalInSecondsSetterConfiguration.class);
+
+		ReactiveR2dbcSessionRepository repository = this.context.getBean(ReactiveR2dbcSessionRepository.class);
+		assertThat(repository).isNotNull();
+		assertThat(ReflectionTestUtils.getField(repository, "defaultMaxInactiveInterval"))
+				.isEqualTo(MAX_INACTIVE_INTERVAL_IN_SECONDS);
+	}
+
+	@Test
+	void customCleanupCronAnnotation() {
+		registerAndRefresh(ConnectionFactoryConfiguration.class,
+				CustomCleanupCronExpressionAnnotationConfiguration.class);
+
+		R2dbcWebSessionConfiguration configuration = this.context.getBean(R2dbcWebSessionConfiguration.class);
+		assertThat(configuration).isNotNull();
+		assertThat(ReflectionTestUtils.getField(configuration, "cleanupCron")).isEqualTo(CLEANUP_CRON_EXPRESSION);
+	}
+
+	@Test
+	void customCleanupCronSetter() {
+		registerAndRefresh(ConnectionFactoryConfiguration.class, CustomCleanupCronExpressionSetterConfiguration.class);
+
+		R2dbcWebSessionConfiguration configuration = this.context.getBean(R2dbcWebSessionConfiguration.class);
+		assertThat(configuration).isNotNull();
+		assertThat(ReflectionTestUtils.getField(configuration, "cleanupCron")).isEqualTo(CLEANUP_CRON_EXPRESSION);
+	}
+
+	@Test
+	void customSaveModeAnnotation() {
+		registerAndRefresh(ConnectionFactoryConfiguration.class, CustomSaveModeExpressionAnnotationConfiguration.class);
+		assertThat(this.context.getBean(ReactiveR2dbcSessionRepository.class)).hasFieldOrPropertyWithValue("saveMode",
+				SaveMode.ALWAYS);
+	}
+
+	@Test
+	void customSaveModeSetter() {
+		registerAndRefresh(ConnectionFactoryConfiguration.class, CustomSaveModeExpressionSetterConfiguration.class);
+		assertThat(this.context.getBean(ReactiveR2dbcSessionRepository.class)).hasFieldOrPropertyWithValue("saveMode",
+				SaveMode.ALWAYS);
+	}
+
+	@Test
+	void qualifiedConnectionFactoryConfiguration() {
+		registerAndRefresh(ConnectionFactoryConfiguration.class, QualifiedConnectionFactoryConfiguration.class);
+
+		ReactiveR2dbcSessionRepository repository = this.context.getBean(ReactiveR2dbcSessionRepository.class);
+		ConnectionFactory connectionFactory = this.context.getBean("qualifiedConnectionFactory",
+				ConnectionFactory.class);
+		assertThat(repository).isNotNull();
+		assertThat(connectionFactory).isNotNull();
+		assertThat(ReflectionTestUtils.getField(repository, "connectionFactory")).isEqualTo(connectionFactory);
+	}
+
+	@Test
+	void primaryConnectionFactoryConfiguration() {
+		registerAndRefresh(ConnectionFactoryConfiguration.class, PrimaryConnectionFactoryConfiguration.class);
+
+		ReactiveR2dbcSessionRepository repository = this.context.getBean(ReactiveR2dbcSessionRepository.class);
+		ConnectionFactory connectionFactory = this.context.getBean("primaryConnectionFactory",
+				ConnectionFactory.class);
+		assertThat(repository).isNotNull();
+		assertThat(connectionFactory).isNotNull();
+		assertThat(ReflectionTestUtils.getField(repository, "connectionFactory")).isEqualTo(connectionFactory);
+	}
+
+	@Test
+	void qualifiedAndPrimaryConnectionFactoryConfiguration() {
+		registerAndRefresh(ConnectionFactoryConfiguration.class,
+				QualifiedAndPrimaryConnectionFactoryConfiguration.class);
+
+		ReactiveR2dbcSessionRepository repository = this.context.getBean(ReactiveR2dbcSessionRepository.class);
+		ConnectionFactory connectionFactory = this.context.getBean("qualifiedConnectionFactory",
+				ConnectionFactory.class);
+		assertThat(repository).isNotNull();
+		assertThat(connectionFactory).isNotNull();
+		assertThat(ReflectionTestUtils.getField(repository, "connectionFactory")).isEqualTo(connectionFactory);
+	}
+
+	@Test
+	void multipleConnectionFactoryConfiguration() {
+		assertThatExceptionOfType(BeanCreationException.class)
+				.isThrownBy(() -> registerAndRefresh(ConnectionFactoryConfiguration.class,
+						MultipleConnectionFactoryConfiguration.class))
+				.withMessageContaining("expected single matching bean but found 2");
+	}
+
+	@Test
+	void customIndexResolverConfiguration() {
+		registerAndRefresh(ConnectionFactoryConfiguration.class, CustomIndexResolverConfiguration.class);
+		ReactiveR2dbcSessionRepository repository = this.context.getBean(ReactiveR2dbcSessionRepository.class);
+		@SuppressWarnings("unchecked")
+		IndexResolver<Session> indexResolver = this.context.getBean(IndexResolver.class);
+		assertThat(repository).isNotNull();
+		assertThat(indexResolver).isNotNull();
+		assertThat(repository).hasFieldOrPropertyWithValue("indexResolver", indexResolver);
+	}
+
+	@Test
+	void customConversionServiceConfiguration() {
+		registerAndRefresh(ConnectionFactoryConfiguration.class, CustomConversionServiceConfiguration.class);
+
+		ReactiveR2dbcSessionRepository repository = this.context.getBean(ReactiveR2dbcSessionRepository.class);
+		ConversionService conversionService = this.context.getBean("springSessionConversionService",
+				ConversionService.class);
+		assertThat(repository).isNotNull();
+		assertThat(conversionService).isNotNull();
+		Object repositoryConversionService = ReflectionTestUtils.getField(repository, "conversionService");
+		assertThat(repositoryConversionService).isEqualTo(conversionService);
+	}
+
+	@Test
+	void resolveTableNameByPropertyPlaceholder() {
+		this.context
+				.setEnvironment(new MockEnvironment().withProperty("session.r2dbc.tableName", "custom_session_table"));
+		registerAndRefresh(ConnectionFactoryConfiguration.class, CustomR2dbcWebSessionConfiguration.class);
+		R2dbcWebSessionConfiguration configuration = this.context.getBean(R2dbcWebSessionConfiguration.class);
+		assertThat(ReflectionTestUtils.getField(configuration, "tableName")).isEqualTo("custom_session_table");
+	}
+
+	@Test
+	void sessionRepositoryCustomizer() {
+		registerAndRefresh(ConnectionFactoryConfiguration.class, SessionRepositoryCustomizerConfiguration.class);
+		ReactiveR2dbcSessionRepository repository = this.context.getBean(ReactiveR2dbcSessionRepository.class);
+		assertThat(repository).hasFieldOrPropertyWithValue("defaultMaxInactiveInterval",
+				MAX_INACTIVE_INTERVAL_IN_SECONDS);
+	}
+
+	private void registerAndRefresh(Class<?>... annotatedClasses) {
+		this.context.register(annotatedClasses);
+		this.context.refresh();
+	}
+
+	@EnableR2dbcWebSession
+	static class NoConnectionFactoryConfiguration {
+
+	}
+
+	@Configuration
+	static class ConnectionFactoryConfiguration {
+
+		@Bean
+		ConnectionFactory defaultConnectionFactory() {
+			return mock(ConnectionFactory.class);
+		}
+
+	}
+
+	@EnableR2dbcWebSession
+	static class DefaultConfiguration {
+
+	}
+
+	@EnableR2dbcWebSession(tableName = TABLE_NAME)
+	static class CustomTableNameAnnotationConfiguration {
+
+	}
+
+	@Configuration
+	static class CustomTableNameSetterConfiguration extends R2dbcWebSessionConfiguration {
+
+		CustomTableNameSetterConfiguration() {
+			setTableName(TABLE_NAME);
+		}
+
+	}
+
+	@EnableR2dbcWebSession(maxInactiveIntervalInSeconds = MAX_INACTIVE_INTERVAL_IN_SECONDS)
+	static class CustomMaxInactiveIntervalInSecondsAnnotationConfiguration {
+
+	}
+
+	@Configuration
+	static class CustomMaxInactiveIntervalInSecondsSetterConfiguration extends R2dbcWebSessionConfiguration {
+
+		CustomMaxInactiveIntervalInSecondsSetterConfiguration() {
+			setMaxInactiveIntervalInSeconds(MAX_INACTIVE_INTERVAL_IN_SECONDS);
+		}
+
+	}
+
+	@EnableR2dbcWebSession(cleanupCron = CLEANUP_CRON_EXPRESSION)
+	static class CustomCleanupCronExpressionAnnotationConfiguration {
+
+	}
+
+	@Configuration
+	static class CustomCleanupCronExpressionSetterConfiguration extends R2dbcWebSessionConfiguration {
+
+		CustomCleanupCronExpressionSetterConfiguration() {
+			setCleanupCron(CLEANUP_CRON_EXPRESSION);
+		}
+
+	}
+
+	@EnableR2dbcWebSession(saveMode = SaveMode.ALWAYS)
+	static class CustomSaveModeExpressionAnnotationConfiguration {
+
+	}
+
+	@Configuration
+	static class CustomSaveModeExpressionSetterConfiguration extends R2dbcWebSessionConfiguration {
+
+		CustomSaveModeExpressionSetterConfiguration() {
+			setSaveMode(SaveMode.ALWAYS);
+		}
+
+	}
+
+	@EnableR2dbcWebSession
+	static class QualifiedConnectionFactoryConfiguration {
+
+		@Bean
+		@SpringSessionConnectionFactory
+		ConnectionFactory qualifiedConnectionFactory() {
+			return mock(ConnectionFactory.class);
+		}
+
+	}
+
+	@EnableR2dbcWebSession
+	static class PrimaryConnectionFactoryConfiguration {
+
+		@Bean
+		@Primary
+		ConnectionFactory primaryConnectionFactory() {
+			return mock(ConnectionFactory.class);
+		}
+
+	}
+
+	@EnableR2dbcWebSession
+	static class QualifiedAndPrimaryConnectionFactoryConfiguration {
+
+		@Bean
+		@SpringSessionConnectionFactory
+		ConnectionFactory qualifiedConnectionFactory() {
+			return mock(ConnectionFactory.class);
+		}
+
+		@Bean
+		@Primary
+		ConnectionFactory primaryConnectionFactory() {
+			return mock(ConnectionFactory.class);
+		}
+
+	}
+
+	@EnableR2dbcWebSession
+	static class MultipleConnectionFactoryConfiguration {
+
+		@Bean
+		ConnectionFactory secondaryConnectionFactory() {
+			return mock(ConnectionFactory.class);
+		}
+
+	}
+
+	@EnableR2dbcWebSession
+	static class CustomIndexResolverConfiguration {
+
+		@Bean
+		@SuppressWarnings("unchecked")
+		IndexResolver<Session> indexResolver() {
+			return mock(IndexResolver.class);
+		}
+
+	}
+
+	@EnableR2dbcWebSession
+	static class CustomConversionServiceConfiguration {
+
+		@Bean
+		ConversionService springSessionConversionService() {
+			return mock(ConversionService.class);
+		}
+
+	}
+
+	@EnableR2dbcWebSession(tableName = "${session.r2dbc.tableName}")
+	static class CustomR2dbcWebSessionConfiguration {
+
+		@Bean
+		PropertySourcesPlaceholderConfigurer propertySourcesPlaceholderConfigurer() {
+			return new PropertySourcesPlaceholderConfigurer();
+		}
+
+	}
+
+	@EnableR2dbcWebSession
+	static class SessionRepositoryCustomizerConfiguration {
+
+		@Bean
+		@Order(0)
+		ReactiveSessionRepositoryCustomizer<ReactiveR2dbcSessionRepository> sessionRepositoryCustomizerOne() {
+			return (sessionRepository) -> sessionRepository.setDefaultMaxInactiveInterval(0);
+		}
+
+		@Bean
+		@Order(1)
+		ReactiveSessionRepositoryCustomizer<ReactiveR2dbcSessionRepository> sessionRepositoryCustomizerTwo() {
+			return (sessionRepository) -> sessionRepository
+					.setDefaultMaxInactiveInterval(MAX_INACTIVE_INTERVAL_IN_SECONDS);
+		}
+
+	}
+
+}